@@ -0,0 +1,88 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pulselive.assessment.leaguetable.LeagueFormat;
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.LeagueTableEntry;
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.util.FileUtils;
+
+/**
+ * This class comprises the benchmarks of reading the match and league table files.
+ * 
+ * @author Paul Parlett
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FileUtilsBenchmark {
+	
+	private static final long SEED = 2017;
+	
+	@Param({ "20", "100" })
+	public int numberOfTeams;
+	
+	@Param({ "1", "10" })
+	public int numberOfSeasons;
+	
+	private LeagueFormat format;
+	
+	private File matchFile;
+	private File leagueTableFile;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		format = SyntheticLeague.format(numberOfTeams, numberOfSeasons);
+		
+		List<Match> matches = SyntheticLeague.matches(numberOfTeams, numberOfSeasons, SEED);
+		
+		matchFile = File.createTempFile("results", ".csv");
+		leagueTableFile = File.createTempFile("table", ".csv");
+		
+		SyntheticLeague.writeMatchFile(matchFile.toPath(), matches);
+		SyntheticLeague.writeLeagueTableFile(leagueTableFile.toPath(), new LeagueTable(format, matches));
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(matchFile.toPath());
+		Files.deleteIfExists(leagueTableFile.toPath());
+	}
+	
+	@Benchmark
+	public List<Match> readMatchFile() throws IOException {
+		return FileUtils.readMatchFile(matchFile, format);
+	}
+	
+	@Benchmark
+	public List<LeagueTableEntry> readLeagueTableFile() throws IOException {
+		return FileUtils.readLeagueTableFile(leagueTableFile, format);
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.LeagueTableEntry;
+import com.pulselive.assessment.leaguetable.Match;
+
+/**
+ * This class comprises the benchmarks of the construction and ordering of a league table.
+ * 
+ * @author Paul Parlett
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LeagueTableBenchmark {
+	
+	private static final long SEED = 2017;
+	
+	@Param({ "4", "20", "100" })
+	public int numberOfTeams;
+	
+	@Param({ "1", "10" })
+	public int numberOfSeasons;
+	
+	private List<Match> matches;
+	
+	private LeagueTable leagueTable;
+	
+	private LeagueTableEntry first;
+	private LeagueTableEntry second;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		matches = SyntheticLeague.matches(numberOfTeams, numberOfSeasons, SEED);
+		
+		leagueTable = new LeagueTable(SyntheticLeague.format(numberOfTeams, numberOfSeasons), matches);
+		
+		List<LeagueTableEntry> tableEntries = leagueTable.getTableEntries();
+		
+		first = tableEntries.get(0);
+		second = tableEntries.get(1);
+	}
+	
+	/**
+	 * This class holds a league table of which the cached entries are invalidated by each invocation.
+	 */
+	@State(Scope.Thread)
+	public static class Invalidated {
+		
+		private LeagueTable leagueTable;
+		private Match last;
+		
+		@Setup(Level.Trial)
+		public void setUp(final LeagueTableBenchmark benchmark) {
+			leagueTable = new LeagueTable(SyntheticLeague.format(benchmark.numberOfTeams, benchmark.numberOfSeasons), benchmark.matches);
+			last = benchmark.matches.get(benchmark.matches.size() - 1);
+		}
+	
+	}
+	
+	@Benchmark
+	public LeagueTable construct() {
+		return new LeagueTable(matches);
+	}
+	
+	@Benchmark
+	public LeagueTable constructWithFormat() {
+		return new LeagueTable(SyntheticLeague.format(numberOfTeams, numberOfSeasons), matches);
+	}
+	
+	/**
+	 * The cached entries, which are returned by every call after the first since no result is applied between them.
+	 */
+	@Benchmark
+	public List<LeagueTableEntry> getTableEntriesCached() {
+		return leagueTable.getTableEntries();
+	}
+	
+	/**
+	 * The entries ordered and copied again, since the cache is invalidated by reverting and applying the last result, which are 
+	 * included in the measurement. A per-invocation setup would cost more than the call it measures.
+	 */
+	@Benchmark
+	public List<LeagueTableEntry> getTableEntriesUncached(final Invalidated invalidated) {
+		invalidated.leagueTable.revert(invalidated.last);
+		invalidated.leagueTable.apply(invalidated.last);
+		
+		return invalidated.leagueTable.getTableEntries();
+	}
+	
+	@Benchmark
+	public int compareTo() {
+		return first.compareTo(second);
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.bench;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.metrics.LatencyHistogram;
+import com.pulselive.assessment.leaguetable.service.StandingsService;
+
+/**
+ * This class is a load generator for the {@link StandingsService}, producers submit the results of synthetic competitions 
+ * as fast as they are accepted while readers read random tables, and the sustained throughput of results and the latency of 
+ * reads are reported.
+ * <p>
+ * Usage: {@code StandingsServiceLoadGenerator [competitions [teams [producers [readers [seconds [shards]]]]]]}
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class StandingsServiceLoadGenerator {
+	
+	private static final long SEED = 2017;
+	
+	public static void main(final String[] args) throws InterruptedException, ExecutionException {
+		int numberOfCompetitions = argument(args, 0, 500);
+		int numberOfTeams = argument(args, 1, 20);
+		int numberOfProducers = argument(args, 2, 4);
+		int numberOfReaders = argument(args, 3, 4);
+		int seconds = argument(args, 4, 10);
+		int numberOfShards = argument(args, 5, Runtime.getRuntime().availableProcessors());
+		
+		List<Match> matches = SyntheticLeague.matches(numberOfTeams, 1, SEED);
+		
+		String[] competitions = new String[numberOfCompetitions];
+		
+		for (int i = 0; i < numberOfCompetitions; i++) {
+			competitions[i] = "Competition " + i;
+		}
+		
+		LongAdder submitted = new LongAdder();
+		LatencyHistogram readLatency = new LatencyHistogram("read_seconds", "Latency of reading a table");
+		AtomicBoolean running = new AtomicBoolean(true);
+		
+		ExecutorService clients = Executors.newFixedThreadPool(numberOfProducers + numberOfReaders);
+		
+		try (StandingsService service = new StandingsService(numberOfShards)) {
+			Future<?>[] futures = new Future<?>[numberOfProducers + numberOfReaders];
+			
+			for (int i = 0; i < numberOfProducers; i++) {
+				final SplittableRandom random = new SplittableRandom(SEED + i);
+				
+				futures[i] = clients.submit(() -> {
+					while (running.get()) {
+						service.submit(competitions[random.nextInt(competitions.length)], matches.get(random.nextInt(matches.size())));
+						
+						submitted.increment();
+					}
+					
+					return null;
+				});
+			}
+			
+			for (int i = 0; i < numberOfReaders; i++) {
+				final SplittableRandom random = new SplittableRandom(-SEED - i);
+				
+				futures[numberOfProducers + i] = clients.submit(() -> {
+					long entries = 0;
+					
+					while (running.get()) {
+						long startNanos = System.nanoTime();
+						
+						entries += service.getTableEntries(competitions[random.nextInt(competitions.length)]).size();
+						
+						readLatency.recordSince(startNanos);
+					}
+					
+					return entries;
+				});
+			}
+			
+			long startNanos = System.nanoTime();
+			
+			TimeUnit.SECONDS.sleep(seconds);
+			
+			running.set(false);
+			
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			
+			service.flush().get();
+			
+			double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+			
+			System.out.printf("%d competitions of %d teams, %d shards, %d producers, %d readers%n", numberOfCompetitions, numberOfTeams, numberOfShards, numberOfProducers, numberOfReaders);
+			System.out.printf("results applied: %d in %.1f s, %.0f results/s%n", submitted.sum(), elapsedSeconds, submitted.sum() / elapsedSeconds);
+			System.out.printf("reads: %d, latency p50 < %d ns, p99 < %d ns, p99.9 < %d ns%n", readLatency.getCount(), 
+					readLatency.getPercentile(50) + 1, readLatency.getPercentile(99) + 1, readLatency.getPercentile(99.9) + 1);
+		} finally {
+			clients.shutdown();
+		}
+	}
+	
+	private static int argument(final String[] args, final int index, final int defaultValue) {
+		return (args.length > index) ? Integer.parseInt(args[index]) : defaultValue;
+	}
+	
+	private StandingsServiceLoadGenerator() {
+		// prevent instantiation
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.pulselive.assessment.leaguetable.LeagueFormat;
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.LeagueTableEntry;
+import com.pulselive.assessment.leaguetable.Match;
+
+/**
+ * This class comprises generators of synthetic leagues for the benchmarks, in which every team plays every other team home 
+ * and away in every season, and of the match and league table files read by the benchmarks.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class SyntheticLeague {
+	
+	private static final int MAX_SCORE = 6;
+	
+	/**
+	 * @param numberOfTeams The number of teams in the league
+	 * @param numberOfSeasons The number of seasons
+	 * @return The format of a league in which the seasons are played as one
+	 */
+	public static LeagueFormat format(final int numberOfTeams, final int numberOfSeasons) {
+		return new LeagueFormat(numberOfTeams, 2 * numberOfSeasons);
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @return The name of the team
+	 */
+	public static String teamName(final int teamId) {
+		return String.format("Team %04d", teamId);
+	}
+	
+	/**
+	 * @param numberOfTeams The number of teams in the league
+	 * @param numberOfSeasons The number of seasons
+	 * @param seed The seed of the random scores, so the same league is generated for every fork
+	 * @return The matches of all of the seasons
+	 */
+	public static List<Match> matches(final int numberOfTeams, final int numberOfSeasons, final long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+		
+		String[] teamNames = new String[numberOfTeams];
+		
+		for (int teamId = 0; teamId < numberOfTeams; teamId++) {
+			teamNames[teamId] = teamName(teamId);
+		}
+		
+		List<Match> result = new ArrayList<>(format(numberOfTeams, numberOfSeasons).getNumberOfMatches());
+		
+		for (int season = 0; season < numberOfSeasons; season++) {
+			for (int home = 0; home < numberOfTeams; home++) {
+				for (int away = 0; away < numberOfTeams; away++) {
+					if (home != away) {
+						result.add(new Match(teamNames[home], teamNames[away], random.nextInt(MAX_SCORE), random.nextInt(MAX_SCORE)));
+					}
+				}
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Write the matches in football-data format.
+	 * @param file The CSV file
+	 * @param matches The matches
+	 * @throws IOException The IOException which may occur
+	 */
+	public static void writeMatchFile(final Path file, final List<Match> matches) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write("Div,Date,HomeTeam,AwayTeam,FTHG,FTAG,FTR");
+			writer.newLine();
+			
+			for (Match match : matches) {
+				writer.write("E0,11/08/17," + match.getHomeTeam() + "," + match.getAwayTeam() + "," + match.getHomeScore() + "," + match.getAwayScore() + ",");
+				writer.write(match.getResult() == Match.Result.HOME_WIN ? "H" : (match.getResult() == Match.Result.AWAY_WIN ? "A" : "D"));
+				writer.newLine();
+			}
+		}
+	}
+	
+	/**
+	 * Write the league table in footstats format.
+	 * @param file The CSV file
+	 * @param leagueTable The league table
+	 * @throws IOException The IOException which may occur
+	 */
+	public static void writeLeagueTableFile(final Path file, final LeagueTable leagueTable) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write("Position,Team,Played,W,D,L,F,A,GD,Pts,Fl,Y,R,Sh,ShT");
+			writer.newLine();
+			writer.write("Notes:,,,,,,,,,,,,,,");
+			writer.newLine();
+			writer.write("Key to column headings:- synthetic league,,,,,,,,,,,,,,");
+			writer.newLine();
+			
+			int position = 1;
+			
+			for (LeagueTableEntry entry : leagueTable.getTableEntries()) {
+				writer.write(position++ + "," + entry.getTeamName() + "," + entry.getPlayed() + "," + entry.getWon() + "," + entry.getDrawn() + "," + entry.getLost() 
+						+ "," + entry.getGoalsFor() + "," + entry.getGoalsAgainst() + "," + entry.getGoalDifference() + "," + entry.getPoints() + ",0,0,0,0,0");
+				writer.newLine();
+			}
+		}
+	}
+	
+	private SyntheticLeague() {
+		// prevent instantiation
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.LeagueTableEntry;
+import com.pulselive.assessment.leaguetable.TableFormat;
+import com.pulselive.assessment.leaguetable.TableRenderer;
+import com.pulselive.assessment.util.TextBuffer;
+
+/**
+ * This class comprises the benchmarks of rendering a league table, compared with the format strings formerly used by the pretty print.
+ * 
+ * @author Paul Parlett
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TableRendererBenchmark {
+	
+	private static final long SEED = 2017;
+	
+	@Param({ "20", "100" })
+	public int numberOfTeams;
+	
+	@Param({ "FIXED_WIDTH", "CSV", "JSON", "HTML" })
+	public TableFormat format;
+	
+	private List<LeagueTableEntry> tableEntries;
+	
+	private TableRenderer renderer;
+	
+	private final TextBuffer buffer = new TextBuffer();
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		tableEntries = new LeagueTable(SyntheticLeague.format(numberOfTeams, 1), SyntheticLeague.matches(numberOfTeams, 1, SEED)).getTableEntries();
+		
+		renderer = new TableRenderer(format);
+	}
+	
+	@Benchmark
+	public int render() {
+		renderer.render(tableEntries, buffer.clear());
+		
+		return buffer.length();
+	}
+	
+	@Benchmark
+	public int stringFormat() {
+		StringBuilder sb = new StringBuilder();
+		
+		for (LeagueTableEntry tableEntry : tableEntries) {
+			sb.append(String.format("%-20s%-10d%-10d%-10d%-10d%-10d%-10d%-10d%-10d %n", tableEntry.getTeamName(), tableEntry.getPlayed(), tableEntry.getWon(),
+					tableEntry.getDrawn(), tableEntry.getLost(), tableEntry.getGoalsFor(), tableEntry.getGoalsAgainst(), tableEntry.getGoalDifference(), tableEntry.getPoints()));
+		}
+		
+		return sb.length();
+	}
+
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.pulselive.assessment.leaguetable.metrics.Metrics;
+
+/**
+ * This class represents a league table which is safe for many writer and reader threads.
+ * <p>
+ * A writer locks only the entry of the team it is updating, so writers for different teams do not contend for the entries,
+ * and the writers share the read side of a read-write lock, so they do not exclude each other. Each applied result increments
+ * the version of the table. A reader is given an immutable {@link Snapshot} of the table, which is built and published lazily
+ * when a reader asks for a version newer than that of the last snapshot. Building a snapshot holds the write side of the lock
+ * only while the entries are copied, the copies are sorted after the writers are released, and readers of a published snapshot
+ * do not lock at all.
+ *
+ * @author Paul Parlett
+ *
+ */
+public class ConcurrentLeagueTable {
+	
+	/**
+	 * The format of the league, or null if it is not specified.
+	 */
+	private final LeagueFormat format;
+	
+	private final Map<String, LeagueTableEntry> map;
+	
+	/**
+	 * Shared by the writers, exclusive while a snapshot is copied.
+	 */
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	
+	/**
+	 * The number of results applied, reverted or replaced, and of entries of rejected matches removed, only incremented while a lock is held.
+	 */
+	private final AtomicLong version = new AtomicLong();
+	
+	private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(0, Collections.emptyList()));
+	
+	/**
+	 * Construct an empty ConcurrentLeagueTable of unspecified format.
+	 */
+	public ConcurrentLeagueTable() {
+		this.format = null;
+		this.map = new ConcurrentHashMap<>();
+	}
+	
+	/**
+	 * Construct an empty ConcurrentLeagueTable for a league of the given format.
+	 * @param format The format of the league
+	 */
+	public ConcurrentLeagueTable(final LeagueFormat format) {
+		if (format == null) {
+			throw new IllegalArgumentException("illegal null parameter");
+		}
+		
+		this.format = format;
+		this.map = new ConcurrentHashMap<>(format.getHashCapacity());
+	}
+	
+	public LeagueFormat getFormat() {
+		return format;
+	}
+	
+	/**
+	 * Apply the result of a completed match to this league table, the table is unchanged if the match is rejected.
+	 * @param match The completed match
+	 */
+	public void apply(final Match match) {
+		long startNanos = Metrics.startNanos();
+		
+		boolean newHomeTeam = !map.containsKey(match.getHomeTeam());
+		boolean newAwayTeam = !map.containsKey(match.getAwayTeam());
+		
+		Lock writers = lock.readLock();
+		
+		writers.lock();
+		
+		try {
+			try {
+				applyHomeAndAway(match);
+				
+				version.incrementAndGet();
+			} finally {
+				writers.unlock();
+			}
+		} catch (IllegalArgumentException e) {
+			if (newHomeTeam || newAwayTeam) {
+				removeRejectedEntries(match, newHomeTeam, newAwayTeam);
+			}
+			
+			throw e;
+		}
+		
+		if (Metrics.ENABLED) {
+			Metrics.MATCHES_APPLIED.increment();
+			Metrics.APPLY_LATENCY.recordSince(startNanos);
+		}
+	}
+	
+	/**
+	 * Revert the result of a match previously applied to this league table.
+	 * @param match The completed match which was previously applied
+	 */
+	public void revert(final Match match) {
+		Lock writers = lock.readLock();
+		
+		writers.lock();
+		
+		try {
+			revertHomeAndAway(match);
+			
+			version.incrementAndGet();
+		} finally {
+			writers.unlock();
+		}
+		
+		if (Metrics.ENABLED) {
+			Metrics.MATCHES_REVERTED.increment();
+		}
+	}
+	
+	/**
+	 * Replace the result of a match previously applied to this league table with a corrected result, no snapshot has
+	 * the previous result reverted but the corrected result not applied. The previous result remains if the corrected result is rejected.
+	 * @param previous The completed match which was previously applied
+	 * @param corrected The corrected result of the same match
+	 */
+	public void replace(final Match previous, final Match corrected) {
+		if (!previous.getHomeTeam().equals(corrected.getHomeTeam()) || !previous.getAwayTeam().equals(corrected.getAwayTeam())) {
+			throw new IllegalArgumentException("corrected result is not for the same match");
+		}
+		
+		Lock writers = lock.readLock();
+		
+		writers.lock();
+		
+		try {
+			revertHomeAndAway(previous);
+			
+			try {
+				applyHomeAndAway(corrected);
+			} catch (IllegalArgumentException e) {
+				applyHomeAndAway(previous);		// leave the table unchanged
+				
+				throw e;
+			}
+			
+			version.incrementAndGet();
+		} finally {
+			writers.unlock();
+		}
+	}
+	
+	private void applyHomeAndAway(final Match match) {
+		LeagueTableEntry homeTeamEntry = map.computeIfAbsent(match.getHomeTeam(), LeagueTableEntry::new);
+		LeagueTableEntry awayTeamEntry = map.computeIfAbsent(match.getAwayTeam(), LeagueTableEntry::new);
+		
+		try {
+			synchronized (homeTeamEntry) {
+				homeTeamEntry.playedHomeMatch(match);
+			}
+			
+			try {
+				synchronized (awayTeamEntry) {
+					awayTeamEntry.playedAwayMatch(match);
+				}
+			} catch (IllegalArgumentException e) {
+				synchronized (homeTeamEntry) {
+					homeTeamEntry.revertHomeMatch(match);	// leave the table unchanged
+				}
+				
+				throw e;
+			}
+		} catch (IllegalArgumentException e) {
+			if (Metrics.ENABLED) {
+				Metrics.MATCHES_REJECTED.increment();
+			}
+			
+			throw e;
+		}
+	}
+	
+	/**
+	 * Remove the entries created for a rejected match, unless a result has since been applied to them by another writer. 
+	 * The writers are excluded so that none is updating an entry as it is removed, and the version is incremented since 
+	 * a snapshot may have copied the entries.
+	 */
+	private void removeRejectedEntries(final Match match, final boolean newHomeTeam, final boolean newAwayTeam) {
+		Lock exclusive = lock.writeLock();
+		
+		exclusive.lock();
+		
+		try {
+			boolean removed = newHomeTeam && removeUnplayedEntry(match.getHomeTeam());
+			
+			removed |= newAwayTeam && removeUnplayedEntry(match.getAwayTeam());
+			
+			if (removed) {
+				version.incrementAndGet();
+			}
+		} finally {
+			exclusive.unlock();
+		}
+	}
+	
+	private boolean removeUnplayedEntry(final String teamName) {
+		LeagueTableEntry tableEntry = map.get(teamName);
+		
+		return (tableEntry != null) && (tableEntry.getPlayed() == 0) && map.remove(teamName, tableEntry);
+	}
+	
+	private void revertHomeAndAway(final Match match) {
+		LeagueTableEntry homeTeamEntry = getExistingEntry(match.getHomeTeam());
+		LeagueTableEntry awayTeamEntry = getExistingEntry(match.getAwayTeam());
+		
+		synchronized (homeTeamEntry) {
+			homeTeamEntry.revertHomeMatch(match);
+		}
+		
+		try {
+			synchronized (awayTeamEntry) {
+				awayTeamEntry.revertAwayMatch(match);
+			}
+		} catch (IllegalArgumentException e) {
+			synchronized (homeTeamEntry) {
+				homeTeamEntry.playedHomeMatch(match);	// leave the table unchanged
+			}
+			
+			if (Metrics.ENABLED) {
+				Metrics.MATCHES_REJECTED.increment();
+			}
+			
+			throw e;
+		}
+	}
+	
+	private LeagueTableEntry getExistingEntry(final String teamName) {
+		LeagueTableEntry tableEntry = map.get(teamName);
+		
+		if (tableEntry == null) {
+			if (Metrics.ENABLED) {
+				Metrics.MATCHES_REJECTED.increment();
+			}
+			
+			throw new IllegalArgumentException("no entry in the league table for team " + teamName);
+		}
+		
+		return tableEntry;
+	}
+	
+	/**
+	 * @return The number of results applied, reverted or replaced, and of removals of the entries of rejected matches
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+	
+	/**
+	 * Get a snapshot of this league table, which includes at least all of the results applied before the call.
+	 * @return The snapshot
+	 */
+	public Snapshot getSnapshot() {
+		Snapshot current = snapshot.get();
+		
+		if (current.getVersion() == version.get()) {
+			return current;
+		}
+		
+		long startNanos = Metrics.startNanos();
+		
+		long copiedVersion;
+		List<LeagueTableEntry> tableEntries = new ArrayList<>(map.size());
+		
+		Lock exclusive = lock.writeLock();
+		
+		exclusive.lock();
+		
+		try {
+			copiedVersion = version.get();
+			
+			for (LeagueTableEntry tableEntry : map.values()) {
+				tableEntries.add(new LeagueTableEntry(tableEntry).freeze());
+			}
+		} finally {
+			exclusive.unlock();
+		}
+		
+		tableEntries.sort(Comparator.reverseOrder());
+		
+		Snapshot result = new Snapshot(copiedVersion, Collections.unmodifiableList(tableEntries));
+		
+		// publish unless another reader has already published a newer snapshot
+		while (true) {
+			current = snapshot.get();
+			
+			if (current.getVersion() >= copiedVersion) {
+				result = current;
+				break;
+			}
+			
+			if (snapshot.compareAndSet(current, result)) {
+				break;
+			}
+		}
+		
+		if (Metrics.ENABLED) {
+			Metrics.RANKINGS.increment();
+			Metrics.RANKING_LATENCY.recordSince(startNanos);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @return The ordered list of read-only copies of the league table entries, of the latest snapshot
+	 */
+	public List<LeagueTableEntry> getTableEntries() {
+		return getSnapshot().getTableEntries();
+	}
+	
+	/**
+	 * This class represents an immutable snapshot of the league table at a version.
+	 */
+	public static final class Snapshot {
+		
+		private final long version;
+		private final List<LeagueTableEntry> tableEntries;
+		
+		private volatile Map<String, Integer> positions;
+		
+		Snapshot(final long version, final List<LeagueTableEntry> tableEntries) {
+			this.version = version;
+			this.tableEntries = tableEntries;
+		}
+		
+		/**
+		 * @return The number of results applied, reverted or replaced, and of removals of the entries of rejected matches, before the snapshot
+		 */
+		public long getVersion() {
+			return version;
+		}
+		
+		/**
+		 * @return The unmodifiable ordered list of read-only copies of the league table entries
+		 */
+		public List<LeagueTableEntry> getTableEntries() {
+			return tableEntries;
+		}
+		
+		/**
+		 * @param teamName The name of the team
+		 * @return The position of the team, from 1, or 0 if the team has no entry in the snapshot
+		 */
+		public int getPosition(final String teamName) {
+			Map<String, Integer> result = positions;
+			
+			if (result == null) {
+				result = new HashMap<>();
+				
+				for (int i = 0; i < tableEntries.size(); i++) {
+					result.put(tableEntries.get(i).getTeamName(), i + 1);
+				}
+				
+				positions = result;
+			}
+			
+			return result.getOrDefault(teamName, 0);
+		}
+	
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import java.time.LocalDate;
+
+/**
+ * This class represents a (completed) match together with the date on which it was played.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class DatedMatch {
+	
+	private final LocalDate date;
+	private final Match match;
+
+	/**
+	 * Construct a DatedMatch object.
+	 * @param date The date on which the match was played
+	 * @param match The completed match
+	 */
+	public DatedMatch(final LocalDate date, final Match match) {
+		if ((date == null) || (match == null)) {
+			throw new IllegalArgumentException("illegal null parameter");
+		}
+		
+		this.date = date;
+		this.match = match;
+	}
+
+	public LocalDate getDate() {
+		return date;
+	}
+
+	public Match getMatch() {
+		return match;
+	}
+
+	/**
+	 * {@inheritDoc}}
+	 */
+	@Override
+	public String toString() {
+		return "DatedMatch [date=" + date + ", match=" + match + "]";
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static com.pulselive.assessment.util.ParamUtils.checkNumber;
+
+/**
+ * This class represents a fixture, a match which is yet to be played, between teams identified by their {@link TeamRegistry} identifiers.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class Fixture {
+	
+	private final int homeTeamId;
+	private final int awayTeamId;
+
+	/**
+	 * Construct a Fixture object.
+	 * @param homeTeamId The identifier of the home team
+	 * @param awayTeamId The identifier of the away team
+	 */
+	public Fixture(final int homeTeamId, final int awayTeamId) {
+		this.homeTeamId = checkNumber(homeTeamId);
+		this.awayTeamId = checkNumber(awayTeamId);
+		
+		if (homeTeamId == awayTeamId) {
+			throw new IllegalArgumentException("a team cannot play itself");
+		}
+	}
+
+	public int getHomeTeamId() {
+		return homeTeamId;
+	}
+
+	public int getAwayTeamId() {
+		return awayTeamId;
+	}
+	
+	/**
+	 * @param teamId The identifier of a team
+	 * @return Whether the team plays in this fixture
+	 */
+	public boolean involves(final int teamId) {
+		return (homeTeamId == teamId) || (awayTeamId == teamId);
+	}
+	
+	// CHECKSTYLE:OFF auto-generated
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * homeTeamId + awayTeamId;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		Fixture other = (Fixture) obj;
+		return (homeTeamId == other.homeTeamId) && (awayTeamId == other.awayTeamId);
+	}
+	
+	// CHECKSTYLE:ON
+
+	/**
+	 * {@inheritDoc}}
+	 */
+	@Override
+	public String toString() {
+		return "Fixture [homeTeamId=" + homeTeamId + ", awayTeamId=" + awayTeamId + "]";
+	}
+
+}
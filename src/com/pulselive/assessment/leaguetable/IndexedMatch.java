@@ -0,0 +1,77 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static com.pulselive.assessment.util.ParamUtils.checkNumber;
+import static com.pulselive.assessment.util.ParamUtils.checkScore;
+
+/**
+ * This class represents a (completed) match in which the teams are identified by their {@link TeamRegistry} identifiers rather than their names.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class IndexedMatch {
+	
+	private final int homeTeamId;
+	private final int awayTeamId;
+	private final int homeScore;
+	private final int awayScore;
+
+	/**
+	 * Construct an IndexedMatch object.
+	 * @param homeTeamId The identifier of the home team
+	 * @param awayTeamId The identifier of the away team
+	 * @param homeScore The number of goals scored by home team in the match
+	 * @param awayScore The number of goals scored by away team in the match
+	 */
+	public IndexedMatch(final int homeTeamId, final int awayTeamId, final int homeScore, final int awayScore) {
+		this.homeTeamId = checkNumber(homeTeamId);
+		this.awayTeamId = checkNumber(awayTeamId);
+		this.homeScore = checkScore(homeScore);
+		this.awayScore = checkScore(awayScore);
+	}
+	
+	/**
+	 * @param match The match
+	 * @param registry The registry in which the teams are registered, if they are not already
+	 * @return The match with the teams identified by their identifiers
+	 */
+	public static IndexedMatch of(final Match match, final TeamRegistry registry) {
+		return new IndexedMatch(registry.register(match.getHomeTeam()), registry.register(match.getAwayTeam()), match.getHomeScore(), match.getAwayScore());
+	}
+	
+	/**
+	 * @param registry The registry in which the teams are registered
+	 * @return The match with the teams identified by their names
+	 */
+	public Match toMatch(final TeamRegistry registry) {
+		return new Match(registry.nameOf(homeTeamId), registry.nameOf(awayTeamId), homeScore, awayScore);
+	}
+
+	public int getHomeTeamId() {
+		return homeTeamId;
+	}
+
+	public int getAwayTeamId() {
+		return awayTeamId;
+	}
+
+	public int getHomeScore() {
+		return homeScore;
+	}
+
+	public int getAwayScore() {
+		return awayScore;
+	}
+
+	/**
+	 * {@inheritDoc}}
+	 */
+	@Override
+	public String toString() {
+		return "IndexedMatch [homeTeamId=" + homeTeamId + ", awayTeamId=" + awayTeamId + ", homeScore=" + homeScore + ", awayScore=" + awayScore + "]";
+	}
+
+}
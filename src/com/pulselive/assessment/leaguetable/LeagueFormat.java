@@ -0,0 +1,141 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+/**
+ * This class represents the format of a league, the number of teams and the number of times each team plays every other team, 
+ * e.g. twice (home and away) in the English Premier League or once in a single round robin.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class LeagueFormat {
+	
+	/**
+	 * The English Premier League, 20 teams each playing every other team home and away.
+	 */
+	public static final LeagueFormat PREMIER_LEAGUE = new LeagueFormat(20, 2);
+	
+	/**
+	 * The English Football League Championship, 24 teams each playing every other team home and away.
+	 */
+	public static final LeagueFormat CHAMPIONSHIP = new LeagueFormat(24, 2);
+	
+	/**
+	 * A group of a group stage, e.g. the UEFA Champions League, 4 teams each playing every other team home and away.
+	 */
+	public static final LeagueFormat GROUP_OF_FOUR = new LeagueFormat(4, 2);
+	
+	private final int numberOfTeams;
+	private final int meetingsPerPair;
+
+	/**
+	 * Construct a LeagueFormat object.
+	 * @param numberOfTeams The number of teams in the league
+	 * @param meetingsPerPair The number of times each team plays every other team
+	 */
+	public LeagueFormat(final int numberOfTeams, final int meetingsPerPair) {
+		if (numberOfTeams < 2) {
+			throw new IllegalArgumentException("illegal number of teams " + numberOfTeams);
+		}
+		
+		if (meetingsPerPair < 1) {
+			throw new IllegalArgumentException("illegal number of meetings " + meetingsPerPair);
+		}
+		
+		this.numberOfTeams = numberOfTeams;
+		this.meetingsPerPair = meetingsPerPair;
+	}
+
+	public int getNumberOfTeams() {
+		return numberOfTeams;
+	}
+
+	public int getMeetingsPerPair() {
+		return meetingsPerPair;
+	}
+	
+	/**
+	 * @return The number of matches in a season
+	 */
+	public int getNumberOfMatches() {
+		return numberOfTeams * (numberOfTeams - 1) / 2 * meetingsPerPair;
+	}
+	
+	/**
+	 * @return The number of matches played by each team in a season
+	 */
+	public int getMatchesPerTeam() {
+		return (numberOfTeams - 1) * meetingsPerPair;
+	}
+	
+	/**
+	 * @return The initial capacity of a hash map with an entry for each team which will not need to be rehashed
+	 */
+	public int getHashCapacity() {
+		return (int) Math.ceil(numberOfTeams / 0.75);
+	}
+	
+	/**
+	 * @param numberOfMatches The number of matches in a season
+	 * @return The number of matches
+	 * @throws IllegalArgumentException If the number of matches is not that of a complete season
+	 */
+	public int checkNumberOfMatches(final int numberOfMatches) {
+		if (numberOfMatches != getNumberOfMatches()) {
+			throw new IllegalArgumentException("expected " + getNumberOfMatches() + " matches but found " + numberOfMatches);
+		}
+		
+		return numberOfMatches;
+	}
+	
+	/**
+	 * @param numberOfTeams The number of teams in a league table
+	 * @return The number of teams
+	 * @throws IllegalArgumentException If the number of teams is not that of this format
+	 */
+	public int checkNumberOfTeams(final int numberOfTeams) {
+		if (numberOfTeams != this.numberOfTeams) {
+			throw new IllegalArgumentException("expected " + this.numberOfTeams + " teams but found " + numberOfTeams);
+		}
+		
+		return numberOfTeams;
+	}
+	
+	// CHECKSTYLE:OFF auto-generated
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * numberOfTeams + meetingsPerPair;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		LeagueFormat other = (LeagueFormat) obj;
+		return (numberOfTeams == other.numberOfTeams) && (meetingsPerPair == other.meetingsPerPair);
+	}
+	
+	// CHECKSTYLE:ON
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "LeagueFormat [numberOfTeams=" + numberOfTeams + ", meetingsPerPair=" + meetingsPerPair + "]";
+	}
+
+}
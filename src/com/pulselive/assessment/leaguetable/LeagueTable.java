@@ -4,17 +4,26 @@
 package com.pulselive.assessment.leaguetable;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
+import java.util.stream.Collector;
+
+import com.pulselive.assessment.leaguetable.metrics.Metrics;
+import com.pulselive.assessment.util.TextBuffer;
 
 /**
  * This class represents the league table, it can take a list of completed matches and produce a sorted list of LeagueTableEntry objects.
+ * The table may also be updated incrementally, one match result at a time, via {@link LeagueTable#apply(Match)}, {@link LeagueTable#revert(Match)}
+ * and {@link LeagueTable#replace(Match, Match)}, the ordering is maintained as results arrive so only the two affected entries are repositioned.
+ * League tables are mergeable partial aggregates, see {@link LeagueTable#merge(LeagueTable)} and {@link LeagueTable#toLeagueTable()}.
  * 
  * @author Paul Parlett
  *
@@ -22,31 +31,121 @@ import java.util.stream.Collectors;
 public class LeagueTable {
 	
 	/**
-	 * The number of teams in the league, assume English Premier League.
-	 * TODO could be parameterised or injected for more generality
+	 * The number of teams in the English Premier League.
+	 * @deprecated use the {@link LeagueFormat} of the league table
+	 */
+	@Deprecated
+	public final static int NUMBER_OF_TEAMS = LeagueFormat.PREMIER_LEAGUE.getNumberOfTeams();
+	
+	/**
+	 * The number of most recent results of each team in the form table.
+	 */
+	public static final int DEFAULT_FORM_LENGTH = 6;
+	
+	/**
+	 * The renderer of {@link LeagueTable#prettyPrint()} and {@link LeagueTableEntry#prettyPrint()}.
 	 */
-	public final static int NUMBER_OF_TEAMS = 20;
+	static final TableRenderer PRETTY_PRINTER = new TableRenderer(TableFormat.FIXED_WIDTH);
 	
 	private final static Logger LOGGER = Logger.getLogger(LeagueTable.class.getName());
 	
 	/**
-	 * @return The number of matches, each team plays every other team home and away
+	 * @return The number of matches in the English Premier League, each team plays every other team home and away
+	 * @deprecated use the {@link LeagueFormat} of the league table
 	 */
+	@Deprecated
 	public static final int numberOfMatches() {
-		return NUMBER_OF_TEAMS * (NUMBER_OF_TEAMS - 1);
+		return LeagueFormat.PREMIER_LEAGUE.getNumberOfMatches();
 	}
 	
-	private Map<String, LeagueTableEntry> map = new HashMap<>();
+	/**
+	 * The format of the league, or null if it is not specified.
+	 */
+	private final LeagueFormat format;
+	
+	private final Map<String, LeagueTableEntry> map;
 	
 	/**
-	 * Construct a LeagueTable from a list of completed matches.
+	 * The entries in table order, an entry must be removed before it is updated and re-inserted afterwards.
+	 */
+	private final NavigableSet<LeagueTableEntry> ordering = new TreeSet<>(Comparator.reverseOrder());
+	
+	/**
+	 * The cached result of {@link LeagueTable#getTableEntries()}, or null if a result has been applied since it was cached.
+	 */
+	private List<LeagueTableEntry> tableEntries;
+	
+	/**
+	 * The home, away and form tables, or null if this table was constructed from, or merged with, league table entries.
+	 */
+	private SplitTables splitTables;
+	
+	/**
+	 * Construct an empty LeagueTable of unspecified format, match results may then be applied one at a time.
+	 */
+	public LeagueTable() {
+		this(DEFAULT_FORM_LENGTH);
+	}
+	
+	/**
+	 * Construct an empty LeagueTable of unspecified format, with a form table of the given number of most recent results.
+	 * @param formLength The number of most recent results of each team in the form table
+	 */
+	public LeagueTable(final int formLength) {
+		this.format = null;
+		this.map = new HashMap<>();
+		this.splitTables = new SplitTables(formLength, 16);
+	}
+	
+	/**
+	 * Construct an empty LeagueTable, the storage is sized for the number of teams in the format.
+	 * @param format The format of the league
+	 */
+	public LeagueTable(final LeagueFormat format) {
+		if (format == null) {
+			throw new IllegalArgumentException("illegal null parameter");
+		}
+		
+		this.format = format;
+		this.map = new HashMap<>(format.getHashCapacity());
+		this.splitTables = new SplitTables(DEFAULT_FORM_LENGTH, format.getHashCapacity());
+	}
+	
+	/**
+	 * Construct a LeagueTable of unspecified format from a list of completed matches.
 	 * @param matches
 	 */
 	public LeagueTable(final List<Match> matches) {
-		matches.forEach(match -> {
-			updateHomeTeamWithMatchResult(match);
+		this();
+		
+		matches.forEach(this::apply);
+	}
+	
+	/**
+	 * Construct a LeagueTable from a list of completed matches.
+	 * @param format The format of the league
+	 * @param matches The completed matches
+	 */
+	public LeagueTable(final LeagueFormat format, final List<Match> matches) {
+		this(format);
+		
+		matches.forEach(this::apply);
+	}
+	
+	/**
+	 * Construct a LeagueTable which is a copy of another, subsequent updates to either table do not affect the other.
+	 * @param other The LeagueTable to copy
+	 */
+	public LeagueTable(final LeagueTable other) {
+		this.format = other.format;
+		this.map = new HashMap<>(other.map.size() * 4 / 3 + 1);
+		this.splitTables = (other.splitTables != null) ? new SplitTables(other.splitTables) : null;
+		
+		other.map.values().forEach(tableEntry -> {
+			LeagueTableEntry copy = new LeagueTableEntry(tableEntry);
 			
-			updateAwayTeamWithMatchResult(match);
+			map.put(copy.getTeamName(), copy);
+			ordering.add(copy);
 		});
 	}
 	
@@ -57,51 +156,461 @@ public class LeagueTable {
 	 */
 	// @VisibleForTesting TODO use Guava
 	LeagueTable(final List<LeagueTableEntry> tableEntries, final int ignored) {
-		map = tableEntries.stream().collect(Collectors.toMap(LeagueTableEntry::getTeamName, Function.identity()));
+		this.format = null;
+		this.map = new HashMap<>();
+		this.splitTables = null;
+		
+		tableEntries.forEach(tableEntry -> {
+			if (map.put(tableEntry.getTeamName(), tableEntry) != null) {
+				throw new IllegalStateException("duplicate team " + tableEntry.getTeamName());
+			}
+			
+			ordering.add(tableEntry);
+		});
+	}
+	
+	/**
+	 * @return A collector of matches into a league table of unspecified format, the partial tables of a parallel stream are merged
+	 */
+	public static Collector<Match, ?, LeagueTable> toLeagueTable() {
+		return Collector.of(LeagueTable::new, LeagueTable::apply, LeagueTable::merge);
+	}
+	
+	/**
+	 * @param format The format of the league
+	 * @return A collector of matches into a league table, the partial tables of a parallel stream are merged
+	 */
+	public static Collector<Match, ?, LeagueTable> toLeagueTable(final LeagueFormat format) {
+		if (format == null) {
+			throw new IllegalArgumentException("illegal null parameter");
+		}
+		
+		return Collector.of(() -> new LeagueTable(format), LeagueTable::apply, LeagueTable::merge);
+	}
+	
+	/**
+	 * Merge league tables into a new league table of unspecified format, e.g. an all-time table from the tables of its seasons.
+	 * @param tables The league tables to merge, in order, which are unchanged
+	 * @return The merged league table
+	 */
+	public static LeagueTable mergeAll(final Collection<LeagueTable> tables) {
+		LeagueTable result = new LeagueTable();
+		
+		tables.forEach(result::merge);
+		
+		return result;
+	}
+	
+	/**
+	 * @return The format of the league, or null if it is not specified
+	 */
+	public LeagueFormat getFormat() {
+		return format;
+	}
+	
+	/**
+	 * @return The number of teams in this league table
+	 */
+	public int getNumberOfTeams() {
+		return map.size();
+	}
+	
+	/**
+	 * @return Whether every team in the format has played all its matches
+	 * @throws IllegalStateException If the format of the league is not specified
+	 */
+	public boolean isComplete() {
+		if (format == null) {
+			throw new IllegalStateException("format of the league is not specified");
+		}
+		
+		return (map.size() == format.getNumberOfTeams()) && map.values().stream().allMatch(tableEntry -> tableEntry.getPlayed() == format.getMatchesPerTeam());
+	}
+	
+	/**
+	 * Apply the result of a completed match to this league table, only the entries for the home and away teams are updated and repositioned.
+	 * @param match The completed match
+	 */
+	public void apply(final Match match) {
+		long startNanos = Metrics.startNanos();
+		
+		applyToEntries(match);
+		
+		if (splitTables != null) {
+			splitTables.apply(match);
+		}
+		
+		if (Metrics.ENABLED) {
+			Metrics.MATCHES_APPLIED.increment();
+			Metrics.APPLY_LATENCY.recordSince(startNanos);
+		}
+	}
+	
+	/**
+	 * Revert the result of a match previously applied to this league table.
+	 * @param match The completed match which was previously applied
+	 */
+	public void revert(final Match match) {
+		revert(match, null);
+		
+		if (Metrics.ENABLED) {
+			Metrics.MATCHES_REVERTED.increment();
+		}
+	}
+	
+	/**
+	 * Revert the result of a match, the corrected result if there is one takes its place in the home, away and form tables.
+	 */
+	private void revert(final Match match, final Match corrected) {
+		LeagueTableEntry homeTeamEntry = getExistingEntry(match.getHomeTeam());
+		LeagueTableEntry awayTeamEntry = getExistingEntry(match.getAwayTeam());
+		
+		if (LOGGER.isLoggable(Level.FINE)) {
+			LOGGER.fine("reverting the match result " + match);
+		}
+		
+		tableEntries = null;
+		
+		LeagueTableEntry homeLower = Metrics.ENABLED ? ordering.lower(homeTeamEntry) : null;
+		LeagueTableEntry homeHigher = Metrics.ENABLED ? ordering.higher(homeTeamEntry) : null;
+		LeagueTableEntry awayLower = Metrics.ENABLED ? ordering.lower(awayTeamEntry) : null;
+		LeagueTableEntry awayHigher = Metrics.ENABLED ? ordering.higher(awayTeamEntry) : null;
+		
+		ordering.remove(homeTeamEntry);
+		ordering.remove(awayTeamEntry);
+		
+		try {
+			homeTeamEntry.revertHomeMatch(match);
+			
+			try {
+				awayTeamEntry.revertAwayMatch(match);
+			} catch (IllegalArgumentException e) {
+				homeTeamEntry.playedHomeMatch(match);	// leave the table unchanged
+				throw e;
+			}
+			
+			if (splitTables != null) {
+				try {
+					if (corrected == null) {
+						splitTables.revert(match);
+					} else {
+						splitTables.replace(match, corrected);
+					}
+				} catch (IllegalArgumentException e) {
+					homeTeamEntry.playedHomeMatch(match);	// leave the table unchanged
+					awayTeamEntry.playedAwayMatch(match);
+					throw e;
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			if (Metrics.ENABLED) {
+				Metrics.MATCHES_REJECTED.increment();
+			}
+			
+			throw e;
+		} finally {
+			ordering.add(homeTeamEntry);
+			ordering.add(awayTeamEntry);
+			
+			if (Metrics.ENABLED) {
+				countReorder(homeTeamEntry, homeLower, homeHigher);
+				countReorder(awayTeamEntry, awayLower, awayHigher);
+			}
+		}
+	}
+	
+	/**
+	 * Replace the result of a match previously applied to this league table with a corrected result, e.g. following a score correction.
+	 * The corrected result takes the place of the previous result in the form table.
+	 * @param previous The completed match which was previously applied
+	 * @param corrected The corrected result of the same match
+	 */
+	public void replace(final Match previous, final Match corrected) {
+		if (!previous.getHomeTeam().equals(corrected.getHomeTeam()) || !previous.getAwayTeam().equals(corrected.getAwayTeam())) {
+			throw new IllegalArgumentException("corrected result is not for the same match");
+		}
+		
+		revert(previous, corrected);
+		
+		try {
+			applyToEntries(corrected);
+		} catch (IllegalArgumentException e) {
+			applyToEntries(previous);		// leave the table unchanged
+			
+			if (splitTables != null) {
+				splitTables.replace(corrected, previous);
+			}
+			
+			throw e;
+		}
+		
+		if (Metrics.ENABLED) {
+			Metrics.MATCHES_REVERTED.increment();
+			Metrics.MATCHES_APPLIED.increment();
+		}
+	}
+	
+	/**
+	 * Merge the results of another league table into this league table, summing the entries of each team, e.g. to combine the 
+	 * partial tables of a parallel reduction. The results of the other table are taken to follow those of this table in the form
+	 * table, the home, away and form tables are no longer available if the other table was constructed from league table entries.
+	 * The format of this league table is unchanged.
+	 * @param other The league table to merge, which is unchanged
+	 * @return This league table
+	 */
+	public LeagueTable merge(final LeagueTable other) {
+		tableEntries = null;
+		
+		for (LeagueTableEntry otherEntry : other.map.values()) {
+			LeagueTableEntry tableEntry = map.get(otherEntry.getTeamName());
+			
+			if (tableEntry == null) {
+				tableEntry = new LeagueTableEntry(otherEntry);
+				
+				map.put(tableEntry.getTeamName(), tableEntry);
+				ordering.add(tableEntry);
+			} else {
+				LeagueTableEntry lower = Metrics.ENABLED ? ordering.lower(tableEntry) : null;
+				LeagueTableEntry higher = Metrics.ENABLED ? ordering.higher(tableEntry) : null;
+				
+				ordering.remove(tableEntry);
+				
+				try {
+					tableEntry.merge(otherEntry);
+				} finally {
+					ordering.add(tableEntry);
+					
+					if (Metrics.ENABLED) {
+						countReorder(tableEntry, lower, higher);
+					}
+				}
+			}
+		}
+		
+		if (other.splitTables == null) {
+			splitTables = null;
+		} else if (splitTables != null) {
+			splitTables.merge(other.splitTables);
+		}
+		
+		return this;
+	}
+	
+	private LeagueTableEntry getExistingEntry(final String teamName) {
+		LeagueTableEntry tableEntry = map.get(teamName);
+		
+		if (tableEntry == null) {
+			if (Metrics.ENABLED) {
+				Metrics.MATCHES_REJECTED.increment();
+			}
+			
+			throw new IllegalArgumentException("no entry in the league table for team " + teamName);
+		}
+		
+		return tableEntry;
 	}
  
+	/**
+	 * Apply the result of a match to the entries of the home and away teams, the table is left unchanged if the result cannot
+	 * be applied, e.g. if the totals of a team would be out of range.
+	 */
+	private void applyToEntries(final Match match) {
+		boolean newHomeTeam = !map.containsKey(match.getHomeTeam());
+		boolean newAwayTeam = !map.containsKey(match.getAwayTeam());
+		
+		try {
+			updateHomeTeamWithMatchResult(match);
+			
+			try {
+				updateAwayTeamWithMatchResult(match);
+			} catch (IllegalArgumentException e) {
+				LeagueTableEntry homeTeamEntry = map.get(match.getHomeTeam());
+				
+				ordering.remove(homeTeamEntry);
+				homeTeamEntry.revertHomeMatch(match);
+				ordering.add(homeTeamEntry);
+				
+				throw e;
+			}
+		} catch (IllegalArgumentException e) {
+			if (newHomeTeam) {
+				ordering.remove(map.remove(match.getHomeTeam()));
+			}
+			
+			if (newAwayTeam) {
+				ordering.remove(map.remove(match.getAwayTeam()));
+			}
+			
+			if (Metrics.ENABLED) {
+				Metrics.MATCHES_REJECTED.increment();
+			}
+			
+			throw e;
+		}
+	}
+	
 	private void updateAwayTeamWithMatchResult(Match match) {
 		String awayTeam = match.getAwayTeam();
 		
-		LOGGER.fine(() -> "updating the away team with match results " + awayTeam);
+		if (LOGGER.isLoggable(Level.FINE)) {
+			LOGGER.fine("updating the away team with match results " + awayTeam);
+		}
 		
 		LeagueTableEntry awayTeamEntry = map.computeIfAbsent(awayTeam, k -> new LeagueTableEntry(k));
 		
-		awayTeamEntry.playedAwayMatch(match);
+		tableEntries = null;
+		
+		LeagueTableEntry lower = Metrics.ENABLED ? ordering.lower(awayTeamEntry) : null;
+		LeagueTableEntry higher = Metrics.ENABLED ? ordering.higher(awayTeamEntry) : null;
+		
+		boolean existing = ordering.remove(awayTeamEntry);
+		
+		try {
+			awayTeamEntry.playedAwayMatch(match);
+		} finally {
+			ordering.add(awayTeamEntry);
+			
+			if (Metrics.ENABLED && existing) {
+				countReorder(awayTeamEntry, lower, higher);
+			}
+		}
 	}
 
 	private void updateHomeTeamWithMatchResult(Match match) {
 		String homeTeam = match.getHomeTeam();
 		
-		LOGGER.fine(() -> "updating the home team with match results " + homeTeam);
+		if (LOGGER.isLoggable(Level.FINE)) {
+			LOGGER.fine("updating the home team with match results " + homeTeam);
+		}
 		
 		LeagueTableEntry homeTeamEntry = map.computeIfAbsent(homeTeam, k -> new LeagueTableEntry(k));
 		
-		homeTeamEntry.playedHomeMatch(match);
+		tableEntries = null;
+		
+		LeagueTableEntry lower = Metrics.ENABLED ? ordering.lower(homeTeamEntry) : null;
+		LeagueTableEntry higher = Metrics.ENABLED ? ordering.higher(homeTeamEntry) : null;
+		
+		boolean existing = ordering.remove(homeTeamEntry);
+		
+		try {
+			homeTeamEntry.playedHomeMatch(match);
+		} finally {
+			ordering.add(homeTeamEntry);
+			
+			if (Metrics.ENABLED && existing) {
+				countReorder(homeTeamEntry, lower, higher);
+			}
+		}
+	}
+	
+	/**
+	 * Count an entry as repositioned if its neighbours in the ordering are not those it had before its totals changed, 
+	 * an entry which keeps its place is not counted.
+	 */
+	private void countReorder(final LeagueTableEntry tableEntry, final LeagueTableEntry lower, final LeagueTableEntry higher) {
+		if ((ordering.lower(tableEntry) != lower) || (ordering.higher(tableEntry) != higher)) {
+			Metrics.REORDERS.increment();
+		}
 	}
 
 	/**
-	 * Get the ordered list of league table entries for this league table.
+	 * Get the ordered list of league table entries for this league table, the list is cached until the next result is applied 
+	 * so repeated calls return the same list without copying or sorting.
 	 **
-	 * @return The ordered list of league table entries
+	 * @return The unmodifiable ordered list of read-only copies of the league table entries, which may be shared by all readers
 	 */
 	public List<LeagueTableEntry> getTableEntries() {
-		List<LeagueTableEntry> result = new ArrayList<>(map.values());
-		
-		LOGGER.fine(() -> "sorting the league table entries");
+		List<LeagueTableEntry> result = tableEntries;
 		
-		Collections.sort(result, Comparator.reverseOrder());
+		if (result == null) {
+			long startNanos = Metrics.startNanos();
+			
+			List<LeagueTableEntry> copies = new ArrayList<>(ordering.size());
+			
+			ordering.forEach(tableEntry -> copies.add(new LeagueTableEntry(tableEntry).freeze()));
+			
+			result = tableEntries = Collections.unmodifiableList(copies);
+			
+			if (Metrics.ENABLED) {
+				Metrics.RANKINGS.increment();
+				Metrics.RANKING_LATENCY.recordSince(startNanos);
+			}
+		}
 		
 		return result;
 	}
 	
+	/**
+	 * Get the home table, of the results of the matches each team played at home, maintained as results are applied.
+	 * @return The unmodifiable ordered list of copies of the home league table entries
+	 * @throws IllegalStateException If this table was constructed from league table entries rather than results
+	 */
+	public List<LeagueTableEntry> getHomeTableEntries() {
+		return getSplitTables().getHomeTableEntries();
+	}
+	
+	/**
+	 * Get the away table, of the results of the matches each team played away, maintained as results are applied.
+	 * @return The unmodifiable ordered list of copies of the away league table entries
+	 * @throws IllegalStateException If this table was constructed from league table entries rather than results
+	 */
+	public List<LeagueTableEntry> getAwayTableEntries() {
+		return getSplitTables().getAwayTableEntries();
+	}
+	
+	/**
+	 * Get the form table, of the most recent results of each team in the order they were applied, maintained as results are applied.
+	 * @return The unmodifiable ordered list of the form league table entries
+	 * @throws IllegalStateException If this table was constructed from league table entries rather than results
+	 */
+	public List<LeagueTableEntry> getFormTableEntries() {
+		return getSplitTables().getFormTableEntries();
+	}
+	
+	/**
+	 * @return The number of most recent results of each team in the form table
+	 */
+	public int getFormLength() {
+		return getSplitTables().getFormLength();
+	}
+	
+	private SplitTables getSplitTables() {
+		if (splitTables == null) {
+			throw new IllegalStateException("no results from which to maintain the home, away and form tables");
+		}
+		
+		return splitTables;
+	}
+	
+	/**
+	 * Get the league table entry for a team.
+	 * @param teamName The name of the team
+	 * @return A read-only copy of the league table entry, or null if the team has no entry in this league table
+	 */
+	public LeagueTableEntry getTableEntry(final String teamName) {
+		LeagueTableEntry tableEntry = map.get(teamName);
+		
+		return (tableEntry != null) ? new LeagueTableEntry(tableEntry).freeze() : null;
+	}
+	
+	/**
+	 * Get the position of a team in this league table.
+	 * @param teamName The name of the team
+	 * @return The position of the team, starting from 1 at the top of the table
+	 */
+	public int getPosition(final String teamName) {
+		return ordering.headSet(getExistingEntry(teamName)).size() + 1;
+	}
+	
 	/**
 	 * Pretty print this league table to the console.
 	 */
 	public void prettyPrint() {
-		System.out.printf("Team                Played    Won       Drawn     Lost      For       Against   GD        Points    %n");
+		TextBuffer buffer = new TextBuffer();
+		
+		PRETTY_PRINTER.render(this, buffer);
 		
-		getTableEntries().forEach(tableEntry -> tableEntry.prettyPrint());
+		System.out.print(buffer);	// encoded in the charset of the stream rather than written as UTF-8
 	}
 
 }
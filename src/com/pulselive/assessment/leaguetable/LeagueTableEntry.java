@@ -7,6 +7,8 @@ import static com.pulselive.assessment.util.ParamUtils.checkGoals;
 import static com.pulselive.assessment.util.ParamUtils.checkNotNull;
 import static com.pulselive.assessment.util.ParamUtils.checkNumber;
 
+import com.pulselive.assessment.util.TextBuffer;
+
 /**
  * This class represents the league table entry, LeagueTableEntry objects are sorted by points, goal difference, goals for and then team names. 
  * The normal rules for scoring points apply.
@@ -38,6 +40,16 @@ public class LeagueTableEntry implements Comparable<LeagueTableEntry> {
 	private int lost;
 	private int goalsFor;
 	private int goalsAgainst;
+	
+	/**
+	 * The packed ranking key of points, goal difference and goals for, see {@link RankingKey}, this is maintained as results are applied.
+	 */
+	private long rankingKey;
+	
+	/**
+	 * Whether this entry is read-only, e.g. an entry of a list published by a league table and shared by all of its readers.
+	 */
+	private boolean readOnly;
 
 	/**
 	 * Construct a LeagueTableEntry object, useful for testing.
@@ -60,6 +72,8 @@ public class LeagueTableEntry implements Comparable<LeagueTableEntry> {
 		this.lost = checkNumber(lost);
 		this.goalsFor = checkGoals(goalsFor);
 		this.goalsAgainst = checkGoals(goalsAgainst);
+		
+		updateRankingKey();
 	}
 
 	/**
@@ -87,6 +101,8 @@ public class LeagueTableEntry implements Comparable<LeagueTableEntry> {
 		this.lost = checkNumber(lost);
 		this.goalsFor = checkGoals(goalsFor);
 		this.goalsAgainst = checkGoals(goalsAgainst);
+		
+		updateRankingKey();
 	}
 
 	/**
@@ -105,6 +121,22 @@ public class LeagueTableEntry implements Comparable<LeagueTableEntry> {
 		// this is used for testing only
 		this.won = points / POINTS_FOR_WIN;
 		this.drawn = points % POINTS_FOR_WIN;
+		
+		updateRankingKey();
+	}
+
+	/**
+	 * Construct a LeagueTableEntry object which is a copy of another.
+	 * @param other The LeagueTableEntry to copy, the copy is not read-only even if the entry copied is
+	 */
+	LeagueTableEntry(final LeagueTableEntry other) {
+		this.teamName = other.teamName;
+		this.won = other.won;
+		this.drawn = other.drawn;
+		this.lost = other.lost;
+		this.goalsFor = other.goalsFor;
+		this.goalsAgainst = other.goalsAgainst;
+		this.rankingKey = other.rankingKey;
 	}
 
 	public String getTeamName() {
@@ -132,7 +164,7 @@ public class LeagueTableEntry implements Comparable<LeagueTableEntry> {
 
 	@Deprecated
 	public void setWon(int won) {
-		this.won = won;
+		setTotals(won, this.drawn, this.lost, this.goalsFor, this.goalsAgainst);
 	}
 
 	public int getDrawn() {
@@ -141,7 +173,7 @@ public class LeagueTableEntry implements Comparable<LeagueTableEntry> {
 
 	@Deprecated
 	public void setDrawn(int drawn) {
-		this.drawn = drawn;
+		setTotals(this.won, drawn, this.lost, this.goalsFor, this.goalsAgainst);
 	}
 
 	public int getLost() {
@@ -150,7 +182,7 @@ public class LeagueTableEntry implements Comparable<LeagueTableEntry> {
 
 	@Deprecated
 	public void setLost(int lost) {
-		this.lost = lost;
+		setTotals(this.won, this.drawn, lost, this.goalsFor, this.goalsAgainst);
 	}
 
 	public int getGoalsFor() {
@@ -159,7 +191,7 @@ public class LeagueTableEntry implements Comparable<LeagueTableEntry> {
 
 	@Deprecated
 	public void setGoalsFor(int goalsFor) {
-		this.goalsFor = goalsFor;
+		setTotals(this.won, this.drawn, this.lost, goalsFor, this.goalsAgainst);
 	}
 
 	public int getGoalsAgainst() {
@@ -168,7 +200,7 @@ public class LeagueTableEntry implements Comparable<LeagueTableEntry> {
 
 	@Deprecated
 	public void setGoalsAgainst(int goalsAgainst) {
-		this.goalsAgainst = goalsAgainst;
+		setTotals(this.won, this.drawn, this.lost, this.goalsFor, goalsAgainst);
 	}
 
 	public int getGoalDifference() {
@@ -190,7 +222,7 @@ public class LeagueTableEntry implements Comparable<LeagueTableEntry> {
 	}
 	
 	/**
-	 * Update this team's league table entry with the result of a home match. 
+	 * Update this team's league table entry with the result of a home match, the entry is unchanged if the totals would be out of range.
 	 * @param match A completed home match
 	 */
 	public void playedHomeMatch(final Match match) {
@@ -198,24 +230,11 @@ public class LeagueTableEntry implements Comparable<LeagueTableEntry> {
 			throw new IllegalArgumentException("not a home match for this team");
 		}
 		
-		switch (match.getResult()) {
-		case HOME_WIN:
-			won++;
-			break;
-		case AWAY_WIN:
-			lost++;
-			break;
-		case DRAW:
-			drawn++;
-			break;
-		}
-		
-		goalsFor += match.getHomeScore();
-		goalsAgainst += match.getAwayScore();
+		played(match.getResult(), Match.Result.HOME_WIN, match.getHomeScore(), match.getAwayScore());
 	}
 	 
 	/**
-	 * Update this team's league table entry with the result of aa away match. 
+	 * Update this team's league table entry with the result of an away match, the entry is unchanged if the totals would be out of range.
 	 * @param match A completed away match
 	 */
 	public void playedAwayMatch(final Match match) {
@@ -223,28 +242,132 @@ public class LeagueTableEntry implements Comparable<LeagueTableEntry> {
 			throw new IllegalArgumentException("not an away match for this team");
 		}
 		
-		switch (match.getResult()) {
-		case HOME_WIN:
-			lost++;
-			break;
-		case AWAY_WIN:
-			won++;
-			break;
-		case DRAW:
-			drawn++;
-			break;
+		played(match.getResult(), Match.Result.AWAY_WIN, match.getAwayScore(), match.getHomeScore());
+	}
+	
+	private void played(final Match.Result result, final Match.Result winForThisTeam, final int scored, final int conceded) {
+		boolean draw = (result == Match.Result.DRAW);
+		boolean win = (result == winForThisTeam);
+		
+		setTotals(win ? won + 1 : won, draw ? drawn + 1 : drawn, (win || draw) ? lost : lost + 1, goalsFor + scored, goalsAgainst + conceded);
+	}
+	
+	/**
+	 * Add the results of another league table entry for the same team to this entry, e.g. to combine the partial standings of a
+	 * parallel reduction or the standings of several seasons. This entry is unchanged if the totals are out of range.
+	 * @param other The league table entry to add, which is unchanged
+	 */
+	public void merge(final LeagueTableEntry other) {
+		if (!teamName.equals(other.teamName)) {
+			throw new IllegalArgumentException("not an entry for this team");
+		}
+		
+		setTotals(won + other.won, drawn + other.drawn, lost + other.lost, goalsFor + other.goalsFor, goalsAgainst + other.goalsAgainst);
+	}
+	
+	/**
+	 * Revert the result of a home match previously applied to this team's league table entry.
+	 * @param match A completed home match which was previously applied
+	 */
+	public void revertHomeMatch(final Match match) {
+		if (!teamName.equals(match.getHomeTeam())) {
+			throw new IllegalArgumentException("not a home match for this team");
+		}
+		
+		revert(match.getResult(), Match.Result.HOME_WIN, match.getHomeScore(), match.getAwayScore());
+	}
+	
+	/**
+	 * Revert the result of an away match previously applied to this team's league table entry.
+	 * @param match A completed away match which was previously applied
+	 */
+	public void revertAwayMatch(final Match match) {
+		if (!teamName.equals(match.getAwayTeam())) {
+			throw new IllegalArgumentException("not an away match for this team");
+		}
+		
+		revert(match.getResult(), Match.Result.AWAY_WIN, match.getAwayScore(), match.getHomeScore());
+	}
+	
+	private void revert(final Match.Result result, final Match.Result winForThisTeam, final int scored, final int conceded) {
+		if ((goalsFor < scored) || (goalsAgainst < conceded)) {
+			throw new IllegalArgumentException("match was not applied to this team");
+		}
+		
+		boolean draw = (result == Match.Result.DRAW);
+		boolean win = (result == winForThisTeam);
+		
+		setTotals(win ? decrement(won) : won, draw ? decrement(drawn) : drawn, (win || draw) ? lost : decrement(lost), goalsFor - scored, goalsAgainst - conceded);
+	}
+	
+	/**
+	 * Set the totals of this entry with their ranking key, which is computed first so that the entry is unchanged if the totals are out of range.
+	 */
+	private void setTotals(final int newWon, final int newDrawn, final int newLost, final int newGoalsFor, final int newGoalsAgainst) {
+		checkWritable();
+		
+		long newRankingKey = RankingKey.of(newWon * POINTS_FOR_WIN + newDrawn * POINTS_FOR_DRAW + newLost * POINTS_FOR_LOSS,
+				newGoalsFor - newGoalsAgainst, newGoalsFor);
+		
+		won = newWon;
+		drawn = newDrawn;
+		lost = newLost;
+		goalsFor = newGoalsFor;
+		goalsAgainst = newGoalsAgainst;
+		rankingKey = newRankingKey;
+	}
+	
+	/**
+	 * Make this entry read-only, so that it may be shared by readers which cannot then change it.
+	 * @return This entry
+	 */
+	LeagueTableEntry freeze() {
+		readOnly = true;
+		
+		return this;
+	}
+	
+	/**
+	 * @return Whether this entry is read-only, in which case the methods which would change it throw UnsupportedOperationException
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+	
+	private void checkWritable() {
+		if (readOnly) {
+			throw new UnsupportedOperationException("read-only league table entry " + teamName);
+		}
+	}
+	
+	private void updateRankingKey() {
+		rankingKey = RankingKey.of(getPoints(), getGoalDifference(), goalsFor);
+	}
+	
+	/**
+	 * @return The packed ranking key of points, goal difference and goals for, without a team ordinal
+	 */
+	public long getRankingKey() {
+		return rankingKey;
+	}
+	
+	private static int decrement(final int count) {
+		if (count == 0) {
+			throw new IllegalArgumentException("match was not applied to this team");
 		}
 		
-		goalsFor += match.getAwayScore();
-		goalsAgainst += match.getHomeScore();
+		return count - 1;
 	}
 	
 	/**
 	 * Pretty print this league table entry to the console.
 	 */
 	public void prettyPrint() {
-		System.out.printf("%-20s%-10d%-10d%-10d%-10d%-10d%-10d%-10d%-10d %n", teamName, 
-				getPlayed(), won, drawn, lost, goalsFor, goalsAgainst, getGoalDifference(), getPoints());
+		TextBuffer buffer = new TextBuffer(TableRenderer.TEAM_WIDTH + 9 * TableRenderer.COLUMN_WIDTH);
+		
+		LeagueTable.PRETTY_PRINTER.renderRow(this, 0, buffer);
+		
+		System.out.print(buffer);	// encoded in the charset of the stream rather than written as UTF-8
 	}
 	
 	// CHECKSTYLE:OFF auto-generated
@@ -299,18 +422,10 @@ public class LeagueTableEntry implements Comparable<LeagueTableEntry> {
 	 */
 	@Override
 	public int compareTo(LeagueTableEntry o) {
-		if (getPoints() < o.getPoints()) {
-			return -1;
-		} else if (getPoints() > o.getPoints()) {
-			return 1;
-		} else if (getGoalDifference() < o.getGoalDifference()) {
-			return -1;
-		} else if (getGoalDifference() > o.getGoalDifference()) {
-			return 1;
-		} else if (goalsFor < o.goalsFor) {
-			return -1;
-		} else if (goalsFor > o.goalsFor) {
-			return 1;
+		int result = Long.compare(rankingKey, o.rankingKey);
+		
+		if (result != 0) {
+			return result;
 		}
 		
 		return teamName.compareTo(o.teamName);	// conventional Alphabetical ordering
@@ -0,0 +1,156 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class represents the provisional "as it stands" league table during a round of matches. 
+ * It is layered on a copy of the league table before the round, in-play events update the provisional score of each match 
+ * and the provisional score is applied to the table as a result, which is replaced as each goal is scored.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class LiveLeagueTable {
+	
+	private final static Logger LOGGER = Logger.getLogger(LiveLeagueTable.class.getName());
+	
+	private final Map<String, Integer> basePositions = new HashMap<>();
+	
+	private final LeagueTable provisionalTable;
+	
+	/**
+	 * The provisional score of each match which has kicked off, keyed by the home team.
+	 */
+	private final Map<String, Match> provisionalMatches = new HashMap<>();
+	
+	/**
+	 * The home teams of the matches which have kicked off and are not yet at full time.
+	 */
+	private final Map<String, String> inPlay = new HashMap<>();
+
+	/**
+	 * Construct a LiveLeagueTable for a round of matches.
+	 * @param baseTable The league table before the round of matches, this is not modified
+	 */
+	public LiveLeagueTable(final LeagueTable baseTable) {
+		provisionalTable = new LeagueTable(baseTable);
+		
+		List<LeagueTableEntry> tableEntries = baseTable.getTableEntries();
+		
+		for (int i = 0; i < tableEntries.size(); i++) {
+			basePositions.put(tableEntries.get(i).getTeamName(), i + 1);
+		}
+	}
+	
+	/**
+	 * Update the provisional league table with an in-play event.
+	 * @param event The in-play event
+	 */
+	public void accept(final MatchEvent event) {
+		if (LOGGER.isLoggable(Level.FINE)) {
+			LOGGER.fine("accepting the match event " + event);
+		}
+		
+		String homeTeam = event.getHomeTeam();
+		
+		switch (event.getType()) {
+		case KICK_OFF:
+			if (provisionalMatches.containsKey(homeTeam)) {
+				throw new IllegalStateException("match has already kicked off for home team " + homeTeam);
+			}
+			
+			Match match = new Match(homeTeam, event.getAwayTeam(), 0, 0);
+			
+			provisionalTable.apply(match);
+			
+			provisionalMatches.put(homeTeam, match);
+			inPlay.put(homeTeam, event.getAwayTeam());
+			break;
+		case GOAL_SCORED:
+			updateScore(event, 1);
+			break;
+		case GOAL_DISALLOWED:
+			updateScore(event, -1);
+			break;
+		case FULL_TIME:
+			checkInPlay(event);
+			
+			inPlay.remove(homeTeam);
+			break;
+		}
+	}
+	
+	private void updateScore(final MatchEvent event, final int goals) {
+		Match previous = checkInPlay(event);
+		
+		boolean homeGoal = event.getScoringTeam().equals(previous.getHomeTeam());
+		
+		Match corrected = new Match(previous.getHomeTeam(), previous.getAwayTeam(), 
+				previous.getHomeScore() + (homeGoal ? goals : 0), previous.getAwayScore() + (homeGoal ? 0 : goals));
+		
+		provisionalTable.replace(previous, corrected);
+		
+		provisionalMatches.put(previous.getHomeTeam(), corrected);
+	}
+	
+	private Match checkInPlay(final MatchEvent event) {
+		if (!event.getAwayTeam().equals(inPlay.get(event.getHomeTeam()))) {
+			throw new IllegalStateException("match is not in play " + event);
+		}
+		
+		return provisionalMatches.get(event.getHomeTeam());
+	}
+	
+	/**
+	 * @param homeTeam The name of the home team
+	 * @return Whether the match with this home team has kicked off and is not yet at full time
+	 */
+	public boolean isInPlay(final String homeTeam) {
+		return inPlay.containsKey(homeTeam);
+	}
+	
+	/**
+	 * @param homeTeam The name of the home team
+	 * @return The provisional score of the match with this home team, or null if it has not kicked off
+	 */
+	public Match getProvisionalMatch(final String homeTeam) {
+		return provisionalMatches.get(homeTeam);
+	}
+	
+	/**
+	 * Get the ordered list of league table entries as it stands.
+	 * @return The ordered list of league table entries
+	 */
+	public List<LeagueTableEntry> getTableEntries() {
+		return provisionalTable.getTableEntries();
+	}
+	
+	/**
+	 * Get the change in position of each team as it stands relative to the league table before the round of matches.
+	 * @return The change in position keyed by team name, positive when the team has moved up the table
+	 */
+	public Map<String, Integer> getPositionChanges() {
+		List<LeagueTableEntry> tableEntries = provisionalTable.getTableEntries();
+		
+		Map<String, Integer> result = new HashMap<>();
+		
+		for (int i = 0; i < tableEntries.size(); i++) {
+			String teamName = tableEntries.get(i).getTeamName();
+			
+			Integer basePosition = basePositions.get(teamName);
+			
+			// a team new to the table is treated as entering it from below
+			result.put(teamName, ((basePosition == null) ? tableEntries.size() : basePosition) - (i + 1));
+		}
+		
+		return result;
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static com.pulselive.assessment.util.ParamUtils.checkNotNull;
+
+/**
+ * This class represents an in-play event for a match which is not yet complete, e.g. a goal scored by one of the teams.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class MatchEvent {
+	
+	public enum Type { KICK_OFF, GOAL_SCORED, GOAL_DISALLOWED, FULL_TIME }
+	
+	private final Type type;
+	private final String homeTeam;
+	private final String awayTeam;
+	private final String scoringTeam;
+
+	/**
+	 * @param homeTeam The name of the home team
+	 * @param awayTeam The name of the away team
+	 * @return The event for the start of the match
+	 */
+	public static MatchEvent kickOff(final String homeTeam, final String awayTeam) {
+		return new MatchEvent(Type.KICK_OFF, homeTeam, awayTeam, null);
+	}
+
+	/**
+	 * @param homeTeam The name of the home team
+	 * @param awayTeam The name of the away team
+	 * @param scoringTeam The name of the team credited with the goal, either the home or away team
+	 * @return The event for a goal scored in the match
+	 */
+	public static MatchEvent goalScored(final String homeTeam, final String awayTeam, final String scoringTeam) {
+		return new MatchEvent(Type.GOAL_SCORED, homeTeam, awayTeam, checkNotNull(scoringTeam));
+	}
+
+	/**
+	 * @param homeTeam The name of the home team
+	 * @param awayTeam The name of the away team
+	 * @param scoringTeam The name of the team which has had a goal disallowed, either the home or away team
+	 * @return The event for a goal which has been disallowed after it was awarded
+	 */
+	public static MatchEvent goalDisallowed(final String homeTeam, final String awayTeam, final String scoringTeam) {
+		return new MatchEvent(Type.GOAL_DISALLOWED, homeTeam, awayTeam, checkNotNull(scoringTeam));
+	}
+
+	/**
+	 * @param homeTeam The name of the home team
+	 * @param awayTeam The name of the away team
+	 * @return The event for the end of the match
+	 */
+	public static MatchEvent fullTime(final String homeTeam, final String awayTeam) {
+		return new MatchEvent(Type.FULL_TIME, homeTeam, awayTeam, null);
+	}
+	
+	private MatchEvent(final Type type, final String homeTeam, final String awayTeam, final String scoringTeam) {
+		this.type = type;
+		this.homeTeam = checkNotNull(homeTeam);
+		this.awayTeam = checkNotNull(awayTeam);
+		this.scoringTeam = scoringTeam;
+		
+		if ((scoringTeam != null) && !scoringTeam.equals(homeTeam) && !scoringTeam.equals(awayTeam)) {
+			throw new IllegalArgumentException("scoring team is not playing in this match");
+		}
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public String getHomeTeam() {
+		return homeTeam;
+	}
+
+	public String getAwayTeam() {
+		return awayTeam;
+	}
+
+	/**
+	 * @return The name of the team credited with the goal, or null if the event is not a goal
+	 */
+	public String getScoringTeam() {
+		return scoringTeam;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "MatchEvent [type=" + type + ", homeTeam=" + homeTeam + ", awayTeam=" + awayTeam + ", scoringTeam=" + scoringTeam + "]";
+	}
+
+}
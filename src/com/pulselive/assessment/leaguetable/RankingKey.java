@@ -0,0 +1,87 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+/**
+ * This class comprises utilities for packing the ranking criteria of a team into a single long, 
+ * so that teams can be ordered by a single primitive comparison rather than comparing points, goal difference and goals for in turn.
+ * A greater key ranks higher in the table. The bits, from most significant, are:
+ * <ul>
+ * <li>16 bits of points</li>
+ * <li>16 bits of goal difference, offset so that it is never negative</li>
+ * <li>16 bits of goals for</li>
+ * <li>15 bits of team ordinal, used to break ties between otherwise equal teams</li>
+ * </ul>
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class RankingKey {
+	
+	static final int ORDINAL_BITS = 15;
+	static final int GOALS_FOR_BITS = 16;
+	static final int GOAL_DIFFERENCE_BITS = 16;
+	static final int POINTS_BITS = 16;
+	
+	private static final int GOALS_FOR_SHIFT = ORDINAL_BITS;
+	private static final int GOAL_DIFFERENCE_SHIFT = GOALS_FOR_SHIFT + GOALS_FOR_BITS;
+	private static final int POINTS_SHIFT = GOAL_DIFFERENCE_SHIFT + GOAL_DIFFERENCE_BITS;
+	
+	private static final int GOAL_DIFFERENCE_OFFSET = 1 << (GOAL_DIFFERENCE_BITS - 1);
+	
+	/**
+	 * The maximum team ordinal.
+	 */
+	public static final int MAX_ORDINAL = (1 << ORDINAL_BITS) - 1;
+	
+	private static final long ORDINAL_MASK = MAX_ORDINAL;
+	
+	/**
+	 * @param points The league points awarded to the team
+	 * @param goalDifference The difference between the total number of goals scored and total number of goals conceded
+	 * @param goalsFor Total number of goals scored by the team in all matches
+	 * @return The ranking key with a team ordinal of 0
+	 */
+	public static long of(final int points, final int goalDifference, final int goalsFor) {
+		return of(points, goalDifference, goalsFor, 0);
+	}
+	
+	/**
+	 * @param points The league points awarded to the team
+	 * @param goalDifference The difference between the total number of goals scored and total number of goals conceded
+	 * @param goalsFor Total number of goals scored by the team in all matches
+	 * @param ordinal The ordinal of the team, the higher ordinal ranks higher when all other criteria are equal
+	 * @return The ranking key
+	 */
+	public static long of(final int points, final int goalDifference, final int goalsFor, final int ordinal) {
+		int offsetGoalDifference = goalDifference + GOAL_DIFFERENCE_OFFSET;
+		
+		if (((points >>> POINTS_BITS) != 0) || ((offsetGoalDifference >>> GOAL_DIFFERENCE_BITS) != 0) || ((goalsFor >>> GOALS_FOR_BITS) != 0) || ((ordinal >>> ORDINAL_BITS) != 0)) {
+			throw new IllegalArgumentException("ranking criteria out of range");
+		}
+		
+		return ((long) points << POINTS_SHIFT) | ((long) offsetGoalDifference << GOAL_DIFFERENCE_SHIFT) | ((long) goalsFor << GOALS_FOR_SHIFT) | ordinal;
+	}
+	
+	/**
+	 * @param key The ranking key
+	 * @return The team ordinal packed in the key
+	 */
+	public static int ordinal(final long key) {
+		return (int) (key & ORDINAL_MASK);
+	}
+	
+	/**
+	 * @param key The ranking key
+	 * @return The key with the team ordinal cleared, so that keys for equal teams are equal
+	 */
+	public static long withoutOrdinal(final long key) {
+		return key & ~ORDINAL_MASK;
+	}
+	
+	private RankingKey() {
+		// prevent instantiation
+	}
+
+}
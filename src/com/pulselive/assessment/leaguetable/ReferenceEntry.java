@@ -0,0 +1,105 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static com.pulselive.assessment.util.ParamUtils.checkNotNull;
+
+/**
+ * This class represents an entry of a published reference table, e.g. in footstats format. Unlike a {@link LeagueTableEntry}
+ * the played, goal difference and points are held as published rather than derived, so that a reference table which is not
+ * self consistent, e.g. after a points deduction, is reconciled field by field.
+ *
+ * @author Paul Parlett
+ *
+ */
+public final class ReferenceEntry {
+	
+	private final int position;
+	private final String teamName;
+	private final int played;
+	private final int won;
+	private final int drawn;
+	private final int lost;
+	private final int goalsFor;
+	private final int goalsAgainst;
+	private final int goalDifference;
+	private final int points;
+	
+	/**
+	 * Construct a ReferenceEntry object.
+	 * @param position The published position of the team, starting from 1 at the top of the table
+	 * @param teamName The name of the team
+	 * @param played Number of games played
+	 * @param won Number of games won
+	 * @param drawn Number of games drawn
+	 * @param lost Number of games lost
+	 * @param goalsFor Total number of goals scored by the team in all matches
+	 * @param goalsAgainst Total number of goals conceded by the team in all matches
+	 * @param goalDifference The published goal difference
+	 * @param points The published league points
+	 */
+	public ReferenceEntry(final int position, final String teamName, final int played, final int won, final int drawn, final int lost,
+			final int goalsFor, final int goalsAgainst, final int goalDifference, final int points) {
+		this.position = position;
+		this.teamName = checkNotNull(teamName);
+		this.played = played;
+		this.won = won;
+		this.drawn = drawn;
+		this.lost = lost;
+		this.goalsFor = goalsFor;
+		this.goalsAgainst = goalsAgainst;
+		this.goalDifference = goalDifference;
+		this.points = points;
+	}
+	
+	public int getPosition() {
+		return position;
+	}
+	
+	public String getTeamName() {
+		return teamName;
+	}
+	
+	public int getPlayed() {
+		return played;
+	}
+	
+	public int getWon() {
+		return won;
+	}
+	
+	public int getDrawn() {
+		return drawn;
+	}
+	
+	public int getLost() {
+		return lost;
+	}
+	
+	public int getGoalsFor() {
+		return goalsFor;
+	}
+	
+	public int getGoalsAgainst() {
+		return goalsAgainst;
+	}
+	
+	public int getGoalDifference() {
+		return goalDifference;
+	}
+	
+	public int getPoints() {
+		return points;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "ReferenceEntry [position=" + position + ", teamName=" + teamName + ", played=" + played + ", won=" + won + ", drawn=" + drawn
+				+ ", lost=" + lost + ", goalsFor=" + goalsFor + ", goalsAgainst=" + goalsAgainst + ", goalDifference=" + goalDifference + ", points=" + points + "]";
+	}
+
+}
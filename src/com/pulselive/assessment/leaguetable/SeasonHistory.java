@@ -0,0 +1,250 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class represents the history of the league table through a season, built once from the dated matches, 
+ * so that the table as of any date can be reconstructed without re-applying the whole season. 
+ * The matches are grouped into matchdays, one per distinct date, and the standings are checkpointed every few matchdays, 
+ * the table as of a date is the nearest earlier checkpoint plus the matches of at most that many matchdays. 
+ * The position of every team after every matchday is also recorded so that a team's position over time is a lookup.
+ * An instance is immutable and may be shared between threads.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class SeasonHistory {
+	
+	/**
+	 * The default number of matchdays between checkpoints.
+	 */
+	public static final int DEFAULT_CHECKPOINT_INTERVAL = 8;
+	
+	private final TeamRegistry registry;
+	private final int checkpointInterval;
+	
+	/**
+	 * The distinct dates on which matches were played, in order, as epoch days.
+	 */
+	private final long[] matchdays;
+	
+	/**
+	 * The offset of the first match of each matchday, with a final entry for the total number of matches.
+	 */
+	private final int[] matchdayOffsets;
+	
+	private final int[] homeTeamIds;
+	private final int[] awayTeamIds;
+	private final int[] homeScores;
+	private final int[] awayScores;
+	
+	/**
+	 * The standings before each checkpointed matchday, checkpoint i is before matchday i * checkpointInterval.
+	 */
+	private final StandingsStore[] checkpoints;
+	
+	/**
+	 * The position of each team after each matchday, indexed by matchday and then team identifier.
+	 */
+	private final int[][] positions;
+
+	/**
+	 * Construct a SeasonHistory with the default checkpoint interval.
+	 * @param matches The dated matches of the season, in any order
+	 */
+	public SeasonHistory(final Collection<DatedMatch> matches) {
+		this(matches, DEFAULT_CHECKPOINT_INTERVAL);
+	}
+
+	/**
+	 * Construct a SeasonHistory.
+	 * @param matches The dated matches of the season, in any order
+	 * @param checkpointInterval The number of matchdays between checkpoints
+	 */
+	public SeasonHistory(final Collection<DatedMatch> matches, final int checkpointInterval) {
+		if (checkpointInterval < 1) {
+			throw new IllegalArgumentException("illegal checkpoint interval " + checkpointInterval);
+		}
+		
+		this.checkpointInterval = checkpointInterval;
+		
+		TeamRegistry teams = new TeamRegistry();
+		
+		List<DatedMatch> sorted = new ArrayList<>(matches);
+		sorted.sort(Comparator.comparing(DatedMatch::getDate));
+		
+		int size = sorted.size();
+		
+		homeTeamIds = new int[size];
+		awayTeamIds = new int[size];
+		homeScores = new int[size];
+		awayScores = new int[size];
+		
+		long[] days = new long[size];
+		int[] offsets = new int[size + 1];
+		int numberOfMatchdays = 0;
+		
+		for (int i = 0; i < size; i++) {
+			DatedMatch datedMatch = sorted.get(i);
+			IndexedMatch match = IndexedMatch.of(datedMatch.getMatch(), teams);
+			
+			homeTeamIds[i] = match.getHomeTeamId();
+			awayTeamIds[i] = match.getAwayTeamId();
+			homeScores[i] = match.getHomeScore();
+			awayScores[i] = match.getAwayScore();
+			
+			long day = datedMatch.getDate().toEpochDay();
+			
+			if ((numberOfMatchdays == 0) || (days[numberOfMatchdays - 1] != day)) {
+				days[numberOfMatchdays] = day;
+				offsets[numberOfMatchdays] = i;
+				numberOfMatchdays++;
+			}
+		}
+		
+		offsets[numberOfMatchdays] = size;
+		
+		registry = teams.readOnlyView();
+		
+		matchdays = Arrays.copyOf(days, numberOfMatchdays);
+		matchdayOffsets = Arrays.copyOf(offsets, numberOfMatchdays + 1);
+		
+		checkpoints = new StandingsStore[numberOfMatchdays / checkpointInterval + 1];
+		positions = new int[numberOfMatchdays][registry.size()];
+		
+		StandingsStore standings = new StandingsStore(registry);
+		int[] teamIds = new int[registry.size()];
+		
+		for (int matchday = 0; matchday < numberOfMatchdays; matchday++) {
+			if (matchday % checkpointInterval == 0) {
+				checkpoints[matchday / checkpointInterval] = new StandingsStore(standings);
+			}
+			
+			applyMatchday(standings, matchday);
+			
+			standings.rank(teamIds);
+			
+			for (int position = 0; position < teamIds.length; position++) {
+				positions[matchday][teamIds[position]] = position + 1;
+			}
+		}
+		
+		if (numberOfMatchdays % checkpointInterval == 0) {
+			checkpoints[numberOfMatchdays / checkpointInterval] = new StandingsStore(standings);
+		}
+	}
+	
+	private void applyMatchday(final StandingsStore standings, final int matchday) {
+		for (int i = matchdayOffsets[matchday]; i < matchdayOffsets[matchday + 1]; i++) {
+			standings.apply(homeTeamIds[i], awayTeamIds[i], homeScores[i], awayScores[i]);
+		}
+	}
+	
+	/**
+	 * @return The read-only registry of the teams in the season, which is also that of the standings returned
+	 */
+	public TeamRegistry getRegistry() {
+		return registry;
+	}
+	
+	/**
+	 * @return The distinct dates on which matches were played, in order
+	 */
+	public List<LocalDate> getMatchdays() {
+		List<LocalDate> result = new ArrayList<>(matchdays.length);
+		
+		for (long day : matchdays) {
+			result.add(LocalDate.ofEpochDay(day));
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @param date The date
+	 * @return The index of the last matchday on or before the date, or -1 if the date is before the first matchday
+	 */
+	private int matchdayAsOf(final LocalDate date) {
+		int index = Arrays.binarySearch(matchdays, date.toEpochDay());
+		
+		return (index >= 0) ? index : -index - 2;
+	}
+	
+	/**
+	 * Reconstruct the standings as of the end of a date.
+	 * @param date The date
+	 * @return The new standings, including all matches played on or before the date, with the read-only registry of the season
+	 */
+	public StandingsStore getStandingsAsOf(final LocalDate date) {
+		int matchday = matchdayAsOf(date);
+		
+		if (matchday < 0) {
+			return new StandingsStore(checkpoints[0]);
+		}
+		
+		int checkpoint = matchday / checkpointInterval;
+		
+		StandingsStore result = new StandingsStore(checkpoints[checkpoint]);
+		
+		for (int i = checkpoint * checkpointInterval; i <= matchday; i++) {
+			applyMatchday(result, i);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Reconstruct the league table as of the end of a date.
+	 * @param date The date
+	 * @return The ordered list of league table entries, including all matches played on or before the date
+	 */
+	public List<LeagueTableEntry> getTableEntriesAsOf(final LocalDate date) {
+		return getStandingsAsOf(date).getTableEntries();
+	}
+	
+	/**
+	 * @param teamName The name of the team
+	 * @param date The date
+	 * @return The position of the team as of the end of the date, or 0 if the date is before the first matchday
+	 */
+	public int getPositionAsOf(final String teamName, final LocalDate date) {
+		int matchday = matchdayAsOf(date);
+		
+		return (matchday < 0) ? 0 : positions[matchday][teamId(teamName)];
+	}
+	
+	/**
+	 * @param teamName The name of the team
+	 * @return The position of the team after each matchday, aligned with {@link SeasonHistory#getMatchdays()}
+	 */
+	public int[] getPositionHistory(final String teamName) {
+		int teamId = teamId(teamName);
+		
+		int[] result = new int[positions.length];
+		
+		for (int matchday = 0; matchday < positions.length; matchday++) {
+			result[matchday] = positions[matchday][teamId];
+		}
+		
+		return result;
+	}
+	
+	private int teamId(final String teamName) {
+		int teamId = registry.idOf(teamName);
+		
+		if (teamId == TeamRegistry.NO_TEAM) {
+			throw new IllegalArgumentException("no team in the season " + teamName);
+		}
+		
+		return teamId;
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static com.pulselive.assessment.util.ParamUtils.checkNotNull;
+import static com.pulselive.assessment.util.ParamUtils.checkNumber;
+
+/**
+ * This class identifies the league table for a season of a division, e.g. E0 (the English Premier League) for the 2017-2018 season.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class SeasonKey implements Comparable<SeasonKey> {
+	
+	private final String division;
+	private final int startYear;
+
+	/**
+	 * Construct a SeasonKey object.
+	 * @param division The code of the division, e.g. E0
+	 * @param startYear The year in which the season starts, e.g. 2017 for the 2017-2018 season
+	 */
+	public SeasonKey(final String division, final int startYear) {
+		this.division = checkNotNull(division);
+		this.startYear = checkNumber(startYear);
+	}
+
+	public String getDivision() {
+		return division;
+	}
+
+	public int getStartYear() {
+		return startYear;
+	}
+	
+	// CHECKSTYLE:OFF auto-generated
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + division.hashCode();
+		result = prime * result + startYear;
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		SeasonKey other = (SeasonKey) obj;
+		if (!division.equals(other.division))
+			return false;
+		if (startYear != other.startYear)
+			return false;
+		return true;
+	}
+	
+	// CHECKSTYLE:ON
+
+	/**
+	 * {@inheritDoc}
+	 * Define on attributes division and then startYear.
+	 */
+	@Override
+	public int compareTo(SeasonKey o) {
+		int result = division.compareTo(o.division);
+		
+		return (result != 0) ? result : Integer.compare(startYear, o.startYear);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "SeasonKey [division=" + division + ", startYear=" + startYear + "]";
+	}
+
+}
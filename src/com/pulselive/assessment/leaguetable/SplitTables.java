@@ -0,0 +1,366 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents the home, away and form tables of a league table, which are maintained alongside the overall standings
+ * as each result is applied. The home and away tables have an entry per team for the matches at that venue. The form table has
+ * the running totals of the last results of each team, updated in constant time as a result is applied. Each table is sorted
+ * only when it is read after a change.
+ * <p>
+ * The results of each team are kept with their matches, not only the last of them, so that the very result which is reverted is
+ * removed from the form, bringing an earlier result back into the form, and a corrected result takes the place of the result it
+ * corrects.
+ *
+ * @author Paul Parlett
+ *
+ */
+final class SplitTables {
+	
+	private final int formLength;
+	
+	private final Map<String, LeagueTableEntry> homeEntries;
+	private final Map<String, LeagueTableEntry> awayEntries;
+	private final Map<String, Form> forms;
+	
+	/**
+	 * The cached sorted tables, or null if a result has been applied since they were cached.
+	 */
+	private List<LeagueTableEntry> homeTableEntries;
+	private List<LeagueTableEntry> awayTableEntries;
+	private List<LeagueTableEntry> formTableEntries;
+	
+	SplitTables(final int formLength, final int capacity) {
+		if (formLength < 1) {
+			throw new IllegalArgumentException("illegal form length " + formLength);
+		}
+		
+		this.formLength = formLength;
+		
+		homeEntries = new HashMap<>(capacity);
+		awayEntries = new HashMap<>(capacity);
+		forms = new HashMap<>(capacity);
+	}
+	
+	SplitTables(final SplitTables other) {
+		this(other.formLength, other.forms.size() * 4 / 3 + 1);
+		
+		other.homeEntries.values().forEach(tableEntry -> homeEntries.put(tableEntry.getTeamName(), new LeagueTableEntry(tableEntry)));
+		other.awayEntries.values().forEach(tableEntry -> awayEntries.put(tableEntry.getTeamName(), new LeagueTableEntry(tableEntry)));
+		other.forms.values().forEach(form -> forms.put(form.teamName, new Form(form)));
+	}
+	
+	int getFormLength() {
+		return formLength;
+	}
+	
+	void apply(final Match match) {
+		String homeTeam = match.getHomeTeam();
+		String awayTeam = match.getAwayTeam();
+		
+		homeEntries.computeIfAbsent(homeTeam, LeagueTableEntry::new).playedHomeMatch(match);
+		awayEntries.computeIfAbsent(awayTeam, LeagueTableEntry::new).playedAwayMatch(match);
+		
+		// both teams appear in both tables, as in the overall table
+		homeEntries.computeIfAbsent(awayTeam, LeagueTableEntry::new);
+		awayEntries.computeIfAbsent(homeTeam, LeagueTableEntry::new);
+		
+		forms.computeIfAbsent(homeTeam, Form::new).add(match);
+		forms.computeIfAbsent(awayTeam, Form::new).add(match);
+		
+		invalidate();
+	}
+	
+	/**
+	 * Revert a result, the tables are left unchanged if the result cannot have been applied.
+	 * @throws IllegalArgumentException If the result cannot have been applied
+	 */
+	void revert(final Match match) {
+		update(match, null);
+	}
+	
+	/**
+	 * Replace a result with a corrected result of the same match, which takes the place of the result in the form of each team.
+	 * The tables are left unchanged if the result cannot have been applied.
+	 * @throws IllegalArgumentException If the result cannot have been applied
+	 */
+	void replace(final Match previous, final Match corrected) {
+		update(previous, corrected);
+	}
+	
+	/**
+	 * Revert a result and apply the corrected result in its place, if there is one.
+	 */
+	private void update(final Match match, final Match corrected) {
+		LeagueTableEntry homeTeamEntry = homeEntries.get(match.getHomeTeam());
+		LeagueTableEntry awayTeamEntry = awayEntries.get(match.getAwayTeam());
+		
+		Form homeTeamForm = forms.get(match.getHomeTeam());
+		Form awayTeamForm = forms.get(match.getAwayTeam());
+		
+		int homeIndex = (homeTeamForm != null) ? homeTeamForm.indexOf(match) : -1;
+		int awayIndex = (awayTeamForm != null) ? awayTeamForm.indexOf(match) : -1;
+		
+		if ((homeIndex < 0) || (awayIndex < 0)) {
+			throw new IllegalArgumentException("no such result in the form of the teams " + match);
+		}
+		
+		homeTeamEntry.revertHomeMatch(match);
+		
+		try {
+			awayTeamEntry.revertAwayMatch(match);
+		} catch (IllegalArgumentException e) {
+			homeTeamEntry.playedHomeMatch(match);	// leave the tables unchanged
+			throw e;
+		}
+		
+		if (corrected == null) {
+			homeTeamForm.remove(homeIndex);
+			awayTeamForm.remove(awayIndex);
+		} else {
+			try {
+				homeTeamEntry.playedHomeMatch(corrected);
+				
+				try {
+					awayTeamEntry.playedAwayMatch(corrected);
+				} catch (IllegalArgumentException e) {
+					homeTeamEntry.revertHomeMatch(corrected);
+					throw e;
+				}
+			} catch (IllegalArgumentException e) {
+				homeTeamEntry.playedHomeMatch(match);	// leave the tables unchanged
+				awayTeamEntry.playedAwayMatch(match);
+				throw e;
+			}
+			
+			homeTeamForm.set(homeIndex, corrected);
+			awayTeamForm.set(awayIndex, corrected);
+		}
+		
+		invalidate();
+	}
+	
+	/**
+	 * Merge the tables of another league table, whose results are taken to follow those of this table.
+	 */
+	void merge(final SplitTables other) {
+		merge(homeEntries, other.homeEntries);
+		merge(awayEntries, other.awayEntries);
+
+		for (Form otherForm : other.forms.values()) {
+			Form form = forms.computeIfAbsent(otherForm.teamName, Form::new);
+
+			// the array and count are read first in case the form is merged with itself
+			Match[] otherMatches = otherForm.matches;
+			int otherCount = otherForm.count;
+
+			// all the results are added, not only those in the form, so that any of them can be reverted
+			for (int i = 0; i < otherCount; i++) {
+				form.add(otherMatches[i]);
+			}
+		}
+
+		invalidate();
+	}
+
+	private static void merge(final Map<String, LeagueTableEntry> tableEntries, final Map<String, LeagueTableEntry> otherEntries) {
+		otherEntries.values().forEach(otherEntry -> {
+			LeagueTableEntry tableEntry = tableEntries.get(otherEntry.getTeamName());
+
+			if (tableEntry == null) {
+				tableEntries.put(otherEntry.getTeamName(), new LeagueTableEntry(otherEntry));
+			} else {
+				tableEntry.merge(otherEntry);
+			}
+		});
+	}
+
+	private void invalidate() {
+		homeTableEntries = null;
+		awayTableEntries = null;
+		formTableEntries = null;
+	}
+	
+	List<LeagueTableEntry> getHomeTableEntries() {
+		if (homeTableEntries == null) {
+			homeTableEntries = sortedCopies(homeEntries.values());
+		}
+		
+		return homeTableEntries;
+	}
+	
+	List<LeagueTableEntry> getAwayTableEntries() {
+		if (awayTableEntries == null) {
+			awayTableEntries = sortedCopies(awayEntries.values());
+		}
+		
+		return awayTableEntries;
+	}
+	
+	List<LeagueTableEntry> getFormTableEntries() {
+		if (formTableEntries == null) {
+			List<LeagueTableEntry> result = new ArrayList<>(forms.size());
+			
+			forms.values().forEach(form -> result.add(form.toTableEntry()));
+			
+			result.sort(Comparator.reverseOrder());
+			
+			formTableEntries = Collections.unmodifiableList(result);
+		}
+		
+		return formTableEntries;
+	}
+	
+	private static List<LeagueTableEntry> sortedCopies(final Collection<LeagueTableEntry> tableEntries) {
+		List<LeagueTableEntry> result = new ArrayList<>(tableEntries.size());
+		
+		tableEntries.forEach(tableEntry -> result.add(new LeagueTableEntry(tableEntry).freeze()));
+		
+		result.sort(Comparator.reverseOrder());
+		
+		return Collections.unmodifiableList(result);
+	}
+	
+	/**
+	 * This class represents the results of a team, in the order applied, with the running totals of the last of them. The matches
+	 * are kept with the scores so that a reverted result is found by the match rather than only by its score.
+	 */
+	private final class Form {
+		
+		private static final int INITIAL_CAPACITY = 8;
+		
+		private final String teamName;
+		
+		private Match[] matches = new Match[INITIAL_CAPACITY];
+		private int[] scored = new int[INITIAL_CAPACITY];
+		private int[] conceded = new int[INITIAL_CAPACITY];
+		private int count;
+		
+		private int won;
+		private int drawn;
+		private int lost;
+		private int goalsFor;
+		private int goalsAgainst;
+		
+		Form(final String teamName) {
+			this.teamName = teamName;
+		}
+		
+		Form(final Form other) {
+			this.teamName = other.teamName;
+			this.matches = other.matches.clone();
+			this.scored = other.scored.clone();
+			this.conceded = other.conceded.clone();
+			this.count = other.count;
+			this.won = other.won;
+			this.drawn = other.drawn;
+			this.lost = other.lost;
+			this.goalsFor = other.goalsFor;
+			this.goalsAgainst = other.goalsAgainst;
+		}
+		
+		void add(final Match match) {
+			if (count == matches.length) {
+				matches = Arrays.copyOf(matches, 2 * count);
+				scored = Arrays.copyOf(scored, 2 * count);
+				conceded = Arrays.copyOf(conceded, 2 * count);
+			}
+			
+			store(count, match);
+			count++;
+			
+			total(count - 1, 1);
+			
+			if (count > formLength) {
+				total(count - 1 - formLength, -1);		// the result which has dropped out of the form
+			}
+		}
+		
+		/**
+		 * Find a result, the match instance which was applied is found if it is given, otherwise the last result of the same
+		 * match with the same score, e.g. a result read again from a file.
+		 * @return The index of the result, or -1 if there is none
+		 */
+		int indexOf(final Match match) {
+			for (int i = count - 1; i >= 0; i--) {
+				if (matches[i] == match) {
+					return i;
+				}
+			}
+			
+			for (int i = count - 1; i >= 0; i--) {
+				if (isSameResult(matches[i], match)) {
+					return i;
+				}
+			}
+			
+			return -1;
+		}
+		
+		void remove(final int index) {
+			System.arraycopy(matches, index + 1, matches, index, count - 1 - index);
+			System.arraycopy(scored, index + 1, scored, index, count - 1 - index);
+			System.arraycopy(conceded, index + 1, conceded, index, count - 1 - index);
+			count--;
+			matches[count] = null;
+			
+			retotal();
+		}
+		
+		void set(final int index, final Match match) {
+			store(index, match);
+			
+			retotal();
+		}
+		
+		private void store(final int index, final Match match) {
+			boolean home = match.getHomeTeam().equals(teamName);
+			
+			matches[index] = match;
+			scored[index] = home ? match.getHomeScore() : match.getAwayScore();
+			conceded[index] = home ? match.getAwayScore() : match.getHomeScore();
+		}
+		
+		private void retotal() {
+			won = drawn = lost = goalsFor = goalsAgainst = 0;
+			
+			for (int i = Math.max(count - formLength, 0); i < count; i++) {
+				total(i, 1);
+			}
+		}
+		
+		private void total(final int index, final int sign) {
+			if (scored[index] > conceded[index]) {
+				won += sign;
+			} else if (scored[index] == conceded[index]) {
+				drawn += sign;
+			} else {
+				lost += sign;
+			}
+			
+			goalsFor += sign * scored[index];
+			goalsAgainst += sign * conceded[index];
+		}
+		
+		LeagueTableEntry toTableEntry() {
+			return new LeagueTableEntry(teamName, won, drawn, lost, goalsFor, goalsAgainst).freeze();
+		}
+	
+	}
+	
+	private static boolean isSameResult(final Match match, final Match other) {
+		return match.getHomeTeam().equals(other.getHomeTeam()) && match.getAwayTeam().equals(other.getAwayTeam())
+				&& (match.getHomeScore() == other.getHomeScore()) && (match.getAwayScore() == other.getAwayScore());
+	}
+
+}
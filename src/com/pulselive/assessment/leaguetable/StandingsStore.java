@@ -0,0 +1,438 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static com.pulselive.assessment.util.ParamUtils.checkGoals;
+import static com.pulselive.assessment.util.ParamUtils.checkNumber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class holds the standings of a league as arrays of counters indexed by {@link TeamRegistry} identifier, 
+ * results are applied without hashing, boxing or per-team objects. League table entries are only created when the table is projected 
+ * by {@link StandingsStore#getTableEntries()}. The registry may be shared by several leagues, so the teams of this league are those 
+ * registered when the store was constructed, or those of the table of {@link StandingsStore#of}, together with those since added 
+ * or with results applied. An instance is not thread safe.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class StandingsStore {
+	
+	private final TeamRegistry registry;
+	
+	private int[] won;
+	private int[] drawn;
+	private int[] lost;
+	private int[] goalsFor;
+	private int[] goalsAgainst;
+	
+	/**
+	 * The identifiers of the teams of this league.
+	 */
+	private final BitSet teamIds;
+	
+	/**
+	 * The ordinals of the teams of this league by identifier, in alphabetical order of team name, and the identifiers by ordinal, 
+	 * computed when a team is added to this league.
+	 */
+	private int[] ordinals = new int[0];
+	private int[] teamIdsByOrdinal = new int[0];
+	private boolean ordinalsStale = true;
+	
+	private long[] rankingKeys = new long[0];
+
+	/**
+	 * Construct an empty StandingsStore of the teams already registered, the store grows if further teams are registered.
+	 * @param registry The registry of the teams
+	 */
+	public StandingsStore(final TeamRegistry registry) {
+		this(registry, registry.size(), true);
+	}
+
+	/**
+	 * Construct an empty StandingsStore of the teams already registered sized for the number of teams in a format, the store grows if 
+	 * further teams are registered.
+	 * @param registry The registry of the teams
+	 * @param format The format of the league
+	 */
+	public StandingsStore(final TeamRegistry registry, final LeagueFormat format) {
+		this(registry, format.getNumberOfTeams(), true);
+	}
+	
+	private StandingsStore(final TeamRegistry registry, final int numberOfTeams, final boolean registeredTeams) {
+		this.registry = registry;
+		
+		int capacity = Math.max(Math.max(numberOfTeams, registry.size()), 1);
+		
+		won = new int[capacity];
+		drawn = new int[capacity];
+		lost = new int[capacity];
+		goalsFor = new int[capacity];
+		goalsAgainst = new int[capacity];
+		
+		teamIds = new BitSet(capacity);
+		
+		if (registeredTeams) {
+			teamIds.set(0, registry.size());
+		}
+	}
+
+	/**
+	 * Construct a StandingsStore which is a copy of another.
+	 * @param other The StandingsStore to copy
+	 */
+	public StandingsStore(final StandingsStore other) {
+		this.registry = other.registry;
+		
+		won = other.won.clone();
+		drawn = other.drawn.clone();
+		lost = other.lost.clone();
+		goalsFor = other.goalsFor.clone();
+		goalsAgainst = other.goalsAgainst.clone();
+		
+		teamIds = (BitSet) other.teamIds.clone();
+		
+		ordinals = other.ordinals;
+		teamIdsByOrdinal = other.teamIdsByOrdinal;
+		ordinalsStale = other.ordinalsStale;
+	}
+	
+	/**
+	 * Construct a StandingsStore with the standings of a league table, the teams are registered if they are not already.
+	 * @param leagueTable The league table
+	 * @param registry The registry of the teams, which may also hold the teams of other leagues
+	 * @return The standings of the teams of the league table
+	 */
+	public static StandingsStore of(final LeagueTable leagueTable, final TeamRegistry registry) {
+		List<LeagueTableEntry> tableEntries = leagueTable.getTableEntries();
+		
+		StandingsStore result = new StandingsStore(registry, Math.max(registry.size(), tableEntries.size()), false);
+		
+		for (LeagueTableEntry tableEntry : tableEntries) {
+			result.set(registry.register(tableEntry.getTeamName()), tableEntry.getWon(), tableEntry.getDrawn(), tableEntry.getLost(), 
+					tableEntry.getGoalsFor(), tableEntry.getGoalsAgainst());
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Construct a league table with the standings in this store, e.g. to restore a league table from a snapshot. The home, away and
+	 * form tables of the league table are not available, since the store holds the totals of each team and not the results.
+	 * @return The new league table of the teams of this league
+	 */
+	public LeagueTable toLeagueTable() {
+		return new LeagueTable(getTableEntries(), 0);
+	}
+	
+	/**
+	 * Overwrite the standings in this store with those of another store for the same registry, without allocating if the capacity is sufficient.
+	 * @param other The StandingsStore to copy
+	 */
+	public void copyFrom(final StandingsStore other) {
+		if (registry != other.registry) {
+			throw new IllegalArgumentException("standings are for a different registry");
+		}
+		
+		int length = other.won.length;
+		
+		ensureCapacity(length);
+		
+		System.arraycopy(other.won, 0, won, 0, length);
+		System.arraycopy(other.drawn, 0, drawn, 0, length);
+		System.arraycopy(other.lost, 0, lost, 0, length);
+		System.arraycopy(other.goalsFor, 0, goalsFor, 0, length);
+		System.arraycopy(other.goalsAgainst, 0, goalsAgainst, 0, length);
+		
+		if (won.length > length) {
+			Arrays.fill(won, length, won.length, 0);
+			Arrays.fill(drawn, length, won.length, 0);
+			Arrays.fill(lost, length, won.length, 0);
+			Arrays.fill(goalsFor, length, won.length, 0);
+			Arrays.fill(goalsAgainst, length, won.length, 0);
+		}
+		
+		teamIds.clear();
+		teamIds.or(other.teamIds);
+		
+		ordinals = other.ordinals;
+		teamIdsByOrdinal = other.teamIdsByOrdinal;
+		ordinalsStale = other.ordinalsStale;
+	}
+	
+	/**
+	 * Add a team to this league, e.g. a team with fixtures but no results yet.
+	 * @param teamId The identifier of the registered team
+	 */
+	public void addTeam(final int teamId) {
+		if ((teamId < 0) || (teamId >= registry.size())) {
+			throw new IllegalArgumentException("unregistered team " + teamId);
+		}
+		
+		ensureCapacity(teamId + 1);
+		
+		addTeamId(teamId);
+	}
+	
+	private void addTeamId(final int teamId) {
+		if (!teamIds.get(teamId)) {
+			teamIds.set(teamId);
+			ordinalsStale = true;
+		}
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @return Whether the team is one of the teams of this league
+	 */
+	public boolean contains(final int teamId) {
+		return (teamId >= 0) && teamIds.get(teamId);
+	}
+	
+	/**
+	 * @return The number of teams of this league, which may be fewer than the number of registered teams
+	 */
+	public int getNumberOfTeams() {
+		return teamIds.cardinality();
+	}
+	
+	/**
+	 * @return The identifiers of the teams of this league in ascending order
+	 */
+	public int[] getTeamIds() {
+		return teamIds.stream().toArray();
+	}
+	
+	/**
+	 * Apply the result of a completed match.
+	 * @param match The completed match
+	 */
+	public void apply(final IndexedMatch match) {
+		apply(match.getHomeTeamId(), match.getAwayTeamId(), match.getHomeScore(), match.getAwayScore());
+	}
+	
+	/**
+	 * Apply the result of a completed match.
+	 * @param homeTeamId The identifier of the home team
+	 * @param awayTeamId The identifier of the away team
+	 * @param homeScore The number of goals scored by home team in the match
+	 * @param awayScore The number of goals scored by away team in the match
+	 */
+	public void apply(final int homeTeamId, final int awayTeamId, final int homeScore, final int awayScore) {
+		update(homeTeamId, awayTeamId, homeScore, awayScore, 1);
+	}
+	
+	/**
+	 * Revert the result of a match previously applied.
+	 * @param homeTeamId The identifier of the home team
+	 * @param awayTeamId The identifier of the away team
+	 * @param homeScore The number of goals scored by home team in the match
+	 * @param awayScore The number of goals scored by away team in the match
+	 */
+	public void revert(final int homeTeamId, final int awayTeamId, final int homeScore, final int awayScore) {
+		update(homeTeamId, awayTeamId, homeScore, awayScore, -1);
+	}
+	
+	private void update(final int homeTeamId, final int awayTeamId, final int homeScore, final int awayScore, final int sign) {
+		ensureCapacity(Math.max(homeTeamId, awayTeamId) + 1);
+		
+		addTeamId(homeTeamId);
+		addTeamId(awayTeamId);
+		
+		if (homeScore > awayScore) {
+			won[homeTeamId] += sign;
+			lost[awayTeamId] += sign;
+		} else if (awayScore > homeScore) {
+			lost[homeTeamId] += sign;
+			won[awayTeamId] += sign;
+		} else {
+			drawn[homeTeamId] += sign;
+			drawn[awayTeamId] += sign;
+		}
+		
+		goalsFor[homeTeamId] += sign * homeScore;
+		goalsAgainst[homeTeamId] += sign * awayScore;
+		goalsFor[awayTeamId] += sign * awayScore;
+		goalsAgainst[awayTeamId] += sign * homeScore;
+	}
+	
+	/**
+	 * Set the counters of a team, e.g. when the standings are restored from a snapshot.
+	 * @param teamId The identifier of the team
+	 * @param won Number of games won
+	 * @param drawn Number of games drawn
+	 * @param lost Number of games lost
+	 * @param goalsFor Total number of goals scored by the team in all matches
+	 * @param goalsAgainst Total number of goals conceded by the team in all matches
+	 */
+	public void set(final int teamId, final int won, final int drawn, final int lost, final int goalsFor, final int goalsAgainst) {
+		ensureCapacity(teamId + 1);
+		
+		addTeamId(teamId);
+		
+		this.won[teamId] = checkNumber(won);
+		this.drawn[teamId] = checkNumber(drawn);
+		this.lost[teamId] = checkNumber(lost);
+		this.goalsFor[teamId] = checkGoals(goalsFor);
+		this.goalsAgainst[teamId] = checkGoals(goalsAgainst);
+	}
+	
+	private void ensureCapacity(final int capacity) {
+		if (capacity > won.length) {
+			int length = Math.max(capacity, won.length * 2);
+			
+			won = Arrays.copyOf(won, length);
+			drawn = Arrays.copyOf(drawn, length);
+			lost = Arrays.copyOf(lost, length);
+			goalsFor = Arrays.copyOf(goalsFor, length);
+			goalsAgainst = Arrays.copyOf(goalsAgainst, length);
+		}
+	}
+	
+	public TeamRegistry getRegistry() {
+		return registry;
+	}
+	
+	public int getPlayed(final int teamId) {
+		return getWon(teamId) + getDrawn(teamId) + getLost(teamId);
+	}
+	
+	public int getWon(final int teamId) {
+		return (teamId < won.length) ? won[teamId] : 0;
+	}
+	
+	public int getDrawn(final int teamId) {
+		return (teamId < drawn.length) ? drawn[teamId] : 0;
+	}
+	
+	public int getLost(final int teamId) {
+		return (teamId < lost.length) ? lost[teamId] : 0;
+	}
+	
+	public int getGoalsFor(final int teamId) {
+		return (teamId < goalsFor.length) ? goalsFor[teamId] : 0;
+	}
+	
+	public int getGoalsAgainst(final int teamId) {
+		return (teamId < goalsAgainst.length) ? goalsAgainst[teamId] : 0;
+	}
+	
+	public int getGoalDifference(final int teamId) {
+		return getGoalsFor(teamId) - getGoalsAgainst(teamId);
+	}
+	
+	public int getPoints(final int teamId) {
+		return getWon(teamId) * LeagueTableEntry.POINTS_FOR_WIN + getDrawn(teamId) * LeagueTableEntry.POINTS_FOR_DRAW + getLost(teamId) * LeagueTableEntry.POINTS_FOR_LOSS;
+	}
+	
+	/**
+	 * @param teamId The identifier of a team of this league
+	 * @return The packed ranking key of the team, see {@link RankingKey}, the team ordinal breaks ties consistently with {@link LeagueTableEntry#compareTo(LeagueTableEntry)}
+	 */
+	public long getRankingKey(final int teamId) {
+		if (!contains(teamId)) {
+			throw new IllegalArgumentException("team not in the league " + teamId);
+		}
+		
+		updateOrdinals();
+		
+		return RankingKey.of(getPoints(teamId), getGoalDifference(teamId), getGoalsFor(teamId), ordinals[teamId]);
+	}
+	
+	/**
+	 * Rank the teams of this league by sorting their packed ranking keys, there are no object comparisons.
+	 * @param result The array to fill with the team identifiers in table order, its length must be at least the number of teams
+	 * @return The array of team identifiers
+	 */
+	public int[] rank(final int[] result) {
+		int size = 0;
+		
+		for (int teamId = teamIds.nextSetBit(0); teamId >= 0; teamId = teamIds.nextSetBit(teamId + 1)) {
+			if (rankingKeys.length == size) {
+				rankingKeys = Arrays.copyOf(rankingKeys, Math.max(getNumberOfTeams(), size + 1));
+			}
+			
+			rankingKeys[size++] = getRankingKey(teamId);
+		}
+		
+		if (result.length < size) {
+			throw new IllegalArgumentException("array too small for " + size + " teams");
+		}
+		
+		Arrays.sort(rankingKeys, 0, size);
+		
+		for (int i = 0; i < size; i++) {
+			result[i] = teamIdsByOrdinal[RankingKey.ordinal(rankingKeys[size - 1 - i])];
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @return The team identifiers in table order
+	 */
+	public int[] rank() {
+		return rank(new int[getNumberOfTeams()]);
+	}
+	
+	/**
+	 * Compute the ordinals of the teams of this league, the arrays are replaced rather than updated so they may be shared by copies.
+	 */
+	private void updateOrdinals() {
+		if (ordinalsStale) {
+			int size = getNumberOfTeams();
+			
+			if (size > RankingKey.MAX_ORDINAL + 1) {
+				throw new IllegalStateException("too many teams to rank " + size);
+			}
+			
+			Integer[] sorted = new Integer[size];
+			int index = 0;
+			
+			for (int teamId = teamIds.nextSetBit(0); teamId >= 0; teamId = teamIds.nextSetBit(teamId + 1)) {
+				sorted[index++] = teamId;
+			}
+			
+			Arrays.sort(sorted, Comparator.comparing(registry::nameOf));
+			
+			ordinals = new int[teamIds.length()];
+			teamIdsByOrdinal = new int[size];
+			
+			for (int ordinal = 0; ordinal < size; ordinal++) {
+				ordinals[sorted[ordinal]] = ordinal;
+				teamIdsByOrdinal[ordinal] = sorted[ordinal];
+			}
+			
+			ordinalsStale = false;
+		}
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @return A new league table entry for the team
+	 */
+	public LeagueTableEntry getTableEntry(final int teamId) {
+		return new LeagueTableEntry(registry.nameOf(teamId), getWon(teamId), getDrawn(teamId), getLost(teamId), getGoalsFor(teamId), getGoalsAgainst(teamId));
+	}
+	
+	/**
+	 * Project the ordered list of league table entries for the teams of this league.
+	 * @return The ordered list of new league table entries
+	 */
+	public List<LeagueTableEntry> getTableEntries() {
+		List<LeagueTableEntry> result = new ArrayList<>(getNumberOfTeams());
+		
+		for (int teamId : rank()) {
+			result.add(getTableEntry(teamId));
+		}
+		
+		return result;
+	}
+
+}
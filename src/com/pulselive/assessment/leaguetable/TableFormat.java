@@ -0,0 +1,34 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+/**
+ * This enumeration comprises the formats in which a league table may be rendered by a {@link TableRenderer}.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public enum TableFormat {
+	
+	/**
+	 * The fixed-width columns of {@link LeagueTable#prettyPrint()}, terminated by the line separator of the platform.
+	 */
+	FIXED_WIDTH,
+	
+	/**
+	 * CSV with the columns of the footstats league table files, so that a rendered table may be read as a reference table.
+	 */
+	CSV,
+	
+	/**
+	 * A JSON array of an object for each entry.
+	 */
+	JSON,
+	
+	/**
+	 * An HTML table element.
+	 */
+	HTML;
+
+}
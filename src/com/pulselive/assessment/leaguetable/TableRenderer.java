@@ -0,0 +1,327 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.List;
+
+import com.pulselive.assessment.util.TextBuffer;
+
+/**
+ * This class renders league tables in a {@link TableFormat}, e.g. for the feed and export jobs. The rows are appended to a
+ * reusable {@link TextBuffer} with the integers formatted directly as digits, so a renderer and a buffer may render many
+ * tables without parsing a format string or allocating for each row. A renderer is immutable and may be shared between threads,
+ * but a buffer may not.
+ *
+ * @author Paul Parlett
+ *
+ */
+public final class TableRenderer {
+	
+	static final int TEAM_WIDTH = 20;
+	static final int COLUMN_WIDTH = 10;
+	
+	private static final String[] FIXED_WIDTH_COLUMNS = { "Team", "Played", "Won", "Drawn", "Lost", "For", "Against", "GD", "Points" };
+	
+	/*
+	 * The columns of the footstats league table files
+	 */
+	private static final String CSV_HEADER = "Position,Team,Played,W,D,L,F,A,GD,Pts";
+	
+	private static final String[] HTML_COLUMNS = { "Pos", "Team", "P", "W", "D", "L", "F", "A", "GD", "Pts" };
+	
+	/*
+	 * The JSON member names with their quotes and separators, the team name follows the position
+	 */
+	private static final String[] JSON_MEMBERS = { "{\"position\":", ",\"team\":\"", "\",\"played\":", ",\"won\":", ",\"drawn\":",
+			",\"lost\":", ",\"goalsFor\":", ",\"goalsAgainst\":", ",\"goalDifference\":", ",\"points\":" };
+	
+	private static final ThreadLocal<TextBuffer> BUFFERS = ThreadLocal.withInitial(TextBuffer::new);
+	
+	private final TableFormat format;
+	private final String lineSeparator;
+	
+	/**
+	 * Construct a TableRenderer.
+	 * @param format The format
+	 */
+	public TableRenderer(final TableFormat format) {
+		if (format == null) {
+			throw new IllegalArgumentException("illegal null parameter");
+		}
+		
+		this.format = format;
+		this.lineSeparator = (format == TableFormat.FIXED_WIDTH) ? System.lineSeparator() : "\n";
+	}
+	
+	public TableFormat getFormat() {
+		return format;
+	}
+	
+	/**
+	 * Render a league table to an output stream as UTF-8, through a buffer reused by the calling thread.
+	 * @param leagueTable The league table
+	 * @param out The output stream
+	 * @throws IOException The IOException which may occur
+	 */
+	public void render(final LeagueTable leagueTable, final OutputStream out) throws IOException {
+		TextBuffer buffer = BUFFERS.get().clear();
+		
+		render(leagueTable, buffer);
+		
+		buffer.writeTo(out);
+	}
+	
+	/**
+	 * Render a league table to a writer, through a buffer reused by the calling thread.
+	 * @param leagueTable The league table
+	 * @param writer The writer
+	 * @throws IOException The IOException which may occur
+	 */
+	public void render(final LeagueTable leagueTable, final Writer writer) throws IOException {
+		TextBuffer buffer = BUFFERS.get().clear();
+		
+		render(leagueTable, buffer);
+		
+		buffer.writeTo(writer);
+	}
+	
+	/**
+	 * Render a league table, the entries are in the order of the table.
+	 * @param leagueTable The league table
+	 * @param buffer The buffer to which the table is appended, it ends with a line separator
+	 */
+	public void render(final LeagueTable leagueTable, final TextBuffer buffer) {
+		render(leagueTable.getTableEntries(), buffer);
+	}
+	
+	/**
+	 * Render the entries of a league table.
+	 * @param tableEntries The league table entries in order, the position of each is given by its index
+	 * @param buffer The buffer to which the table is appended, it ends with a line separator
+	 */
+	public void render(final List<LeagueTableEntry> tableEntries, final TextBuffer buffer) {
+		renderHeader(buffer);
+		
+		for (int i = 0; i < tableEntries.size(); i++) {
+			if ((i > 0) && (format == TableFormat.JSON)) {
+				buffer.append(',');
+			}
+			
+			renderRow(tableEntries.get(i), i + 1, buffer);
+		}
+		
+		renderFooter(buffer);
+	}
+	
+	/**
+	 * Render a single league table entry, i.e. a line of fixed-width or CSV, a JSON object or an HTML table row.
+	 * @param tableEntry The league table entry
+	 * @param position The position of the entry in its table, which is not rendered in the fixed-width format
+	 * @param buffer The buffer to which the entry is appended
+	 */
+	public void renderRow(final LeagueTableEntry tableEntry, final int position, final TextBuffer buffer) {
+		switch (format) {
+		case FIXED_WIDTH:
+			buffer.appendPadded(tableEntry.getTeamName(), TEAM_WIDTH)
+					.appendPadded(tableEntry.getPlayed(), COLUMN_WIDTH)
+					.appendPadded(tableEntry.getWon(), COLUMN_WIDTH)
+					.appendPadded(tableEntry.getDrawn(), COLUMN_WIDTH)
+					.appendPadded(tableEntry.getLost(), COLUMN_WIDTH)
+					.appendPadded(tableEntry.getGoalsFor(), COLUMN_WIDTH)
+					.appendPadded(tableEntry.getGoalsAgainst(), COLUMN_WIDTH)
+					.appendPadded(tableEntry.getGoalDifference(), COLUMN_WIDTH)
+					.appendPadded(tableEntry.getPoints(), COLUMN_WIDTH)
+					.append(' ')
+					.append(lineSeparator);
+			break;
+		
+		case CSV:
+			buffer.append(position).append(',');
+			appendCsv(tableEntry.getTeamName(), buffer);
+			buffer.append(',').append(tableEntry.getPlayed())
+					.append(',').append(tableEntry.getWon())
+					.append(',').append(tableEntry.getDrawn())
+					.append(',').append(tableEntry.getLost())
+					.append(',').append(tableEntry.getGoalsFor())
+					.append(',').append(tableEntry.getGoalsAgainst())
+					.append(',').append(tableEntry.getGoalDifference())
+					.append(',').append(tableEntry.getPoints())
+					.append(lineSeparator);
+			break;
+		
+		case JSON:
+			buffer.append(JSON_MEMBERS[0]).append(position).append(JSON_MEMBERS[1]);
+			appendJson(tableEntry.getTeamName(), buffer);
+			buffer.append(JSON_MEMBERS[2]).append(tableEntry.getPlayed())
+					.append(JSON_MEMBERS[3]).append(tableEntry.getWon())
+					.append(JSON_MEMBERS[4]).append(tableEntry.getDrawn())
+					.append(JSON_MEMBERS[5]).append(tableEntry.getLost())
+					.append(JSON_MEMBERS[6]).append(tableEntry.getGoalsFor())
+					.append(JSON_MEMBERS[7]).append(tableEntry.getGoalsAgainst())
+					.append(JSON_MEMBERS[8]).append(tableEntry.getGoalDifference())
+					.append(JSON_MEMBERS[9]).append(tableEntry.getPoints())
+					.append('}');
+			break;
+		
+		case HTML:
+			buffer.append("<tr><td>").append(position).append("</td><td>");
+			appendHtml(tableEntry.getTeamName(), buffer);
+			buffer.append("</td><td>").append(tableEntry.getPlayed())
+					.append("</td><td>").append(tableEntry.getWon())
+					.append("</td><td>").append(tableEntry.getDrawn())
+					.append("</td><td>").append(tableEntry.getLost())
+					.append("</td><td>").append(tableEntry.getGoalsFor())
+					.append("</td><td>").append(tableEntry.getGoalsAgainst())
+					.append("</td><td>").append(tableEntry.getGoalDifference())
+					.append("</td><td>").append(tableEntry.getPoints())
+					.append("</td></tr>")
+					.append(lineSeparator);
+			break;
+		
+		default:
+			throw new IllegalStateException("unknown format " + format);
+		}
+	}
+	
+	private void renderHeader(final TextBuffer buffer) {
+		switch (format) {
+		case FIXED_WIDTH:
+			buffer.appendPadded(FIXED_WIDTH_COLUMNS[0], TEAM_WIDTH);
+			
+			for (int i = 1; i < FIXED_WIDTH_COLUMNS.length; i++) {
+				buffer.appendPadded(FIXED_WIDTH_COLUMNS[i], COLUMN_WIDTH);
+			}
+			
+			buffer.append(lineSeparator);
+			break;
+		
+		case CSV:
+			buffer.append(CSV_HEADER).append(lineSeparator);
+			break;
+		
+		case JSON:
+			buffer.append('[');
+			break;
+		
+		case HTML:
+			buffer.append("<table>").append(lineSeparator).append("<thead><tr>");
+			
+			for (String column : HTML_COLUMNS) {
+				buffer.append("<th>").append(column).append("</th>");
+			}
+			
+			buffer.append("</tr></thead>").append(lineSeparator).append("<tbody>").append(lineSeparator);
+			break;
+		
+		default:
+			throw new IllegalStateException("unknown format " + format);
+		}
+	}
+	
+	private void renderFooter(final TextBuffer buffer) {
+		if (format == TableFormat.JSON) {
+			buffer.append(']').append(lineSeparator);
+		} else if (format == TableFormat.HTML) {
+			buffer.append("</tbody>").append(lineSeparator).append("</table>").append(lineSeparator);
+		}
+	}
+	
+	/**
+	 * Append a CSV field, quoted only if it contains a separator, a quote or a line break.
+	 */
+	private static void appendCsv(final String s, final TextBuffer buffer) {
+		boolean quoted = false;
+		
+		for (int i = 0; (i < s.length()) && !quoted; i++) {
+			char c = s.charAt(i);
+			
+			quoted = (c == ',') || (c == '"') || (c == '\r') || (c == '\n');
+		}
+		
+		if (!quoted) {
+			buffer.append(s);
+			return;
+		}
+		
+		buffer.append('"');
+		
+		for (int start = 0, quote; start <= s.length(); start = quote + 1) {
+			quote = s.indexOf('"', start);
+			
+			if (quote < 0) {
+				buffer.append(s.substring(start));
+				break;
+			}
+			
+			buffer.append(s.substring(start, quote)).append("\"\"");
+		}
+		
+		buffer.append('"');
+	}
+	
+	/**
+	 * Append the content of a JSON string, escaping quotes, backslashes and control characters.
+	 */
+	private static void appendJson(final String s, final TextBuffer buffer) {
+		int start = 0;
+		
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			
+			if ((c == '"') || (c == '\\') || (c < 0x20)) {
+				buffer.append(s.subSequence(start, i));
+				
+				if (c < 0x20) {
+					buffer.appendUnicodeEscape(c);
+				} else {
+					buffer.append('\\').append(c);
+				}
+				
+				start = i + 1;
+			}
+		}
+		
+		buffer.append(start == 0 ? s : s.subSequence(start, s.length()));
+	}
+	
+	/**
+	 * Append HTML text, escaping the characters which are significant in elements and attributes.
+	 */
+	private static void appendHtml(final String s, final TextBuffer buffer) {
+		int start = 0;
+		
+		for (int i = 0; i < s.length(); i++) {
+			String entity = htmlEntity(s.charAt(i));
+			
+			if (entity != null) {
+				buffer.append(s.subSequence(start, i)).append(entity);
+				
+				start = i + 1;
+			}
+		}
+		
+		buffer.append(start == 0 ? s : s.subSequence(start, s.length()));
+	}
+	
+	private static String htmlEntity(final char c) {
+		switch (c) {
+		case '&':
+			return "&amp;";
+		case '<':
+			return "&lt;";
+		case '>':
+			return "&gt;";
+		case '"':
+			return "&quot;";
+		case '\'':
+			return "&#39;";
+		default:
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static com.pulselive.assessment.util.ParamUtils.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class maps team names to dense int identifiers, starting from 0 in order of registration, so that standings can be held in arrays indexed by team.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class TeamRegistry {
+	
+	/**
+	 * The identifier returned for a team which is not registered.
+	 */
+	public static final int NO_TEAM = -1;
+	
+	private final Map<String, Integer> ids;
+	private final List<String> names;
+	private final boolean readOnly;
+	
+	/**
+	 * Construct an empty TeamRegistry.
+	 */
+	public TeamRegistry() {
+		this(new HashMap<>(), new ArrayList<>(), false);
+	}
+	
+	/**
+	 * Construct an empty TeamRegistry sized for a number of teams, so that it does not need to grow.
+	 * @param expectedTeams The number of teams expected to be registered
+	 */
+	public TeamRegistry(final int expectedTeams) {
+		this(new HashMap<>((int) Math.ceil(expectedTeams / 0.75)), new ArrayList<>(expectedTeams), false);
+	}
+	
+	private TeamRegistry(final Map<String, Integer> ids, final List<String> names, final boolean readOnly) {
+		this.ids = ids;
+		this.names = names;
+		this.readOnly = readOnly;
+	}
+	
+	/**
+	 * @return A read-only view of this registry, which sees the teams registered later in this registry
+	 */
+	public TeamRegistry readOnlyView() {
+		return readOnly ? this : new TeamRegistry(ids, names, true);
+	}
+	
+	/**
+	 * @return Whether teams may not be registered, other than those already registered
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+	
+	/**
+	 * Register a team, registering a team more than once returns the same identifier.
+	 * @param teamName The name of the team
+	 * @return The identifier of the team
+	 * @throws UnsupportedOperationException If the registry is read-only and the team is not registered
+	 */
+	public int register(final String teamName) {
+		Integer id = ids.get(checkNotNull(teamName));
+		
+		if (id == null) {
+			if (readOnly) {
+				throw new UnsupportedOperationException("read-only team registry " + teamName);
+			}
+			
+			id = names.size();
+			
+			ids.put(teamName, id);
+			names.add(teamName);
+		}
+		
+		return id;
+	}
+	
+	/**
+	 * @param teamName The name of the team
+	 * @return The identifier of the team, or {@link TeamRegistry#NO_TEAM} if the team is not registered
+	 */
+	public int idOf(final String teamName) {
+		Integer id = ids.get(teamName);
+		
+		return (id == null) ? NO_TEAM : id;
+	}
+	
+	/**
+	 * @param id The identifier of the team
+	 * @return The name of the team
+	 */
+	public String nameOf(final int id) {
+		return names.get(id);
+	}
+	
+	/**
+	 * @return The number of registered teams
+	 */
+	public int size() {
+		return names.size();
+	}
+
+}
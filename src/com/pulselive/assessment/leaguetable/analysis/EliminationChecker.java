@@ -0,0 +1,463 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.pulselive.assessment.leaguetable.Fixture;
+import com.pulselive.assessment.leaguetable.StandingsStore;
+
+/**
+ * This class determines whether a team can still finish in the top places of the table, given the current standings and the remaining fixtures. 
+ * Positions are decided on points only, a team which can finish level on points with the team above it is considered able to finish above it, 
+ * and a team is only considered to have clinched the top places if no other team can reach its points. The league is made up of the teams of 
+ * the standings and those of the remaining fixtures, other teams which share the registry are not counted.
+ * <p>
+ * Each question is answered by the cheapest test which decides it:
+ * <ol>
+ * <li>points-only bounds, comparing the maximum points of the team with the current points of the others</li>
+ * <li>for first place, a max-flow test in which each remaining fixture between the other teams distributes 2 points, 
+ * every real outcome awards at least as many points to each team as some such distribution, so if no distribution keeps every team 
+ * at or below the maximum of the team then it is eliminated</li>
+ * <li>a depth first search of the outcomes of the remaining fixtures between the other teams for one which leaves the team in the top places, 
+ * pruned as soon as too many teams are above it</li>
+ * </ol>
+ * The search is bounded by a node budget, if the budget is exhausted the team is reported as {@link Status#POSSIBLE} 
+ * since it has not been proven to be eliminated.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class EliminationChecker {
+	
+	public enum Status { CLINCHED, POSSIBLE, ELIMINATED }
+	
+	/**
+	 * The default maximum number of nodes visited in the search for an outcome for each question.
+	 */
+	public static final long DEFAULT_SEARCH_BUDGET = 1_000_000;
+	
+	private static final int POINTS_FOR_WIN = 3;
+	private static final int POINTS_FOR_DRAW = 1;
+	
+	/**
+	 * The minimum number of points awarded in a fixture, for a draw.
+	 */
+	private static final int MINIMUM_POINTS_PER_FIXTURE = 2 * POINTS_FOR_DRAW;
+	
+	private final int numberOfTeams;
+	
+	/**
+	 * The identifiers of the teams of the league in ascending order, the points and remaining fixtures are indexed by identifier.
+	 */
+	private final int[] teamIds;
+	private final int[] points;
+	private final int[] remaining;
+	private final Fixture[] fixtures;
+	private final long searchBudget;
+
+	/**
+	 * Construct an EliminationChecker with the default search budget.
+	 * @param current The current standings
+	 * @param fixtures The remaining fixtures
+	 */
+	public EliminationChecker(final StandingsStore current, final List<Fixture> fixtures) {
+		this(current, fixtures, DEFAULT_SEARCH_BUDGET);
+	}
+
+	/**
+	 * Construct an EliminationChecker.
+	 * @param current The current standings
+	 * @param fixtures The remaining fixtures
+	 * @param searchBudget The maximum number of nodes visited in the search for an outcome for each question
+	 */
+	public EliminationChecker(final StandingsStore current, final List<Fixture> fixtures, final long searchBudget) {
+		int registeredTeams = current.getRegistry().size();
+		
+		StandingsStore league = new StandingsStore(current);
+		
+		this.points = new int[registeredTeams];
+		this.remaining = new int[registeredTeams];
+		this.fixtures = fixtures.toArray(new Fixture[fixtures.size()]);
+		this.searchBudget = searchBudget;
+		
+		for (Fixture fixture : this.fixtures) {
+			if (Math.max(fixture.getHomeTeamId(), fixture.getAwayTeamId()) >= registeredTeams) {
+				throw new IllegalArgumentException("fixture for unregistered team " + fixture);
+			}
+			
+			league.addTeam(fixture.getHomeTeamId());
+			league.addTeam(fixture.getAwayTeamId());
+			
+			remaining[fixture.getHomeTeamId()]++;
+			remaining[fixture.getAwayTeamId()]++;
+		}
+		
+		this.teamIds = league.getTeamIds();
+		this.numberOfTeams = teamIds.length;
+		
+		for (int teamId : teamIds) {
+			points[teamId] = current.getPoints(teamId);
+		}
+	}
+	
+	/**
+	 * @return The number of teams of the league, those of the standings and of the remaining fixtures
+	 */
+	public int getNumberOfTeams() {
+		return numberOfTeams;
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @return The maximum number of points the team can finish with
+	 */
+	public int getMaximumPoints(final int teamId) {
+		return points[teamId] + POINTS_FOR_WIN * remaining[teamId];
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @return Whether the team can still finish first
+	 */
+	public Status finishFirst(final int teamId) {
+		return finishInTop(teamId, 1);
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @param places The number of relegation places at the bottom of the table
+	 * @return Whether the team can still avoid finishing in the relegation places
+	 */
+	public Status avoidBottom(final int teamId, final int places) {
+		return finishInTop(teamId, numberOfTeams - places);
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @param places The number of places at the top of the table
+	 * @return Whether the team can still finish in the top places
+	 */
+	public Status finishInTop(final int teamId, final int places) {
+		if ((places < 1) || (places > numberOfTeams)) {
+			throw new IllegalArgumentException("illegal number of places " + places);
+		}
+		
+		if (Arrays.binarySearch(teamIds, teamId) < 0) {
+			throw new IllegalArgumentException("team not in the league " + teamId);
+		}
+		
+		if (isClinched(teamId, places)) {
+			return Status.CLINCHED;
+		}
+		
+		return canFinishInTop(teamId, places) ? Status.POSSIBLE : Status.ELIMINATED;
+	}
+	
+	/**
+	 * Evaluate every team for every number of top places, making use of the monotonicity of the answers, 
+	 * a team which can finish in the top n places can also finish in the top n + 1.
+	 * @return The status indexed by team identifier and then number of places from 0 for first place, null for a team not in the league
+	 */
+	public Status[][] evaluateAll() {
+		Status[][] result = new Status[points.length][];
+		
+		for (int teamId : teamIds) {
+			result[teamId] = new Status[numberOfTeams];
+			
+			boolean possible = false;
+			
+			for (int places = 1; places <= numberOfTeams; places++) {
+				if (isClinched(teamId, places)) {
+					result[teamId][places - 1] = Status.CLINCHED;
+				} else {
+					possible = possible || canFinishInTop(teamId, places);
+					
+					result[teamId][places - 1] = possible ? Status.POSSIBLE : Status.ELIMINATED;
+				}
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * The team has clinched the places if, even when it loses all its remaining fixtures, fewer other teams than places can reach its points.
+	 */
+	private boolean isClinched(final int teamId, final int places) {
+		int threats = 0;
+		
+		for (int other : teamIds) {
+			if ((other != teamId) && (getMaximumPoints(other) >= points[teamId])) {
+				threats++;
+			}
+		}
+		
+		return threats < places;
+	}
+	
+	private boolean canFinishInTop(final int teamId, final int places) {
+		int maximum = getMaximumPoints(teamId);
+		
+		// points-only bound
+		
+		int above = 0;
+		
+		for (int other : teamIds) {
+			if ((other != teamId) && (points[other] > maximum)) {
+				above++;
+			}
+		}
+		
+		if (above >= places) {
+			return false;
+		}
+		
+		// the team wins all its remaining fixtures, its opponents gain nothing from them
+		
+		List<Fixture> others = new ArrayList<>();
+		
+		for (Fixture fixture : fixtures) {
+			if (!fixture.involves(teamId)) {
+				others.add(fixture);
+			}
+		}
+		
+		if ((places == 1) && !isFeasibleFlow(teamId, maximum, others)) {
+			return false;
+		}
+		
+		return new Search(teamId, maximum, places, others).run();
+	}
+	
+	/**
+	 * The max-flow test for first place, the source supplies 2 points to each fixture which passes them to either of its teams, 
+	 * each team passes to the sink at most the points it can gain without exceeding the maximum.
+	 */
+	private boolean isFeasibleFlow(final int teamId, final int maximum, final List<Fixture> others) {
+		int fixtureCount = others.size();
+		
+		// nodes: 0 source, 1 sink, then fixtures, then teams
+		int source = 0;
+		int sink = 1;
+		int firstFixture = 2;
+		int firstTeam = firstFixture + fixtureCount;
+		
+		MaxFlow flow = new MaxFlow(firstTeam + points.length);
+		
+		for (int i = 0; i < fixtureCount; i++) {
+			Fixture fixture = others.get(i);
+			
+			flow.addEdge(source, firstFixture + i, MINIMUM_POINTS_PER_FIXTURE);
+			flow.addEdge(firstFixture + i, firstTeam + fixture.getHomeTeamId(), MINIMUM_POINTS_PER_FIXTURE);
+			flow.addEdge(firstFixture + i, firstTeam + fixture.getAwayTeamId(), MINIMUM_POINTS_PER_FIXTURE);
+		}
+		
+		for (int other : teamIds) {
+			if (other != teamId) {
+				flow.addEdge(firstTeam + other, sink, maximum - points[other]);
+			}
+		}
+		
+		return flow.maxFlow(source, sink) == MINIMUM_POINTS_PER_FIXTURE * fixtureCount;
+	}
+	
+	/**
+	 * This class represents a depth first search for an outcome of the fixtures between the other teams 
+	 * which leaves fewer teams than places with more points than the maximum of the team.
+	 */
+	private final class Search {
+		
+		private final int maximum;
+		private final int places;
+		private final int[] homeTeamIds;
+		private final int[] awayTeamIds;
+		private final int[] finalPoints;
+		private int above;
+		private long nodes;
+		
+		Search(final int teamId, final int maximum, final int places, final List<Fixture> others) {
+			this.maximum = maximum;
+			this.places = places;
+			this.finalPoints = points.clone();
+			
+			// search the fixtures of the teams with least slack first, they are the most constrained
+			List<Fixture> ordered = new ArrayList<>(others);
+			ordered.sort((a, b) -> Integer.compare(slack(a), slack(b)));
+			
+			homeTeamIds = new int[ordered.size()];
+			awayTeamIds = new int[ordered.size()];
+			
+			for (int i = 0; i < ordered.size(); i++) {
+				homeTeamIds[i] = ordered.get(i).getHomeTeamId();
+				awayTeamIds[i] = ordered.get(i).getAwayTeamId();
+			}
+			
+			finalPoints[teamId] = maximum;
+			
+			for (int other : teamIds) {
+				if ((other != teamId) && (finalPoints[other] > maximum)) {
+					above++;
+				}
+			}
+		}
+		
+		private int slack(final Fixture fixture) {
+			return Math.min(maximum - points[fixture.getHomeTeamId()], maximum - points[fixture.getAwayTeamId()]);
+		}
+		
+		/**
+		 * @return Whether an outcome was found, or the budget was exhausted before the search completed
+		 */
+		boolean run() {
+			return search(0) || (nodes >= searchBudget);
+		}
+		
+		private boolean search(final int index) {
+			if (above >= places) {
+				return false;
+			}
+			
+			if (index == homeTeamIds.length) {
+				return true;
+			}
+			
+			if (++nodes >= searchBudget) {
+				return false;
+			}
+			
+			int home = homeTeamIds[index];
+			int away = awayTeamIds[index];
+			
+			// prefer outcomes which give points to a team already above, or otherwise to the team with more slack
+			boolean homeFirst = (finalPoints[home] > maximum) || ((finalPoints[away] <= maximum) && (finalPoints[home] <= finalPoints[away]));
+			
+			int first = homeFirst ? home : away;
+			int second = homeFirst ? away : home;
+			
+			return tryOutcome(index, first, POINTS_FOR_WIN, second, 0) 
+					|| tryOutcome(index, home, POINTS_FOR_DRAW, away, POINTS_FOR_DRAW) 
+					|| tryOutcome(index, second, POINTS_FOR_WIN, first, 0);
+		}
+		
+		private boolean tryOutcome(final int index, final int a, final int pointsA, final int b, final int pointsB) {
+			award(a, pointsA);
+			award(b, pointsB);
+			
+			boolean result = search(index + 1);
+			
+			award(a, -pointsA);
+			award(b, -pointsB);
+			
+			return result;
+		}
+		
+		private void award(final int teamId, final int awarded) {
+			boolean wasAbove = finalPoints[teamId] > maximum;
+			
+			finalPoints[teamId] += awarded;
+			
+			boolean isAbove = finalPoints[teamId] > maximum;
+			
+			if (isAbove != wasAbove) {
+				above += isAbove ? 1 : -1;
+			}
+		}
+		
+	}
+	
+	/**
+	 * This class computes the maximum flow in a small network by Dinic's algorithm.
+	 */
+	private static final class MaxFlow {
+		
+		private final List<List<int[]>> adjacency = new ArrayList<>();
+		private final int[] level;
+		private final int[] next;
+		
+		MaxFlow(final int nodes) {
+			for (int i = 0; i < nodes; i++) {
+				adjacency.add(new ArrayList<>());
+			}
+			
+			level = new int[nodes];
+			next = new int[nodes];
+		}
+		
+		/**
+		 * Add an edge, each edge is held as {to, capacity, index of reverse edge}.
+		 */
+		void addEdge(final int from, final int to, final int capacity) {
+			adjacency.get(from).add(new int[] { to, capacity, adjacency.get(to).size() });
+			adjacency.get(to).add(new int[] { from, 0, adjacency.get(from).size() - 1 });
+		}
+		
+		int maxFlow(final int source, final int sink) {
+			int result = 0;
+			
+			while (buildLevels(source, sink)) {
+				Arrays.fill(next, 0);
+				
+				for (int pushed = push(source, sink, Integer.MAX_VALUE); pushed > 0; pushed = push(source, sink, Integer.MAX_VALUE)) {
+					result += pushed;
+				}
+			}
+			
+			return result;
+		}
+		
+		private boolean buildLevels(final int source, final int sink) {
+			Arrays.fill(level, -1);
+			
+			int[] queue = new int[level.length];
+			int head = 0;
+			int tail = 0;
+			
+			level[source] = 0;
+			queue[tail++] = source;
+			
+			while (head < tail) {
+				int node = queue[head++];
+				
+				for (int[] edge : adjacency.get(node)) {
+					if ((edge[1] > 0) && (level[edge[0]] < 0)) {
+						level[edge[0]] = level[node] + 1;
+						queue[tail++] = edge[0];
+					}
+				}
+			}
+			
+			return level[sink] >= 0;
+		}
+		
+		private int push(final int node, final int sink, final int available) {
+			if (node == sink) {
+				return available;
+			}
+			
+			List<int[]> edges = adjacency.get(node);
+			
+			for (; next[node] < edges.size(); next[node]++) {
+				int[] edge = edges.get(next[node]);
+				
+				if ((edge[1] > 0) && (level[edge[0]] == level[node] + 1)) {
+					int pushed = push(edge[0], sink, Math.min(available, edge[1]));
+					
+					if (pushed > 0) {
+						edge[1] -= pushed;
+						adjacency.get(edge[0]).get(edge[2])[1] += pushed;
+						
+						return pushed;
+					}
+				}
+			}
+			
+			return 0;
+		}
+		
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class represents the header row of a CSV file, it locates columns by name so that the data rows can be parsed by column index.
+ * 
+ * @author Paul Parlett
+ *
+ */
+final class CsvHeader {
+	
+	static final int NO_COLUMN = -1;
+	
+	private final List<String> columnNames;
+
+	/**
+	 * Parse the header row of a CSV file.
+	 * @param buffer The buffer containing the header row
+	 * @param start The index of the first byte of the header row, after any byte order mark
+	 * @param end The index after the last byte of the header row, excluding the line terminator
+	 * @return The header
+	 */
+	static CsvHeader parse(final ByteBuffer buffer, final int start, final int end) {
+		List<String> columnNames = new ArrayList<>();
+		
+		int fieldStart = start;
+		
+		for (int i = start; i <= end; i++) {
+			if ((i == end) || (buffer.get(i) == CsvScanner.DELIMITER)) {
+				byte[] bytes = new byte[i - fieldStart];
+				
+				for (int j = 0; j < bytes.length; j++) {
+					bytes[j] = buffer.get(fieldStart + j);
+				}
+				
+				columnNames.add(new String(bytes, StandardCharsets.UTF_8).trim());
+				
+				fieldStart = i + 1;
+			}
+		}
+		
+		return new CsvHeader(columnNames);
+	}
+	
+	private CsvHeader(final List<String> columnNames) {
+		this.columnNames = columnNames;
+	}
+	
+	/**
+	 * @param columnName The name of the column
+	 * @return The index of the column, or {@link CsvHeader#NO_COLUMN} if there is no such column
+	 */
+	int indexOf(final String columnName) {
+		return columnNames.indexOf(columnName);
+	}
+	
+	/**
+	 * @param columnName The name of the column
+	 * @return The index of the column
+	 * @throws IllegalArgumentException If there is no such column
+	 */
+	int requireIndexOf(final String columnName) {
+		int index = indexOf(columnName);
+		
+		if (index == NO_COLUMN) {
+			throw new IllegalArgumentException("missing column in header " + columnName);
+		}
+		
+		return index;
+	}
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * This class scans the bytes of a CSV row and records the bounds of selected columns, 
+ * unused columns are skipped without creating any objects and scanning stops after the last selected column.
+ * The bounds are held in reusable arrays so an instance must not be shared between threads.
+ * 
+ * @author Paul Parlett
+ *
+ */
+final class CsvScanner {
+	
+	static final byte DELIMITER = ',';
+	
+	private static final byte[] UTF8_BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+	
+	/**
+	 * The slot for each column index up to the last selected column, or -1 if the column is not selected.
+	 */
+	private final int[] slotByColumn;
+	
+	private final int[] fieldStarts;
+	private final int[] fieldEnds;
+
+	/**
+	 * Construct a CsvScanner for a set of columns.
+	 * @param columns The indexes of the selected columns, the bounds of column {@code columns[i]} are recorded in slot {@code i}
+	 */
+	CsvScanner(final int... columns) {
+		int lastColumn = -1;
+		
+		for (int column : columns) {
+			if (column < 0) {
+				throw new IllegalArgumentException("illegal column index " + column);
+			}
+			
+			lastColumn = Math.max(lastColumn, column);
+		}
+		
+		slotByColumn = new int[lastColumn + 1];
+		
+		Arrays.fill(slotByColumn, -1);
+		
+		for (int slot = 0; slot < columns.length; slot++) {
+			slotByColumn[columns[slot]] = slot;
+		}
+		
+		fieldStarts = new int[columns.length];
+		fieldEnds = new int[columns.length];
+	}
+	
+	/**
+	 * Scan a row and record the bounds of the selected columns.
+	 * @param buffer The buffer containing the row
+	 * @param start The index of the first byte of the row
+	 * @param end The index after the last byte of the row, excluding the line terminator
+	 * @return Whether all the selected columns are present in the row
+	 */
+	boolean scan(final ByteBuffer buffer, final int start, final int end) {
+		int column = 0;
+		int fieldStart = start;
+		
+		for (int i = start; (i <= end) && (column < slotByColumn.length); i++) {
+			if ((i == end) || (buffer.get(i) == DELIMITER)) {
+				int slot = slotByColumn[column];
+				
+				if (slot >= 0) {
+					fieldStarts[slot] = fieldStart;
+					fieldEnds[slot] = i;
+				}
+				
+				column++;
+				fieldStart = i + 1;
+			}
+		}
+		
+		return column == slotByColumn.length;
+	}
+	
+	int start(final int slot) {
+		return fieldStarts[slot];
+	}
+	
+	int end(final int slot) {
+		return fieldEnds[slot];
+	}
+	
+	/**
+	 * Parse a non-negative integer field.
+	 * @param buffer The buffer containing the row
+	 * @param slot The slot of the selected column
+	 * @return The value, or -1 if the field is empty or is not a non-negative integer
+	 */
+	int parseInt(final ByteBuffer buffer, final int slot) {
+		return parseDigits(buffer, fieldStarts[slot], fieldEnds[slot]);
+	}
+	
+	/**
+	 * Parse an integer field which may be negative, e.g. a goal difference.
+	 * @param buffer The buffer containing the row
+	 * @param slot The slot of the selected column
+	 * @return The value, or {@link Integer#MIN_VALUE} if the field is empty or is not an integer
+	 */
+	int parseSignedInt(final ByteBuffer buffer, final int slot) {
+		int start = fieldStarts[slot];
+		int end = fieldEnds[slot];
+		
+		boolean negative = (start < end) && (buffer.get(start) == '-');
+		
+		int value = parseDigits(buffer, negative ? start + 1 : start, end);
+		
+		if (value < 0) {
+			return Integer.MIN_VALUE;
+		}
+		
+		return negative ? -value : value;
+	}
+	
+	private static int parseDigits(final ByteBuffer buffer, final int start, final int end) {
+		if (start == end) {
+			return -1;
+		}
+		
+		int value = 0;
+		
+		for (int i = start; i < end; i++) {
+			int digit = buffer.get(i) - '0';
+			
+			if ((digit < 0) || (digit > 9) || (value > (Integer.MAX_VALUE - digit) / 10)) {
+				return -1;
+			}
+			
+			value = value * 10 + digit;
+		}
+		
+		return value;
+	}
+	
+	/**
+	 * Parse a date field in football-data format, either dd/mm/yy or dd/mm/yyyy, two digit years from 50 are taken to be in the twentieth century.
+	 * @param buffer The buffer containing the row
+	 * @param slot The slot of the selected column
+	 * @return The date packed as the decimal yyyymmdd, or -1 if the field is not a valid date
+	 */
+	int parseDate(final ByteBuffer buffer, final int slot) {
+		int start = fieldStarts[slot];
+		int end = fieldEnds[slot];
+		
+		int day = 0;
+		int month = 0;
+		int year = 0;
+		int part = 0;
+		int digits = 0;
+		
+		for (int i = start; i < end; i++) {
+			byte b = buffer.get(i);
+			
+			if (b == '/') {
+				if ((digits == 0) || (++part > 2)) {
+					return -1;
+				}
+				
+				digits = 0;
+			} else if ((b >= '0') && (b <= '9') && (digits < 4)) {
+				int digit = b - '0';
+				
+				if (part == 0) {
+					day = day * 10 + digit;
+				} else if (part == 1) {
+					month = month * 10 + digit;
+				} else {
+					year = year * 10 + digit;
+				}
+				
+				digits++;
+			} else {
+				return -1;
+			}
+		}
+		
+		if ((part != 2) || ((digits != 2) && (digits != 4))) {
+			return -1;
+		}
+		
+		if (digits == 2) {
+			year += (year >= 50) ? 1900 : 2000;
+		}
+		
+		if ((day < 1) || (day > 31) || (month < 1) || (month > 12)) {
+			return -1;
+		}
+		
+		return year * 10000 + month * 100 + day;
+	}
+	
+	/**
+	 * @param buffer The buffer containing the rows
+	 * @param start The index from which to search
+	 * @param limit The index after the last byte to search
+	 * @return The index of the next newline from the start, or the limit if there is none
+	 */
+	static int lineEnd(final ByteBuffer buffer, final int start, final int limit) {
+		for (int i = start; i < limit; i++) {
+			if (buffer.get(i) == '\n') {
+				return i;
+			}
+		}
+		
+		return limit;
+	}
+	
+	/**
+	 * @param buffer The buffer containing the row
+	 * @param start The index of the first byte of the row
+	 * @param end The index of the newline which terminates the row
+	 * @return The index after the last byte of the row, a carriage return before the newline is treated as part of the terminator
+	 */
+	static int trimLineEnd(final ByteBuffer buffer, final int start, final int end) {
+		return ((end > start) && (buffer.get(end - 1) == '\r')) ? end - 1 : end;
+	}
+	
+	/**
+	 * @param buffer The buffer containing the first row of the file
+	 * @param start The index of the first byte of the file
+	 * @param end The index after the last byte of the first row
+	 * @return The index of the first byte of the file after any UTF-8 byte order mark
+	 */
+	static int skipByteOrderMark(final ByteBuffer buffer, final int start, final int end) {
+		if (end - start < UTF8_BOM.length) {
+			return start;
+		}
+		
+		for (int i = 0; i < UTF8_BOM.length; i++) {
+			if (buffer.get(start + i) != UTF8_BOM[i]) {
+				return start;
+			}
+		}
+		
+		return start + UTF8_BOM.length;
+	}
+
+}
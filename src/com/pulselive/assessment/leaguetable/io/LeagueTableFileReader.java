@@ -0,0 +1,191 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.pulselive.assessment.leaguetable.ReferenceEntry;
+import com.pulselive.assessment.leaguetable.metrics.Metrics;
+
+/**
+ * This class reads the entries of a published league table from a CSV file in footstats format, e.g.
+ * http://www.footstats.co.uk/index.cfm?task=league_full. The columns are located from the header row and the rows are scanned as
+ * bytes, the entries are read one at a time so that a table can be reconciled without a list of its entries. Rows without a
+ * position and a team, e.g. the notes and the key which follow the header row, are skipped.
+ *
+ * @author Paul Parlett
+ *
+ */
+public final class LeagueTableFileReader implements Iterator<ReferenceEntry>, Closeable {
+	
+	static final String POSITION_COLUMN = "Position";
+	static final String TEAM_COLUMN = "Team";
+	static final String PLAYED_COLUMN = "Played";
+	static final String WON_COLUMN = "W";
+	static final String DRAWN_COLUMN = "D";
+	static final String LOST_COLUMN = "L";
+	static final String GOALS_FOR_COLUMN = "F";
+	static final String GOALS_AGAINST_COLUMN = "A";
+	static final String GOAL_DIFFERENCE_COLUMN = "GD";
+	static final String POINTS_COLUMN = "Pts";
+	
+	private static final int POSITION = 0;
+	private static final int TEAM = 1;
+	private static final int PLAYED = 2;
+	private static final int WON = 3;
+	private static final int DRAWN = 4;
+	private static final int LOST = 5;
+	private static final int GOALS_FOR = 6;
+	private static final int GOALS_AGAINST = 7;
+	private static final int GOAL_DIFFERENCE = 8;
+	private static final int POINTS = 9;
+	
+	private final static Logger LOGGER = Logger.getLogger(LeagueTableFileReader.class.getName());
+	
+	private final LineReader lines;
+	
+	private final CsvScanner scanner;
+	
+	private final NameCache teamNames = new NameCache();
+	
+	private ReferenceEntry next;
+	
+	/**
+	 * Open a CSV file for reading.
+	 * @param file The CSV file assumed to be in footstats format
+	 * @return The reader, which must be closed
+	 * @throws IOException The IOException which may occur
+	 */
+	public static LeagueTableFileReader open(final Path file) throws IOException {
+		InputStream in = Files.newInputStream(file);
+		
+		try {
+			return new LeagueTableFileReader(in);
+		} catch (IOException | RuntimeException e) {
+			in.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Construct a LeagueTableFileReader, the header row is read immediately.
+	 * @param in The input stream of CSV assumed to be in footstats format, this is closed when the reader is closed
+	 * @throws IOException The IOException which may occur
+	 */
+	public LeagueTableFileReader(final InputStream in) throws IOException {
+		this.lines = new LineReader(in);
+		
+		if (!lines.next()) {
+			throw new IllegalArgumentException("missing header row");
+		}
+		
+		ByteBuffer buffer = lines.buffer();
+		
+		CsvHeader header = CsvHeader.parse(buffer, CsvScanner.skipByteOrderMark(buffer, lines.start(), lines.end()), lines.end());
+		
+		scanner = new CsvScanner(
+				header.requireIndexOf(POSITION_COLUMN),
+				header.requireIndexOf(TEAM_COLUMN),
+				header.requireIndexOf(PLAYED_COLUMN),
+				header.requireIndexOf(WON_COLUMN),
+				header.requireIndexOf(DRAWN_COLUMN),
+				header.requireIndexOf(LOST_COLUMN),
+				header.requireIndexOf(GOALS_FOR_COLUMN),
+				header.requireIndexOf(GOALS_AGAINST_COLUMN),
+				header.requireIndexOf(GOAL_DIFFERENCE_COLUMN),
+				header.requireIndexOf(POINTS_COLUMN));
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasNext() {
+		try {
+			while (next == null) {
+				if (!lines.next()) {
+					return false;
+				}
+				
+				next = parse(lines.buffer(), lines.start(), lines.end());
+				
+				if ((next == null) && LOGGER.isLoggable(Level.FINE)) {
+					LOGGER.fine("skipped line without a position and team at offset " + lines.start());
+				}
+				
+				if (Metrics.ENABLED) {
+					(next == null ? Metrics.ROWS_REJECTED : Metrics.ROWS_PARSED).increment();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ReferenceEntry next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		
+		ReferenceEntry result = next;
+		
+		next = null;
+		
+		return result;
+	}
+	
+	/**
+	 * Parse a row.
+	 * @return The entry, or null if the row is not a valid entry
+	 */
+	private ReferenceEntry parse(final ByteBuffer buffer, final int start, final int end) {
+		if (!scanner.scan(buffer, start, end) || (scanner.start(TEAM) == scanner.end(TEAM))) {
+			return null;
+		}
+		
+		int position = scanner.parseInt(buffer, POSITION);
+		int played = scanner.parseInt(buffer, PLAYED);
+		int won = scanner.parseInt(buffer, WON);
+		int drawn = scanner.parseInt(buffer, DRAWN);
+		int lost = scanner.parseInt(buffer, LOST);
+		int goalsFor = scanner.parseInt(buffer, GOALS_FOR);
+		int goalsAgainst = scanner.parseInt(buffer, GOALS_AGAINST);
+		int goalDifference = scanner.parseSignedInt(buffer, GOAL_DIFFERENCE);
+		int points = scanner.parseSignedInt(buffer, POINTS);		// negative after a points deduction
+		
+		if ((position < 0) || (played < 0) || (won < 0) || (drawn < 0) || (lost < 0) || (goalsFor < 0) || (goalsAgainst < 0)
+				|| (goalDifference == Integer.MIN_VALUE) || (points == Integer.MIN_VALUE)) {
+			return null;
+		}
+		
+		String teamName = teamNames.get(buffer, scanner.start(TEAM), scanner.end(TEAM));
+		
+		return new ReferenceEntry(position, teamName, played, won, drawn, lost, goalsFor, goalsAgainst, goalDifference, points);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException {
+		lines.close();
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.pulselive.assessment.leaguetable.metrics.Metrics;
+
+/**
+ * This class reads the lines of an input stream into a reusable byte buffer so that they can be scanned as bytes without being decoded.
+ * The buffer grows to hold the longest line, and is replaced when it grows, so the buffer must be got again after each line is read.
+ * An instance must not be shared between threads.
+ *
+ * @author Paul Parlett
+ *
+ */
+final class LineReader implements Closeable {
+	
+	private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+	
+	private final InputStream in;
+	
+	private byte[] bytes = new byte[INITIAL_BUFFER_SIZE];
+	private ByteBuffer buffer = ByteBuffer.wrap(bytes);
+	private int position;
+	private int limit;
+	private boolean endOfInput;
+	
+	/**
+	 * The bounds of the line last read.
+	 */
+	private int start;
+	private int end;
+	
+	/**
+	 * Construct a LineReader.
+	 * @param in The input stream, this is closed when the reader is closed
+	 */
+	LineReader(final InputStream in) {
+		this.in = in;
+	}
+	
+	/**
+	 * Read the next line, a final line without a terminator is treated as if it had one.
+	 * @return Whether there was another line, its bounds are then given by {@link LineReader#start()} and {@link LineReader#end()}
+	 * @throws IOException The IOException which may occur
+	 */
+	boolean next() throws IOException {
+		int lineEnd = nextLineEnd();
+		
+		if (lineEnd < 0) {
+			return false;
+		}
+		
+		start = position;
+		end = CsvScanner.trimLineEnd(buffer, start, lineEnd);
+		
+		position = lineEnd + 1;
+		
+		return true;
+	}
+	
+	/**
+	 * @return The buffer containing the line last read
+	 */
+	ByteBuffer buffer() {
+		return buffer;
+	}
+	
+	/**
+	 * @return The index of the first byte of the line last read
+	 */
+	int start() {
+		return start;
+	}
+	
+	/**
+	 * @return The index after the last byte of the line last read, excluding the line terminator
+	 */
+	int end() {
+		return end;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+	
+	/**
+	 * Find the end of the next line, reading more input as required, a final line without a terminator is treated as if it had one.
+	 * @return The index of the newline which terminates the next line, or -1 at the end of input
+	 */
+	private int nextLineEnd() throws IOException {
+		int scanFrom = position;
+		
+		while (true) {
+			for (int i = scanFrom; i < limit; i++) {
+				if (bytes[i] == '\n') {
+					return i;
+				}
+			}
+			
+			if (endOfInput) {
+				if (position == limit) {
+					return -1;
+				}
+				
+				ensureCapacity(limit + 1);
+				
+				bytes[limit] = '\n';
+				
+				return limit++;
+			}
+			
+			scanFrom = limit - position;
+			
+			fill();
+		}
+	}
+	
+	/**
+	 * Move the unread bytes to the start of the buffer and read more input after them.
+	 */
+	private void fill() throws IOException {
+		int remaining = limit - position;
+		
+		if (remaining == bytes.length) {
+			ensureCapacity(bytes.length * 2);
+		} else {
+			System.arraycopy(bytes, position, bytes, 0, remaining);
+		}
+		
+		position = 0;
+		limit = remaining;
+		
+		int read = in.read(bytes, limit, bytes.length - limit);
+		
+		if (Metrics.ENABLED && (read > 0)) {
+			Metrics.BYTES_PARSED.add(read);
+		}
+		
+		if (read < 0) {
+			endOfInput = true;
+		} else {
+			limit += read;
+		}
+	}
+	
+	private void ensureCapacity(final int capacity) {
+		if (capacity > bytes.length) {
+			byte[] larger = new byte[Math.max(capacity, bytes.length * 2)];
+			
+			System.arraycopy(bytes, position, larger, 0, limit - position);
+			
+			limit -= position;
+			position = 0;
+			
+			bytes = larger;
+			buffer = ByteBuffer.wrap(bytes);
+		}
+	}
+
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.pulselive.assessment.leaguetable.DatedMatch;
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.metrics.Metrics;
+
+/**
+ * This class reads the matches from a CSV file in football-data format, e.g. http://www.football-data.co.uk/englandm.php.
+ * The HomeTeam, AwayTeam, FTHG and FTAG columns are located from the header row, the rows are scanned as bytes 
+ * and the remaining columns are skipped without being decoded. The matches are read one at a time so the file can be folded
+ * into a {@link LeagueTable} without a list of matches.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class MatchFileReader implements Iterator<Match>, Closeable {
+	
+	static final String HOME_TEAM_COLUMN = "HomeTeam";
+	static final String AWAY_TEAM_COLUMN = "AwayTeam";
+	static final String HOME_SCORE_COLUMN = "FTHG";
+	static final String AWAY_SCORE_COLUMN = "FTAG";
+	static final String DATE_COLUMN = "Date";
+	
+	private final static Logger LOGGER = Logger.getLogger(MatchFileReader.class.getName());
+	
+	private final LineReader lines;
+	
+	private final long startNanos;
+	
+	private final MatchRowParser parser;
+	
+	/**
+	 * The slot of the Date column in the scanner, or -1 if there is no Date column.
+	 */
+	private final int dateSlot;
+	
+	private Match next;
+	private int nextDate = -1;
+	private int date = -1;
+
+	/**
+	 * Open a CSV file for reading.
+	 * @param file The CSV file assumed to be in football-data format
+	 * @return The reader, which must be closed
+	 * @throws IOException The IOException which may occur
+	 */
+	public static MatchFileReader open(final Path file) throws IOException {
+		InputStream in = Files.newInputStream(file);
+		
+		try {
+			return new MatchFileReader(in);
+		} catch (IOException | RuntimeException e) {
+			in.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Read all the matches in a CSV file into a league table.
+	 * @param file The CSV file assumed to be in football-data format
+	 * @return The league table
+	 * @throws IOException The IOException which may occur
+	 */
+	public static LeagueTable readLeagueTable(final Path file) throws IOException {
+		LeagueTable result = new LeagueTable();
+		
+		try (MatchFileReader reader = open(file)) {
+			reader.forEachRemaining(result::apply);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		
+		return result;
+	}
+
+	/**
+	 * Construct a MatchFileReader, the header row is read immediately.
+	 * @param in The input stream of CSV assumed to be in football-data format, this is closed when the reader is closed
+	 * @throws IOException The IOException which may occur
+	 */
+	public MatchFileReader(final InputStream in) throws IOException {
+		this.lines = new LineReader(in);
+		this.startNanos = Metrics.startNanos();
+		
+		if (!lines.next()) {
+			throw new IllegalArgumentException("missing header row");
+		}
+		
+		ByteBuffer buffer = lines.buffer();
+		
+		CsvHeader header = CsvHeader.parse(buffer, CsvScanner.skipByteOrderMark(buffer, lines.start(), lines.end()), lines.end());
+		
+		int dateColumn = header.indexOf(DATE_COLUMN);
+		
+		if (dateColumn == CsvHeader.NO_COLUMN) {
+			parser = new MatchRowParser(header);
+			dateSlot = -1;
+		} else {
+			parser = new MatchRowParser(header, dateColumn);
+			dateSlot = MatchRowParser.FIRST_EXTRA_SLOT;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasNext() {
+		try {
+			while (next == null) {
+				if (!lines.next()) {
+					return false;
+				}
+				
+				int start = lines.start();
+				
+				next = parser.parse(lines.buffer(), start, lines.end());
+				
+				if ((next != null) && (dateSlot >= 0)) {
+					nextDate = parser.getScanner().parseDate(lines.buffer(), dateSlot);
+				}
+				
+				if (next == null) {
+					LOGGER.warning(() -> "invalid line in file at offset " + start);
+				}
+				
+				if (Metrics.ENABLED) {
+					(next == null ? Metrics.ROWS_REJECTED : Metrics.ROWS_PARSED).increment();
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Match next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		
+		Match result = next;
+		
+		date = nextDate;
+		
+		next = null;
+		nextDate = -1;
+		
+		return result;
+	}
+	
+	/**
+	 * @return The date of the match last returned by {@link MatchFileReader#next()}, or null if the file has no Date column or the date is invalid
+	 */
+	public LocalDate getDate() {
+		if (date < 0) {
+			return null;
+		}
+		
+		try {
+			return LocalDate.of(date / 10000, (date / 100) % 100, date % 100);
+		} catch (DateTimeException e) {
+			return null;	// e.g. 31/02
+		}
+	}
+	
+	/**
+	 * Read all the matches in a CSV file with their dates, the file must have a Date column.
+	 * @param file The CSV file assumed to be in football-data format
+	 * @return The list of dated matches
+	 * @throws IOException The IOException which may occur
+	 */
+	public static List<DatedMatch> readDatedMatches(final Path file) throws IOException {
+		List<DatedMatch> result = new ArrayList<>();
+		
+		try (MatchFileReader reader = open(file)) {
+			while (reader.hasNext()) {
+				Match match = reader.next();
+				LocalDate date = reader.getDate();
+				
+				if (date == null) {
+					LOGGER.warning(() -> "invalid date for match " + match);
+				} else {
+					result.add(new DatedMatch(date, match));
+				}
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @return A sequential stream of the remaining matches, closing the stream closes this reader
+	 */
+	public Stream<Match> stream() {
+		Spliterator<Match> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+		
+		return StreamSupport.stream(spliterator, false).onClose(() -> {
+			try {
+				close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException {
+		lines.close();
+		
+		if (Metrics.ENABLED) {
+			Metrics.PARSE_LATENCY.recordSince(startNanos);
+		}
+	}
+
+}
@@ -0,0 +1,686 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import com.pulselive.assessment.leaguetable.IndexedMatch;
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.StandingsStore;
+import com.pulselive.assessment.leaguetable.TeamRegistry;
+
+/**
+ * This class represents a durable append-only log of the match results applied to a league table, and of their corrections,
+ * from which the standings can be recovered after a crash.
+ * <p>
+ * The log is a directory of segment files, each named by the offset of its first record, a segment is rolled when it reaches
+ * the segment size. Each record is written as its payload length, the CRC32 of its payload and the payload itself. Records are
+ * forced to disk in batches, every sync interval records or on {@link #sync()}, so a crash may lose the records of an unforced
+ * batch and leave a torn record at the tail of the last segment, which is truncated when the log is opened. A crash while a
+ * segment is being created may leave the last segment without an intact header, which is rewritten when the log is opened.
+ * <p>
+ * An offset is the number of record bytes in the log before a record, it is unchanged by compaction, which writes the standings
+ * to a {@link StandingsSnapshot} and deletes the segments which precede the offset of the snapshot.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Paul Parlett
+ *
+ */
+public final class MatchLog implements Closeable {
+	
+	private static final Logger LOGGER = Logger.getLogger(MatchLog.class.getName());
+	
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+	public static final int DEFAULT_SYNC_INTERVAL = 256;
+	
+	static final int MAGIC = 0x474C4D4C;	// "LMLG"
+	static final short VERSION = 1;
+	
+	static final byte APPLIED = 1;
+	static final byte CORRECTED = 2;
+	
+	private static final String SEGMENT_SUFFIX = ".log";
+	private static final int SEGMENT_HEADER_SIZE = 8;
+	private static final int RECORD_HEADER_SIZE = 8;
+	private static final int MAX_NAME_SIZE = 255;
+	private static final int MAX_PAYLOAD_SIZE = 1 + 4 * (Short.BYTES + MAX_NAME_SIZE + Integer.BYTES);
+	
+	private final Path directory;
+	private final int segmentSize;
+	private final int syncInterval;
+	
+	private final List<Long> segmentBases = new ArrayList<>();
+	
+	private final CRC32 crc = new CRC32();
+	private ByteBuffer writeBuffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+	
+	private FileChannel channel;
+	private long segmentBase;
+	private long endOffset;
+	private int unsynced;
+	
+	private MatchLog(final Path directory, final int segmentSize, final int syncInterval) {
+		if ((segmentSize < SEGMENT_HEADER_SIZE + RECORD_HEADER_SIZE + MAX_PAYLOAD_SIZE) || (syncInterval < 1)) {
+			throw new IllegalArgumentException("illegal segment size or sync interval");
+		}
+		
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.syncInterval = syncInterval;
+	}
+	
+	/**
+	 * Open the log in a directory with the default segment size and sync interval, the directory is created if it does not exist.
+	 * @param directory The directory of the log
+	 * @return The log, positioned to append after its last intact record
+	 * @throws IOException The IOException which may occur
+	 */
+	public static MatchLog open(final Path directory) throws IOException {
+		return open(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_SYNC_INTERVAL);
+	}
+	
+	/**
+	 * Open the log in a directory, the directory is created if it does not exist.
+	 * @param directory The directory of the log
+	 * @param segmentSize The size in bytes at which a segment is rolled
+	 * @param syncInterval The number of records appended between forcing the log to disk
+	 * @return The log, positioned to append after its last intact record
+	 * @throws IOException The IOException which may occur
+	 */
+	public static MatchLog open(final Path directory, final int segmentSize, final int syncInterval) throws IOException {
+		MatchLog log = new MatchLog(directory, segmentSize, syncInterval);
+		
+		Files.createDirectories(directory);
+		
+		log.recover();
+		
+		return log;
+	}
+	
+	private void recover() throws IOException {
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+			for (Path path : stream) {
+				String name = path.getFileName().toString();
+				
+				try {
+					segmentBases.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+				} catch (NumberFormatException e) {
+					LOGGER.warning("ignoring unexpected file in the log " + path);
+				}
+			}
+		}
+		
+		Collections.sort(segmentBases);
+		
+		if (segmentBases.isEmpty()) {
+			openSegment(0);
+		} else {
+			segmentBase = segmentBases.get(segmentBases.size() - 1);
+			
+			channel = FileChannel.open(segmentPath(segmentBase), StandardOpenOption.READ, StandardOpenOption.WRITE);
+			
+			if ((channel.size() <= SEGMENT_HEADER_SIZE) && !hasSegmentHeader(channel)) {
+				LOGGER.warning("rewriting the torn header of the log segment " + segmentPath(segmentBase));
+				
+				channel.truncate(0);
+				writeSegmentHeader();
+			}
+			
+			long intact = scanSegment(segmentBase, channel);
+			
+			if (intact < channel.size()) {
+				LOGGER.warning("truncating the torn tail of the log at position " + intact + " of " + segmentPath(segmentBase));
+				
+				channel.truncate(intact);
+				channel.force(true);
+			}
+			
+			channel.position(intact);
+			
+			endOffset = segmentBase + intact - SEGMENT_HEADER_SIZE;
+		}
+	}
+	
+	/**
+	 * @return The position in the segment after its last intact record
+	 */
+	private long scanSegment(final long base, final FileChannel segment) throws IOException {
+		ByteBuffer buffer = segment.map(FileChannel.MapMode.READ_ONLY, 0, segment.size()).order(ByteOrder.LITTLE_ENDIAN);
+		
+		checkSegmentHeader(base, buffer);
+		
+		while (nextRecord(buffer) != null) {
+			// skip the intact records
+		}
+		
+		return buffer.position();
+	}
+	
+	private static boolean hasSegmentHeader(final FileChannel segment) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		
+		while (header.hasRemaining() && (segment.read(header, header.position()) > 0)) {
+			// read the whole header
+		}
+		
+		header.flip();
+		
+		return (header.remaining() == SEGMENT_HEADER_SIZE) && (header.getInt() == MAGIC) && (header.getShort() == VERSION);
+	}
+	
+	private void checkSegmentHeader(final long base, final ByteBuffer buffer) throws IOException {
+		if ((buffer.remaining() < SEGMENT_HEADER_SIZE) || (buffer.getInt() != MAGIC) || (buffer.getShort() != VERSION)) {
+			throw new IOException("not a match log segment " + segmentPath(base));
+		}
+		
+		buffer.getShort();		// reserved
+	}
+	
+	/**
+	 * @return The payload of the next record, or null if there is none or the record is torn or corrupt, in which case the buffer is not advanced
+	 */
+	private ByteBuffer nextRecord(final ByteBuffer buffer) {
+		int start = buffer.position();
+		
+		if (buffer.remaining() < RECORD_HEADER_SIZE) {
+			return null;
+		}
+		
+		int length = buffer.getInt();
+		int checksum = buffer.getInt();
+		
+		if ((length <= 0) || (length > MAX_PAYLOAD_SIZE) || (length > buffer.remaining())) {
+			buffer.position(start);
+			return null;
+		}
+		
+		ByteBuffer payload = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+		payload.limit(length);
+		
+		crc.reset();
+		crc.update(payload);
+		payload.rewind();
+		
+		if ((int) crc.getValue() != checksum) {
+			buffer.position(start);
+			return null;
+		}
+		
+		buffer.position(buffer.position() + length);
+		
+		return payload;
+	}
+	
+	private Path segmentPath(final long base) {
+		return directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+	}
+	
+	private void openSegment(final long base) throws IOException {
+		channel = FileChannel.open(segmentPath(base), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		
+		writeSegmentHeader();
+		
+		syncDirectory();		// the new segment itself must survive a crash, not only its content
+		
+		segmentBase = base;
+		segmentBases.add(base);
+		endOffset = base;
+	}
+	
+	/**
+	 * Write the header at the start of the current segment, which must be empty, and force it to disk.
+	 */
+	private void writeSegmentHeader() throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(MAGIC).putShort(VERSION).putShort((short) 0).flip();
+		
+		channel.position(0);
+		
+		while (header.hasRemaining()) {
+			channel.write(header);
+		}
+		
+		channel.force(true);
+	}
+	
+	/**
+	 * Force the entries of the directory to disk, so that the creation and deletion of segments are durable. This is not
+	 * supported on all platforms, e.g. Windows, where the directory cannot be opened and is left to the file system.
+	 */
+	private void syncDirectory() {
+		try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			directoryChannel.force(true);
+		} catch (IOException e) {
+			LOGGER.fine(() -> "cannot force the log directory " + directory + " " + e);
+		}
+	}
+	
+	private void rollSegment() throws IOException {
+		channel.force(true);
+		channel.close();
+		
+		unsynced = 0;
+		
+		openSegment(endOffset);
+	}
+	
+	/**
+	 * Append the result of a match applied to the league table.
+	 * @param match The completed match
+	 * @return The offset after the record
+	 * @throws IOException The IOException which may occur
+	 */
+	public long append(final Match match) throws IOException {
+		return appendRecord(APPLIED, match, null);
+	}
+	
+	/**
+	 * Append the correction of the result of a match previously applied to the league table.
+	 * @param previous The completed match which was previously applied
+	 * @param corrected The corrected result of the same match
+	 * @return The offset after the record
+	 * @throws IOException The IOException which may occur
+	 */
+	public long appendCorrection(final Match previous, final Match corrected) throws IOException {
+		if (corrected == null) {
+			throw new IllegalArgumentException("illegal null parameter");
+		}
+		
+		return appendRecord(CORRECTED, previous, corrected);
+	}
+	
+	private long appendRecord(final byte type, final Match match, final Match corrected) throws IOException {
+		if (match == null) {
+			throw new IllegalArgumentException("illegal null parameter");
+		}
+		
+		writeBuffer.clear();
+		writeBuffer.position(RECORD_HEADER_SIZE);
+		writeBuffer.put(type);
+		
+		putMatch(match);
+		
+		if (corrected != null) {
+			putMatch(corrected);
+		}
+		
+		int length = writeBuffer.position() - RECORD_HEADER_SIZE;
+		
+		writeBuffer.flip();
+		writeBuffer.position(RECORD_HEADER_SIZE);
+		
+		crc.reset();
+		crc.update(writeBuffer);
+		
+		writeBuffer.putInt(0, length).putInt(4, (int) crc.getValue()).position(0);
+		
+		if (channel.position() + writeBuffer.remaining() > segmentSize) {
+			rollSegment();
+		}
+		
+		while (writeBuffer.hasRemaining()) {
+			channel.write(writeBuffer);
+		}
+		
+		endOffset += RECORD_HEADER_SIZE + length;
+		
+		if (++unsynced >= syncInterval) {
+			sync();
+		}
+		
+		return endOffset;
+	}
+	
+	private void putMatch(final Match match) {
+		byte[] homeTeam = encode(match.getHomeTeam());
+		byte[] awayTeam = encode(match.getAwayTeam());
+		
+		int required = 2 * (Short.BYTES + Integer.BYTES) + homeTeam.length + awayTeam.length;
+		
+		if (writeBuffer.remaining() < required) {
+			ByteBuffer larger = ByteBuffer.allocate(Math.max(2 * writeBuffer.capacity(), writeBuffer.position() + required)).order(ByteOrder.LITTLE_ENDIAN);
+			
+			writeBuffer.flip();
+			larger.put(writeBuffer);
+			
+			writeBuffer = larger;
+		}
+		
+		writeBuffer.putShort((short) homeTeam.length).put(homeTeam);
+		writeBuffer.putShort((short) awayTeam.length).put(awayTeam);
+		writeBuffer.putInt(match.getHomeScore()).putInt(match.getAwayScore());
+	}
+	
+	private static byte[] encode(final String teamName) {
+		byte[] result = teamName.getBytes(StandardCharsets.UTF_8);
+		
+		if (result.length > MAX_NAME_SIZE) {
+			throw new IllegalArgumentException("team name too long " + teamName);
+		}
+		
+		return result;
+	}
+	
+	private static Match getMatch(final ByteBuffer payload) {
+		String homeTeam = getString(payload);
+		String awayTeam = getString(payload);
+		
+		return new Match(homeTeam, awayTeam, payload.getInt(), payload.getInt());
+	}
+	
+	private static String getString(final ByteBuffer payload) {
+		byte[] bytes = new byte[payload.getShort()];
+		
+		payload.get(bytes);
+		
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Force the records appended since the last sync to disk.
+	 * @throws IOException The IOException which may occur
+	 */
+	public void sync() throws IOException {
+		if (unsynced > 0) {
+			channel.force(false);
+			
+			unsynced = 0;
+		}
+	}
+	
+	/**
+	 * @return The offset of the first record retained in the log
+	 */
+	public long getStartOffset() {
+		return segmentBases.get(0);
+	}
+	
+	/**
+	 * @return The offset after the last record in the log
+	 */
+	public long getEndOffset() {
+		return endOffset;
+	}
+	
+	/**
+	 * Replay the records of the log to a listener.
+	 * @param fromOffset The offset of the first record to replay, which must be the offset of a record
+	 * @param toOffset The offset after the last record to replay
+	 * @param listener The listener
+	 * @return The offset after the last record replayed
+	 * @throws IOException The IOException which may occur, including if a record is corrupt
+	 */
+	public long replay(final long fromOffset, final long toOffset, final Listener listener) throws IOException {
+		if ((fromOffset < getStartOffset()) || (fromOffset > endOffset) || (toOffset < fromOffset)) {
+			throw new IllegalArgumentException("illegal offsets " + fromOffset + " to " + toOffset + " in log from " + getStartOffset() + " to " + endOffset);
+		}
+		
+		long offset = fromOffset;
+		
+		for (int i = 0; i < segmentBases.size(); i++) {
+			long base = segmentBases.get(i);
+			long next = (i + 1 < segmentBases.size()) ? segmentBases.get(i + 1) : endOffset;
+			
+			if ((offset >= next) && (next > base)) {
+				continue;
+			}
+			
+			if (offset >= toOffset) {
+				break;
+			}
+			
+			offset = replaySegment(base, next, offset, toOffset, listener);
+		}
+		
+		return offset;
+	}
+	
+	/**
+	 * Replay all of the records from an offset to the end of the log to a listener.
+	 * @param fromOffset The offset of the first record to replay
+	 * @param listener The listener
+	 * @return The offset after the last record replayed
+	 * @throws IOException The IOException which may occur
+	 */
+	public long replay(final long fromOffset, final Listener listener) throws IOException {
+		return replay(fromOffset, endOffset, listener);
+	}
+	
+	private long replaySegment(final long base, final long end, final long fromOffset, final long toOffset, final Listener listener) throws IOException {
+		MappedByteBuffer mapped;
+		
+		try (FileChannel segment = FileChannel.open(segmentPath(base), StandardOpenOption.READ)) {
+			mapped = segment.map(FileChannel.MapMode.READ_ONLY, 0, SEGMENT_HEADER_SIZE + end - base);
+		}
+		
+		ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+		
+		checkSegmentHeader(base, buffer);
+		
+		buffer.position((int) (SEGMENT_HEADER_SIZE + fromOffset - base));
+		
+		long offset = fromOffset;
+		
+		while ((offset < toOffset) && buffer.hasRemaining()) {
+			ByteBuffer payload = nextRecord(buffer);
+			
+			if (payload == null) {
+				throw new IOException("corrupt record at offset " + offset + " of " + segmentPath(base));
+			}
+			
+			byte type = payload.get();
+			
+			if (type == APPLIED) {
+				listener.applied(getMatch(payload));
+			} else if (type == CORRECTED) {
+				Match previous = getMatch(payload);
+				
+				listener.corrected(previous, getMatch(payload));
+			} else {
+				throw new IOException("unknown record type " + type + " at offset " + offset + " of " + segmentPath(base));
+			}
+			
+			offset = base + buffer.position() - SEGMENT_HEADER_SIZE;
+		}
+		
+		return offset;
+	}
+	
+	/**
+	 * Rebuild a league table by replaying the whole log, which must not have been compacted.
+	 * @param leagueTable The league table, typically empty
+	 * @return The offset after the last record replayed
+	 * @throws IOException The IOException which may occur
+	 * @see MatchLog#recoverLeagueTable(Path, String)
+	 */
+	public long replay(final LeagueTable leagueTable) throws IOException {
+		if (getStartOffset() > 0) {
+			throw new IllegalStateException("the log has been compacted, recover the league table from the snapshot");
+		}
+		
+		return replay(leagueTable, 0);
+	}
+	
+	/**
+	 * Bring a league table up to date by replaying the log.
+	 * @param leagueTable The league table, e.g. restored from a snapshot
+	 * @param fromOffset The offset after the last record applied to the league table
+	 * @return The offset after the last record replayed
+	 * @throws IOException The IOException which may occur
+	 */
+	public long replay(final LeagueTable leagueTable, final long fromOffset) throws IOException {
+		return replay(fromOffset, new Listener() {
+			
+			@Override
+			public void applied(final Match match) {
+				leagueTable.apply(match);
+			}
+			
+			@Override
+			public void corrected(final Match previous, final Match corrected) {
+				leagueTable.replace(previous, corrected);
+			}
+		
+		});
+	}
+	
+	/**
+	 * Bring standings up to date by replaying the log.
+	 * @param standings The standings, e.g. restored from a snapshot
+	 * @param fromOffset The offset after the last record applied to the standings
+	 * @return The offset after the last record replayed
+	 * @throws IOException The IOException which may occur
+	 */
+	public long replay(final StandingsStore standings, final long fromOffset) throws IOException {
+		TeamRegistry registry = standings.getRegistry();
+		
+		return replay(fromOffset, new Listener() {
+			
+			@Override
+			public void applied(final Match match) {
+				standings.apply(IndexedMatch.of(match, registry));
+			}
+			
+			@Override
+			public void corrected(final Match previous, final Match corrected) {
+				IndexedMatch match = IndexedMatch.of(previous, registry);
+				
+				standings.revert(match.getHomeTeamId(), match.getAwayTeamId(), match.getHomeScore(), match.getAwayScore());
+				standings.apply(IndexedMatch.of(corrected, registry));
+			}
+		
+		});
+	}
+	
+	/**
+	 * Recover the standings of a table from its snapshot, if any, and the records appended to the log since the snapshot.
+	 * @param snapshotFile The snapshot file, which need not exist
+	 * @param tableName The name of the table in the snapshot
+	 * @return The standings
+	 * @throws IOException The IOException which may occur
+	 */
+	public StandingsStore recover(final Path snapshotFile, final String tableName) throws IOException {
+		StandingsSnapshot.TableView table = Files.exists(snapshotFile) ? StandingsSnapshot.map(snapshotFile).getTable(tableName) : null;
+		
+		StandingsStore standings = (table != null) ? table.toStandings() : new StandingsStore(new TeamRegistry());
+		
+		replay(standings, (table != null) ? table.getLogOffset() : getStartOffset());
+		
+		return standings;
+	}
+	
+	/**
+	 * Recover a league table from the standings of its snapshot, if any, and the records appended to the log since the snapshot.
+	 * The home, away and form tables of the league table are only available if there is no snapshot of it, since the snapshot
+	 * holds the totals of each team and not the results.
+	 * @param snapshotFile The snapshot file, which need not exist
+	 * @param tableName The name of the table in the snapshot
+	 * @return The league table
+	 * @throws IOException The IOException which may occur
+	 * @throws IllegalStateException If there is no snapshot of the table and the log has been compacted
+	 */
+	public LeagueTable recoverLeagueTable(final Path snapshotFile, final String tableName) throws IOException {
+		StandingsSnapshot.TableView table = Files.exists(snapshotFile) ? StandingsSnapshot.map(snapshotFile).getTable(tableName) : null;
+		
+		if (table == null) {
+			LeagueTable leagueTable = new LeagueTable();
+			
+			replay(leagueTable);
+			
+			return leagueTable;
+		}
+		
+		LeagueTable leagueTable = table.toStandings().toLeagueTable();
+		
+		replay(leagueTable, table.getLogOffset());
+		
+		return leagueTable;
+	}
+	
+	/**
+	 * Compact the log, the recovered standings of the table are written to the snapshot, preserving any other tables in it,
+	 * and the segments which precede the offset of the snapshot are deleted.
+	 * @param snapshotFile The snapshot file, which need not exist
+	 * @param tableName The name of the table in the snapshot
+	 * @return The offset of the snapshot
+	 * @throws IOException The IOException which may occur
+	 */
+	public long compact(final Path snapshotFile, final String tableName) throws IOException {
+		sync();
+		
+		List<StandingsSnapshot.Entry> entries = new ArrayList<>();
+		
+		if (Files.exists(snapshotFile)) {
+			StandingsSnapshot snapshot = StandingsSnapshot.map(snapshotFile);
+			
+			for (String name : snapshot.getTableNames()) {
+				if (!name.equals(tableName)) {
+					StandingsSnapshot.TableView table = snapshot.getTable(name);
+					
+					entries.add(new StandingsSnapshot.Entry(name, table.toStandings(), table.getLogOffset()));
+				}
+			}
+		}
+		
+		entries.add(new StandingsSnapshot.Entry(tableName, recover(snapshotFile, tableName), endOffset));
+		
+		StandingsSnapshot.write(snapshotFile, entries);
+		
+		while ((segmentBases.size() > 1) && (segmentBases.get(1) <= endOffset)) {
+			Files.delete(segmentPath(segmentBases.remove(0)));
+		}
+		
+		syncDirectory();
+		
+		return endOffset;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			sync();
+		} finally {
+			channel.close();
+		}
+	}
+	
+	/**
+	 * This interface is implemented to receive the records replayed from the log.
+	 */
+	public interface Listener {
+		
+		/**
+		 * @param match The completed match which was applied
+		 */
+		void applied(Match match);
+		
+		/**
+		 * @param previous The completed match which was previously applied
+		 * @param corrected The corrected result of the same match
+		 */
+		void corrected(Match previous, Match corrected);
+	
+	}
+
+}
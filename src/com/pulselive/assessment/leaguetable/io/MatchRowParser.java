@@ -0,0 +1,83 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import java.nio.ByteBuffer;
+
+import com.pulselive.assessment.leaguetable.Match;
+
+/**
+ * This class parses the matches from the rows of a CSV file in football-data format, the columns are located from the header row.
+ * An instance must not be shared between threads.
+ * 
+ * @author Paul Parlett
+ *
+ */
+final class MatchRowParser {
+	
+	private static final int HOME_TEAM = 0;
+	private static final int AWAY_TEAM = 1;
+	private static final int HOME_SCORE = 2;
+	private static final int AWAY_SCORE = 3;
+	
+	/**
+	 * The slot of the first of the extra columns in the scanner.
+	 */
+	static final int FIRST_EXTRA_SLOT = 4;
+	
+	private final CsvScanner scanner;
+	
+	private final NameCache teamNames = new NameCache();
+
+	/**
+	 * Construct a MatchRowParser.
+	 * @param header The header row of the CSV file
+	 * @param extraColumns The indexes of additional columns to be scanned, their bounds are recorded in the slots following those of the match columns
+	 */
+	MatchRowParser(final CsvHeader header, final int... extraColumns) {
+		int[] columns = new int[FIRST_EXTRA_SLOT + extraColumns.length];
+		
+		columns[HOME_TEAM] = header.requireIndexOf(MatchFileReader.HOME_TEAM_COLUMN);
+		columns[AWAY_TEAM] = header.requireIndexOf(MatchFileReader.AWAY_TEAM_COLUMN);
+		columns[HOME_SCORE] = header.requireIndexOf(MatchFileReader.HOME_SCORE_COLUMN);
+		columns[AWAY_SCORE] = header.requireIndexOf(MatchFileReader.AWAY_SCORE_COLUMN);
+		
+		System.arraycopy(extraColumns, 0, columns, FIRST_EXTRA_SLOT, extraColumns.length);
+		
+		scanner = new CsvScanner(columns);
+	}
+	
+	/**
+	 * Parse a row.
+	 * @param buffer The buffer containing the row
+	 * @param start The index of the first byte of the row
+	 * @param end The index after the last byte of the row, excluding the line terminator
+	 * @return The match, or null if the row is not a valid match
+	 */
+	Match parse(final ByteBuffer buffer, final int start, final int end) {
+		if (!scanner.scan(buffer, start, end)) {
+			return null;
+		}
+		
+		int homeScore = scanner.parseInt(buffer, HOME_SCORE);
+		int awayScore = scanner.parseInt(buffer, AWAY_SCORE);
+		
+		if ((homeScore < 0) || (awayScore < 0) || (scanner.start(HOME_TEAM) == scanner.end(HOME_TEAM)) || (scanner.start(AWAY_TEAM) == scanner.end(AWAY_TEAM))) {
+			return null;
+		}
+		
+		String homeTeam = teamNames.get(buffer, scanner.start(HOME_TEAM), scanner.end(HOME_TEAM));
+		String awayTeam = teamNames.get(buffer, scanner.start(AWAY_TEAM), scanner.end(AWAY_TEAM));
+		
+		return new Match(homeTeam, awayTeam, homeScore, awayScore);
+	}
+	
+	/**
+	 * @return The scanner, which holds the bounds of the extra columns of the row last parsed
+	 */
+	CsvScanner getScanner() {
+		return scanner;
+	}
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import com.pulselive.assessment.leaguetable.TeamRegistry;
+import com.pulselive.assessment.leaguetable.metrics.Metrics;
+import com.pulselive.assessment.leaguetable.statistics.MatchStatistics;
+import com.pulselive.assessment.leaguetable.statistics.Statistic;
+
+/**
+ * This class reads the statistics of the matches from a CSV file in football-data format into a columnar {@link MatchStatistics} store.
+ * The HomeTeam, AwayTeam, FTHG and FTAG columns are required, the columns of the other statistics and the Referee column are read
+ * if they are present. The file is memory mapped and the rows are scanned as bytes, the team and referee names are decoded once
+ * each and the values are parsed into a reused array, so no object is created per row.
+ *
+ * @author Paul Parlett
+ *
+ */
+public final class MatchStatisticsReader {
+	
+	static final String REFEREE_COLUMN = "Referee";
+	
+	private static final int HOME_TEAM = 0;
+	private static final int AWAY_TEAM = 1;
+	private static final int FIRST_STATISTIC_SLOT = 2;
+	
+	private static final int NUMBER_OF_STATISTICS = Statistic.values().length;
+	
+	private final static Logger LOGGER = Logger.getLogger(MatchStatisticsReader.class.getName());
+	
+	/**
+	 * Read the statistics of the matches in a CSV file.
+	 * @param file The CSV file assumed to be in football-data format
+	 * @return The statistics of the matches
+	 * @throws IOException The IOException which may occur
+	 */
+	public static MatchStatistics read(final Path file) throws IOException {
+		return read(file, new MatchStatistics());
+	}
+	
+	/**
+	 * Read the statistics of the matches in a CSV file and add them to a store, e.g. to combine several files or to share a {@link TeamRegistry}.
+	 * @param file The CSV file assumed to be in football-data format
+	 * @param statistics The store to which the statistics of the matches are added
+	 * @return The store
+	 * @throws IOException The IOException which may occur
+	 */
+	public static MatchStatistics read(final Path file, final MatchStatistics statistics) throws IOException {
+		long startNanos = Metrics.startNanos();
+		
+		MappedByteBuffer buffer;
+		
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("file too large to map " + file);
+			}
+			
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		
+		int limit = buffer.limit();
+		
+		int headerEnd = CsvScanner.lineEnd(buffer, 0, limit);
+		int headerStart = CsvScanner.skipByteOrderMark(buffer, 0, headerEnd);
+		
+		CsvHeader header = CsvHeader.parse(buffer, headerStart, CsvScanner.trimLineEnd(buffer, headerStart, headerEnd));
+		
+		// the slot of each statistic in the scanner, or -1 if there is no such column
+		int[] homeSlots = new int[NUMBER_OF_STATISTICS];
+		int[] awaySlots = new int[NUMBER_OF_STATISTICS];
+		
+		int[] columns;
+		
+		try {
+			columns = columns(header, homeSlots, awaySlots);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("invalid file " + file, e);
+		}
+		
+		// the Referee column is the last scanned, if it is present
+		int refereeSlot = (header.indexOf(REFEREE_COLUMN) == CsvHeader.NO_COLUMN) ? -1 : columns.length - 1;
+		
+		CsvScanner scanner = new CsvScanner(columns);
+		
+		NameCache names = new NameCache();
+		
+		int[] homeValues = new int[NUMBER_OF_STATISTICS];
+		int[] awayValues = new int[NUMBER_OF_STATISTICS];
+		
+		int parsed = 0;
+		int invalid = 0;
+		
+		for (int lineStart = headerEnd + 1; lineStart < limit; ) {
+			int lineEnd = CsvScanner.lineEnd(buffer, lineStart, limit);
+			int end = CsvScanner.trimLineEnd(buffer, lineStart, lineEnd);
+			
+			if (end > lineStart) {
+				if (parse(scanner, buffer, lineStart, end, homeSlots, awaySlots, homeValues, awayValues)) {
+					String referee = (refereeSlot < 0) || (scanner.start(refereeSlot) == scanner.end(refereeSlot))
+							? null : names.get(buffer, scanner.start(refereeSlot), scanner.end(refereeSlot));
+					
+					statistics.add(names.get(buffer, scanner.start(HOME_TEAM), scanner.end(HOME_TEAM)),
+							names.get(buffer, scanner.start(AWAY_TEAM), scanner.end(AWAY_TEAM)), referee, homeValues, awayValues);
+					
+					parsed++;
+				} else {
+					invalid++;
+				}
+			}
+			
+			lineStart = lineEnd + 1;
+		}
+		
+		if (invalid > 0) {
+			final int count = invalid;
+			
+			LOGGER.warning(() -> count + " invalid lines in file " + file);
+		}
+		
+		if (Metrics.ENABLED) {
+			Metrics.ROWS_PARSED.add(parsed);
+			Metrics.ROWS_REJECTED.add(invalid);
+			Metrics.BYTES_PARSED.add(limit);
+			Metrics.PARSE_LATENCY.recordSince(startNanos);
+		}
+		
+		return statistics;
+	}
+	
+	/**
+	 * Locate the columns to be scanned, the teams, then the statistics which are present, then the Referee column if it is present.
+	 * @return The column of each slot
+	 */
+	private static int[] columns(final CsvHeader header, final int[] homeSlots, final int[] awaySlots) {
+		int[] columns = new int[FIRST_STATISTIC_SLOT + 2 * NUMBER_OF_STATISTICS + 1];
+		
+		columns[HOME_TEAM] = header.requireIndexOf(MatchFileReader.HOME_TEAM_COLUMN);
+		columns[AWAY_TEAM] = header.requireIndexOf(MatchFileReader.AWAY_TEAM_COLUMN);
+		
+		header.requireIndexOf(MatchFileReader.HOME_SCORE_COLUMN);
+		header.requireIndexOf(MatchFileReader.AWAY_SCORE_COLUMN);
+		
+		int slot = FIRST_STATISTIC_SLOT;
+		
+		for (Statistic statistic : Statistic.values()) {
+			homeSlots[statistic.ordinal()] = slot(header, statistic.getHomeColumnName(), columns, slot);
+			slot += (homeSlots[statistic.ordinal()] < 0) ? 0 : 1;
+			
+			awaySlots[statistic.ordinal()] = slot(header, statistic.getAwayColumnName(), columns, slot);
+			slot += (awaySlots[statistic.ordinal()] < 0) ? 0 : 1;
+		}
+		
+		if (slot(header, REFEREE_COLUMN, columns, slot) >= 0) {
+			slot++;
+		}
+		
+		return Arrays.copyOf(columns, slot);
+	}
+	
+	private static int slot(final CsvHeader header, final String columnName, final int[] columns, final int slot) {
+		int column = header.indexOf(columnName);
+		
+		if (column == CsvHeader.NO_COLUMN) {
+			return -1;
+		}
+		
+		columns[slot] = column;
+		
+		return slot;
+	}
+	
+	/**
+	 * Scan a row and parse its statistics into the arrays of values.
+	 * @return Whether the row is a valid match, it must have both teams and the full-time score, and each statistic must be small
+	 * enough to be stored
+	 */
+	private static boolean parse(final CsvScanner scanner, final MappedByteBuffer buffer, final int start, final int end,
+			final int[] homeSlots, final int[] awaySlots, final int[] homeValues, final int[] awayValues) {
+		if (!scanner.scan(buffer, start, end) || (scanner.start(HOME_TEAM) == scanner.end(HOME_TEAM)) || (scanner.start(AWAY_TEAM) == scanner.end(AWAY_TEAM))) {
+			return false;
+		}
+		
+		for (int i = 0; i < NUMBER_OF_STATISTICS; i++) {
+			homeValues[i] = (homeSlots[i] < 0) ? MatchStatistics.NO_VALUE : scanner.parseInt(buffer, homeSlots[i]);
+			awayValues[i] = (awaySlots[i] < 0) ? MatchStatistics.NO_VALUE : scanner.parseInt(buffer, awaySlots[i]);
+			
+			if ((homeValues[i] > MatchStatistics.MAX_VALUE) || (awayValues[i] > MatchStatistics.MAX_VALUE)) {
+				return false;
+			}
+		}
+		
+		return (homeValues[Statistic.GOALS.ordinal()] >= 0) && (awayValues[Statistic.GOALS.ordinal()] >= 0);
+	}
+	
+	private MatchStatisticsReader() {
+		// prevent instantiation
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class caches the strings decoded from byte sequences, e.g. team names, so that a name which recurs on many rows is only decoded once.
+ * It is an open addressing hash table keyed directly by the bytes in the buffer so a lookup of a cached name does not allocate.
+ * An instance must not be shared between threads.
+ * 
+ * @author Paul Parlett
+ *
+ */
+final class NameCache {
+	
+	private static final int INITIAL_CAPACITY = 64;
+	
+	private byte[][] keys = new byte[INITIAL_CAPACITY][];
+	private String[] values = new String[INITIAL_CAPACITY];
+	private int size;
+	
+	/**
+	 * @param buffer The buffer containing the name
+	 * @param start The index of the first byte of the name
+	 * @param end The index after the last byte of the name
+	 * @return The decoded name
+	 */
+	String get(final ByteBuffer buffer, final int start, final int end) {
+		int hash = hash(buffer, start, end);
+		int mask = keys.length - 1;
+		
+		for (int index = hash & mask; ; index = (index + 1) & mask) {
+			byte[] key = keys[index];
+			
+			if (key == null) {
+				return put(index, buffer, start, end);
+			} else if (matches(key, buffer, start, end)) {
+				return values[index];
+			}
+		}
+	}
+	
+	/**
+	 * @return The number of distinct names in the cache
+	 */
+	int size() {
+		return size;
+	}
+	
+	private String put(final int index, final ByteBuffer buffer, final int start, final int end) {
+		byte[] key = new byte[end - start];
+		
+		for (int i = 0; i < key.length; i++) {
+			key[i] = buffer.get(start + i);
+		}
+		
+		String value = new String(key, StandardCharsets.UTF_8);
+		
+		keys[index] = key;
+		values[index] = value;
+		
+		if (++size * 2 > keys.length) {
+			resize();
+		}
+		
+		return value;
+	}
+	
+	private void resize() {
+		byte[][] oldKeys = keys;
+		String[] oldValues = values;
+		
+		keys = new byte[oldKeys.length * 2][];
+		values = new String[oldKeys.length * 2];
+		
+		int mask = keys.length - 1;
+		
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != null) {
+				ByteBuffer key = ByteBuffer.wrap(oldKeys[i]);
+				
+				int index = hash(key, 0, oldKeys[i].length) & mask;
+				
+				while (keys[index] != null) {
+					index = (index + 1) & mask;
+				}
+				
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+	
+	private static int hash(final ByteBuffer buffer, final int start, final int end) {
+		int hash = 1;
+		
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + buffer.get(i);
+		}
+		
+		return hash ^ (hash >>> 16);
+	}
+	
+	private static boolean matches(final byte[] key, final ByteBuffer buffer, final int start, final int end) {
+		if (key.length != end - start) {
+			return false;
+		}
+		
+		for (int i = 0; i < key.length; i++) {
+			if (key[i] != buffer.get(start + i)) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.SeasonKey;
+import com.pulselive.assessment.leaguetable.metrics.Metrics;
+
+/**
+ * This class loads archives of CSV files in football-data format into one league table per division and season, keyed by the Div column
+ * and the season of the file. Each file is of one season, which may contain several divisions, the season starts in the year of the first 
+ * match of the file, since a season may run beyond any fixed month. Each file is memory mapped and split into line aligned chunks which are parsed in parallel.
+ * The matches of each chunk are applied to partial league tables as they are parsed, and the partial tables of each season are merged.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class SeasonArchiveLoader {
+	
+	static final String DIVISION_COLUMN = "Div";
+	
+	/**
+	 * The default size of the chunks into which each file is split, the chunks are extended to the end of a line.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+	
+	private final static Logger LOGGER = Logger.getLogger(SeasonArchiveLoader.class.getName());
+	
+	private final int chunkSize;
+
+	/**
+	 * Construct a SeasonArchiveLoader with the default chunk size.
+	 */
+	public SeasonArchiveLoader() {
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Construct a SeasonArchiveLoader.
+	 * @param chunkSize The size of the chunks into which each file is split
+	 */
+	public SeasonArchiveLoader(final int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("illegal chunk size " + chunkSize);
+		}
+		
+		this.chunkSize = chunkSize;
+	}
+	
+	/**
+	 * Load the league tables from a collection of CSV files.
+	 * @param files The CSV files assumed to be in football-data format
+	 * @return The league tables keyed by division and season
+	 * @throws IOException The IOException which may occur
+	 */
+	public Map<SeasonKey, LeagueTable> load(final Collection<Path> files) throws IOException {
+		List<Chunk> chunks = new ArrayList<>();
+		
+		for (Path file : files) {
+			split(file, chunks);
+		}
+		
+		List<Map<SeasonKey, LeagueTable>> partials;
+		
+		try {
+			partials = chunks.parallelStream().map(Chunk::parse).collect(Collectors.toList());
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		
+		// the partial tables are merged in the order of the chunks, so the results of a season are in file order
+		Map<SeasonKey, LeagueTable> result = new HashMap<>();
+		
+		partials.forEach(partial -> partial.forEach((seasonKey, leagueTable) -> result.merge(seasonKey, leagueTable, LeagueTable::merge)));
+		
+		return result;
+	}
+	
+	/**
+	 * Memory map a file and split it into line aligned chunks after the header row, the season of the file is found before it is split.
+	 */
+	private void split(final Path file, final List<Chunk> chunks) throws IOException {
+		MappedByteBuffer buffer;
+		
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("file too large to map " + file);
+			}
+			
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());		// the mapping remains valid after the channel is closed
+		}
+		
+		int limit = buffer.limit();
+		
+		int headerEnd = CsvScanner.lineEnd(buffer, 0, limit);
+		
+		if (headerEnd == limit) {
+			LOGGER.warning(() -> "missing header row in file " + file);
+			return;
+		}
+		
+		int headerStart = CsvScanner.skipByteOrderMark(buffer, 0, headerEnd);
+		
+		CsvHeader header = CsvHeader.parse(buffer, headerStart, CsvScanner.trimLineEnd(buffer, headerStart, headerEnd));
+		
+		int startYear;
+		
+		try {
+			startYear = startYear(buffer, header, headerEnd + 1, limit);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("invalid file " + file, e);
+		}
+		
+		for (int start = headerEnd + 1; start < limit; ) {
+			int end = (limit - start <= chunkSize) ? limit : Math.min(CsvScanner.lineEnd(buffer, start + chunkSize, limit) + 1, limit);
+			
+			chunks.add(new Chunk(file, buffer, header, startYear, start, end));
+			
+			start = end;
+		}
+	}
+	
+	/**
+	 * @return The year of the first valid match of a file, or 0 if there is none in which case the season is not used
+	 */
+	private static int startYear(final ByteBuffer buffer, final CsvHeader header, final int start, final int end) {
+		final int dateSlot = MatchRowParser.FIRST_EXTRA_SLOT;
+		
+		MatchRowParser parser = new MatchRowParser(header, header.requireIndexOf(MatchFileReader.DATE_COLUMN));
+		CsvScanner scanner = parser.getScanner();
+		
+		for (int lineStart = start; lineStart < end; ) {
+			int lineEnd = CsvScanner.lineEnd(buffer, lineStart, end);
+			
+			if (parser.parse(buffer, lineStart, CsvScanner.trimLineEnd(buffer, lineStart, lineEnd)) != null) {
+				int date = scanner.parseDate(buffer, dateSlot);
+				
+				if (date >= 0) {
+					return date / 10000;
+				}
+			}
+			
+			lineStart = lineEnd + 1;
+		}
+		
+		return 0;
+	}
+	
+	/**
+	 * This class represents a line aligned chunk of a memory mapped file.
+	 */
+	private static final class Chunk {
+		
+		private final Path file;
+		private final ByteBuffer buffer;
+		private final CsvHeader header;
+		private final int startYear;
+		private final int start;
+		private final int end;
+		
+		Chunk(final Path file, final ByteBuffer buffer, final CsvHeader header, final int startYear, final int start, final int end) {
+			this.file = file;
+			this.buffer = buffer;
+			this.header = header;
+			this.startYear = startYear;
+			this.start = start;
+			this.end = end;
+		}
+		
+		/**
+		 * Parse the chunk, the parser is confined to the calling thread and only absolute reads are made from the shared buffer.
+		 * @return The partial league tables of the matches in the chunk keyed by division and the season of the file
+		 */
+		Map<SeasonKey, LeagueTable> parse() {
+			try {
+				return doParse();
+			} catch (IllegalArgumentException e) {
+				throw new UncheckedIOException(new IOException("invalid file " + file, e));
+			}
+		}
+		
+		private Map<SeasonKey, LeagueTable> doParse() {
+			final int divisionSlot = MatchRowParser.FIRST_EXTRA_SLOT;
+			final int dateSlot = MatchRowParser.FIRST_EXTRA_SLOT + 1;
+			
+			MatchRowParser parser = new MatchRowParser(header, header.requireIndexOf(DIVISION_COLUMN), header.requireIndexOf(MatchFileReader.DATE_COLUMN));
+			CsvScanner scanner = parser.getScanner();
+			NameCache divisions = new NameCache();
+			
+			Map<SeasonKey, LeagueTable> result = new HashMap<>();
+			
+			SeasonKey seasonKey = null;
+			LeagueTable leagueTable = null;
+			
+			int parsed = 0;
+			int invalid = 0;
+			
+			for (int lineStart = start; lineStart < end; ) {
+				int lineEnd = CsvScanner.lineEnd(buffer, lineStart, end);
+				
+				Match match = parser.parse(buffer, lineStart, CsvScanner.trimLineEnd(buffer, lineStart, lineEnd));
+				
+				int date = (match == null) ? -1 : scanner.parseDate(buffer, dateSlot);
+				
+				if ((date < 0) || (scanner.start(divisionSlot) == scanner.end(divisionSlot))) {
+					invalid++;
+				} else {
+					String division = divisions.get(buffer, scanner.start(divisionSlot), scanner.end(divisionSlot));
+					
+					// rows are grouped by division so the key is only created when it changes
+					if ((seasonKey == null) || (seasonKey.getDivision() != division)) {
+						seasonKey = new SeasonKey(division, startYear);
+						leagueTable = result.computeIfAbsent(seasonKey, k -> new LeagueTable());
+					}
+					
+					leagueTable.apply(match);
+					
+					parsed++;
+				}
+				
+				lineStart = lineEnd + 1;
+			}
+			
+			if (invalid > 0) {
+				final int count = invalid;
+				
+				LOGGER.warning(() -> count + " invalid lines in file " + file);
+			}
+			
+			if (Metrics.ENABLED) {
+				Metrics.ROWS_PARSED.add(parsed);
+				Metrics.ROWS_REJECTED.add(invalid);
+				Metrics.BYTES_PARSED.add(end - start);
+			}
+			
+			return result;
+		}
+		
+	}
+
+}
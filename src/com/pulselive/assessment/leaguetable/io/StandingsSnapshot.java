@@ -0,0 +1,358 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.pulselive.assessment.leaguetable.StandingsStore;
+import com.pulselive.assessment.leaguetable.TeamRegistry;
+
+/**
+ * This class represents a versioned binary snapshot of the standings of many league tables, each with the names of its teams, 
+ * per-team counters and the offset in the match log of the last match applied. Only the teams of each table are written, 
+ * not every team of a registry shared with other leagues, and a mapped table has a new registry of its own teams. The snapshot is memory mapped when loaded, 
+ * the counters are read in place by a {@link TableView} or copied in bulk into a {@link StandingsStore}.
+ * <p>
+ * The layout, little endian with the counters aligned to 4 bytes, is:
+ * <pre>
+ * header:    int magic, short version, short reserved, int number of tables
+ * per table: short name length, name (UTF-8), long log offset, int number of teams, int offset of counters, 
+ *            then per team: short name length, name (UTF-8)
+ * counters:  per table, per team: int won, int drawn, int lost, int goals for, int goals against
+ * </pre>
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class StandingsSnapshot {
+	
+	static final int MAGIC = 0x5353544C;	// "LTSS"
+	static final short VERSION = 1;
+	
+	private static final int HEADER_SIZE = 12;
+	private static final int COUNTERS_PER_TEAM = 5;
+	private static final int COUNTERS_SIZE = COUNTERS_PER_TEAM * Integer.BYTES;
+	
+	private final Map<String, TableView> tables;
+
+	private StandingsSnapshot(final Map<String, TableView> tables) {
+		this.tables = tables;
+	}
+	
+	/**
+	 * Write a snapshot, the file is written to a temporary file which is then moved into place, so a reader never sees a partial snapshot.
+	 * @param file The snapshot file
+	 * @param entries The league tables to write, only the teams of each table are written
+	 * @throws IOException The IOException which may occur
+	 * @throws IllegalArgumentException If two of the tables have the same name
+	 */
+	public static void write(final Path file, final Collection<Entry> entries) throws IOException {
+		Set<String> tableNames = new HashSet<>();
+		
+		for (Entry entry : entries) {
+			if (!tableNames.add(entry.name)) {
+				throw new IllegalArgumentException("duplicate table name " + entry.name);
+			}
+		}
+		
+		int directorySize = 0;
+		int countersSize = 0;
+		
+		List<int[]> teamIds = new ArrayList<>(entries.size());
+		List<byte[][]> teamNames = new ArrayList<>(entries.size());
+		
+		for (Entry entry : entries) {
+			TeamRegistry registry = entry.standings.getRegistry();
+			
+			int[] ids = entry.standings.getTeamIds();
+			byte[][] names = new byte[ids.length][];
+			
+			for (int i = 0; i < ids.length; i++) {
+				names[i] = encode(registry.nameOf(ids[i]));
+				directorySize += Short.BYTES + names[i].length;
+			}
+			
+			teamIds.add(ids);
+			teamNames.add(names);
+			
+			directorySize += Short.BYTES + encode(entry.name).length + Long.BYTES + Integer.BYTES + Integer.BYTES;
+			countersSize += names.length * COUNTERS_SIZE;
+		}
+		
+		int countersStart = align(HEADER_SIZE + directorySize);
+		
+		ByteBuffer buffer = ByteBuffer.allocate(countersStart + countersSize).order(ByteOrder.LITTLE_ENDIAN);
+		
+		buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putInt(entries.size());
+		
+		int countersOffset = countersStart;
+		int index = 0;
+		
+		for (Entry entry : entries) {
+			int[] ids = teamIds.get(index);
+			byte[][] names = teamNames.get(index++);
+			
+			putString(buffer, encode(entry.name));
+			buffer.putLong(entry.logOffset).putInt(names.length).putInt(countersOffset);
+			
+			for (byte[] name : names) {
+				putString(buffer, name);
+			}
+			
+			for (int i = 0; i < ids.length; i++) {
+				StandingsStore standings = entry.standings;
+				
+				int teamId = ids[i];
+				int offset = countersOffset + i * COUNTERS_SIZE;
+				
+				buffer.putInt(offset, standings.getWon(teamId));
+				buffer.putInt(offset + Integer.BYTES, standings.getDrawn(teamId));
+				buffer.putInt(offset + 2 * Integer.BYTES, standings.getLost(teamId));
+				buffer.putInt(offset + 3 * Integer.BYTES, standings.getGoalsFor(teamId));
+				buffer.putInt(offset + 4 * Integer.BYTES, standings.getGoalsAgainst(teamId));
+			}
+			
+			countersOffset += names.length * COUNTERS_SIZE;
+		}
+		
+		buffer.clear();
+		
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			
+			channel.force(true);
+		}
+		
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	/**
+	 * Memory map a snapshot, only the directory of tables and team names is decoded.
+	 * @param file The snapshot file
+	 * @return The snapshot
+	 * @throws IOException The IOException which may occur, including if the file is not a snapshot, is of an unsupported version
+	 * or has two tables with the same name
+	 */
+	public static StandingsSnapshot map(final Path file) throws IOException {
+		ByteBuffer buffer;
+		
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("file too large to map " + file);
+			}
+			
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+		}
+		
+		try {
+			if ((buffer.limit() < HEADER_SIZE) || (buffer.getInt() != MAGIC)) {
+				throw new IOException("not a standings snapshot " + file);
+			}
+			
+			short version = buffer.getShort();
+			
+			if (version != VERSION) {
+				throw new IOException("unsupported snapshot version " + version + " in " + file);
+			}
+			
+			buffer.getShort();		// reserved
+			
+			int numberOfTables = buffer.getInt();
+			
+			Map<String, TableView> tables = new LinkedHashMap<>();
+			
+			for (int i = 0; i < numberOfTables; i++) {
+				String name = getString(buffer);
+				long logOffset = buffer.getLong();
+				int numberOfTeams = buffer.getInt();
+				int countersOffset = buffer.getInt();
+				
+				TeamRegistry registry = new TeamRegistry(numberOfTeams);
+				
+				for (int teamId = 0; teamId < numberOfTeams; teamId++) {
+					registry.register(getString(buffer));
+				}
+				
+				if ((countersOffset < 0) || ((long) countersOffset + (long) numberOfTeams * COUNTERS_SIZE > buffer.limit())) {
+					throw new IOException("truncated snapshot " + file);
+				}
+				
+				if (tables.put(name, new TableView(name, logOffset, registry, buffer, countersOffset)) != null) {
+					throw new IOException("duplicate table name " + name + " in " + file);
+				}
+			}
+			
+			return new StandingsSnapshot(Collections.unmodifiableMap(tables));
+		} catch (RuntimeException e) {
+			throw new IOException("corrupt snapshot " + file, e);
+		}
+	}
+	
+	/**
+	 * @return The names of the tables in the snapshot, in the order they were written
+	 */
+	public Collection<String> getTableNames() {
+		return tables.keySet();
+	}
+	
+	/**
+	 * @param name The name of the table
+	 * @return The view of the table, or null if there is no such table
+	 */
+	public TableView getTable(final String name) {
+		return tables.get(name);
+	}
+	
+	private static byte[] encode(final String string) {
+		byte[] result = string.getBytes(StandardCharsets.UTF_8);
+		
+		if (result.length > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("name too long " + string);
+		}
+		
+		return result;
+	}
+	
+	private static void putString(final ByteBuffer buffer, final byte[] bytes) {
+		buffer.putShort((short) bytes.length).put(bytes);
+	}
+	
+	private static String getString(final ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getShort()];
+		
+		buffer.get(bytes);
+		
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	private static int align(final int offset) {
+		return (offset + Integer.BYTES - 1) & -Integer.BYTES;
+	}
+	
+	/**
+	 * This class represents a league table to be written to a snapshot.
+	 */
+	public static final class Entry {
+		
+		private final String name;
+		private final StandingsStore standings;
+		private final long logOffset;
+		
+		/**
+		 * Construct an Entry object.
+		 * @param name The name of the table, e.g. the division and season
+		 * @param standings The standings of the table
+		 * @param logOffset The offset in the match log after the last match applied to the standings
+		 */
+		public Entry(final String name, final StandingsStore standings, final long logOffset) {
+			if ((name == null) || (standings == null)) {
+				throw new IllegalArgumentException("illegal null parameter");
+			}
+			
+			this.name = name;
+			this.standings = standings;
+			this.logOffset = logOffset;
+		}
+		
+	}
+	
+	/**
+	 * This class represents a league table in a mapped snapshot, the counters are read in place from the mapping.
+	 */
+	public static final class TableView {
+		
+		private final String name;
+		private final long logOffset;
+		private final TeamRegistry registry;
+		private final ByteBuffer buffer;
+		private final int countersOffset;
+		
+		TableView(final String name, final long logOffset, final TeamRegistry registry, final ByteBuffer buffer, final int countersOffset) {
+			this.name = name;
+			this.logOffset = logOffset;
+			this.registry = registry;
+			this.buffer = buffer;
+			this.countersOffset = countersOffset;
+		}
+		
+		public String getName() {
+			return name;
+		}
+		
+		/**
+		 * @return The offset in the match log after the last match applied to the standings
+		 */
+		public long getLogOffset() {
+			return logOffset;
+		}
+		
+		public TeamRegistry getRegistry() {
+			return registry;
+		}
+		
+		private int counter(final int teamId, final int counter) {
+			if ((teamId < 0) || (teamId >= registry.size())) {
+				throw new IndexOutOfBoundsException("no team " + teamId);
+			}
+			
+			return buffer.getInt(countersOffset + teamId * COUNTERS_SIZE + counter * Integer.BYTES);
+		}
+		
+		public int getWon(final int teamId) {
+			return counter(teamId, 0);
+		}
+		
+		public int getDrawn(final int teamId) {
+			return counter(teamId, 1);
+		}
+		
+		public int getLost(final int teamId) {
+			return counter(teamId, 2);
+		}
+		
+		public int getGoalsFor(final int teamId) {
+			return counter(teamId, 3);
+		}
+		
+		public int getGoalsAgainst(final int teamId) {
+			return counter(teamId, 4);
+		}
+		
+		/**
+		 * Copy the counters into new standings, which may then have further matches applied.
+		 * @return The new standings, with a new registry of the teams in the table
+		 */
+		public StandingsStore toStandings() {
+			StandingsStore result = new StandingsStore(registry);
+			
+			for (int teamId = 0; teamId < registry.size(); teamId++) {
+				result.set(teamId, getWon(teamId), getDrawn(teamId), getLost(teamId), getGoalsFor(teamId), getGoalsAgainst(teamId));
+			}
+			
+			return result;
+		}
+		
+	}
+
+}
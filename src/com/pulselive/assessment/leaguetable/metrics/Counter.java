@@ -0,0 +1,62 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class represents a monotonic counter which may be incremented by many threads without contention.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class Counter {
+	
+	private final String name;
+	private final String help;
+	
+	private final LongAdder count = new LongAdder();
+	
+	/**
+	 * Construct a Counter object.
+	 * @param name The name of the counter, in the style of a Prometheus metric name
+	 * @param help The description of the counter
+	 */
+	public Counter(final String name, final String help) {
+		if ((name == null) || (help == null)) {
+			throw new IllegalArgumentException("illegal null parameter");
+		}
+		
+		this.name = name;
+		this.help = help;
+	}
+	
+	public void increment() {
+		count.increment();
+	}
+	
+	/**
+	 * @param delta The amount to add, which must not be negative
+	 */
+	public void add(final long delta) {
+		count.add(delta);
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public String getHelp() {
+		return help;
+	}
+	
+	public long get() {
+		return count.sum();
+	}
+	
+	void reset() {
+		count.reset();
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class represents a histogram of latencies in nanoseconds which may be recorded by many threads without contention.
+ * The buckets are powers of two, bucket i counts the latencies from 2^(i-1) up to 2^i - 1 nanoseconds, so a percentile is 
+ * accurate to within a factor of two, which is sufficient to see where the time goes.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class LatencyHistogram {
+	
+	static final int NUMBER_OF_BUCKETS = Long.SIZE;
+	
+	private final String name;
+	private final String help;
+	
+	private final LongAdder[] buckets = new LongAdder[NUMBER_OF_BUCKETS];
+	private final LongAdder sum = new LongAdder();
+	
+	/**
+	 * Construct a LatencyHistogram object.
+	 * @param name The name of the histogram, in the style of a Prometheus metric name
+	 * @param help The description of the histogram
+	 */
+	public LatencyHistogram(final String name, final String help) {
+		if ((name == null) || (help == null)) {
+			throw new IllegalArgumentException("illegal null parameter");
+		}
+		
+		this.name = name;
+		this.help = help;
+		
+		for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+	
+	static int bucketOf(final long nanos) {
+		return Math.min(NUMBER_OF_BUCKETS - Long.numberOfLeadingZeros(nanos), NUMBER_OF_BUCKETS - 1);
+	}
+	
+	/**
+	 * @param bucket The bucket
+	 * @return The greatest latency counted in the bucket
+	 */
+	static long upperBoundOf(final int bucket) {
+		return (bucket == NUMBER_OF_BUCKETS - 1) ? Long.MAX_VALUE : (1L << bucket) - 1;
+	}
+	
+	/**
+	 * @param nanos The latency in nanoseconds, negative latencies (from a clock adjustment) are recorded as zero
+	 */
+	public void record(final long nanos) {
+		long latency = Math.max(nanos, 0);
+		
+		buckets[bucketOf(latency)].increment();
+		sum.add(latency);
+	}
+	
+	/**
+	 * @param startNanos The start time, from {@link System#nanoTime()}
+	 */
+	public void recordSince(final long startNanos) {
+		record(System.nanoTime() - startNanos);
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public String getHelp() {
+		return help;
+	}
+	
+	/**
+	 * @param bucket The bucket
+	 * @return The number of latencies counted in the bucket
+	 */
+	long getBucketCount(final int bucket) {
+		return buckets[bucket].sum();
+	}
+	
+	public long getCount() {
+		long result = 0;
+		
+		for (LongAdder bucket : buckets) {
+			result += bucket.sum();
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @return The sum of the latencies in nanoseconds
+	 */
+	public long getSum() {
+		return sum.sum();
+	}
+	
+	/**
+	 * @param percentile The percentile, from 0 to 100
+	 * @return The upper bound of the bucket in which the percentile falls in nanoseconds, or 0 if there are no latencies
+	 */
+	public long getPercentile(final double percentile) {
+		if ((percentile < 0) || (percentile > 100)) {
+			throw new IllegalArgumentException("illegal percentile " + percentile);
+		}
+		
+		long[] counts = new long[NUMBER_OF_BUCKETS];
+		long total = 0;
+		
+		for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+			counts[i] = buckets[i].sum();
+			total += counts[i];
+		}
+		
+		long rank = (long) Math.ceil(total * percentile / 100);
+		long cumulative = 0;
+		
+		for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+			cumulative += counts[i];
+			
+			if ((cumulative >= rank) && (cumulative > 0)) {
+				return upperBoundOf(i);
+			}
+		}
+		
+		return 0;
+	}
+	
+	void reset() {
+		for (LongAdder bucket : buckets) {
+			bucket.reset();
+		}
+		
+		sum.reset();
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class comprises the metrics of the league table, which are recorded only if the system property 
+ * {@value #ENABLED_PROPERTY} is true when the class is loaded. The flag is a constant so that when it is false the JIT 
+ * compiler removes the recording, guarded by {@code if (Metrics.ENABLED)}, from the hot paths.
+ * <p>
+ * The metrics are exported in the Prometheus text format, to a file or from a {@link MetricsEndpoint}.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class Metrics {
+	
+	public static final String ENABLED_PROPERTY = "com.pulselive.assessment.leaguetable.metrics";
+	
+	public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+	
+	public static final Counter MATCHES_APPLIED = new Counter("leaguetable_matches_applied_total", "Match results applied to league tables");
+	public static final Counter MATCHES_REVERTED = new Counter("leaguetable_matches_reverted_total", "Match results reverted from league tables");
+	public static final Counter MATCHES_REJECTED = new Counter("leaguetable_matches_rejected_total", "Match results rejected as invalid");
+	public static final Counter REORDERS = new Counter("leaguetable_reorders_total", "Table entries which moved in the ordering of league tables when results were applied, reverted, replaced or merged");
+	public static final Counter RANKINGS = new Counter("leaguetable_rankings_total", "Ordered lists of table entries produced");
+	
+	public static final Counter ROWS_PARSED = new Counter("leaguetable_rows_parsed_total", "Match rows parsed by the readers");
+	public static final Counter ROWS_REJECTED = new Counter("leaguetable_rows_rejected_total", "Invalid match rows skipped by the readers");
+	public static final Counter BYTES_PARSED = new Counter("leaguetable_bytes_parsed_total", "Bytes of match files parsed by the readers");
+	
+	public static final LatencyHistogram APPLY_LATENCY = new LatencyHistogram("leaguetable_apply_seconds", "Latency of applying a match result to a league table");
+	public static final LatencyHistogram RANKING_LATENCY = new LatencyHistogram("leaguetable_ranking_seconds", "Latency of producing the ordered list of table entries");
+	public static final LatencyHistogram PARSE_LATENCY = new LatencyHistogram("leaguetable_parse_seconds", "Latency of reading a match file");
+	
+	private static final List<Counter> COUNTERS = Collections.unmodifiableList(Arrays.asList(
+			MATCHES_APPLIED, MATCHES_REVERTED, MATCHES_REJECTED, REORDERS, RANKINGS, ROWS_PARSED, ROWS_REJECTED, BYTES_PARSED));
+	
+	private static final List<LatencyHistogram> HISTOGRAMS = Collections.unmodifiableList(Arrays.asList(
+			APPLY_LATENCY, RANKING_LATENCY, PARSE_LATENCY));
+	
+	private static final double NANOS_PER_SECOND = 1e9;
+	
+	public static List<Counter> getCounters() {
+		return COUNTERS;
+	}
+	
+	public static List<LatencyHistogram> getHistograms() {
+		return HISTOGRAMS;
+	}
+	
+	/**
+	 * @return The start time for a latency, or 0 if the metrics are disabled
+	 */
+	public static long startNanos() {
+		return ENABLED ? System.nanoTime() : 0;
+	}
+	
+	/**
+	 * Write the metrics in the Prometheus text format, the latencies in seconds.
+	 * @param writer The writer
+	 * @throws IOException The IOException which may occur
+	 */
+	public static void write(final Writer writer) throws IOException {
+		for (Counter counter : COUNTERS) {
+			writer.write("# HELP " + counter.getName() + " " + counter.getHelp() + "\n");
+			writer.write("# TYPE " + counter.getName() + " counter\n");
+			writer.write(counter.getName() + " " + counter.get() + "\n");
+		}
+		
+		for (LatencyHistogram histogram : HISTOGRAMS) {
+			String name = histogram.getName();
+			
+			writer.write("# HELP " + name + " " + histogram.getHelp() + "\n");
+			writer.write("# TYPE " + name + " histogram\n");
+			
+			long cumulative = 0;
+			long count = histogram.getCount();
+			
+			for (int i = 0; (i < LatencyHistogram.NUMBER_OF_BUCKETS - 1) && (cumulative < count); i++) {
+				cumulative += histogram.getBucketCount(i);
+				
+				writer.write(name + "_bucket{le=\"" + (LatencyHistogram.upperBoundOf(i) + 1) / NANOS_PER_SECOND + "\"} " + cumulative + "\n");
+			}
+			
+			writer.write(name + "_bucket{le=\"+Inf\"} " + count + "\n");
+			writer.write(name + "_sum " + histogram.getSum() / NANOS_PER_SECOND + "\n");
+			writer.write(name + "_count " + count + "\n");
+		}
+	}
+	
+	/**
+	 * Dump the metrics to a file in the Prometheus text format, e.g. for the node exporter textfile collector.
+	 * @param file The file
+	 * @throws IOException The IOException which may occur
+	 */
+	public static void dump(final Path file) throws IOException {
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			write(writer);
+		}
+	}
+	
+	/**
+	 * Reset all of the metrics, e.g. between test cases.
+	 */
+	public static void reset() {
+		COUNTERS.forEach(Counter::reset);
+		HISTOGRAMS.forEach(LatencyHistogram::reset);
+	}
+	
+	private Metrics() {
+		// prevent instantiation
+	}
+
+}
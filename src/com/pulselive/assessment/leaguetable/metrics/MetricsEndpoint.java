@@ -0,0 +1,86 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * This class represents a local HTTP endpoint from which the {@link Metrics} are scraped, at the path {@value #PATH}.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class MetricsEndpoint implements Closeable {
+	
+	public static final String PATH = "/metrics";
+	
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+	
+	private final HttpServer server;
+	
+	private MetricsEndpoint(final HttpServer server) {
+		this.server = server;
+	}
+	
+	/**
+	 * Start the endpoint on the loopback address.
+	 * @param port The port, or 0 for an ephemeral port
+	 * @return The endpoint
+	 * @throws IOException The IOException which may occur
+	 */
+	public static MetricsEndpoint start(final int port) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		
+		server.createContext(PATH, MetricsEndpoint::handle);
+		server.start();
+		
+		return new MetricsEndpoint(server);
+	}
+	
+	private static void handle(final HttpExchange exchange) throws IOException {
+		try {
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			
+			try (Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8)) {
+				Metrics.write(writer);
+			}
+			
+			exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+			exchange.sendResponseHeaders(200, body.size());
+			
+			try (OutputStream responseBody = exchange.getResponseBody()) {
+				body.writeTo(responseBody);
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+	
+	/**
+	 * @return The port on which the endpoint is listening
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.reconciliation;
+
+/**
+ * This class represents a difference between a field of a computed league table entry and the same field of the reference table.
+ *
+ * @author Paul Parlett
+ *
+ */
+public final class Discrepancy {
+	
+	private final String teamName;
+	private final Field field;
+	private final int expected;
+	private final int actual;
+	
+	Discrepancy(final String teamName, final Field field, final int expected, final int actual) {
+		this.teamName = teamName;
+		this.field = field;
+		this.expected = expected;
+		this.actual = actual;
+	}
+	
+	/**
+	 * @return The name of the team, as in the reference table if the team is in it
+	 */
+	public String getTeamName() {
+		return teamName;
+	}
+	
+	public Field getField() {
+		return field;
+	}
+	
+	/**
+	 * @return The value of the field in the reference table
+	 */
+	public int getExpected() {
+		return expected;
+	}
+	
+	/**
+	 * @return The value of the field in the computed table
+	 */
+	public int getActual() {
+		return actual;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "Discrepancy [teamName=" + teamName + ", field=" + field + ", expected=" + expected + ", actual=" + actual + "]";
+	}
+
+}
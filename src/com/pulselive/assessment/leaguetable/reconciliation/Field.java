@@ -0,0 +1,100 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.reconciliation;
+
+import com.pulselive.assessment.leaguetable.LeagueTableEntry;
+import com.pulselive.assessment.leaguetable.ReferenceEntry;
+
+/**
+ * This enumeration represents the fields of a league table entry which are reconciled against a reference table.
+ *
+ * @author Paul Parlett
+ *
+ */
+public enum Field {
+	
+	/**
+	 * The number of entries of the team in the table, 1 if the team is in the table and 0 if it is not, a team which is repeated
+	 * in the reference table is reported with an expected value of 2.
+	 */
+	TEAM,
+	
+	/**
+	 * The position of the team, which is reconciled if the team is tied on points, goal difference and goals scored with the team
+	 * at the published position, since the order of tied teams differs between competitions.
+	 */
+	POSITION,
+	PLAYED,
+	WON,
+	DRAWN,
+	LOST,
+	GOALS_FOR,
+	GOALS_AGAINST,
+	GOAL_DIFFERENCE,
+	POINTS;
+	
+	/**
+	 * @param tableEntry The computed league table entry
+	 * @param position The position of the entry in its table, starting from 1 at the top of the table
+	 * @return The value of this field of the entry
+	 */
+	int valueOf(final LeagueTableEntry tableEntry, final int position) {
+		switch (this) {
+		case TEAM:
+			return 1;
+		case POSITION:
+			return position;
+		case PLAYED:
+			return tableEntry.getPlayed();
+		case WON:
+			return tableEntry.getWon();
+		case DRAWN:
+			return tableEntry.getDrawn();
+		case LOST:
+			return tableEntry.getLost();
+		case GOALS_FOR:
+			return tableEntry.getGoalsFor();
+		case GOALS_AGAINST:
+			return tableEntry.getGoalsAgainst();
+		case GOAL_DIFFERENCE:
+			return tableEntry.getGoalDifference();
+		case POINTS:
+			return tableEntry.getPoints();
+		default:
+			throw new IllegalStateException("unknown field " + this);
+		}
+	}
+	
+	/**
+	 * @param referenceEntry The entry of the reference table
+	 * @return The published value of this field of the entry
+	 */
+	int valueOf(final ReferenceEntry referenceEntry) {
+		switch (this) {
+		case TEAM:
+			return 1;
+		case POSITION:
+			return referenceEntry.getPosition();
+		case PLAYED:
+			return referenceEntry.getPlayed();
+		case WON:
+			return referenceEntry.getWon();
+		case DRAWN:
+			return referenceEntry.getDrawn();
+		case LOST:
+			return referenceEntry.getLost();
+		case GOALS_FOR:
+			return referenceEntry.getGoalsFor();
+		case GOALS_AGAINST:
+			return referenceEntry.getGoalsAgainst();
+		case GOAL_DIFFERENCE:
+			return referenceEntry.getGoalDifference();
+		case POINTS:
+			return referenceEntry.getPoints();
+		default:
+			throw new IllegalStateException("unknown field " + this);
+		}
+	}
+
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.reconciliation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.LeagueTableEntry;
+import com.pulselive.assessment.leaguetable.ReferenceEntry;
+import com.pulselive.assessment.leaguetable.io.LeagueTableFileReader;
+import com.pulselive.assessment.leaguetable.io.MatchFileReader;
+
+/**
+ * This class reconciles computed league tables against published reference tables, e.g. nightly for every competition.
+ * The teams of the reference table are aligned with those of the computed table by name, optionally through aliases, and each
+ * field of each pair of entries is compared.
+ * <p>
+ * Many tables are reconciled in parallel, the tasks are taken from an iterator only as workers become free and each outcome is
+ * passed to a listener rather than collected, so the memory used is bounded by the parallelism and not by the number of tables.
+ * Each task folds its match file into a league table and streams its reference file without holding the list of either.
+ * <p>
+ * The computed table orders teams which are level on points, goal difference and goals scored by name, where a competition
+ * may order them otherwise, e.g. by head-to-head results or alphabetically, so the position of a team is reconciled against the
+ * positions of its group of tied teams rather than against its position alone.
+ *
+ * @author Paul Parlett
+ *
+ */
+public final class Reconciler {
+	
+	/**
+	 * The default maximum number of discrepancies retained for each table.
+	 */
+	public static final int DEFAULT_MAX_DISCREPANCIES = 100;
+	
+	private static final Set<Field> ENTRY_FIELDS = Collections.unmodifiableSet(EnumSet.complementOf(EnumSet.of(Field.TEAM)));
+	
+	private final static Logger LOGGER = Logger.getLogger(Reconciler.class.getName());
+	
+	private final int parallelism;
+	private final int maxDiscrepancies;
+	private final Map<String, String> aliases;
+	
+	/**
+	 * Construct a Reconciler with a worker per available processor, the default maximum discrepancies and no aliases.
+	 */
+	public Reconciler() {
+		this(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_DISCREPANCIES, Collections.emptyMap());
+	}
+	
+	/**
+	 * Construct a Reconciler.
+	 * @param parallelism The number of tables reconciled concurrently
+	 * @param maxDiscrepancies The maximum number of discrepancies retained for each table
+	 * @param aliases The names of teams in the computed tables keyed by their names in the reference tables, where they differ
+	 */
+	public Reconciler(final int parallelism, final int maxDiscrepancies, final Map<String, String> aliases) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("illegal parallelism " + parallelism);
+		}
+		
+		if (maxDiscrepancies < 0) {
+			throw new IllegalArgumentException("illegal maximum discrepancies " + maxDiscrepancies);
+		}
+		
+		if (aliases == null) {
+			throw new IllegalArgumentException("illegal null parameter");
+		}
+		
+		this.parallelism = parallelism;
+		this.maxDiscrepancies = maxDiscrepancies;
+		this.aliases = new HashMap<>(aliases);
+	}
+	
+	/**
+	 * Reconcile a computed league table against its reference table.
+	 * @param name The name of the table
+	 * @param computed The computed league table
+	 * @param reference The entries of the reference table, e.g. a {@link LeagueTableFileReader}
+	 * @return The outcome
+	 */
+	public TableReconciliation reconcile(final String name, final LeagueTable computed, final Iterator<ReferenceEntry> reference) {
+		List<LeagueTableEntry> tableEntries = computed.getTableEntries();
+		
+		Map<String, Integer> indexes = new HashMap<>(tableEntries.size() * 4 / 3 + 1);
+		
+		for (int i = 0; i < tableEntries.size(); i++) {
+			indexes.put(tableEntries.get(i).getTeamName(), i);
+		}
+		
+		int[] tieStarts = new int[tableEntries.size()];
+		int[] tieEnds = new int[tableEntries.size()];
+		
+		for (int i = 0; i < tableEntries.size(); i++) {
+			boolean tied = (i > 0) && (tableEntries.get(i).getRankingKey() == tableEntries.get(i - 1).getRankingKey());
+			
+			tieStarts[i] = tied ? tieStarts[i - 1] : i + 1;
+		}
+		
+		for (int i = tableEntries.size() - 1; i >= 0; i--) {
+			boolean tied = (i < tableEntries.size() - 1) && (tieStarts[i + 1] == tieStarts[i]);
+			
+			tieEnds[i] = tied ? tieEnds[i + 1] : i + 1;
+		}
+		
+		boolean[] aligned = new boolean[tableEntries.size()];
+		
+		List<Discrepancy> discrepancies = new ArrayList<>();
+		int discrepancyCount = 0;
+		int teams = 0;
+		
+		while (reference.hasNext()) {
+			ReferenceEntry referenceEntry = reference.next();
+			
+			String teamName = aliases.getOrDefault(referenceEntry.getTeamName(), referenceEntry.getTeamName());
+			
+			Integer index = indexes.get(teamName);
+			
+			if (index == null) {
+				teams++;
+				discrepancyCount += add(discrepancies, new Discrepancy(referenceEntry.getTeamName(), Field.TEAM, 1, 0));
+				continue;
+			}
+			
+			if (aligned[index]) {
+				discrepancyCount += add(discrepancies, new Discrepancy(referenceEntry.getTeamName(), Field.TEAM, 2, 1));
+				continue;
+			}
+			
+			teams++;
+			aligned[index] = true;
+			
+			LeagueTableEntry tableEntry = tableEntries.get(index);
+			
+			for (Field field : ENTRY_FIELDS) {
+				int expected = field.valueOf(referenceEntry);
+				int actual = field.valueOf(tableEntry, index + 1);
+				
+				if ((field == Field.POSITION) && (expected >= tieStarts[index]) && (expected <= tieEnds[index])) {
+					actual = expected;		// the team is tied with the team at the expected position
+				}
+				
+				if (expected != actual) {
+					discrepancyCount += add(discrepancies, new Discrepancy(referenceEntry.getTeamName(), field, expected, actual));
+				}
+			}
+		}
+		
+		for (int i = 0; i < aligned.length; i++) {
+			if (!aligned[i]) {
+				teams++;
+				discrepancyCount += add(discrepancies, new Discrepancy(tableEntries.get(i).getTeamName(), Field.TEAM, 0, 1));
+			}
+		}
+		
+		return new TableReconciliation(name, teams, discrepancyCount, discrepancies);
+	}
+	
+	/**
+	 * @return 1, the discrepancy is counted but is only retained if fewer than the maximum have been retained
+	 */
+	private int add(final List<Discrepancy> discrepancies, final Discrepancy discrepancy) {
+		if (discrepancies.size() < maxDiscrepancies) {
+			discrepancies.add(discrepancy);
+		}
+		
+		return 1;
+	}
+	
+	/**
+	 * Reconcile many tables in parallel, the call returns when all the tables have been reconciled.
+	 * @param tasks The tasks, which are taken only as workers become free, e.g. from a lazily generated sequence
+	 * @param listener The listener to which the outcome of each table is passed, it is not called concurrently but may be called from any worker
+	 * @return The summary of the outcomes
+	 * @throws InterruptedException If the calling thread is interrupted while waiting for a worker
+	 */
+	public Summary reconcile(final Iterator<Task> tasks, final Consumer<TableReconciliation> listener) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+			Thread thread = new Thread(runnable, "reconciler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		
+		Semaphore workers = new Semaphore(parallelism);
+		
+		Summary summary = new Summary();
+		
+		try {
+			while (tasks.hasNext()) {
+				Task task = tasks.next();
+				
+				workers.acquire();
+				
+				executor.execute(() -> {
+					try {
+						TableReconciliation outcome;
+						
+						try {
+							outcome = task.reconcile(this);
+						} catch (RuntimeException e) {
+							LOGGER.warning(() -> "failed to reconcile table " + task.getName() + " " + e);
+							
+							outcome = new TableReconciliation(task.getName(), e);
+						}
+						
+						synchronized (summary) {
+							summary.add(outcome);
+							
+							listener.accept(outcome);
+						}
+					} catch (RuntimeException e) {
+						LOGGER.warning(() -> "failed to pass the outcome of table " + task.getName() + " to the listener " + e);
+					} finally {
+						workers.release();
+					}
+				});
+			}
+			
+			workers.acquire(parallelism);		// wait for the last tasks
+		} finally {
+			executor.shutdownNow();
+		}
+		
+		synchronized (summary) {
+			return summary;
+		}
+	}
+	
+	/**
+	 * This class represents the reconciliation of a table computed from a match file against a reference file.
+	 */
+	public static final class Task {
+		
+		private final String name;
+		private final Path matchFile;
+		private final Path referenceFile;
+		
+		/**
+		 * Construct a Task object.
+		 * @param name The name of the table, e.g. the competition and season
+		 * @param matchFile The CSV file of the results, in football-data format
+		 * @param referenceFile The CSV file of the reference table, in footstats format
+		 */
+		public Task(final String name, final Path matchFile, final Path referenceFile) {
+			if ((name == null) || (matchFile == null) || (referenceFile == null)) {
+				throw new IllegalArgumentException("illegal null parameter");
+			}
+			
+			this.name = name;
+			this.matchFile = matchFile;
+			this.referenceFile = referenceFile;
+		}
+		
+		public String getName() {
+			return name;
+		}
+		
+		public Path getMatchFile() {
+			return matchFile;
+		}
+		
+		public Path getReferenceFile() {
+			return referenceFile;
+		}
+		
+		TableReconciliation reconcile(final Reconciler reconciler) {
+			try {
+				LeagueTable computed = MatchFileReader.readLeagueTable(matchFile);
+				
+				try (LeagueTableFileReader reference = LeagueTableFileReader.open(referenceFile)) {
+					return reconciler.reconcile(name, computed, reference);
+				}
+			} catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+				return new TableReconciliation(name, e);
+			}
+		}
+	
+	}
+	
+	/**
+	 * This class represents the summary of the outcomes of reconciling many tables.
+	 */
+	public static final class Summary {
+		
+		private int tables;
+		private int reconciledTables;
+		private int failedTables;
+		private long discrepancies;
+		
+		Summary() {
+		}
+		
+		void add(final TableReconciliation outcome) {
+			tables++;
+			
+			if (outcome.getError() != null) {
+				failedTables++;
+			} else if (outcome.isReconciled()) {
+				reconciledTables++;
+			}
+			
+			discrepancies += outcome.getDiscrepancyCount();
+		}
+		
+		/**
+		 * @return The number of tables
+		 */
+		public int getTables() {
+			return tables;
+		}
+		
+		/**
+		 * @return The number of tables reconciled without any discrepancies
+		 */
+		public int getReconciledTables() {
+			return reconciledTables;
+		}
+		
+		/**
+		 * @return The number of tables with discrepancies
+		 */
+		public int getTablesWithDiscrepancies() {
+			return tables - reconciledTables - failedTables;
+		}
+		
+		/**
+		 * @return The number of tables which could not be reconciled, e.g. because of a missing file
+		 */
+		public int getFailedTables() {
+			return failedTables;
+		}
+		
+		/**
+		 * @return The total number of discrepancies in all the tables
+		 */
+		public long getDiscrepancies() {
+			return discrepancies;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "Summary [tables=" + tables + ", reconciledTables=" + reconciledTables + ", failedTables=" + failedTables + ", discrepancies=" + discrepancies + "]";
+		}
+	
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.reconciliation;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents the outcome of reconciling a computed league table against its reference table. At most a configured
+ * number of discrepancies are retained, but all of them are counted.
+ *
+ * @author Paul Parlett
+ *
+ */
+public final class TableReconciliation {
+	
+	private final String name;
+	private final int teams;
+	private final int discrepancyCount;
+	private final List<Discrepancy> discrepancies;
+	private final Exception error;
+	
+	TableReconciliation(final String name, final int teams, final int discrepancyCount, final List<Discrepancy> discrepancies) {
+		this.name = name;
+		this.teams = teams;
+		this.discrepancyCount = discrepancyCount;
+		this.discrepancies = Collections.unmodifiableList(discrepancies);
+		this.error = null;
+	}
+	
+	TableReconciliation(final String name, final Exception error) {
+		this.name = name;
+		this.teams = 0;
+		this.discrepancyCount = 0;
+		this.discrepancies = Collections.emptyList();
+		this.error = error;
+	}
+	
+	/**
+	 * @return The name of the table, e.g. the competition and season
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * @return The number of teams in either table
+	 */
+	public int getTeams() {
+		return teams;
+	}
+	
+	/**
+	 * @return The number of discrepancies found, which may be more than are retained
+	 */
+	public int getDiscrepancyCount() {
+		return discrepancyCount;
+	}
+	
+	/**
+	 * @return The unmodifiable list of the discrepancies retained, in the order of the reference table
+	 */
+	public List<Discrepancy> getDiscrepancies() {
+		return discrepancies;
+	}
+	
+	/**
+	 * @return The exception which prevented the table being reconciled, e.g. a missing file, or null if it was reconciled
+	 */
+	public Exception getError() {
+		return error;
+	}
+	
+	/**
+	 * @return Whether the table was reconciled without any discrepancies
+	 */
+	public boolean isReconciled() {
+		return (error == null) && (discrepancyCount == 0);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "TableReconciliation [name=" + name + ", teams=" + teams + ", discrepancyCount=" + discrepancyCount + ", error=" + error + "]";
+	}
+
+}
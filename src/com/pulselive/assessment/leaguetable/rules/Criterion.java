@@ -0,0 +1,44 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.rules;
+
+/**
+ * This enumeration comprises the criteria by which teams may be ranked in a league table, in each case the team with the greater value ranks higher, 
+ * except for {@link Criterion#FAIR_PLAY} where fewer penalty points rank higher, {@link Criterion#TEAM_NAME} where alphabetical order ranks higher 
+ * and {@link Criterion#REVERSE_TEAM_NAME} where reverse alphabetical order ranks higher, as in a {@code LeagueTable}.
+ * The head-to-head criteria are evaluated over the matches between the teams which are tied on the preceding criteria, and are applied again 
+ * to the matches between the teams which they leave tied if they separate the others.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public enum Criterion {
+	
+	POINTS(false),
+	GOAL_DIFFERENCE(false),
+	GOALS_FOR(false),
+	AWAY_GOALS_FOR(false),
+	WON(false),
+	FAIR_PLAY(false),
+	TEAM_NAME(false),
+	REVERSE_TEAM_NAME(false),
+	HEAD_TO_HEAD_POINTS(true),
+	HEAD_TO_HEAD_GOAL_DIFFERENCE(true),
+	HEAD_TO_HEAD_GOALS_FOR(true),
+	HEAD_TO_HEAD_AWAY_GOALS_FOR(true);
+	
+	private final boolean headToHead;
+	
+	private Criterion(final boolean headToHead) {
+		this.headToHead = headToHead;
+	}
+	
+	/**
+	 * @return Whether the criterion is evaluated over the matches between tied teams only
+	 */
+	public boolean isHeadToHead() {
+		return headToHead;
+	}
+
+}
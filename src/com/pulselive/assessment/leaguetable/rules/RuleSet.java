@@ -0,0 +1,150 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.rules;
+
+import static com.pulselive.assessment.util.ParamUtils.checkNumber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class represents the rules of a competition for awarding points and ordering the league table. 
+ * A rule set is compiled once by {@link RuleSet#compile()} into a {@link TableRanker} which ranks teams by packed integer keys.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class RuleSet {
+	
+	/**
+	 * The English Premier League rules, 3 points for a win, ordered by points, goal difference and then goals for, 
+	 * teams which are still level are ordered as in a {@code LeagueTable}.
+	 */
+	public static final RuleSet PREMIER_LEAGUE = builder()
+			.criteria(Criterion.POINTS, Criterion.GOAL_DIFFERENCE, Criterion.GOALS_FOR, Criterion.REVERSE_TEAM_NAME)
+			.build();
+	
+	/**
+	 * Head-to-head rules as used by e.g. La Liga, teams level on points are ordered by their matches against each other before goal difference.
+	 */
+	public static final RuleSet HEAD_TO_HEAD = builder()
+			.criteria(Criterion.POINTS, Criterion.HEAD_TO_HEAD_POINTS, Criterion.HEAD_TO_HEAD_GOAL_DIFFERENCE, 
+					Criterion.GOAL_DIFFERENCE, Criterion.GOALS_FOR, Criterion.FAIR_PLAY, Criterion.TEAM_NAME)
+			.build();
+	
+	/**
+	 * UEFA group stage rules, head-to-head including away goals and then overall away goals, wins and fair play.
+	 */
+	public static final RuleSet UEFA_GROUP = builder()
+			.criteria(Criterion.POINTS, Criterion.HEAD_TO_HEAD_POINTS, Criterion.HEAD_TO_HEAD_GOAL_DIFFERENCE, Criterion.HEAD_TO_HEAD_GOALS_FOR, 
+					Criterion.HEAD_TO_HEAD_AWAY_GOALS_FOR, Criterion.GOAL_DIFFERENCE, Criterion.GOALS_FOR, Criterion.AWAY_GOALS_FOR, 
+					Criterion.WON, Criterion.FAIR_PLAY, Criterion.TEAM_NAME)
+			.build();
+	
+	/**
+	 * The historic English football league rules before 1981, 2 points for a win, otherwise as {@link RuleSet#PREMIER_LEAGUE}.
+	 */
+	public static final RuleSet TWO_POINTS_FOR_A_WIN = builder()
+			.pointsForWin(2)
+			.criteria(Criterion.POINTS, Criterion.GOAL_DIFFERENCE, Criterion.GOALS_FOR, Criterion.REVERSE_TEAM_NAME)
+			.build();
+	
+	private final int pointsForWin;
+	private final int pointsForDraw;
+	private final int pointsForLoss;
+	private final List<Criterion> criteria;
+	
+	private RuleSet(final Builder builder) {
+		this.pointsForWin = builder.pointsForWin;
+		this.pointsForDraw = builder.pointsForDraw;
+		this.pointsForLoss = builder.pointsForLoss;
+		this.criteria = Collections.unmodifiableList(new ArrayList<>(builder.criteria));
+	}
+	
+	public static Builder builder() {
+		return new Builder();
+	}
+	
+	public int getPointsForWin() {
+		return pointsForWin;
+	}
+
+	public int getPointsForDraw() {
+		return pointsForDraw;
+	}
+
+	public int getPointsForLoss() {
+		return pointsForLoss;
+	}
+
+	public List<Criterion> getCriteria() {
+		return criteria;
+	}
+	
+	/**
+	 * @return The ranker for this rule set
+	 */
+	public TableRanker compile() {
+		return new TableRanker(this);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "RuleSet [pointsForWin=" + pointsForWin + ", pointsForDraw=" + pointsForDraw + ", pointsForLoss=" + pointsForLoss + ", criteria=" + criteria + "]";
+	}
+	
+	/**
+	 * This class builds a RuleSet, the points default to 3 for a win and 1 for a draw.
+	 */
+	public static final class Builder {
+		
+		private int pointsForWin = 3;
+		private int pointsForDraw = 1;
+		private int pointsForLoss = 0;
+		private List<Criterion> criteria = new ArrayList<>();
+		
+		private Builder() {
+			// use RuleSet.builder()
+		}
+		
+		public Builder pointsForWin(final int pointsForWin) {
+			this.pointsForWin = checkNumber(pointsForWin);
+			return this;
+		}
+		
+		public Builder pointsForDraw(final int pointsForDraw) {
+			this.pointsForDraw = checkNumber(pointsForDraw);
+			return this;
+		}
+		
+		public Builder pointsForLoss(final int pointsForLoss) {
+			this.pointsForLoss = checkNumber(pointsForLoss);
+			return this;
+		}
+		
+		public Builder criteria(final Criterion... criteria) {
+			this.criteria = new ArrayList<>(Arrays.asList(criteria));
+			return this;
+		}
+		
+		public RuleSet build() {
+			if (criteria.isEmpty()) {
+				throw new IllegalStateException("no criteria");
+			}
+			
+			if (criteria.size() != criteria.stream().distinct().count()) {
+				throw new IllegalStateException("duplicate criteria");
+			}
+			
+			return new RuleSet(this);
+		}
+		
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.rules;
+
+/**
+ * This class represents the standing of a team in a league table ranked by a {@link RuleSet}, its points are awarded by the rules of the rule set.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class Standing {
+	
+	private final int position;
+	private final String teamName;
+	private final int won;
+	private final int drawn;
+	private final int lost;
+	private final int goalsFor;
+	private final int goalsAgainst;
+	private final int awayGoalsFor;
+	private final int points;
+
+	Standing(final int position, final String teamName, final int won, final int drawn, final int lost, final int goalsFor, final int goalsAgainst, 
+			final int awayGoalsFor, final int points) {
+		this.position = position;
+		this.teamName = teamName;
+		this.won = won;
+		this.drawn = drawn;
+		this.lost = lost;
+		this.goalsFor = goalsFor;
+		this.goalsAgainst = goalsAgainst;
+		this.awayGoalsFor = awayGoalsFor;
+		this.points = points;
+	}
+
+	public int getPosition() {
+		return position;
+	}
+
+	public String getTeamName() {
+		return teamName;
+	}
+
+	public int getPlayed() {
+		return won + drawn + lost;
+	}
+
+	public int getWon() {
+		return won;
+	}
+
+	public int getDrawn() {
+		return drawn;
+	}
+
+	public int getLost() {
+		return lost;
+	}
+
+	public int getGoalsFor() {
+		return goalsFor;
+	}
+
+	public int getGoalsAgainst() {
+		return goalsAgainst;
+	}
+
+	public int getGoalDifference() {
+		return goalsFor - goalsAgainst;
+	}
+
+	public int getAwayGoalsFor() {
+		return awayGoalsFor;
+	}
+
+	public int getPoints() {
+		return points;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "Standing [position=" + position + ", teamName=" + teamName + ", played=" + getPlayed() + ", won=" + won + ", drawn=" + drawn + ", lost=" + lost 
+				+ ", goalsFor=" + goalsFor + ", goalsAgainst=" + goalsAgainst + ", awayGoalsFor=" + awayGoalsFor + ", points=" + points + "]";
+	}
+
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.rules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.pulselive.assessment.leaguetable.IndexedMatch;
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.TeamRegistry;
+
+/**
+ * This class ranks the teams in a league table by a compiled {@link RuleSet}. 
+ * The criteria are compiled into stages, each stage packs consecutive criteria of the same kind into a single long key per team 
+ * so the teams are ordered by primitive key comparisons. Overall criteria are evaluated once per team, 
+ * head-to-head criteria start a new stage and their mini-table is only computed for each group of teams tied on the preceding stages.
+ * If the head-to-head stages separate some of a group but leave others tied, they are applied again to the mini-table of the tied teams.
+ * An instance is immutable and may be shared between threads.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class TableRanker {
+	
+	private static final int KEY_BITS = 63;
+	private static final int FIELD_BITS = 16;
+	private static final int NAME_BITS = 15;
+	
+	private static final int FIELD_MAX = (1 << FIELD_BITS) - 1;
+	private static final int GOAL_DIFFERENCE_OFFSET = 1 << (FIELD_BITS - 1);
+	
+	private static final int INSERTION_SORT_THRESHOLD = 32;
+	
+	private final RuleSet rules;
+	private final Stage[] stages;
+	
+	/**
+	 * The index of the first stage of the run of head-to-head stages of each stage, or of the stage itself if it is overall.
+	 */
+	private final int[] blockStarts;
+
+	TableRanker(final RuleSet rules) {
+		this.rules = rules;
+		
+		List<Stage> compiled = new ArrayList<>();
+		
+		List<Criterion> criteria = new ArrayList<>();
+		int bits = 0;
+		
+		for (Criterion criterion : rules.getCriteria()) {
+			int width = width(criterion);
+			
+			if (!criteria.isEmpty() && ((criteria.get(0).isHeadToHead() != criterion.isHeadToHead()) || (bits + width > KEY_BITS))) {
+				compiled.add(new Stage(criteria));
+				
+				criteria = new ArrayList<>();
+				bits = 0;
+			}
+			
+			criteria.add(criterion);
+			bits += width;
+		}
+		
+		compiled.add(new Stage(criteria));
+		
+		stages = compiled.toArray(new Stage[compiled.size()]);
+		
+		blockStarts = new int[stages.length];
+		
+		for (int i = 0; i < stages.length; i++) {
+			blockStarts[i] = (stages[i].headToHead && (i > 0) && stages[i - 1].headToHead) ? blockStarts[i - 1] : i;
+		}
+	}
+	
+	private static int width(final Criterion criterion) {
+		return ((criterion == Criterion.TEAM_NAME) || (criterion == Criterion.REVERSE_TEAM_NAME)) ? NAME_BITS : FIELD_BITS;
+	}
+	
+	public RuleSet getRules() {
+		return rules;
+	}
+	
+	/**
+	 * Rank the teams from a collection of completed matches.
+	 * @param matches The completed matches
+	 * @return The standings in table order
+	 */
+	public List<Standing> rank(final Collection<Match> matches) {
+		return rank(matches, Collections.emptyMap());
+	}
+	
+	/**
+	 * Rank the teams from a collection of completed matches.
+	 * @param matches The completed matches
+	 * @param fairPlayPoints The fair play penalty points of each team keyed by team name, a team with no entry has none
+	 * @return The standings in table order
+	 */
+	public List<Standing> rank(final Collection<Match> matches, final Map<String, Integer> fairPlayPoints) {
+		return new Ranking(matches, fairPlayPoints).run();
+	}
+	
+	/**
+	 * This class represents a compiled stage of criteria of the same kind, packed into one long key per team.
+	 */
+	private final class Stage {
+		
+		private final Criterion[] criteria;
+		private final boolean headToHead;
+		
+		Stage(final List<Criterion> criteria) {
+			this.criteria = criteria.toArray(new Criterion[criteria.size()]);
+			this.headToHead = this.criteria[0].isHeadToHead();
+		}
+		
+		long key(final Counters counters, final int teamId, final Ranking ranking) {
+			long key = 0;
+			
+			for (Criterion criterion : criteria) {
+				int value = value(criterion, counters, teamId, ranking);
+				int width = width(criterion);
+				
+				if ((value >>> width) != 0) {
+					throw new IllegalArgumentException("value out of range for " + criterion + " " + value);
+				}
+				
+				key = (key << width) | value;
+			}
+			
+			return key;
+		}
+		
+		private int value(final Criterion criterion, final Counters counters, final int teamId, final Ranking ranking) {
+			switch (criterion) {
+			case POINTS:
+			case HEAD_TO_HEAD_POINTS:
+				return counters.points(teamId);
+			case GOAL_DIFFERENCE:
+			case HEAD_TO_HEAD_GOAL_DIFFERENCE:
+				return counters.goalsFor[teamId] - counters.goalsAgainst[teamId] + GOAL_DIFFERENCE_OFFSET;
+			case GOALS_FOR:
+			case HEAD_TO_HEAD_GOALS_FOR:
+				return counters.goalsFor[teamId];
+			case AWAY_GOALS_FOR:
+			case HEAD_TO_HEAD_AWAY_GOALS_FOR:
+				return counters.awayGoalsFor[teamId];
+			case WON:
+				return counters.won[teamId];
+			case FAIR_PLAY:
+				return FIELD_MAX - ranking.fairPlayPoints[teamId];
+			case TEAM_NAME:
+				return ranking.nameValues[teamId];
+			case REVERSE_TEAM_NAME:
+				return ranking.nameValues.length - 1 - ranking.nameValues[teamId];
+			}
+			
+			throw new IllegalStateException("unknown criterion " + criterion);
+		}
+		
+	}
+	
+	/**
+	 * This class holds the counters for each team, over all matches or over the matches between a group of tied teams.
+	 */
+	private final class Counters {
+		
+		final int[] won;
+		final int[] drawn;
+		final int[] lost;
+		final int[] goalsFor;
+		final int[] goalsAgainst;
+		final int[] awayGoalsFor;
+		
+		Counters(final int numberOfTeams) {
+			won = new int[numberOfTeams];
+			drawn = new int[numberOfTeams];
+			lost = new int[numberOfTeams];
+			goalsFor = new int[numberOfTeams];
+			goalsAgainst = new int[numberOfTeams];
+			awayGoalsFor = new int[numberOfTeams];
+		}
+		
+		void apply(final IndexedMatch match) {
+			int home = match.getHomeTeamId();
+			int away = match.getAwayTeamId();
+			
+			if (match.getHomeScore() > match.getAwayScore()) {
+				won[home]++;
+				lost[away]++;
+			} else if (match.getAwayScore() > match.getHomeScore()) {
+				lost[home]++;
+				won[away]++;
+			} else {
+				drawn[home]++;
+				drawn[away]++;
+			}
+			
+			goalsFor[home] += match.getHomeScore();
+			goalsAgainst[home] += match.getAwayScore();
+			goalsFor[away] += match.getAwayScore();
+			goalsAgainst[away] += match.getHomeScore();
+			awayGoalsFor[away] += match.getAwayScore();
+		}
+		
+		int points(final int teamId) {
+			return won[teamId] * rules.getPointsForWin() + drawn[teamId] * rules.getPointsForDraw() + lost[teamId] * rules.getPointsForLoss();
+		}
+		
+	}
+	
+	/**
+	 * This class represents the ranking of one collection of matches.
+	 */
+	private final class Ranking {
+		
+		private final TeamRegistry registry = new TeamRegistry();
+		private final IndexedMatch[] matches;
+		private final Counters totals;
+		private final int[] fairPlayPoints;
+		private final int[] nameValues;
+		
+		private final int[] order;
+		private final long[] keys;
+		private final boolean[] inGroup;
+		
+		Ranking(final Collection<Match> matches, final Map<String, Integer> fairPlayPoints) {
+			this.matches = new IndexedMatch[matches.size()];
+			
+			int index = 0;
+			
+			for (Match match : matches) {
+				this.matches[index++] = IndexedMatch.of(match, registry);
+			}
+			
+			int numberOfTeams = registry.size();
+			
+			totals = new Counters(numberOfTeams);
+			
+			for (IndexedMatch match : this.matches) {
+				totals.apply(match);
+			}
+			
+			this.fairPlayPoints = new int[numberOfTeams];
+			
+			fairPlayPoints.forEach((teamName, points) -> {
+				int teamId = registry.idOf(teamName);
+				
+				if (teamId != TeamRegistry.NO_TEAM) {
+					this.fairPlayPoints[teamId] = points;
+				}
+			});
+			
+			// alphabetical order ranks higher so the first name has the greatest value
+			Integer[] byName = new Integer[numberOfTeams];
+			
+			for (int teamId = 0; teamId < numberOfTeams; teamId++) {
+				byName[teamId] = teamId;
+			}
+			
+			Arrays.sort(byName, (a, b) -> registry.nameOf(a).compareTo(registry.nameOf(b)));
+			
+			nameValues = new int[numberOfTeams];
+			
+			for (int i = 0; i < numberOfTeams; i++) {
+				nameValues[byName[i]] = numberOfTeams - 1 - i;
+			}
+			
+			order = new int[numberOfTeams];
+			keys = new long[numberOfTeams];
+			inGroup = new boolean[numberOfTeams];
+			
+			for (int teamId = 0; teamId < numberOfTeams; teamId++) {
+				order[teamId] = teamId;
+			}
+		}
+		
+		List<Standing> run() {
+			refine(0, order.length, 0, null, 0);
+			
+			List<Standing> result = new ArrayList<>(order.length);
+			
+			for (int i = 0; i < order.length; i++) {
+				int teamId = order[i];
+				
+				result.add(new Standing(i + 1, registry.nameOf(teamId), totals.won[teamId], totals.drawn[teamId], totals.lost[teamId], 
+						totals.goalsFor[teamId], totals.goalsAgainst[teamId], totals.awayGoalsFor[teamId], totals.points(teamId)));
+			}
+			
+			return result;
+		}
+		
+		/**
+		 * Order the teams in the range by the keys of a stage, then refine each run of tied teams by the following stages.
+		 * A run of head-to-head stages is evaluated over the mini-table of the group of teams tied when the run starts, a run of 
+		 * teams left tied by the last of them is refined by the head-to-head stages again if it is smaller than the group.
+		 * @param miniTable The mini-table of the head-to-head group, or null outside a run of head-to-head stages
+		 * @param groupSize The number of teams in the head-to-head group
+		 */
+		private void refine(final int from, final int to, final int stageIndex, final Counters miniTable, final int groupSize) {
+			if ((to - from < 2) || (stageIndex == stages.length)) {
+				return;
+			}
+			
+			Stage stage = stages[stageIndex];
+			
+			boolean blockStart = stage.headToHead && (blockStarts[stageIndex] == stageIndex);
+			
+			Counters counters = blockStart ? headToHead(from, to) : stage.headToHead ? miniTable : totals;
+			int size = blockStart ? to - from : groupSize;
+			
+			for (int i = from; i < to; i++) {
+				keys[i] = stage.key(counters, order[i], this);
+			}
+			
+			sortDescending(from, to);
+			
+			boolean blockEnd = stage.headToHead && ((stageIndex + 1 == stages.length) || !stages[stageIndex + 1].headToHead);
+			
+			int runStart = from;
+			
+			for (int i = from + 1; i <= to; i++) {
+				if ((i == to) || (keys[i] != keys[runStart])) {
+					if (blockEnd && (i - runStart < size)) {
+						refine(runStart, i, blockStarts[stageIndex], null, 0);
+					} else {
+						refine(runStart, i, stageIndex + 1, stage.headToHead ? counters : null, size);
+					}
+					
+					runStart = i;
+				}
+			}
+		}
+		
+		/**
+		 * Compute the mini-table of the matches between the teams in the range.
+		 */
+		private Counters headToHead(final int from, final int to) {
+			Counters result = new Counters(order.length);
+			
+			for (int i = from; i < to; i++) {
+				inGroup[order[i]] = true;
+			}
+			
+			for (IndexedMatch match : matches) {
+				if (inGroup[match.getHomeTeamId()] && inGroup[match.getAwayTeamId()]) {
+					result.apply(match);
+				}
+			}
+			
+			for (int i = from; i < to; i++) {
+				inGroup[order[i]] = false;
+			}
+			
+			return result;
+		}
+		
+		/**
+		 * Sort the range of teams by descending key, stable so that equal keys keep their order.
+		 */
+		private void sortDescending(final int from, final int to) {
+			if (to - from <= INSERTION_SORT_THRESHOLD) {
+				for (int i = from + 1; i < to; i++) {
+					long key = keys[i];
+					int teamId = order[i];
+					
+					int j = i - 1;
+					
+					for (; (j >= from) && (keys[j] < key); j--) {
+						keys[j + 1] = keys[j];
+						order[j + 1] = order[j];
+					}
+					
+					keys[j + 1] = key;
+					order[j + 1] = teamId;
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				
+				sortDescending(from, middle);
+				sortDescending(middle, to);
+				
+				long[] mergedKeys = new long[to - from];
+				int[] mergedOrder = new int[to - from];
+				
+				for (int i = from, j = middle, k = 0; k < mergedKeys.length; k++) {
+					boolean takeLeft = (j == to) || ((i < middle) && (keys[i] >= keys[j]));
+					int source = takeLeft ? i++ : j++;
+					
+					mergedKeys[k] = keys[source];
+					mergedOrder[k] = order[source];
+				}
+				
+				System.arraycopy(mergedKeys, 0, keys, from, mergedKeys.length);
+				System.arraycopy(mergedOrder, 0, order, from, mergedOrder.length);
+			}
+		}
+		
+	}
+
+}
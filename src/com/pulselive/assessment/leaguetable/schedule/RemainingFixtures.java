@@ -0,0 +1,284 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.schedule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import com.pulselive.assessment.leaguetable.Fixture;
+import com.pulselive.assessment.leaguetable.IndexedMatch;
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.TeamRegistry;
+
+/**
+ * This class represents an index of the fixtures remaining to be played, by team, from which a fixture is removed in constant
+ * time when the result of its match arrives.
+ * <p>
+ * The remaining fixtures of each team are held in an array in no particular order, a fixture is removed by moving the last
+ * fixture of the team into its place. The fixtures between each ordered pair of teams are chained so that the fixture of a
+ * result is found without a search. The registry may be shared by several leagues, so the teams of the fixtures are given dense
+ * local indexes and the index grows with the number of teams of the fixtures, not of the registry. An instance is not thread safe.
+ *
+ * @author Paul Parlett
+ *
+ */
+public final class RemainingFixtures {
+	
+	private static final int NONE = -1;
+	
+	private final TeamRegistry registry;
+	
+	/**
+	 * The local index of each team registered when the index was constructed, or NONE if the team has no fixtures, 
+	 * and the identifier of the team of each local index.
+	 */
+	private final int[] localIndexes;
+	private final int[] teamIds;
+	private final int numberOfTeams;
+	
+	private final Fixture[] fixtures;
+	
+	/**
+	 * The remaining fixtures of each team, by local index and fixture index, and their number.
+	 */
+	private final int[][] teamFixtures;
+	private final int[] teamCounts;
+	
+	/**
+	 * The position of each fixture in the arrays of its home and away teams.
+	 */
+	private final int[] homePositions;
+	private final int[] awayPositions;
+	
+	/**
+	 * The first remaining fixture of each ordered pair of teams, by local indexes, and the next of each fixture for the same pair.
+	 */
+	private final int[] firstByPair;
+	private final int[] nextByPair;
+	
+	private int size;
+	
+	/**
+	 * Construct a RemainingFixtures object.
+	 * @param registry The registry in which the teams of the fixtures are registered
+	 * @param fixtures The fixtures remaining to be played, e.g. the concatenated rounds of a generated schedule
+	 */
+	public RemainingFixtures(final TeamRegistry registry, final Collection<Fixture> fixtures) {
+		this.registry = registry;
+		this.fixtures = fixtures.toArray(new Fixture[fixtures.size()]);
+		
+		localIndexes = new int[registry.size()];
+		
+		Arrays.fill(localIndexes, NONE);
+		
+		int[] ids = new int[Math.min(registry.size(), 2 * this.fixtures.length)];
+		int count = 0;
+		
+		for (Fixture fixture : this.fixtures) {
+			if (Math.max(fixture.getHomeTeamId(), fixture.getAwayTeamId()) >= localIndexes.length) {
+				throw new IllegalArgumentException("fixture for unregistered team " + fixture);
+			}
+			
+			count = addLocalIndex(fixture.getHomeTeamId(), ids, count);
+			count = addLocalIndex(fixture.getAwayTeamId(), ids, count);
+		}
+		
+		numberOfTeams = count;
+		teamIds = Arrays.copyOf(ids, count);
+		teamCounts = new int[numberOfTeams];
+		
+		for (Fixture fixture : this.fixtures) {
+			teamCounts[localIndexes[fixture.getHomeTeamId()]]++;
+			teamCounts[localIndexes[fixture.getAwayTeamId()]]++;
+		}
+		
+		teamFixtures = new int[numberOfTeams][];
+		
+		for (int team = 0; team < numberOfTeams; team++) {
+			teamFixtures[team] = new int[teamCounts[team]];
+		}
+		
+		Arrays.fill(teamCounts, 0);
+		
+		homePositions = new int[this.fixtures.length];
+		awayPositions = new int[this.fixtures.length];
+		
+		firstByPair = new int[numberOfTeams * numberOfTeams];
+		nextByPair = new int[this.fixtures.length];
+		
+		Arrays.fill(firstByPair, NONE);
+		
+		for (int index = this.fixtures.length - 1; index >= 0; index--) {
+			Fixture fixture = this.fixtures[index];
+			
+			int homeTeam = localIndexes[fixture.getHomeTeamId()];
+			int awayTeam = localIndexes[fixture.getAwayTeamId()];
+			
+			homePositions[index] = teamCounts[homeTeam];
+			teamFixtures[homeTeam][teamCounts[homeTeam]++] = index;
+			
+			awayPositions[index] = teamCounts[awayTeam];
+			teamFixtures[awayTeam][teamCounts[awayTeam]++] = index;
+			
+			int pair = homeTeam * numberOfTeams + awayTeam;
+			
+			nextByPair[index] = firstByPair[pair];
+			firstByPair[pair] = index;
+		}
+		
+		size = this.fixtures.length;
+	}
+	
+	/**
+	 * Remove the fixture of a match which has been played.
+	 * @param homeTeamId The identifier of the home team
+	 * @param awayTeamId The identifier of the away team
+	 * @return Whether a remaining fixture was removed
+	 */
+	public boolean remove(final int homeTeamId, final int awayTeamId) {
+		int pair = pair(homeTeamId, awayTeamId);
+		int index = (pair == NONE) ? NONE : firstByPair[pair];
+		
+		if (index == NONE) {
+			return false;
+		}
+		
+		firstByPair[pair] = nextByPair[index];
+		
+		removeFromTeam(homeTeamId, homePositions[index]);
+		removeFromTeam(awayTeamId, awayPositions[index]);
+		
+		size--;
+		
+		return true;
+	}
+	
+	/**
+	 * @param match The match which has been played
+	 * @return Whether a remaining fixture was removed
+	 */
+	public boolean remove(final IndexedMatch match) {
+		return remove(match.getHomeTeamId(), match.getAwayTeamId());
+	}
+	
+	/**
+	 * @param match The match which has been played
+	 * @return Whether a remaining fixture was removed
+	 */
+	public boolean remove(final Match match) {
+		return remove(registry.idOf(match.getHomeTeam()), registry.idOf(match.getAwayTeam()));
+	}
+	
+	/**
+	 * @return The number of teams with local indexes, after that of the team if it had none
+	 */
+	private int addLocalIndex(final int teamId, final int[] ids, final int count) {
+		if (localIndexes[teamId] != NONE) {
+			return count;
+		}
+		
+		localIndexes[teamId] = count;
+		ids[count] = teamId;
+		
+		return count + 1;
+	}
+	
+	/**
+	 * @return The index of the ordered pair of teams, or NONE if either team has no fixtures
+	 */
+	private int pair(final int homeTeamId, final int awayTeamId) {
+		int homeTeam = localIndexOf(homeTeamId);
+		int awayTeam = localIndexOf(awayTeamId);
+		
+		return ((homeTeam == NONE) || (awayTeam == NONE)) ? NONE : homeTeam * numberOfTeams + awayTeam;
+	}
+	
+	private int localIndexOf(final int teamId) {
+		return ((teamId >= 0) && (teamId < localIndexes.length)) ? localIndexes[teamId] : NONE;
+	}
+	
+	private void removeFromTeam(final int teamId, final int position) {
+		int team = localIndexes[teamId];
+		int[] indexes = teamFixtures[team];
+		int last = --teamCounts[team];
+		
+		int moved = indexes[last];
+		
+		indexes[position] = moved;
+		
+		// the moved fixture may be the home or away fixture of the team
+		if (fixtures[moved].getHomeTeamId() == teamId) {
+			homePositions[moved] = position;
+		} else {
+			awayPositions[moved] = position;
+		}
+	}
+	
+	/**
+	 * @param homeTeamId The identifier of the home team
+	 * @param awayTeamId The identifier of the away team
+	 * @return Whether a fixture between the teams remains to be played
+	 */
+	public boolean contains(final int homeTeamId, final int awayTeamId) {
+		int pair = pair(homeTeamId, awayTeamId);
+		
+		return (pair != NONE) && (firstByPair[pair] != NONE);
+	}
+	
+	/**
+	 * @return The number of fixtures remaining to be played
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @return The number of fixtures the team has remaining
+	 */
+	public int getRemaining(final int teamId) {
+		int team = localIndexOf(teamId);
+		
+		return (team == NONE) ? 0 : teamCounts[team];
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @return The fixtures the team has remaining, in no particular order
+	 */
+	public List<Fixture> getFixtures(final int teamId) {
+		int team = localIndexOf(teamId);
+		int remaining = getRemaining(teamId);
+		
+		List<Fixture> result = new ArrayList<>(remaining);
+		
+		for (int i = 0; i < remaining; i++) {
+			result.add(fixtures[teamFixtures[team][i]]);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @return All of the fixtures remaining to be played, in no particular order, e.g. for a {@code SeasonSimulator}
+	 */
+	public List<Fixture> getFixtures() {
+		List<Fixture> result = new ArrayList<>(size);
+		
+		for (int team = 0; team < numberOfTeams; team++) {
+			for (int i = 0; i < teamCounts[team]; i++) {
+				Fixture fixture = fixtures[teamFixtures[team][i]];
+				
+				if (fixture.getHomeTeamId() == teamIds[team]) {
+					result.add(fixture);
+				}
+			}
+		}
+		
+		return result;
+	}
+
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.schedule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.pulselive.assessment.leaguetable.Fixture;
+import com.pulselive.assessment.leaguetable.LeagueFormat;
+
+/**
+ * This class generates a round-robin schedule by the circle method, in which every team plays every other team the number of 
+ * times of the format, alternately at home and away.
+ * <p>
+ * The teams are placed in slots, one slot is fixed and the others rotate one place each round. In the first cycle of rounds 
+ * the fixed slot alternates between home and away, and each other pair of slots has the venue of its position, so every team 
+ * has at most one break (two consecutive home or away matches) and the total of breaks is the minimum, n - 2. The following 
+ * cycle mirrors the first with the venues swapped, and so on for further meetings.
+ * <p>
+ * The slots form pairs with complementary venues, in every round one is at home and the other away, clubs with a paired venue 
+ * (which share a stadium) are placed in such a pair of slots so they are never both at home in the same round.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class ScheduleGenerator {
+	
+	private final int numberOfTeams;
+	private final int meetingsPerPair;
+	
+	/**
+	 * The paired team of each team, or -1 if it has no paired venue.
+	 */
+	private final int[] pairedTeams;
+	
+	/**
+	 * Construct a ScheduleGenerator object.
+	 * @param format The format of the league, the teams are identified from 0 to the number of teams - 1
+	 */
+	public ScheduleGenerator(final LeagueFormat format) {
+		this(format.getNumberOfTeams(), format.getMeetingsPerPair());
+	}
+	
+	/**
+	 * Construct a ScheduleGenerator object.
+	 * @param numberOfTeams The number of teams, identified from 0 to the number of teams - 1
+	 * @param meetingsPerPair The number of times each pair of teams meet
+	 */
+	public ScheduleGenerator(final int numberOfTeams, final int meetingsPerPair) {
+		if ((numberOfTeams < 2) || (meetingsPerPair < 1)) {
+			throw new IllegalArgumentException("illegal number of teams or meetings per pair");
+		}
+		
+		this.numberOfTeams = numberOfTeams;
+		this.meetingsPerPair = meetingsPerPair;
+		
+		pairedTeams = new int[numberOfTeams];
+		Arrays.fill(pairedTeams, -1);
+	}
+	
+	/**
+	 * Add the constraint that two teams share a venue, so they must not both play at home in the same round.
+	 * @param teamId The identifier of a team
+	 * @param otherTeamId The identifier of the team with which it shares a venue
+	 */
+	public void addPairedVenue(final int teamId, final int otherTeamId) {
+		if ((teamId < 0) || (teamId >= numberOfTeams) || (otherTeamId < 0) || (otherTeamId >= numberOfTeams) || (teamId == otherTeamId)) {
+			throw new IllegalArgumentException("illegal teams for paired venue " + teamId + " and " + otherTeamId);
+		}
+		
+		if ((pairedTeams[teamId] >= 0) || (pairedTeams[otherTeamId] >= 0)) {
+			throw new IllegalArgumentException("team already has a paired venue");
+		}
+		
+		pairedTeams[teamId] = otherTeamId;
+		pairedTeams[otherTeamId] = teamId;
+	}
+	
+	/**
+	 * @return The number of rounds in the schedule
+	 */
+	public int getNumberOfRounds() {
+		return meetingsPerPair * (numberOfSlots() - 1);
+	}
+	
+	private int numberOfSlots() {
+		return numberOfTeams + (numberOfTeams % 2);		// a bye slot if the number of teams is odd
+	}
+	
+	/**
+	 * Generate the schedule.
+	 * @return The fixtures of each round, in order
+	 * @throws IllegalArgumentException If the paired venues cannot be satisfied
+	 */
+	public List<List<Fixture>> generate() {
+		int slots = numberOfSlots();
+		int cycle = slots - 1;
+		
+		// the pairings of the first cycle by slot, the home slot first
+		int[][][] pairings = new int[cycle][slots / 2][];
+		boolean[][] home = new boolean[slots][cycle];
+		boolean[][] away = new boolean[slots][cycle];
+		
+		for (int round = 0; round < cycle; round++) {
+			for (int k = 0; k < slots / 2; k++) {
+				int slot = slotAt(round, k);
+				int opponent = slotAt(round, slots - 1 - k);
+				
+				boolean slotAtHome = (k == 0) ? (round % 2 == 1) : (k % 2 == 0);
+				
+				pairings[round][k] = slotAtHome ? new int[] { slot, opponent } : new int[] { opponent, slot };
+				
+				home[pairings[round][k][0]][round] = true;
+				away[pairings[round][k][1]][round] = true;
+			}
+		}
+		
+		int[] teamOfSlot = assignTeams(home, (meetingsPerPair > 1) ? away : null);
+		
+		List<List<Fixture>> result = new ArrayList<>(getNumberOfRounds());
+		
+		for (int meeting = 0; meeting < meetingsPerPair; meeting++) {
+			boolean mirrored = (meeting % 2 == 1);
+			
+			for (int round = 0; round < cycle; round++) {
+				List<Fixture> fixtures = new ArrayList<>(slots / 2);
+				
+				for (int[] pairing : pairings[round]) {
+					int homeTeamId = teamOfSlot[pairing[mirrored ? 1 : 0]];
+					int awayTeamId = teamOfSlot[pairing[mirrored ? 0 : 1]];
+					
+					if ((homeTeamId >= 0) && (awayTeamId >= 0)) {
+						fixtures.add(new Fixture(homeTeamId, awayTeamId));
+					}
+				}
+				
+				result.add(fixtures);
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * @return The slot at a position in a round, the last position is fixed and the others rotate one place each round
+	 */
+	private int slotAt(final int round, final int position) {
+		int slots = numberOfSlots();
+		
+		return (position == slots - 1) ? position : (round + position) % (slots - 1);
+	}
+	
+	/**
+	 * Assign the teams to the slots, the teams with paired venues to pairs of slots with complementary venues.
+	 * @return The team in each slot, or -1 for the bye
+	 */
+	private int[] assignTeams(final boolean[][] home, final boolean[][] away) {
+		int slots = home.length;
+		
+		int[] teamOfSlot = new int[slots];
+		Arrays.fill(teamOfSlot, -1);
+		
+		boolean[] used = new boolean[slots];
+		
+		if (slots > numberOfTeams) {
+			used[slots - 1] = true;		// the fixed slot is the bye
+		}
+		
+		// the slots of the paired teams first, while every complementary pair is available
+		
+		for (int teamId = 0; teamId < numberOfTeams; teamId++) {
+			int otherTeamId = pairedTeams[teamId];
+			
+			if (otherTeamId > teamId) {
+				int[] slotPair = findComplementarySlots(home, away, used);
+				
+				if (slotPair == null) {
+					throw new IllegalArgumentException("cannot satisfy the paired venue of teams " + teamId + " and " + otherTeamId);
+				}
+				
+				teamOfSlot[slotPair[0]] = teamId;
+				teamOfSlot[slotPair[1]] = otherTeamId;
+			}
+		}
+		
+		int slot = 0;
+		
+		for (int teamId = 0; teamId < numberOfTeams; teamId++) {
+			if (pairedTeams[teamId] < 0) {
+				while (used[slot]) {
+					slot++;
+				}
+				
+				teamOfSlot[slot] = teamId;
+				used[slot] = true;
+			}
+		}
+		
+		return teamOfSlot;
+	}
+	
+	/**
+	 * @param away The away matches of the slots, which are at home in the mirrored cycles, or null if there are none
+	 */
+	private static int[] findComplementarySlots(final boolean[][] home, final boolean[][] away, final boolean[] used) {
+		for (int slot = 0; slot < home.length; slot++) {
+			if (!used[slot]) {
+				for (int other = slot + 1; other < home.length; other++) {
+					if (!used[other] && isComplementary(home[slot], home[other]) && ((away == null) || isComplementary(away[slot], away[other]))) {
+						used[slot] = true;
+						used[other] = true;
+						
+						return new int[] { slot, other };
+					}
+				}
+			}
+		}
+		
+		return null;
+	}
+	
+	private static boolean isComplementary(final boolean[] home, final boolean[] otherHome) {
+		for (int round = 0; round < home.length; round++) {
+			if (home[round] && otherHome[round]) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+
+}
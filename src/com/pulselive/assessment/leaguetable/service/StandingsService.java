@@ -0,0 +1,393 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.service;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.LeagueTableEntry;
+import com.pulselive.assessment.leaguetable.Match;
+
+/**
+ * This class represents a service which owns the league tables of many competitions. The competitions are partitioned across
+ * shards, each shard has a single writer which owns its league tables, so the updates of a table are serialized without locks.
+ * Result events are queued to the shard of their competition and applied in batches, after each batch the tables which changed
+ * are published as their cached immutable lists of entries, which are read without locking or queueing.
+ * <p>
+ * The writers run on an {@link ExecutorService}, one long running task per shard, by default a pool of daemon threads, on JDK 21
+ * or later an executor of virtual threads may be given instead. Events may be submitted and tables read from any threads,
+ * including virtual threads, a submitter blocks only when the queue of its shard is full. An event is either rejected or applied,
+ * the submitters hold the read lock of the service while they enqueue and closing it takes the write lock, so an event cannot be
+ * enqueued once the writers have been told to stop.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class StandingsService implements Closeable {
+	
+	private final static Logger LOGGER = Logger.getLogger(StandingsService.class.getName());
+	
+	public static final int DEFAULT_QUEUE_CAPACITY = 64 * 1024;
+	public static final int DEFAULT_BATCH_SIZE = 1024;
+	
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+	
+	private static final long PUT_POLL_MILLISECONDS = 100;
+	
+	private final Shard[] shards;
+	
+	private final ExecutorService executor;
+	private final boolean ownsExecutor;
+	
+	private final Map<String, List<LeagueTableEntry>> published = new ConcurrentHashMap<>();
+	
+	private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+	
+	/**
+	 * Whether the service is closed, guarded by the close lock.
+	 */
+	private boolean closed;
+	
+	/**
+	 * Construct a StandingsService object with a shard per available processor, each run by its own daemon thread.
+	 */
+	public StandingsService() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Construct a StandingsService object, each shard run by its own daemon thread.
+	 * @param numberOfShards The number of shards
+	 */
+	public StandingsService(final int numberOfShards) {
+		this(numberOfShards, Executors.newFixedThreadPool(numberOfShards, runnable -> {
+			Thread thread = new Thread(runnable, "standings-shard");
+			thread.setDaemon(true);
+			return thread;
+		}), true, DEFAULT_QUEUE_CAPACITY, DEFAULT_BATCH_SIZE);
+	}
+	
+	/**
+	 * Construct a StandingsService object, the shards are run by the given executor which must be able to run them all 
+	 * concurrently, and which is not shut down when the service is closed.
+	 * @param numberOfShards The number of shards
+	 * @param executor The executor, e.g. of virtual threads
+	 * @param queueCapacity The capacity of the queue of events of each shard
+	 * @param batchSize The maximum number of events applied in a batch
+	 */
+	public StandingsService(final int numberOfShards, final ExecutorService executor, final int queueCapacity, final int batchSize) {
+		this(numberOfShards, executor, false, queueCapacity, batchSize);
+	}
+	
+	private StandingsService(final int numberOfShards, final ExecutorService executor, final boolean ownsExecutor, final int queueCapacity, final int batchSize) {
+		if ((numberOfShards < 1) || (executor == null) || (queueCapacity < 1) || (batchSize < 1)) {
+			throw new IllegalArgumentException("illegal number of shards, executor, queue capacity or batch size");
+		}
+		
+		this.executor = executor;
+		this.ownsExecutor = ownsExecutor;
+		
+		shards = new Shard[numberOfShards];
+		
+		for (int i = 0; i < numberOfShards; i++) {
+			shards[i] = new Shard(queueCapacity, batchSize);
+			
+			executor.execute(shards[i]);
+		}
+	}
+	
+	private Shard shardOf(final String competition) {
+		int hash = competition.hashCode();
+		
+		return shards[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % shards.length];
+	}
+	
+	/**
+	 * Submit the result of a completed match to be applied to the league table of a competition, which is created if necessary.
+	 * @param competition The identifier of the competition
+	 * @param match The completed match
+	 * @throws InterruptedException If interrupted while waiting for space in the queue of the shard
+	 * @throws IllegalStateException If the service is closed
+	 */
+	public void submit(final String competition, final Match match) throws InterruptedException {
+		enqueue(new Event(competition, match, null, null));
+	}
+	
+	/**
+	 * Submit the correction of the result of a match previously submitted.
+	 * @param competition The identifier of the competition
+	 * @param previous The completed match which was previously submitted
+	 * @param corrected The corrected result of the same match
+	 * @throws InterruptedException If interrupted while waiting for space in the queue of the shard
+	 * @throws IllegalStateException If the service is closed
+	 */
+	public void submitCorrection(final String competition, final Match previous, final Match corrected) throws InterruptedException {
+		if (corrected == null) {
+			throw new IllegalArgumentException("illegal null parameter");
+		}
+		
+		enqueue(new Event(competition, previous, corrected, null));
+	}
+	
+	private void enqueue(final Event event) throws InterruptedException {
+		if ((event.competition == null) || (event.match == null)) {
+			throw new IllegalArgumentException("illegal null parameter");
+		}
+		
+		closeLock.readLock().lockInterruptibly();
+		
+		try {
+			if (closed) {
+				throw new IllegalStateException("service is closed");
+			}
+			
+			shardOf(event.competition).put(event);
+		} finally {
+			closeLock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * @return A future which completes when all of the events submitted before the call have been applied and published, or
+	 * completes exceptionally with an IllegalStateException if the service is closed before they are
+	 * @throws InterruptedException If interrupted while waiting for space in the queue of a shard
+	 */
+	public CompletableFuture<Void> flush() throws InterruptedException {
+		closeLock.readLock().lockInterruptibly();
+		
+		try {
+			if (closed) {
+				CompletableFuture<Void> result = new CompletableFuture<>();
+				
+				result.completeExceptionally(new IllegalStateException("service is closed"));
+				
+				return result;
+			}
+			
+			CompletableFuture<?>[] futures = new CompletableFuture<?>[shards.length];
+			
+			for (int i = 0; i < shards.length; i++) {
+				futures[i] = new CompletableFuture<Void>();
+				
+				shards[i].put(new Event(null, null, null, futures[i]));
+			}
+			
+			return CompletableFuture.allOf(futures);
+		} finally {
+			closeLock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * @param competition The identifier of the competition
+	 * @return The unmodifiable ordered list of entries of the league table last published, or an empty list if no result has been applied
+	 */
+	public List<LeagueTableEntry> getTableEntries(final String competition) {
+		return published.getOrDefault(competition, Collections.emptyList());
+	}
+	
+	/**
+	 * @return The identifiers of the competitions which have been published
+	 */
+	public Set<String> getCompetitions() {
+		return Collections.unmodifiableSet(published.keySet());
+	}
+	
+	/**
+	 * Close the service, the events already submitted are applied before the writers stop. The call waits for the submitters
+	 * which are blocked on a full queue to enqueue their events, and further submissions are rejected.
+	 */
+	@Override
+	public void close() {
+		closeLock.writeLock().lock();
+		
+		try {
+			if (closed) {
+				return;
+			}
+			
+			closed = true;
+		} finally {
+			closeLock.writeLock().unlock();
+		}
+		
+		for (Shard shard : shards) {
+			shard.stop();
+		}
+		
+		if (ownsExecutor) {
+			executor.shutdown();
+			
+			try {
+				executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	/**
+	 * This class represents a result event, a correction, or a flush barrier if the competition is null.
+	 */
+	private static final class Event {
+		
+		private final String competition;
+		private final Match match;
+		private final Match corrected;
+		private final CompletableFuture<?> barrier;
+		
+		Event(final String competition, final Match match, final Match corrected, final CompletableFuture<?> barrier) {
+			this.competition = competition;
+			this.match = match;
+			this.corrected = corrected;
+			this.barrier = barrier;
+		}
+	
+	}
+	
+	/**
+	 * This class represents a shard, the league tables it owns are only accessed by its writer.
+	 */
+	private final class Shard implements Runnable {
+		
+		private final BlockingQueue<Event> queue;
+		private final int batchSize;
+		
+		private final Map<String, LeagueTable> leagueTables = new HashMap<>();
+		
+		private final CompletableFuture<Void> stopped = new CompletableFuture<>();
+		
+		private volatile boolean stopping;
+		
+		Shard(final int queueCapacity, final int batchSize) {
+			this.queue = new ArrayBlockingQueue<>(queueCapacity);
+			this.batchSize = batchSize;
+		}
+		
+		/**
+		 * Put an event in the queue, waiting for space while the writer is running.
+		 * @throws IllegalStateException If the writer has stopped, e.g. because its thread was interrupted
+		 */
+		void put(final Event event) throws InterruptedException {
+			while (!queue.offer(event, PUT_POLL_MILLISECONDS, TimeUnit.MILLISECONDS)) {
+				if (stopped.isDone()) {
+					throw new IllegalStateException("shard has stopped");
+				}
+			}
+			
+			if (stopped.isDone()) {
+				failBarriers();		// the writer stopped as the event was enqueued
+				
+				throw new IllegalStateException("shard has stopped");
+			}
+		}
+		
+		void stop() {
+			stopping = true;
+			
+			try {
+				queue.offer(new Event(null, null, null, null), SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);	// wake the writer
+				
+				stopped.get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (Exception e) {
+				LOGGER.log(Level.WARNING, "shard did not stop", e);
+			}
+		}
+		
+		@Override
+		public void run() {
+			List<Event> batch = new ArrayList<>(batchSize);
+			Set<String> changed = new HashSet<>();
+			
+			try {
+				while (!stopping || !queue.isEmpty()) {
+					batch.add(queue.take());
+					
+					queue.drainTo(batch, batchSize - 1);
+					
+					for (Event event : batch) {
+						if (event.competition != null) {
+							apply(event);
+							
+							changed.add(event.competition);
+						} else if (event.barrier != null) {
+							publish(changed);
+							
+							event.barrier.complete(null);
+						}
+					}
+					
+					publish(changed);
+					
+					batch.clear();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				stopped.complete(null);
+				
+				failBarriers();
+			}
+		}
+		
+		/**
+		 * Fail the flush barriers left in the queue when the writer stops, which can then never be reached.
+		 */
+		private void failBarriers() {
+			List<Event> remaining = new ArrayList<>();
+			
+			queue.drainTo(remaining);
+			
+			for (Event event : remaining) {
+				if (event.barrier != null) {
+					event.barrier.completeExceptionally(new IllegalStateException("shard has stopped"));
+				}
+			}
+		}
+		
+		private void apply(final Event event) {
+			LeagueTable leagueTable = leagueTables.computeIfAbsent(event.competition, k -> new LeagueTable());
+			
+			try {
+				if (event.corrected == null) {
+					leagueTable.apply(event.match);
+				} else {
+					leagueTable.replace(event.match, event.corrected);
+				}
+			} catch (IllegalArgumentException e) {
+				LOGGER.warning(() -> "rejected the event for competition " + event.competition + ": " + e.getMessage());
+			}
+		}
+		
+		private void publish(final Set<String> changed) {
+			for (String competition : changed) {
+				published.put(competition, leagueTables.get(competition).getTableEntries());
+			}
+			
+			changed.clear();
+		}
+	
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.simulation;
+
+/**
+ * This class represents the probabilities of the home win, draw and away win outcomes of a fixture.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class FixtureProbabilities {
+	
+	private static final double TOLERANCE = 1e-9;
+	
+	private final double homeWin;
+	private final double draw;
+	private final double awayWin;
+
+	/**
+	 * Construct a FixtureProbabilities object.
+	 * @param homeWin The probability of a home win
+	 * @param draw The probability of a draw
+	 * @param awayWin The probability of an away win
+	 */
+	public FixtureProbabilities(final double homeWin, final double draw, final double awayWin) {
+		if ((homeWin < 0) || (draw < 0) || (awayWin < 0) || (Math.abs(homeWin + draw + awayWin - 1) > TOLERANCE)) {
+			throw new IllegalArgumentException("illegal probabilities");
+		}
+		
+		this.homeWin = homeWin;
+		this.draw = draw;
+		this.awayWin = awayWin;
+	}
+	
+	/**
+	 * Derive the probabilities from decimal betting odds, e.g. the B365H, B365D and B365A columns in football-data format, 
+	 * the implied probabilities are normalised to remove the bookmaker's margin.
+	 * @param homeWin The decimal odds of a home win
+	 * @param draw The decimal odds of a draw
+	 * @param awayWin The decimal odds of an away win
+	 * @return The probabilities
+	 */
+	public static FixtureProbabilities fromDecimalOdds(final double homeWin, final double draw, final double awayWin) {
+		if ((homeWin <= 1) || (draw <= 1) || (awayWin <= 1)) {
+			throw new IllegalArgumentException("illegal decimal odds");
+		}
+		
+		double overround = 1 / homeWin + 1 / draw + 1 / awayWin;
+		
+		return new FixtureProbabilities(1 / homeWin / overround, 1 / draw / overround, 1 / awayWin / overround);
+	}
+
+	public double getHomeWin() {
+		return homeWin;
+	}
+
+	public double getDraw() {
+		return draw;
+	}
+
+	public double getAwayWin() {
+		return awayWin;
+	}
+
+	/**
+	 * {@inheritDoc}}
+	 */
+	@Override
+	public String toString() {
+		return "FixtureProbabilities [homeWin=" + homeWin + ", draw=" + draw + ", awayWin=" + awayWin + "]";
+	}
+
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.simulation;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.pulselive.assessment.leaguetable.Fixture;
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.StandingsStore;
+
+/**
+ * This class analyses what-if scenarios, the combinations of the outcomes (home win, draw or away win) of a set of pending 
+ * fixtures, and aggregates the final positions of each team over the scenarios. Each outcome is applied with a representative 
+ * scoreline, 1-0, 0-0 or 0-1, so the goal difference of the winner and loser changes by one.
+ * <p>
+ * The 3^k scenarios of k fixtures are enumerated depth first, each outcome is applied to the standings and reverted after its 
+ * subtree, so no standings are built per scenario. The enumeration is split across a fork-join pool by the outcomes of the first
+ * fixtures. If there are too many fixtures to enumerate the scenarios are sampled uniformly instead. The league is made up of the 
+ * teams of the standings and those of the pending fixtures, other teams which share the registry are not counted.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class ScenarioAnalyser {
+	
+	/**
+	 * The greatest number of fixtures of which the scenarios may be enumerated, 3^20 is about 3.5 billion.
+	 */
+	public static final int MAX_ENUMERATED_FIXTURES = 20;
+	
+	/**
+	 * The number of fixtures below which an enumeration task is not split further, 3^8 is 6561 scenarios.
+	 */
+	static final int FIXTURES_PER_TASK = 8;
+	
+	static final int NUMBER_OF_OUTCOMES = Match.Result.values().length;
+	
+	/**
+	 * The scoreline of each outcome, indexed by the ordinal of the {@link Match.Result}.
+	 */
+	private static final int[] HOME_SCORES = { 1, 0, 0 };
+	private static final int[] AWAY_SCORES = { 0, 0, 1 };
+	
+	private final StandingsStore current;
+	
+	/**
+	 * The number of teams registered when the analyser was constructed, and the number of them in the league.
+	 */
+	private final int registeredTeams;
+	private final int numberOfTeams;
+	
+	private final int[] homeTeamIds;
+	private final int[] awayTeamIds;
+	
+	private final ForkJoinPool pool;
+
+	/**
+	 * Construct a ScenarioAnalyser using the common fork-join pool.
+	 * @param current The current standings, this is not modified
+	 * @param fixtures The pending fixtures
+	 */
+	public ScenarioAnalyser(final StandingsStore current, final List<Fixture> fixtures) {
+		this(current, fixtures, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Construct a ScenarioAnalyser.
+	 * @param current The current standings, this is not modified, e.g. {@link StandingsStore#of} a league table
+	 * @param fixtures The pending fixtures
+	 * @param pool The fork-join pool in which to run the analysis
+	 */
+	public ScenarioAnalyser(final StandingsStore current, final List<Fixture> fixtures, final ForkJoinPool pool) {
+		this.current = new StandingsStore(current);
+		this.pool = pool;
+		
+		int size = fixtures.size();
+		
+		homeTeamIds = new int[size];
+		awayTeamIds = new int[size];
+		
+		for (int i = 0; i < size; i++) {
+			Fixture fixture = fixtures.get(i);
+			
+			if (Math.max(fixture.getHomeTeamId(), fixture.getAwayTeamId()) >= current.getRegistry().size()) {
+				throw new IllegalArgumentException("fixture for unregistered team " + fixture);
+			}
+			
+			this.current.addTeam(fixture.getHomeTeamId());
+			this.current.addTeam(fixture.getAwayTeamId());
+			
+			homeTeamIds[i] = fixture.getHomeTeamId();
+			awayTeamIds[i] = fixture.getAwayTeamId();
+		}
+		
+		registeredTeams = current.getRegistry().size();
+		numberOfTeams = this.current.getNumberOfTeams();
+	}
+	
+	/**
+	 * @return The number of scenarios, or -1 if there are too many fixtures to enumerate them
+	 */
+	public long getNumberOfScenarios() {
+		if (homeTeamIds.length > MAX_ENUMERATED_FIXTURES) {
+			return -1;
+		}
+		
+		long result = 1;
+		
+		for (int i = 0; i < homeTeamIds.length; i++) {
+			result *= NUMBER_OF_OUTCOMES;
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Enumerate every scenario, each is counted as a run of the result.
+	 * @return The number of scenarios in which each team finishes in each position
+	 */
+	public SimulationResult enumerate() {
+		long scenarios = getNumberOfScenarios();
+		
+		if (scenarios < 0) {
+			throw new IllegalStateException("too many fixtures to enumerate " + homeTeamIds.length + ", sample the scenarios instead");
+		}
+		
+		long start = System.nanoTime();
+		
+		long[][] positionCounts = pool.invoke(new EnumerationTask(new StandingsStore(current), 0));
+		
+		return new SimulationResult(positionCounts, scenarios, System.nanoTime() - start);
+	}
+	
+	/**
+	 * Sample scenarios uniformly, with replacement.
+	 * @param runs The number of scenarios to sample
+	 * @param seed The seed of the random number generator, the result is reproducible for the same seed
+	 * @return The number of sampled scenarios in which each team finishes in each position
+	 */
+	public SimulationResult sample(final long runs, final long seed) {
+		if (runs <= 0) {
+			throw new IllegalArgumentException("illegal number of runs " + runs);
+		}
+		
+		long start = System.nanoTime();
+		
+		long[][] positionCounts = pool.invoke(new SamplingTask(runs, new SplittableRandom(seed)));
+		
+		return new SimulationResult(positionCounts, runs, System.nanoTime() - start);
+	}
+	
+	/**
+	 * @return The position counts indexed by team identifier and then position, the positions are those of the teams of the league
+	 */
+	private long[][] newPositionCounts() {
+		return new long[registeredTeams][numberOfTeams];
+	}
+	
+	private static void count(final StandingsStore standings, final int[] teamIds, final long[][] positionCounts) {
+		standings.rank(teamIds);
+		
+		for (int position = 0; position < teamIds.length; position++) {
+			positionCounts[teamIds[position]][position]++;
+		}
+	}
+	
+	private static void add(final long[][] result, final long[][] other) {
+		for (int teamId = 0; teamId < result.length; teamId++) {
+			for (int position = 0; position < result[teamId].length; position++) {
+				result[teamId][position] += other[teamId][position];
+			}
+		}
+	}
+	
+	private void apply(final StandingsStore standings, final int fixture, final int outcome) {
+		standings.apply(homeTeamIds[fixture], awayTeamIds[fixture], HOME_SCORES[outcome], AWAY_SCORES[outcome]);
+	}
+	
+	private void revert(final StandingsStore standings, final int fixture, final int outcome) {
+		standings.revert(homeTeamIds[fixture], awayTeamIds[fixture], HOME_SCORES[outcome], AWAY_SCORES[outcome]);
+	}
+	
+	/**
+	 * Enumerate the scenarios of the fixtures from a depth, each outcome is applied and then reverted after its subtree.
+	 */
+	private void enumerate(final StandingsStore standings, final int depth, final int[] teamIds, final long[][] positionCounts) {
+		if (depth == homeTeamIds.length) {
+			count(standings, teamIds, positionCounts);
+			return;
+		}
+		
+		for (int outcome = 0; outcome < NUMBER_OF_OUTCOMES; outcome++) {
+			apply(standings, depth, outcome);
+			
+			enumerate(standings, depth + 1, teamIds, positionCounts);
+			
+			revert(standings, depth, outcome);
+		}
+	}
+	
+	/**
+	 * This class represents a fork-join task for the scenarios of the fixtures from a depth, given the outcomes of the fixtures
+	 * before it which are applied to its standings, it splits by the outcome of the fixture at the depth until few fixtures remain.
+	 */
+	private final class EnumerationTask extends RecursiveTask<long[][]> {
+
+		private static final long serialVersionUID = 1L;
+		
+		private final StandingsStore standings;
+		private final int depth;
+		
+		EnumerationTask(final StandingsStore standings, final int depth) {
+			this.standings = standings;
+			this.depth = depth;
+		}
+
+		@Override
+		protected long[][] compute() {
+			if (homeTeamIds.length - depth <= FIXTURES_PER_TASK) {
+				long[][] result = newPositionCounts();
+				
+				enumerate(standings, depth, new int[numberOfTeams], result);
+				
+				return result;
+			}
+			
+			EnumerationTask[] subtasks = new EnumerationTask[NUMBER_OF_OUTCOMES];
+			
+			for (int outcome = 0; outcome < NUMBER_OF_OUTCOMES; outcome++) {
+				StandingsStore subtaskStandings = (outcome == NUMBER_OF_OUTCOMES - 1) ? standings : new StandingsStore(standings);
+				
+				apply(subtaskStandings, depth, outcome);
+				
+				subtasks[outcome] = new EnumerationTask(subtaskStandings, depth + 1);
+			}
+			
+			for (int outcome = 0; outcome < NUMBER_OF_OUTCOMES - 1; outcome++) {
+				subtasks[outcome].fork();
+			}
+			
+			long[][] result = subtasks[NUMBER_OF_OUTCOMES - 1].compute();
+			
+			for (int outcome = NUMBER_OF_OUTCOMES - 2; outcome >= 0; outcome--) {
+				add(result, subtasks[outcome].join());
+			}
+			
+			return result;
+		}
+		
+	}
+	
+	/**
+	 * This class represents a fork-join task for a number of sampled scenarios, it splits in half until the number is small enough.
+	 */
+	private final class SamplingTask extends RecursiveTask<long[][]> {
+
+		private static final long serialVersionUID = 1L;
+		
+		private final long runs;
+		private final SplittableRandom random;
+		
+		SamplingTask(final long runs, final SplittableRandom random) {
+			this.runs = runs;
+			this.random = random;
+		}
+
+		@Override
+		protected long[][] compute() {
+			if (runs <= SeasonSimulator.RUNS_PER_TASK) {
+				long[][] result = newPositionCounts();
+				
+				StandingsStore standings = new StandingsStore(current);
+				int[] teamIds = new int[numberOfTeams];
+				
+				for (long run = 0; run < runs; run++) {
+					standings.copyFrom(current);
+					
+					for (int i = 0; i < homeTeamIds.length; i++) {
+						apply(standings, i, random.nextInt(NUMBER_OF_OUTCOMES));
+					}
+					
+					count(standings, teamIds, result);
+				}
+				
+				return result;
+			}
+			
+			SamplingTask left = new SamplingTask(runs / 2, random.split());
+			left.fork();
+			
+			long[][] result = new SamplingTask(runs - runs / 2, random).compute();
+			
+			add(result, left.join());
+			
+			return result;
+		}
+		
+	}
+
+}
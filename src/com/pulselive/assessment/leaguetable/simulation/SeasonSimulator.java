@@ -0,0 +1,222 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.simulation;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.pulselive.assessment.leaguetable.Fixture;
+import com.pulselive.assessment.leaguetable.StandingsStore;
+
+/**
+ * This class simulates the completion of a season many times, sampling the result of each remaining fixture from its probabilities, 
+ * to estimate the probability of each team finishing in each position. The runs are split across a fork-join pool, 
+ * each task has its own random number generator split from its parent and reuses one standings buffer for all its runs. 
+ * The league is made up of the teams of the standings and those of the remaining fixtures, other teams which share the registry are not counted.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class SeasonSimulator {
+	
+	/**
+	 * The number of runs below which a task is not split further.
+	 */
+	static final int RUNS_PER_TASK = 8 * 1024;
+	
+	/**
+	 * The mean number of goals scored by the losing team, or by each team in a draw.
+	 */
+	static final double MEAN_BASE_GOALS = 1.0;
+	
+	/**
+	 * The mean number of goals by which the winning team wins in addition to the first goal.
+	 */
+	static final double MEAN_EXTRA_MARGIN = 0.5;
+	
+	private static final double EXP_MINUS_BASE_GOALS = Math.exp(-MEAN_BASE_GOALS);
+	private static final double EXP_MINUS_EXTRA_MARGIN = Math.exp(-MEAN_EXTRA_MARGIN);
+	
+	private final StandingsStore current;
+	
+	/**
+	 * The number of teams registered when the simulator was constructed, and the number of them in the league.
+	 */
+	private final int registeredTeams;
+	private final int numberOfTeams;
+	
+	private final int[] homeTeamIds;
+	private final int[] awayTeamIds;
+	
+	/**
+	 * The cumulative probabilities of a home win and of a home win or draw for each fixture.
+	 */
+	private final double[] homeWinThresholds;
+	private final double[] drawThresholds;
+	
+	private final ForkJoinPool pool;
+
+	/**
+	 * Construct a SeasonSimulator using the common fork-join pool.
+	 * @param current The current standings, this is not modified
+	 * @param fixtures The remaining fixtures
+	 * @param probabilities The probabilities of the outcomes of each of the remaining fixtures
+	 */
+	public SeasonSimulator(final StandingsStore current, final List<Fixture> fixtures, final List<FixtureProbabilities> probabilities) {
+		this(current, fixtures, probabilities, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Construct a SeasonSimulator.
+	 * @param current The current standings, this is not modified
+	 * @param fixtures The remaining fixtures
+	 * @param probabilities The probabilities of the outcomes of each of the remaining fixtures
+	 * @param pool The fork-join pool in which to run the simulation
+	 */
+	public SeasonSimulator(final StandingsStore current, final List<Fixture> fixtures, final List<FixtureProbabilities> probabilities, final ForkJoinPool pool) {
+		if (fixtures.size() != probabilities.size()) {
+			throw new IllegalArgumentException("probabilities required for each fixture");
+		}
+		
+		this.current = new StandingsStore(current);
+		this.pool = pool;
+		
+		int size = fixtures.size();
+		
+		homeTeamIds = new int[size];
+		awayTeamIds = new int[size];
+		homeWinThresholds = new double[size];
+		drawThresholds = new double[size];
+		
+		for (int i = 0; i < size; i++) {
+			Fixture fixture = fixtures.get(i);
+			FixtureProbabilities fixtureProbabilities = probabilities.get(i);
+			
+			// ensure the teams are registered before the standings are copied for each task
+			if (Math.max(fixture.getHomeTeamId(), fixture.getAwayTeamId()) >= current.getRegistry().size()) {
+				throw new IllegalArgumentException("fixture for unregistered team " + fixture);
+			}
+			
+			this.current.addTeam(fixture.getHomeTeamId());
+			this.current.addTeam(fixture.getAwayTeamId());
+			
+			homeTeamIds[i] = fixture.getHomeTeamId();
+			awayTeamIds[i] = fixture.getAwayTeamId();
+			homeWinThresholds[i] = fixtureProbabilities.getHomeWin();
+			drawThresholds[i] = fixtureProbabilities.getHomeWin() + fixtureProbabilities.getDraw();
+		}
+		
+		registeredTeams = current.getRegistry().size();
+		numberOfTeams = this.current.getNumberOfTeams();
+	}
+	
+	/**
+	 * Simulate the completion of the season.
+	 * @param runs The number of season completions to simulate
+	 * @param seed The seed of the random number generator, the result is reproducible for the same seed
+	 * @return The result of the simulation
+	 */
+	public SimulationResult simulate(final long runs, final long seed) {
+		if (runs <= 0) {
+			throw new IllegalArgumentException("illegal number of runs " + runs);
+		}
+		
+		long start = System.nanoTime();
+		
+		long[][] positionCounts = pool.invoke(new SimulationTask(runs, new SplittableRandom(seed)));
+		
+		return new SimulationResult(positionCounts, runs, System.nanoTime() - start);
+	}
+	
+	/**
+	 * Simulate a number of runs with a standings buffer which is reused for every run.
+	 */
+	private long[][] simulateRuns(final long runs, final SplittableRandom random) {
+		long[][] positionCounts = new long[registeredTeams][numberOfTeams];
+		
+		StandingsStore standings = new StandingsStore(current);
+		int[] teamIds = new int[numberOfTeams];
+		
+		for (long run = 0; run < runs; run++) {
+			standings.copyFrom(current);
+			
+			for (int i = 0; i < homeTeamIds.length; i++) {
+				double outcome = random.nextDouble();
+				
+				int baseGoals = poisson(random, EXP_MINUS_BASE_GOALS);
+				int winningGoals = baseGoals + 1 + poisson(random, EXP_MINUS_EXTRA_MARGIN);
+				
+				if (outcome < homeWinThresholds[i]) {
+					standings.apply(homeTeamIds[i], awayTeamIds[i], winningGoals, baseGoals);
+				} else if (outcome < drawThresholds[i]) {
+					standings.apply(homeTeamIds[i], awayTeamIds[i], baseGoals, baseGoals);
+				} else {
+					standings.apply(homeTeamIds[i], awayTeamIds[i], baseGoals, winningGoals);
+				}
+			}
+			
+			standings.rank(teamIds);
+			
+			for (int position = 0; position < numberOfTeams; position++) {
+				positionCounts[teamIds[position]][position]++;
+			}
+		}
+		
+		return positionCounts;
+	}
+	
+	/**
+	 * Sample a Poisson distribution by Knuth's method, which is efficient for the small means of goals in a match.
+	 */
+	private static int poisson(final SplittableRandom random, final double expMinusMean) {
+		int result = 0;
+		
+		for (double product = random.nextDouble(); product > expMinusMean; product *= random.nextDouble()) {
+			result++;
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * This class represents a fork-join task for a number of runs, it splits in half until the number of runs is small enough.
+	 */
+	private final class SimulationTask extends RecursiveTask<long[][]> {
+
+		private static final long serialVersionUID = 1L;
+		
+		private final long runs;
+		private final SplittableRandom random;
+		
+		SimulationTask(final long runs, final SplittableRandom random) {
+			this.runs = runs;
+			this.random = random;
+		}
+
+		@Override
+		protected long[][] compute() {
+			if (runs <= RUNS_PER_TASK) {
+				return simulateRuns(runs, random);
+			}
+			
+			SimulationTask left = new SimulationTask(runs / 2, random.split());
+			left.fork();
+			
+			long[][] result = new SimulationTask(runs - runs / 2, random).compute();
+			long[][] leftResult = left.join();
+			
+			for (int teamId = 0; teamId < result.length; teamId++) {
+				for (int position = 0; position < result[teamId].length; position++) {
+					result[teamId][position] += leftResult[teamId][position];
+				}
+			}
+			
+			return result;
+		}
+		
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.simulation;
+
+/**
+ * This class represents the outcome of a number of simulated season completions, the number of times each team finished in each position.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public final class SimulationResult {
+	
+	/**
+	 * The number of runs in which each team finished in each position, indexed by team identifier and then position from 0 for first.
+	 */
+	private final long[][] positionCounts;
+	
+	private final long runs;
+	private final long elapsedNanos;
+
+	SimulationResult(final long[][] positionCounts, final long runs, final long elapsedNanos) {
+		this.positionCounts = positionCounts;
+		this.runs = runs;
+		this.elapsedNanos = elapsedNanos;
+	}
+	
+	public long getRuns() {
+		return runs;
+	}
+	
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+	
+	/**
+	 * @return The number of season completions simulated per second
+	 */
+	public double getRunsPerSecond() {
+		return (elapsedNanos == 0) ? 0 : runs * 1e9 / elapsedNanos;
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @param position The position in the table, starting from 1 at the top of the table
+	 * @return The number of runs in which the team finished in the position
+	 */
+	public long getCount(final int teamId, final int position) {
+		return positionCounts[teamId][position - 1];
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @param position The position in the table, starting from 1 at the top of the table
+	 * @return The probability that the team finishes in the position
+	 */
+	public double getProbability(final int teamId, final int position) {
+		return (double) getCount(teamId, position) / runs;
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @param from The highest position, starting from 1 at the top of the table
+	 * @param to The lowest position, inclusive
+	 * @return The probability that the team finishes in any of the positions
+	 */
+	public double getProbability(final int teamId, final int from, final int to) {
+		long count = 0;
+		
+		for (int position = from; position <= to; position++) {
+			count += getCount(teamId, position);
+		}
+		
+		return (double) count / runs;
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @return The probability that the team finishes first
+	 */
+	public double getTitleProbability(final int teamId) {
+		return getProbability(teamId, 1);
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @param places The number of places at the top of the table, e.g. 4 for the Champions League places
+	 * @return The probability that the team finishes in the top places
+	 */
+	public double getTopProbability(final int teamId, final int places) {
+		return getProbability(teamId, 1, places);
+	}
+	
+	/**
+	 * @param teamId The identifier of the team
+	 * @param places The number of relegation places at the bottom of the table
+	 * @return The probability that the team finishes in the relegation places
+	 */
+	public double getRelegationProbability(final int teamId, final int places) {
+		int numberOfTeams = positionCounts[teamId].length;
+		
+		return getProbability(teamId, numberOfTeams - places + 1, numberOfTeams);
+	}
+
+}
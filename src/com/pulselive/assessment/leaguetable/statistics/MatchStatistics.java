@@ -0,0 +1,444 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.statistics;
+
+import static com.pulselive.assessment.util.ParamUtils.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.pulselive.assessment.leaguetable.LeagueTableEntry;
+import com.pulselive.assessment.leaguetable.TeamRegistry;
+
+/**
+ * This class represents a columnar store of the statistics of the matches of a season, e.g. as read by
+ * {@code MatchStatisticsReader}. Each statistic of the home team and of the away team is held in its own array, indexed by the
+ * row of the match, the teams and referees are dictionary encoded as identifiers. The statistics of a match are small counts so
+ * each is held in a byte, with a reserved value for a statistic which was not recorded.
+ * <p>
+ * The aggregate queries scan only the columns they need and total them in arrays indexed by team or referee, so no object is
+ * created per match. An instance is not thread safe while matches are being added.
+ *
+ * @author Paul Parlett
+ *
+ */
+public final class MatchStatistics {
+	
+	/**
+	 * The value returned for a statistic which was not recorded for a match.
+	 */
+	public static final int NO_VALUE = -1;
+	
+	/**
+	 * The identifier of the referee of a match for which the referee was not recorded.
+	 */
+	public static final int NO_REFEREE = -1;
+	
+	/**
+	 * The largest value of a statistic which can be stored.
+	 */
+	public static final int MAX_VALUE = 254;
+	
+	/**
+	 * The disciplinary points of a yellow card and of a red card in the fair play table.
+	 */
+	public static final int YELLOW_CARD_POINTS = 1;
+	public static final int RED_CARD_POINTS = 3;
+	
+	private static final byte MISSING = (byte) 0xFF;
+	
+	private static final int INITIAL_CAPACITY = 512;
+	
+	private static final int NUMBER_OF_STATISTICS = Statistic.values().length;
+	
+	private final TeamRegistry registry;
+	
+	private final Map<String, Integer> refereeIds = new HashMap<>();
+	private final List<String> refereeNames = new ArrayList<>();
+	
+	/**
+	 * The identifiers of the teams with matches in this store, the registry may be shared and hold other teams.
+	 */
+	private final BitSet teamIds = new BitSet();
+	
+	private short[] homeTeamIds = new short[INITIAL_CAPACITY];
+	private short[] awayTeamIds = new short[INITIAL_CAPACITY];
+	private short[] refereeIdsByRow = new short[INITIAL_CAPACITY];
+	
+	/**
+	 * The columns of each statistic, indexed by ordinal and then row.
+	 */
+	private final byte[][] homeColumns = new byte[NUMBER_OF_STATISTICS][INITIAL_CAPACITY];
+	private final byte[][] awayColumns = new byte[NUMBER_OF_STATISTICS][INITIAL_CAPACITY];
+	
+	private int size;
+	
+	/**
+	 * Construct an empty MatchStatistics object, the teams are registered as matches are added.
+	 */
+	public MatchStatistics() {
+		this(new TeamRegistry());
+	}
+	
+	/**
+	 * Construct an empty MatchStatistics object.
+	 * @param registry The registry of the teams, further teams are registered as matches are added
+	 */
+	public MatchStatistics(final TeamRegistry registry) {
+		if (registry == null) {
+			throw new IllegalArgumentException("illegal null parameter");
+		}
+		
+		this.registry = registry;
+	}
+	
+	public TeamRegistry getRegistry() {
+		return registry;
+	}
+	
+	/**
+	 * Add the statistics of a match.
+	 * @param homeTeam The name of the home team
+	 * @param awayTeam The name of the away team
+	 * @param referee The name of the referee, or null if the referee was not recorded
+	 * @param homeValues The statistics of the home team indexed by ordinal, from 0 to {@link MatchStatistics#MAX_VALUE} or
+	 * {@link MatchStatistics#NO_VALUE} if not recorded
+	 * @param awayValues The statistics of the away team indexed by ordinal, from 0 to {@link MatchStatistics#MAX_VALUE} or
+	 * {@link MatchStatistics#NO_VALUE} if not recorded
+	 * @return The row of the match
+	 * @throws IllegalArgumentException If a statistic cannot be stored, in which case nothing is added or registered
+	 * @throws IllegalStateException If there are too many teams or referees, in which case nothing is added or registered
+	 */
+	public int add(final String homeTeam, final String awayTeam, final String referee, final int[] homeValues, final int[] awayValues) {
+		checkNotNull(homeTeam);
+		checkNotNull(awayTeam);
+		
+		if ((homeValues.length != NUMBER_OF_STATISTICS) || (awayValues.length != NUMBER_OF_STATISTICS)) {
+			throw new IllegalArgumentException("illegal number of statistics");
+		}
+		
+		for (int i = 0; i < NUMBER_OF_STATISTICS; i++) {
+			checkValue(homeValues[i]);
+			checkValue(awayValues[i]);
+		}
+		
+		int newTeams = ((registry.idOf(homeTeam) == TeamRegistry.NO_TEAM) ? 1 : 0)
+				+ (((registry.idOf(awayTeam) == TeamRegistry.NO_TEAM) && !awayTeam.equals(homeTeam)) ? 1 : 0);
+		
+		if (registry.size() + newTeams > Short.MAX_VALUE + 1) {
+			throw new IllegalStateException("too many teams");
+		}
+		
+		if ((referee != null) && !refereeIds.containsKey(referee) && (refereeNames.size() > Short.MAX_VALUE)) {
+			throw new IllegalStateException("too many referees");
+		}
+		
+		int homeTeamId = registry.register(homeTeam);
+		int awayTeamId = registry.register(awayTeam);
+		
+		teamIds.set(homeTeamId);
+		teamIds.set(awayTeamId);
+		
+		if (size == homeTeamIds.length) {
+			grow();
+		}
+		
+		int row = size++;
+		
+		homeTeamIds[row] = (short) homeTeamId;
+		awayTeamIds[row] = (short) awayTeamId;
+		refereeIdsByRow[row] = (short) ((referee == null) ? NO_REFEREE : registerReferee(referee));
+		
+		for (int i = 0; i < NUMBER_OF_STATISTICS; i++) {
+			homeColumns[i][row] = encode(homeValues[i]);
+			awayColumns[i][row] = encode(awayValues[i]);
+		}
+		
+		return row;
+	}
+	
+	private int registerReferee(final String referee) {
+		Integer id = refereeIds.get(referee);
+		
+		if (id == null) {
+			id = refereeNames.size();
+			
+			refereeIds.put(referee, id);
+			refereeNames.add(referee);
+		}
+		
+		return id;
+	}
+	
+	private void grow() {
+		int capacity = homeTeamIds.length * 2;
+		
+		homeTeamIds = Arrays.copyOf(homeTeamIds, capacity);
+		awayTeamIds = Arrays.copyOf(awayTeamIds, capacity);
+		refereeIdsByRow = Arrays.copyOf(refereeIdsByRow, capacity);
+		
+		for (int i = 0; i < NUMBER_OF_STATISTICS; i++) {
+			homeColumns[i] = Arrays.copyOf(homeColumns[i], capacity);
+			awayColumns[i] = Arrays.copyOf(awayColumns[i], capacity);
+		}
+	}
+	
+	private static void checkValue(final int value) {
+		if ((value < NO_VALUE) || (value > MAX_VALUE)) {
+			throw new IllegalArgumentException("illegal statistic value " + value);
+		}
+	}
+	
+	private static byte encode(final int value) {
+		return (value == NO_VALUE) ? MISSING : (byte) value;
+	}
+	
+	private static int decode(final byte value) {
+		return (value == MISSING) ? NO_VALUE : (value & 0xFF);
+	}
+	
+	/**
+	 * @return The number of matches
+	 */
+	public int size() {
+		return size;
+	}
+	
+	public int getHomeTeamId(final int row) {
+		return homeTeamIds[checkRow(row)];
+	}
+	
+	public int getAwayTeamId(final int row) {
+		return awayTeamIds[checkRow(row)];
+	}
+	
+	/**
+	 * @param row The row of the match
+	 * @return The identifier of the referee, or {@link MatchStatistics#NO_REFEREE} if the referee was not recorded
+	 */
+	public int getRefereeId(final int row) {
+		return refereeIdsByRow[checkRow(row)];
+	}
+	
+	/**
+	 * @param refereeId The identifier of the referee
+	 * @return The name of the referee
+	 */
+	public String getRefereeName(final int refereeId) {
+		return refereeNames.get(refereeId);
+	}
+	
+	/**
+	 * @return The number of distinct referees
+	 */
+	public int getNumberOfReferees() {
+		return refereeNames.size();
+	}
+	
+	/**
+	 * @param statistic The statistic
+	 * @param row The row of the match
+	 * @return The statistic of the home team, or {@link MatchStatistics#NO_VALUE} if it was not recorded
+	 */
+	public int getHomeValue(final Statistic statistic, final int row) {
+		return decode(homeColumns[statistic.ordinal()][checkRow(row)]);
+	}
+	
+	/**
+	 * @param statistic The statistic
+	 * @param row The row of the match
+	 * @return The statistic of the away team, or {@link MatchStatistics#NO_VALUE} if it was not recorded
+	 */
+	public int getAwayValue(final Statistic statistic, final int row) {
+		return decode(awayColumns[statistic.ordinal()][checkRow(row)]);
+	}
+	
+	private int checkRow(final int row) {
+		if ((row < 0) || (row >= size)) {
+			throw new IndexOutOfBoundsException("illegal row " + row);
+		}
+		
+		return row;
+	}
+	
+	/**
+	 * Get the leaderboard of a statistic, the total of the statistic for each team with matches in this store in the matches in
+	 * which it was recorded.
+	 * @param statistic The statistic, e.g. {@link Statistic#SHOTS}
+	 * @return The entries in descending order of the statistic per match, then by team name
+	 */
+	public List<StatisticsEntry> getLeaderboard(final Statistic statistic) {
+		byte[] homeColumn = homeColumns[statistic.ordinal()];
+		byte[] awayColumn = awayColumns[statistic.ordinal()];
+		
+		int[] matches = new int[registry.size()];
+		int[] totals = new int[registry.size()];
+		
+		for (int row = 0; row < size; row++) {
+			byte homeValue = homeColumn[row];
+			byte awayValue = awayColumn[row];
+			
+			if (homeValue != MISSING) {
+				matches[homeTeamIds[row]]++;
+				totals[homeTeamIds[row]] += homeValue & 0xFF;
+			}
+			
+			if (awayValue != MISSING) {
+				matches[awayTeamIds[row]]++;
+				totals[awayTeamIds[row]] += awayValue & 0xFF;
+			}
+		}
+		
+		List<StatisticsEntry> result = teamEntries(matches, totals);
+		
+		result.sort(Comparator.comparingDouble(StatisticsEntry::getPerMatch).reversed().thenComparing(StatisticsEntry::getName));
+		
+		return result;
+	}
+	
+	/**
+	 * Get the fair play table, the disciplinary points of each team with matches in this store in the matches in which its cards
+	 * were recorded.
+	 * @return The entries in ascending order of disciplinary points, then by team name
+	 */
+	public List<StatisticsEntry> getFairPlayTable() {
+		byte[] homeYellow = homeColumns[Statistic.YELLOW_CARDS.ordinal()];
+		byte[] awayYellow = awayColumns[Statistic.YELLOW_CARDS.ordinal()];
+		byte[] homeRed = homeColumns[Statistic.RED_CARDS.ordinal()];
+		byte[] awayRed = awayColumns[Statistic.RED_CARDS.ordinal()];
+		
+		int[] matches = new int[registry.size()];
+		int[] totals = new int[registry.size()];
+		
+		for (int row = 0; row < size; row++) {
+			if ((homeYellow[row] != MISSING) && (homeRed[row] != MISSING)) {
+				matches[homeTeamIds[row]]++;
+				totals[homeTeamIds[row]] += YELLOW_CARD_POINTS * (homeYellow[row] & 0xFF) + RED_CARD_POINTS * (homeRed[row] & 0xFF);
+			}
+			
+			if ((awayYellow[row] != MISSING) && (awayRed[row] != MISSING)) {
+				matches[awayTeamIds[row]]++;
+				totals[awayTeamIds[row]] += YELLOW_CARD_POINTS * (awayYellow[row] & 0xFF) + RED_CARD_POINTS * (awayRed[row] & 0xFF);
+			}
+		}
+		
+		List<StatisticsEntry> result = teamEntries(matches, totals);
+		
+		result.sort(Comparator.comparingInt(StatisticsEntry::getTotal).thenComparing(StatisticsEntry::getName));
+		
+		return result;
+	}
+	
+	/**
+	 * Get the card rates of the referees, the total of the yellow and red cards shown to both teams in the matches of each referee
+	 * in which the cards were recorded.
+	 * @return The entries in descending order of cards per match, then by referee name
+	 */
+	public List<StatisticsEntry> getRefereeCardRates() {
+		byte[] homeYellow = homeColumns[Statistic.YELLOW_CARDS.ordinal()];
+		byte[] awayYellow = awayColumns[Statistic.YELLOW_CARDS.ordinal()];
+		byte[] homeRed = homeColumns[Statistic.RED_CARDS.ordinal()];
+		byte[] awayRed = awayColumns[Statistic.RED_CARDS.ordinal()];
+		
+		int[] matches = new int[refereeNames.size()];
+		int[] totals = new int[refereeNames.size()];
+		
+		for (int row = 0; row < size; row++) {
+			int refereeId = refereeIdsByRow[row];
+			
+			if ((refereeId == NO_REFEREE) || (homeYellow[row] == MISSING) || (awayYellow[row] == MISSING)
+					|| (homeRed[row] == MISSING) || (awayRed[row] == MISSING)) {
+				continue;
+			}
+			
+			matches[refereeId]++;
+			totals[refereeId] += (homeYellow[row] & 0xFF) + (awayYellow[row] & 0xFF) + (homeRed[row] & 0xFF) + (awayRed[row] & 0xFF);
+		}
+		
+		List<StatisticsEntry> result = new ArrayList<>(refereeNames.size());
+		
+		for (int refereeId = 0; refereeId < refereeNames.size(); refereeId++) {
+			result.add(new StatisticsEntry(refereeNames.get(refereeId), matches[refereeId], totals[refereeId]));
+		}
+		
+		result.sort(Comparator.comparingDouble(StatisticsEntry::getPerMatch).reversed().thenComparing(StatisticsEntry::getName));
+		
+		return result;
+	}
+	
+	/**
+	 * Get the half-time table, the league table of the scores at half-time of the matches in which they were recorded.
+	 * @return The ordered list of league table entries of the teams with matches in this store
+	 */
+	public List<LeagueTableEntry> getHalfTimeTable() {
+		byte[] homeGoals = homeColumns[Statistic.HALF_TIME_GOALS.ordinal()];
+		byte[] awayGoals = awayColumns[Statistic.HALF_TIME_GOALS.ordinal()];
+		
+		int numberOfTeams = registry.size();
+		
+		int[] won = new int[numberOfTeams];
+		int[] drawn = new int[numberOfTeams];
+		int[] lost = new int[numberOfTeams];
+		int[] goalsFor = new int[numberOfTeams];
+		int[] goalsAgainst = new int[numberOfTeams];
+		
+		for (int row = 0; row < size; row++) {
+			if ((homeGoals[row] == MISSING) || (awayGoals[row] == MISSING)) {
+				continue;
+			}
+			
+			int homeTeamId = homeTeamIds[row];
+			int awayTeamId = awayTeamIds[row];
+			
+			int homeScore = homeGoals[row] & 0xFF;
+			int awayScore = awayGoals[row] & 0xFF;
+			
+			if (homeScore > awayScore) {
+				won[homeTeamId]++;
+				lost[awayTeamId]++;
+			} else if (homeScore == awayScore) {
+				drawn[homeTeamId]++;
+				drawn[awayTeamId]++;
+			} else {
+				lost[homeTeamId]++;
+				won[awayTeamId]++;
+			}
+			
+			goalsFor[homeTeamId] += homeScore;
+			goalsAgainst[homeTeamId] += awayScore;
+			goalsFor[awayTeamId] += awayScore;
+			goalsAgainst[awayTeamId] += homeScore;
+		}
+		
+		List<LeagueTableEntry> result = new ArrayList<>(teamIds.cardinality());
+		
+		for (int teamId = teamIds.nextSetBit(0); teamId >= 0; teamId = teamIds.nextSetBit(teamId + 1)) {
+			int played = won[teamId] + drawn[teamId] + lost[teamId];
+			
+			// the played, goal difference and points are derived from the other values
+			result.add(new LeagueTableEntry(registry.nameOf(teamId), played, won[teamId], drawn[teamId], lost[teamId],
+					goalsFor[teamId], goalsAgainst[teamId], 0, 0));
+		}
+		
+		result.sort(Comparator.reverseOrder());
+		
+		return result;
+	}
+	
+	private List<StatisticsEntry> teamEntries(final int[] matches, final int[] totals) {
+		List<StatisticsEntry> result = new ArrayList<>(teamIds.cardinality());
+		
+		for (int teamId = teamIds.nextSetBit(0); teamId >= 0; teamId = teamIds.nextSetBit(teamId + 1)) {
+			result.add(new StatisticsEntry(registry.nameOf(teamId), matches[teamId], totals[teamId]));
+		}
+		
+		return result;
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.statistics;
+
+/**
+ * This enumeration represents the match statistics of a football-data file, each recorded for the home team and the away team
+ * in a pair of columns, e.g. HS and AS for shots.
+ *
+ * @author Paul Parlett
+ *
+ */
+public enum Statistic {
+	
+	GOALS("FTHG", "FTAG"),
+	HALF_TIME_GOALS("HTHG", "HTAG"),
+	SHOTS("HS", "AS"),
+	SHOTS_ON_TARGET("HST", "AST"),
+	FOULS("HF", "AF"),
+	CORNERS("HC", "AC"),
+	YELLOW_CARDS("HY", "AY"),
+	RED_CARDS("HR", "AR");
+	
+	private final String homeColumnName;
+	private final String awayColumnName;
+	
+	Statistic(final String homeColumnName, final String awayColumnName) {
+		this.homeColumnName = homeColumnName;
+		this.awayColumnName = awayColumnName;
+	}
+	
+	/**
+	 * @return The name of the column of the statistic for the home team
+	 */
+	public String getHomeColumnName() {
+		return homeColumnName;
+	}
+	
+	/**
+	 * @return The name of the column of the statistic for the away team
+	 */
+	public String getAwayColumnName() {
+		return awayColumnName;
+	}
+
+}
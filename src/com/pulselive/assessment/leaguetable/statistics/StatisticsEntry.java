@@ -0,0 +1,58 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.statistics;
+
+/**
+ * This class represents an entry of a statistics table, e.g. a leaderboard, the total of a statistic for a team or referee over
+ * the matches in which it was recorded.
+ *
+ * @author Paul Parlett
+ *
+ */
+public final class StatisticsEntry {
+	
+	private final String name;
+	private final int matches;
+	private final int total;
+	
+	StatisticsEntry(final String name, final int matches, final int total) {
+		this.name = name;
+		this.matches = matches;
+		this.total = total;
+	}
+	
+	/**
+	 * @return The name of the team or referee
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * @return The number of matches in which the statistic was recorded
+	 */
+	public int getMatches() {
+		return matches;
+	}
+	
+	public int getTotal() {
+		return total;
+	}
+	
+	/**
+	 * @return The mean of the statistic per match, or 0 if there are no matches
+	 */
+	public double getPerMatch() {
+		return (matches == 0) ? 0 : (double) total / matches;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "StatisticsEntry [name=" + name + ", matches=" + matches + ", total=" + total + "]";
+	}
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class represents a reusable buffer of UTF-8 encoded text, to which strings and integers are appended without the
+ * intermediate strings of {@link String#format(String, Object...)} or {@link StringBuilder}. The buffer grows to hold the
+ * longest text and is reused after it is cleared, so rendering into it does not allocate once it has grown.
+ * An instance must not be shared between threads.
+ *
+ * @author Paul Parlett
+ *
+ */
+public final class TextBuffer {
+	
+	private static final int DEFAULT_CAPACITY = 4 * 1024;
+	
+	private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+	
+	private byte[] bytes;
+	private int length;
+	
+	/**
+	 * Whether all of the bytes are ASCII, in which case they are also the chars of the text.
+	 */
+	private boolean ascii = true;
+	
+	private char[] chars;
+	
+	/**
+	 * Construct a TextBuffer with the default capacity.
+	 */
+	public TextBuffer() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Construct a TextBuffer.
+	 * @param capacity The initial capacity in bytes
+	 */
+	public TextBuffer(final int capacity) {
+		this.bytes = new byte[ParamUtils.checkNumber(capacity)];
+	}
+	
+	/**
+	 * Append an ASCII character.
+	 * @param c The character, which must be ASCII
+	 * @return This buffer
+	 */
+	public TextBuffer append(final char c) {
+		ensureCapacity(length + 1);
+		
+		bytes[length++] = (byte) c;
+		
+		return this;
+	}
+	
+	/**
+	 * Append the UTF-8 encoding of a string, an unpaired surrogate is encoded as '?'.
+	 * @param s The string
+	 * @return This buffer
+	 */
+	public TextBuffer append(final CharSequence s) {
+		int n = s.length();
+		
+		ensureCapacity(length + n);
+		
+		for (int i = 0; i < n; i++) {
+			char c = s.charAt(i);
+			
+			if (c < 0x80) {
+				bytes[length++] = (byte) c;
+			} else {
+				i = appendNonAscii(s, i);
+			}
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Append a string followed by spaces to the given width, as by the format "%-<width>s".
+	 * @param s The string
+	 * @param width The minimum width in characters
+	 * @return This buffer
+	 */
+	public TextBuffer appendPadded(final CharSequence s, final int width) {
+		return append(s).appendSpaces(width - s.length());
+	}
+	
+	/**
+	 * Append the decimal digits of an integer, preceded by '-' if it is negative.
+	 * @param value The integer
+	 * @return This buffer
+	 */
+	public TextBuffer append(final int value) {
+		if (value == Integer.MIN_VALUE) {
+			return append(Integer.toString(value));
+		}
+		
+		int magnitude = Math.abs(value);
+		int digits = digits(magnitude);
+		int end = length + digits + ((value < 0) ? 1 : 0);
+		
+		ensureCapacity(end);
+		
+		if (value < 0) {
+			bytes[length] = '-';
+		}
+		
+		for (int i = end - 1; i >= end - digits; i--) {
+			bytes[i] = (byte) ('0' + magnitude % 10);
+			magnitude /= 10;
+		}
+		
+		length = end;
+		
+		return this;
+	}
+	
+	/**
+	 * Append an integer followed by spaces to the given width, as by the format "%-<width>d".
+	 * @param value The integer
+	 * @param width The minimum width in characters
+	 * @return This buffer
+	 */
+	public TextBuffer appendPadded(final int value, final int width) {
+		int start = length;
+		
+		return append(value).appendSpaces(width - (length - start));
+	}
+	
+	/**
+	 * Append a character as a JSON unicode escape, i.e. a backslash and 'u' followed by four hexadecimal digits.
+	 * @param c The character
+	 * @return This buffer
+	 */
+	public TextBuffer appendUnicodeEscape(final char c) {
+		ensureCapacity(length + 6);
+		
+		bytes[length++] = '\\';
+		bytes[length++] = 'u';
+		
+		for (int shift = 12; shift >= 0; shift -= 4) {
+			bytes[length++] = HEX_DIGITS[(c >> shift) & 0xF];
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Append spaces.
+	 * @param count The number of spaces, nothing is appended if it is not positive
+	 * @return This buffer
+	 */
+	public TextBuffer appendSpaces(final int count) {
+		if (count > 0) {
+			ensureCapacity(length + count);
+			
+			for (int i = 0; i < count; i++) {
+				bytes[length++] = ' ';
+			}
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * @return The number of bytes in the buffer
+	 */
+	public int length() {
+		return length;
+	}
+	
+	/**
+	 * @return The array backing the buffer, valid up to {@link TextBuffer#length()} and only until the buffer is next appended to
+	 */
+	public byte[] array() {
+		return bytes;
+	}
+	
+	/**
+	 * Clear the buffer for reuse, its capacity is retained.
+	 * @return This buffer
+	 */
+	public TextBuffer clear() {
+		length = 0;
+		ascii = true;
+		
+		return this;
+	}
+	
+	/**
+	 * Write the bytes of the buffer to an output stream.
+	 * @param out The output stream
+	 * @throws IOException The IOException which may occur
+	 */
+	public void writeTo(final OutputStream out) throws IOException {
+		out.write(bytes, 0, length);
+	}
+	
+	/**
+	 * Write the text of the buffer to a writer, ASCII text is copied without being decoded.
+	 * @param writer The writer
+	 * @throws IOException The IOException which may occur
+	 */
+	public void writeTo(final Writer writer) throws IOException {
+		if (!ascii) {
+			writer.write(toString());
+			return;
+		}
+		
+		if ((chars == null) || (chars.length < length)) {
+			chars = new char[bytes.length];
+		}
+		
+		for (int i = 0; i < length; i++) {
+			chars[i] = (char) bytes[i];
+		}
+		
+		writer.write(chars, 0, length);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return new String(bytes, 0, length, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Append the UTF-8 encoding of the non-ASCII character at an index of a string.
+	 * @return The index of the last character encoded, which is the next index for a surrogate pair
+	 */
+	private int appendNonAscii(final CharSequence s, final int index) {
+		char c = s.charAt(index);
+		
+		ensureCapacity(length + 4 + (s.length() - index - 1));
+		
+		ascii = false;
+		
+		if (c < 0x800) {
+			bytes[length++] = (byte) (0xC0 | (c >> 6));
+			bytes[length++] = (byte) (0x80 | (c & 0x3F));
+		} else if (!Character.isSurrogate(c)) {
+			bytes[length++] = (byte) (0xE0 | (c >> 12));
+			bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+			bytes[length++] = (byte) (0x80 | (c & 0x3F));
+		} else if (Character.isHighSurrogate(c) && (index + 1 < s.length()) && Character.isLowSurrogate(s.charAt(index + 1))) {
+			int codePoint = Character.toCodePoint(c, s.charAt(index + 1));
+			
+			bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+			bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+			bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+			bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+			
+			return index + 1;
+		} else {
+			bytes[length++] = '?';
+		}
+		
+		return index;
+	}
+	
+	private void ensureCapacity(final int capacity) {
+		if (capacity > bytes.length) {
+			byte[] larger = new byte[Math.max(capacity, bytes.length * 2)];
+			
+			System.arraycopy(bytes, 0, larger, 0, length);
+			
+			bytes = larger;
+		}
+	}
+	
+	private static int digits(final int magnitude) {
+		int digits = 1;
+		
+		for (int limit = 10; (digits < 10) && (magnitude >= limit); limit *= 10) {
+			digits++;
+		}
+		
+		return digits;
+	}
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.util.FileUtils;
+
+/**
+ * This class comprises the test cases for the ConcurrentLeagueTable class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class ConcurrentLeagueTableTest {
+
+	/*
+	 * Downloaded from http://www.football-data.co.uk/englandm.php
+	 */
+	private static final File MATCH_FILE = new File("data/english_premier_league_results_2017_2018.csv");
+	
+	private static final int NUMBER_OF_WRITERS = 4;
+	
+	private List<Match> matches;
+	
+	@Before
+	public void setUp() throws IOException {
+		matches = FileUtils.readMatchFile(MATCH_FILE);
+	}
+
+	@Test
+	public void testApply() {
+		ConcurrentLeagueTable leagueTable = new ConcurrentLeagueTable(LeagueFormat.PREMIER_LEAGUE);
+		
+		matches.forEach(leagueTable::apply);
+		
+		assertEquals(matches.size(), leagueTable.getVersion());
+		assertEquals(new LeagueTable(matches).getTableEntries(), leagueTable.getTableEntries());
+		
+		ConcurrentLeagueTable.Snapshot snapshot = leagueTable.getSnapshot();
+		
+		assertSame(snapshot, leagueTable.getSnapshot());
+		assertEquals(1, snapshot.getPosition("Man City"));
+		assertEquals(0, snapshot.getPosition("Leeds"));
+	}
+
+	@Test
+	public void testReplace() {
+		ConcurrentLeagueTable leagueTable = new ConcurrentLeagueTable();
+		
+		leagueTable.apply(new Match("Arsenal", "Spurs", 0, 0));
+		leagueTable.replace(new Match("Arsenal", "Spurs", 0, 0), new Match("Arsenal", "Spurs", 1, 0));
+		
+		assertEquals(3, leagueTable.getSnapshot().getTableEntries().get(0).getPoints());
+		
+		leagueTable.revert(new Match("Arsenal", "Spurs", 1, 0));
+		
+		assertEquals(0, leagueTable.getTableEntries().get(0).getPlayed());
+		assertEquals(3, leagueTable.getVersion());
+	}
+
+	/**
+	 * The away team's totals would be out of range, so the home team's result is undone.
+	 */
+	@Test
+	public void testApplyRejectedAwayTeam() {
+		ConcurrentLeagueTable leagueTable = new ConcurrentLeagueTable();
+		
+		leagueTable.apply(new Match("Chelsea", "Spurs", 30000, 30000));
+		leagueTable.apply(new Match("Spurs", "Chelsea", 30000, 30000));
+		leagueTable.apply(new Match("Arsenal", "Chelsea", 1, 0));
+		
+		List<LeagueTableEntry> before = leagueTable.getTableEntries();
+		
+		try {
+			leagueTable.apply(new Match("Arsenal", "Spurs", 0, 6000));
+			fail("expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		
+		assertEquals(3, leagueTable.getVersion());
+		assertEquals(before, leagueTable.getTableEntries());
+		assertEquals("Arsenal", leagueTable.getTableEntries().get(0).getTeamName());
+		assertEquals(1, leagueTable.getTableEntries().get(0).getPlayed());
+	}
+
+	/**
+	 * The entries created for a rejected match are removed, including from the snapshot.
+	 */
+	@Test
+	public void testApplyRejectedNewTeams() {
+		ConcurrentLeagueTable leagueTable = new ConcurrentLeagueTable();
+		
+		leagueTable.apply(new Match("Arsenal", "Spurs", 1, 0));
+		
+		try {
+			leagueTable.apply(new Match("Leeds", "Spurs", 70000, 0));
+			fail("expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		
+		ConcurrentLeagueTable.Snapshot snapshot = leagueTable.getSnapshot();
+		
+		assertEquals(2, snapshot.getTableEntries().size());
+		assertEquals(0, snapshot.getPosition("Leeds"));
+		assertEquals(1, snapshot.getTableEntries().get(1).getPlayed());
+	}
+
+	/**
+	 * The corrected result is rejected, so the previous result remains.
+	 */
+	@Test
+	public void testReplaceRejected() {
+		ConcurrentLeagueTable leagueTable = new ConcurrentLeagueTable();
+		
+		leagueTable.apply(new Match("Arsenal", "Spurs", 2, 1));
+		
+		List<LeagueTableEntry> before = leagueTable.getTableEntries();
+		
+		try {
+			leagueTable.replace(new Match("Arsenal", "Spurs", 2, 1), new Match("Arsenal", "Spurs", 2, 70000));
+			fail("expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		
+		assertEquals(1, leagueTable.getVersion());
+		assertEquals(before, leagueTable.getTableEntries());
+		assertEquals(3, leagueTable.getTableEntries().get(0).getPoints());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testSnapshotReadOnly() {
+		ConcurrentLeagueTable leagueTable = new ConcurrentLeagueTable();
+		
+		leagueTable.apply(new Match("Arsenal", "Spurs", 1, 0));
+		
+		leagueTable.getSnapshot().getTableEntries().get(0).setWon(0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRevertNotApplied() {
+		ConcurrentLeagueTable leagueTable = new ConcurrentLeagueTable();
+		
+		leagueTable.apply(new Match("Arsenal", "Spurs", 0, 0));
+		leagueTable.revert(new Match("Arsenal", "Chelsea", 0, 0));
+	}
+
+	/**
+	 * Apply the matches from several writers while reading snapshots, every snapshot must be consistent, i.e. the number of 
+	 * matches played at home equals the number played away, so the total played is even and the goals for equal the goals against.
+	 * 
+	 * @throws Exception The Exception which may occur
+	 */
+	@Test
+	public void testConcurrentWritersAndReaders() throws Exception {
+		ConcurrentLeagueTable leagueTable = new ConcurrentLeagueTable(LeagueFormat.PREMIER_LEAGUE);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_WRITERS + 1);
+		AtomicBoolean writing = new AtomicBoolean(true);
+		
+		try {
+			Future<Integer> reader = executor.submit(() -> {
+				int snapshots = 0;
+				
+				while (writing.get()) {
+					ConcurrentLeagueTable.Snapshot snapshot = leagueTable.getSnapshot();
+					
+					int played = 0;
+					int goalsFor = 0;
+					int goalsAgainst = 0;
+					
+					for (LeagueTableEntry tableEntry : snapshot.getTableEntries()) {
+						played += tableEntry.getPlayed();
+						goalsFor += tableEntry.getGoalsFor();
+						goalsAgainst += tableEntry.getGoalsAgainst();
+					}
+					
+					assertEquals(2 * snapshot.getVersion(), played);
+					assertEquals(goalsFor, goalsAgainst);
+					
+					snapshots++;
+				}
+				
+				return snapshots;
+			});
+			
+			Future<?>[] writers = new Future<?>[NUMBER_OF_WRITERS];
+			
+			for (int i = 0; i < NUMBER_OF_WRITERS; i++) {
+				final int writer = i;
+				
+				writers[i] = executor.submit(() -> {
+					for (int j = writer; j < matches.size(); j += NUMBER_OF_WRITERS) {
+						leagueTable.apply(matches.get(j));
+					}
+				});
+			}
+			
+			for (Future<?> writer : writers) {
+				writer.get();
+			}
+			
+			writing.set(false);
+			
+			assertTrue(reader.get() > 0);
+		} finally {
+			executor.shutdown();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		
+		assertEquals(new LeagueTable(matches).getTableEntries(), leagueTable.getTableEntries());
+	}
+
+}
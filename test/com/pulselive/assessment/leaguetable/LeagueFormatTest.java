@@ -0,0 +1,51 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * This class comprises the test cases for the LeagueFormat class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class LeagueFormatTest {
+
+	@Test
+	public void testNumberOfMatches() {
+		assertEquals(380, LeagueFormat.PREMIER_LEAGUE.getNumberOfMatches());
+		assertEquals(552, LeagueFormat.CHAMPIONSHIP.getNumberOfMatches());
+		assertEquals(12, LeagueFormat.GROUP_OF_FOUR.getNumberOfMatches());
+		assertEquals(28, new LeagueFormat(8, 1).getNumberOfMatches());
+		assertEquals(198, new LeagueFormat(12, 3).getNumberOfMatches());
+		assertEquals(33, new LeagueFormat(12, 3).getMatchesPerTeam());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCheckNumberOfMatches() {
+		LeagueFormat.PREMIER_LEAGUE.checkNumberOfMatches(379);
+	}
+
+	@Test
+	public void testIsComplete() {
+		LeagueFormat format = new LeagueFormat(3, 1);
+		
+		LeagueTable table = new LeagueTable(format, Arrays.asList(new Match("Arsenal", "Chelsea", 1, 0), new Match("Chelsea", "Everton", 1, 0)));
+		
+		assertEquals(format, table.getFormat());
+		assertFalse(table.isComplete());
+		
+		table.apply(new Match("Everton", "Arsenal", 1, 0));
+		
+		assertTrue(table.isComplete());
+	}
+
+}
@@ -152,4 +152,123 @@ public class LeagueTableEntryTest {
 		assertEquals(won + 0, spurs.getWon());
 	}
 
+	@Test
+	public void testRevertHomeMatch() {
+		LeagueTableEntry arsenal = new LeagueTableEntry("Arsenal", 8, 2, 0, 20, 5);
+		
+		Match match = new Match("Arsenal", "Tottenham Hotspur", 3, 1);
+		
+		arsenal.playedHomeMatch(match);
+		arsenal.revertHomeMatch(match);
+		
+		assertEquals(8, arsenal.getWon());
+		assertEquals(2, arsenal.getDrawn());
+		assertEquals(0, arsenal.getLost());
+		assertEquals(20, arsenal.getGoalsFor());
+		assertEquals(5, arsenal.getGoalsAgainst());
+	}
+	
+	@Test
+	public void testRevertAwayMatch() {
+		LeagueTableEntry spurs = new LeagueTableEntry("Tottenham Hotspur", 0, 3, 7, 8, 25);
+		
+		Match match = new Match("Arsenal", "Tottenham Hotspur", 3, 1);
+		
+		spurs.playedAwayMatch(match);
+		spurs.revertAwayMatch(match);
+		
+		assertEquals(0, spurs.getWon());
+		assertEquals(3, spurs.getDrawn());
+		assertEquals(7, spurs.getLost());
+		assertEquals(8, spurs.getGoalsFor());
+		assertEquals(25, spurs.getGoalsAgainst());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testRevertMatchNotPlayed() {
+		LeagueTableEntry arsenal = new LeagueTableEntry("Arsenal");
+		
+		arsenal.revertHomeMatch(new Match("Arsenal", "Tottenham Hotspur", 3, 1));
+	}
+	
+	@Test
+	public void testMerge() {
+		LeagueTableEntry arsenal = new LeagueTableEntry("Arsenal", 10, 5, 3, 30, 15);
+		LeagueTableEntry other = new LeagueTableEntry("Arsenal", 2, 1, 0, 5, 1);
+		
+		arsenal.merge(other);
+		
+		assertEquals(21, arsenal.getPlayed());
+		assertEquals(12, arsenal.getWon());
+		assertEquals(6, arsenal.getDrawn());
+		assertEquals(3, arsenal.getLost());
+		assertEquals(35, arsenal.getGoalsFor());
+		assertEquals(16, arsenal.getGoalsAgainst());
+		assertEquals(42, arsenal.getPoints());
+		assertEquals(new LeagueTableEntry("Arsenal", 12, 6, 3, 35, 16).getRankingKey(), arsenal.getRankingKey());
+		assertEquals(3, other.getPlayed());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testMergeOtherTeam() {
+		new LeagueTableEntry("Arsenal").merge(new LeagueTableEntry("Tottenham Hotspur"));
+	}
+
+	/**
+	 * A result which would take the totals out of the range of the ranking key leaves the entry unchanged.
+	 */
+	@Test
+	public void testPlayedMatchOverflow() {
+		LeagueTableEntry arsenal = new LeagueTableEntry("Arsenal", 10, 5, 3, 60000, 30000);
+		
+		String before = arsenal.toString();
+		long rankingKey = arsenal.getRankingKey();
+		
+		try {
+			arsenal.playedHomeMatch(new Match("Arsenal", "Tottenham Hotspur", 6000, 0));
+			fail("expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		
+		try {
+			arsenal.playedAwayMatch(new Match("Tottenham Hotspur", "Arsenal", 0, 6000));
+			fail("expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		
+		assertEquals(before, arsenal.toString());
+		assertEquals(rankingKey, arsenal.getRankingKey());
+	}
+
+	/**
+	 * A value set which is out of the range of the ranking key leaves the entry unchanged.
+	 */
+	@SuppressWarnings("deprecation")
+	@Test
+	public void testSetterOverflow() {
+		LeagueTableEntry arsenal = new LeagueTableEntry("Arsenal", 10, 5, 3, 60000, 30000);
+		LeagueTableEntry copy = new LeagueTableEntry("Arsenal", 10, 5, 3, 60000, 30000);
+		
+		try {
+			arsenal.setGoalsFor(70000);
+			fail("expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		
+		try {
+			arsenal.setWon(30000);
+			fail("expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		
+		assertEquals(copy, arsenal);
+		assertEquals(0, arsenal.compareTo(copy));
+		assertEquals(60000, arsenal.getGoalsFor());
+		assertEquals(copy.getRankingKey(), arsenal.getRankingKey());
+	}
+
 }
@@ -6,10 +6,17 @@ package com.pulselive.assessment.leaguetable;
 import static com.pulselive.assessment.leaguetable.util.FileUtils.readLeagueTableFile;
 import static com.pulselive.assessment.leaguetable.util.FileUtils.readMatchFile;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 
@@ -58,9 +65,224 @@ public class LeagueTableTest {
 		}
 	}
 
+	/**
+	 * Apply the matches one at a time to an empty LeagueTable and check the table is the same as that constructed from the list of matches.
+	 * 
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testApply() throws IOException {
+		List<Match> matches = readMatchFile(MATCH_FILE);
+		
+		LeagueTable expectedTable = new LeagueTable(matches);
+		
+		LeagueTable myTable = new LeagueTable();
+		matches.forEach(myTable::apply);
+		
+		assertEquals(expectedTable.getTableEntries(), myTable.getTableEntries());
+	}
+
+	@Test
+	public void testRevert() {
+		Match first = new Match("Arsenal", "Tottenham Hotspur", 3, 1);
+		Match second = new Match("Tottenham Hotspur", "Chelsea", 2, 0);
+		
+		LeagueTable expectedTable = new LeagueTable(Arrays.asList(first));
+		
+		LeagueTable myTable = new LeagueTable(Arrays.asList(first, second));
+		myTable.revert(second);
+		
+		assertEquals(expectedTable.getTableEntry("Arsenal"), myTable.getTableEntry("Arsenal"));
+		assertEquals(expectedTable.getTableEntry("Tottenham Hotspur"), myTable.getTableEntry("Tottenham Hotspur"));
+		assertEquals(1, myTable.getTableEntry("Tottenham Hotspur").getLost());
+		assertEquals(0, myTable.getTableEntry("Chelsea").getPlayed());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRevertNotApplied() {
+		LeagueTable myTable = new LeagueTable(Arrays.asList(new Match("Arsenal", "Tottenham Hotspur", 3, 1)));
+		
+		myTable.revert(new Match("Arsenal", "Tottenham Hotspur", 1, 1));
+	}
+
+	@Test
+	public void testReplace() {
+		Match original = new Match("Arsenal", "Tottenham Hotspur", 3, 1);
+		Match corrected = new Match("Arsenal", "Tottenham Hotspur", 3, 3);
+		
+		LeagueTable expectedTable = new LeagueTable(Arrays.asList(corrected));
+		
+		LeagueTable myTable = new LeagueTable(Arrays.asList(original));
+		myTable.replace(original, corrected);
+		
+		assertEquals(expectedTable.getTableEntries(), myTable.getTableEntries());
+		assertEquals(1, myTable.getTableEntry("Arsenal").getDrawn());
+		assertEquals(0, myTable.getTableEntry("Arsenal").getWon());
+	}
+
+	@Test
+	public void testCachedTableEntries() {
+		LeagueTable myTable = new LeagueTable(Arrays.asList(new Match("Arsenal", "Tottenham Hotspur", 3, 1)));
+		
+		List<LeagueTableEntry> tableEntries = myTable.getTableEntries();
+		
+		assertSame(tableEntries, myTable.getTableEntries());
+		
+		myTable.apply(new Match("Tottenham Hotspur", "Arsenal", 2, 0));
+		
+		assertNotSame(tableEntries, myTable.getTableEntries());
+		assertEquals(1, tableEntries.get(0).getPlayed());
+		assertEquals(2, myTable.getTableEntries().get(0).getPlayed());
+		assertEquals("Tottenham Hotspur", myTable.getTableEntries().get(0).getTeamName());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testTableEntriesUnmodifiable() {
+		LeagueTable myTable = new LeagueTable(Arrays.asList(new Match("Arsenal", "Tottenham Hotspur", 3, 1)));
+		
+		myTable.getTableEntries().clear();
+	}
+
+	@Test
+	public void testTableEntriesReadOnly() {
+		Match match = new Match("Arsenal", "Tottenham Hotspur", 3, 1);
+		LeagueTable myTable = new LeagueTable(Arrays.asList(match));
+		
+		LeagueTableEntry tableEntry = myTable.getTableEntries().get(0);
+		
+		assertTrue(tableEntry.isReadOnly());
+		
+		try {
+			tableEntry.setWon(2);
+			fail("expected UnsupportedOperationException");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		
+		try {
+			myTable.getTableEntry("Arsenal").playedHomeMatch(match);
+			fail("expected UnsupportedOperationException");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		
+		assertEquals(1, myTable.getTableEntry("Arsenal").getPlayed());
+		assertEquals(3, myTable.getTableEntry("Arsenal").getPoints());
+		assertNull(myTable.getTableEntry("Chelsea"));
+		
+		LeagueTableEntry copy = new LeagueTableEntry(tableEntry);
+		
+		copy.playedHomeMatch(match);
+		
+		assertEquals(2, copy.getPlayed());
+	}
+
+	/**
+	 * Merge the tables of the two halves of the season and check the table is the same as that of the whole season.
+	 * 
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testMerge() throws IOException {
+		List<Match> matches = readMatchFile(MATCH_FILE);
+		
+		LeagueTable expectedTable = new LeagueTable(matches);
+		
+		LeagueTable firstHalf = new LeagueTable(matches.subList(0, 190));
+		LeagueTable secondHalf = new LeagueTable(matches.subList(190, matches.size()));
+		
+		LeagueTable myTable = new LeagueTable(firstHalf).merge(secondHalf);
+		
+		assertEquals(expectedTable.getTableEntries(), myTable.getTableEntries());
+		assertEquals(expectedTable.getHomeTableEntries(), myTable.getHomeTableEntries());
+		assertEquals(expectedTable.getFormTableEntries(), myTable.getFormTableEntries());
+		assertEquals(new LeagueTable(matches.subList(0, 190)).getTableEntries(), firstHalf.getTableEntries());
+		
+		// a result from either partial table can be reverted from the merged table
+		myTable.revert(matches.get(0));
+		
+		assertEquals(new LeagueTable(matches.subList(1, matches.size())).getTableEntries(), myTable.getTableEntries());
+	}
+
+	@Test
+	public void testCollector() throws IOException {
+		List<Match> matches = readMatchFile(MATCH_FILE);
+		
+		LeagueTable expectedTable = new LeagueTable(matches);
+		
+		LeagueTable myTable = matches.parallelStream().collect(LeagueTable.toLeagueTable(LeagueFormat.PREMIER_LEAGUE));
+		
+		assertEquals(LeagueFormat.PREMIER_LEAGUE, myTable.getFormat());
+		assertEquals(expectedTable.getTableEntries(), myTable.getTableEntries());
+		assertEquals(expectedTable.getFormTableEntries(), myTable.getFormTableEntries());
+	}
+
+	@Test
+	public void testMergeAll() throws IOException {
+		List<Match> matches = readMatchFile(MATCH_FILE);
+		
+		LeagueTable season = matches.stream().collect(LeagueTable.toLeagueTable());
+		
+		LeagueTable myTable = LeagueTable.mergeAll(Arrays.asList(season, season, season));
+		
+		LeagueTableEntry tableEntry = myTable.getTableEntry("Man City");
+		
+		assertEquals(3 * 38, tableEntry.getPlayed());
+		assertEquals(3 * season.getTableEntry("Man City").getPoints(), tableEntry.getPoints());
+		assertEquals(season.getTableEntries().stream().map(LeagueTableEntry::getTeamName).collect(Collectors.toList()),
+				myTable.getTableEntries().stream().map(LeagueTableEntry::getTeamName).collect(Collectors.toList()));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testMergeTableEntries() throws IOException {
+		LeagueTable referenceTable = new LeagueTable(readLeagueTableFile(TABLE_FILE), 0);
+		
+		LeagueTable myTable = new LeagueTable(Arrays.asList(new Match("Arsenal", "Tottenham Hotspur", 3, 1))).merge(referenceTable);
+		
+		assertEquals(39, myTable.getTableEntry("Arsenal").getPlayed());
+		
+		myTable.getHomeTableEntries();
+	}
+
 	@Test
 	public void prettyPrint() throws IOException {
 		LeagueTable referenceTable = new LeagueTable(FileUtils.readLeagueTableFile(TABLE_FILE), 0);
 		referenceTable.prettyPrint();
 	}
+	
+	/**
+	 * A result which the away team's entry cannot take leaves the table unchanged, rather than applied to the home team only.
+	 */
+	@Test
+	public void testApplyOverflow() {
+		LeagueTable myTable = new LeagueTable(Arrays.asList(new Match("Burnley", "Everton", 30000, 0), new Match("Stoke", "Burnley", 30000, 30000)));
+		
+		String tableEntries = myTable.getTableEntries().toString();
+		String homeTableEntries = myTable.getHomeTableEntries().toString();
+		
+		try {
+			myTable.apply(new Match("Chelsea", "Burnley", 0, 6000));
+			fail("expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		
+		assertEquals(tableEntries, myTable.getTableEntries().toString());
+		assertEquals(homeTableEntries, myTable.getHomeTableEntries().toString());
+		
+		Match previous = new Match("Stoke", "Burnley", 30000, 30000);
+		
+		try {
+			myTable.replace(previous, new Match("Stoke", "Burnley", 30000, 36000));
+			fail("expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		
+		assertEquals(tableEntries, myTable.getTableEntries().toString());
+		
+		myTable.revert(previous);
+		
+		assertEquals(1, myTable.getTableEntry("Burnley").getPlayed());
+	}
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * This class comprises the test cases for the LiveLeagueTable class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class LiveLeagueTableTest {
+	
+	private static final String ARSENAL = "Arsenal";
+	private static final String CHELSEA = "Chelsea";
+	private static final String LIVERPOOL = "Liverpool";
+	private static final String SPURS = "Tottenham Hotspur";
+	
+	private final LeagueTable baseTable = new LeagueTable(Arrays.asList(
+			new Match(SPURS, ARSENAL, 2, 0), 
+			new Match(CHELSEA, LIVERPOOL, 1, 0)));
+
+	@Test
+	public void testGoalScored() {
+		LiveLeagueTable liveTable = new LiveLeagueTable(baseTable);
+		
+		liveTable.accept(MatchEvent.kickOff(ARSENAL, SPURS));
+		liveTable.accept(MatchEvent.goalScored(ARSENAL, SPURS, ARSENAL));
+		
+		assertTrue(liveTable.isInPlay(ARSENAL));
+		assertEquals(1, liveTable.getProvisionalMatch(ARSENAL).getHomeScore());
+		
+		LeagueTable expectedTable = new LeagueTable(baseTable);
+		expectedTable.apply(new Match(ARSENAL, SPURS, 1, 0));
+		
+		assertEquals(expectedTable.getTableEntries(), liveTable.getTableEntries());
+		
+		// the base table is not modified
+		assertEquals(1, baseTable.getTableEntry(ARSENAL).getPlayed());
+	}
+
+	@Test
+	public void testGoalDisallowed() {
+		LiveLeagueTable liveTable = new LiveLeagueTable(baseTable);
+		
+		liveTable.accept(MatchEvent.kickOff(LIVERPOOL, CHELSEA));
+		liveTable.accept(MatchEvent.goalScored(LIVERPOOL, CHELSEA, CHELSEA));
+		liveTable.accept(MatchEvent.goalDisallowed(LIVERPOOL, CHELSEA, CHELSEA));
+		liveTable.accept(MatchEvent.fullTime(LIVERPOOL, CHELSEA));
+		
+		assertFalse(liveTable.isInPlay(LIVERPOOL));
+		assertEquals(1, liveTable.getTableEntries().stream().filter(e -> e.getTeamName().equals(CHELSEA)).findFirst().get().getDrawn());
+	}
+
+	@Test
+	public void testPositionChanges() {
+		LiveLeagueTable liveTable = new LiveLeagueTable(baseTable);
+		
+		assertEquals(0, liveTable.getPositionChanges().get(ARSENAL).intValue());
+		
+		liveTable.accept(MatchEvent.kickOff(ARSENAL, LIVERPOOL));
+		liveTable.accept(MatchEvent.goalScored(ARSENAL, LIVERPOOL, ARSENAL));
+		liveTable.accept(MatchEvent.goalScored(ARSENAL, LIVERPOOL, ARSENAL));
+		liveTable.accept(MatchEvent.goalScored(ARSENAL, LIVERPOOL, ARSENAL));
+		
+		Map<String, Integer> positionChanges = liveTable.getPositionChanges();
+		
+		// Arsenal move from 4th to 2nd above Chelsea on goals scored, Spurs stay top on goal difference
+		assertEquals(2, positionChanges.get(ARSENAL).intValue());
+		assertEquals(0, positionChanges.get(SPURS).intValue());
+		assertEquals(-1, positionChanges.get(CHELSEA).intValue());
+		assertEquals(-1, positionChanges.get(LIVERPOOL).intValue());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testGoalScoredAfterFullTime() {
+		LiveLeagueTable liveTable = new LiveLeagueTable(baseTable);
+		
+		liveTable.accept(MatchEvent.kickOff(ARSENAL, SPURS));
+		liveTable.accept(MatchEvent.fullTime(ARSENAL, SPURS));
+		liveTable.accept(MatchEvent.goalScored(ARSENAL, SPURS, ARSENAL));
+	}
+
+}
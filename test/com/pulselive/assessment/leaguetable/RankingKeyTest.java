@@ -0,0 +1,47 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * This class comprises the test cases for the RankingKey class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class RankingKeyTest {
+
+	@Test
+	public void testOrderedByPoints() {
+		assertTrue(RankingKey.of(1, -50, 0) > RankingKey.of(0, 50, 100));
+	}
+
+	@Test
+	public void testOrderedByGoalDifference() {
+		assertTrue(RankingKey.of(1, 0, 0) > RankingKey.of(1, -1, 100));
+	}
+
+	@Test
+	public void testOrderedByGoalsFor() {
+		assertTrue(RankingKey.of(1, 0, 2, 0) > RankingKey.of(1, 0, 1, RankingKey.MAX_ORDINAL));
+	}
+
+	@Test
+	public void testOrdinal() {
+		long key = RankingKey.of(10, -3, 7, 12);
+		
+		assertEquals(12, RankingKey.ordinal(key));
+		assertEquals(RankingKey.of(10, -3, 7), RankingKey.withoutOrdinal(key));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOutOfRange() {
+		RankingKey.of(1 << 16, 0, 0);
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.io.MatchFileReader;
+
+/**
+ * This class comprises the test cases for the SeasonHistory class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class SeasonHistoryTest {
+
+	/*
+	 * Downloaded from http://www.football-data.co.uk/englandm.php
+	 */
+	private static final Path MATCH_FILE = Paths.get("data/english_premier_league_results_2017_2018.csv");
+	
+	private static final LocalDate BOXING_DAY = LocalDate.of(2017, 12, 26);
+
+	/**
+	 * Check the table as of each of a number of dates is the same as that constructed from the matches filtered by date, for several checkpoint intervals.
+	 * 
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testGetTableEntriesAsOf() throws IOException {
+		List<DatedMatch> matches = MatchFileReader.readDatedMatches(MATCH_FILE);
+		
+		assertEquals(LeagueFormat.PREMIER_LEAGUE.getNumberOfMatches(), matches.size());
+		
+		for (int checkpointInterval : new int[] { 1, 3, SeasonHistory.DEFAULT_CHECKPOINT_INTERVAL, 1000 }) {
+			SeasonHistory history = new SeasonHistory(matches, checkpointInterval);
+			
+			for (LocalDate date : Arrays.asList(LocalDate.of(2017, 8, 1), LocalDate.of(2017, 8, 12), BOXING_DAY, LocalDate.of(2018, 3, 1), LocalDate.of(2018, 6, 1))) {
+				List<Match> played = matches.stream().filter(m -> !m.getDate().isAfter(date)).map(DatedMatch::getMatch).collect(Collectors.toList());
+				
+				List<String> expected = standingsOf(history.getRegistry(), played).getTableEntries().stream()
+						.map(LeagueTableEntry::getTeamName).collect(Collectors.toList());
+				
+				List<LeagueTableEntry> tableEntries = history.getTableEntriesAsOf(date);
+				
+				assertEquals(expected, tableEntries.stream().map(LeagueTableEntry::getTeamName).collect(Collectors.toList()));
+				assertEquals(played.size() * 2, tableEntries.stream().mapToInt(LeagueTableEntry::getPlayed).sum());
+			}
+		}
+	}
+	
+	private static StandingsStore standingsOf(final TeamRegistry registry, final List<Match> played) {
+		StandingsStore result = new StandingsStore(registry);
+		
+		played.forEach(match -> result.apply(IndexedMatch.of(match, registry)));
+		
+		return result;
+	}
+
+	@Test
+	public void testPositionHistory() throws IOException {
+		SeasonHistory history = new SeasonHistory(MatchFileReader.readDatedMatches(MATCH_FILE));
+		
+		int[] positions = history.getPositionHistory("Man City");
+		
+		assertEquals(history.getMatchdays().size(), positions.length);
+		assertEquals(1, positions[positions.length - 1]);
+		assertEquals(1, history.getPositionAsOf("Man City", BOXING_DAY));
+		assertEquals(0, history.getPositionAsOf("Man City", LocalDate.of(2017, 1, 1)));
+	}
+
+	/**
+	 * The registry is shared by the standings returned, so a team may not be added to it.
+	 * 
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testRegistryReadOnly() throws IOException {
+		SeasonHistory history = new SeasonHistory(MatchFileReader.readDatedMatches(MATCH_FILE));
+		
+		TeamRegistry registry = history.getRegistry();
+		StandingsStore standings = history.getStandingsAsOf(BOXING_DAY);
+		
+		assertTrue(registry.isReadOnly());
+		assertSame(registry, standings.getRegistry());
+		assertEquals(registry.idOf("Man City"), registry.register("Man City"));
+		
+		try {
+			standings.apply(IndexedMatch.of(new Match("Man City", "Leeds", 1, 0), registry));
+			
+			fail("team registered in a read-only registry");
+		} catch (UnsupportedOperationException e) {
+			assertEquals(TeamRegistry.NO_TEAM, registry.idOf("Leeds"));
+			assertEquals(20, registry.size());
+		}
+	}
+
+}
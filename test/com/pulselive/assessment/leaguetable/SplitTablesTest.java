@@ -0,0 +1,286 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static com.pulselive.assessment.leaguetable.util.FileUtils.readMatchFile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * This class comprises the test cases for the home, away and form tables of the LeagueTable class.
+ *
+ * @author Paul Parlett
+ *
+ */
+public class SplitTablesTest {
+	
+	/*
+	 * Downloaded from http://www.football-data.co.uk/englandm.php
+	 */
+	private static final File MATCH_FILE = new File("data/english_premier_league_results_2017_2018.csv");
+	
+	/**
+	 * Check the home and away tables are those of a separate pass over the home and away results of each team, and that they
+	 * add up to the overall table.
+	 *
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testHomeAndAway() throws IOException {
+		List<Match> matches = readMatchFile(MATCH_FILE);
+		
+		LeagueTable myTable = new LeagueTable(matches);
+		
+		Map<String, LeagueTableEntry> homeEntries = new HashMap<>();
+		Map<String, LeagueTableEntry> awayEntries = new HashMap<>();
+		
+		for (Match match : matches) {
+			homeEntries.computeIfAbsent(match.getHomeTeam(), LeagueTableEntry::new).playedHomeMatch(match);
+			awayEntries.computeIfAbsent(match.getAwayTeam(), LeagueTableEntry::new).playedAwayMatch(match);
+		}
+		
+		assertEquals(sorted(homeEntries.values()), myTable.getHomeTableEntries());
+		assertEquals(sorted(awayEntries.values()), myTable.getAwayTableEntries());
+		
+		for (LeagueTableEntry tableEntry : myTable.getTableEntries()) {
+			LeagueTableEntry homeEntry = homeEntries.get(tableEntry.getTeamName());
+			LeagueTableEntry awayEntry = awayEntries.get(tableEntry.getTeamName());
+			
+			assertEquals(tableEntry.getPlayed(), homeEntry.getPlayed() + awayEntry.getPlayed());
+			assertEquals(tableEntry.getPoints(), homeEntry.getPoints() + awayEntry.getPoints());
+		}
+	}
+	
+	/**
+	 * Check the form table is that of a separate pass over the last results of each team.
+	 *
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testForm() throws IOException {
+		List<Match> matches = readMatchFile(MATCH_FILE);
+		
+		LeagueTable myTable = new LeagueTable();
+		
+		Map<String, List<Match>> results = new HashMap<>();
+		
+		for (Match match : matches) {
+			myTable.apply(match);
+			
+			results.computeIfAbsent(match.getHomeTeam(), k -> new ArrayList<>()).add(match);
+			results.computeIfAbsent(match.getAwayTeam(), k -> new ArrayList<>()).add(match);
+		}
+		
+		assertEquals(LeagueTable.DEFAULT_FORM_LENGTH, myTable.getFormLength());
+		assertEquals(expectedForm(results, LeagueTable.DEFAULT_FORM_LENGTH), myTable.getFormTableEntries());
+	}
+	
+	/**
+	 * Check that reverting a recent result brings the result before the form back into it.
+	 */
+	@Test
+	public void testRevertForm() {
+		List<Match> matches = Arrays.asList(
+				new Match("Arsenal", "Chelsea", 0, 3),
+				new Match("Everton", "Arsenal", 1, 1),
+				new Match("Arsenal", "Burnley", 2, 0),
+				new Match("Arsenal", "Chelsea", 4, 1));
+		
+		LeagueTable myTable = new LeagueTable(2);
+		matches.forEach(myTable::apply);
+		
+		LeagueTableEntry form = myTable.getFormTableEntries().get(0);
+		
+		assertEquals("Arsenal", form.getTeamName());
+		assertEquals(2, form.getWon());
+		assertEquals(6, form.getGoalsFor());
+		
+		myTable.replace(matches.get(3), new Match("Arsenal", "Chelsea", 1, 1));
+		
+		form = entryOf(myTable.getFormTableEntries(), "Arsenal");
+		
+		assertEquals(1, form.getWon());
+		assertEquals(1, form.getDrawn());
+		assertEquals(3, form.getGoalsFor());
+		
+		myTable.revert(new Match("Arsenal", "Chelsea", 1, 1));
+		
+		form = entryOf(myTable.getFormTableEntries(), "Arsenal");
+		
+		assertEquals(2, form.getPlayed());
+		assertEquals(1, form.getWon());
+		assertEquals(1, form.getDrawn());
+		assertEquals(3, form.getGoalsFor());
+		assertEquals(0, entryOf(myTable.getHomeTableEntries(), "Chelsea").getPlayed());
+	}
+	
+	/**
+	 * Check that reverting an older result removes that result from the form, not a later result with the same score.
+	 */
+	@Test
+	public void testRevertRepeatedScore() {
+		List<Match> matches = new ArrayList<>(Arrays.asList(
+				new Match("Arsenal", "Burnley", 1, 0),
+				new Match("Everton", "Arsenal", 3, 3),
+				new Match("Arsenal", "Chelsea", 2, 2),
+				new Match("Watford", "Arsenal", 1, 1),
+				new Match("Arsenal", "Everton", 0, 0),
+				new Match("Stoke", "Arsenal", 4, 4),
+				new Match("Arsenal", "Watford", 2, 5),
+				new Match("Arsenal", "Stoke", 1, 0)));
+		
+		LeagueTable myTable = new LeagueTable(LeagueTable.DEFAULT_FORM_LENGTH);
+		matches.forEach(myTable::apply);
+		
+		myTable.revert(new Match("Arsenal", "Burnley", 1, 0));
+		
+		// W1 D4 L1 F10 A12, not W0 D5 L1 as if the later 1-0 win had been reverted
+		assertEquals(entryOf(expectedForm(matches.subList(1, matches.size())), "Arsenal").toString(),
+				entryOf(myTable.getFormTableEntries(), "Arsenal").toString());
+		
+		// the very instance applied is reverted, even if a later result of the same match has the same score
+		Match first = new Match("Arsenal", "Burnley", 2, 1);
+		Match second = new Match("Arsenal", "Burnley", 2, 1);
+		
+		myTable.apply(first);
+		matches.forEach(myTable::apply);
+		myTable.apply(second);
+		
+		myTable.revert(first);
+		
+		List<Match> expected = new ArrayList<>(matches.subList(1, matches.size()));
+		expected.addAll(matches);
+		expected.add(second);
+		
+		assertEquals(expectedForm(expected).toString(), myTable.getFormTableEntries().toString());
+	}
+	
+	/**
+	 * Check that a corrected result takes the place of the result it corrects in the form, rather than becoming the latest result.
+	 */
+	@Test
+	public void testReplaceOlderResult() {
+		List<Match> matches = new ArrayList<>(Arrays.asList(
+				new Match("Arsenal", "Burnley", 1, 0),
+				new Match("Everton", "Arsenal", 3, 3),
+				new Match("Arsenal", "Chelsea", 2, 2),
+				new Match("Burnley", "Everton", 0, 1),
+				new Match("Chelsea", "Everton", 1, 0)));
+		
+		LeagueTable myTable = new LeagueTable(2);
+		matches.forEach(myTable::apply);
+		
+		Match corrected = new Match("Everton", "Arsenal", 3, 2);
+		
+		myTable.replace(matches.get(1), corrected);
+		
+		matches.set(1, corrected);
+		
+		assertEquals(expectedForm(matches, 2).toString(), myTable.getFormTableEntries().toString());
+		assertEquals(sorted(new LeagueTable(matches).getTableEntries()), myTable.getTableEntries());
+	}
+	
+	/**
+	 * Reverting a result which could be in the overall table but not in the home and away tables leaves the tables unchanged.
+	 */
+	@Test
+	public void testRevertWrongVenue() {
+		LeagueTable myTable = new LeagueTable(Arrays.asList(new Match("Tottenham Hotspur", "Arsenal", 0, 1)));
+		
+		List<LeagueTableEntry> tableEntries = new ArrayList<>(myTable.getTableEntries());
+		List<LeagueTableEntry> homeTableEntries = myTable.getHomeTableEntries();
+		
+		try {
+			myTable.revert(new Match("Arsenal", "Tottenham Hotspur", 1, 0));
+			fail("expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		
+		assertEquals(tableEntries, myTable.getTableEntries());
+		assertSame(homeTableEntries, myTable.getHomeTableEntries());
+	}
+	
+	@Test
+	public void testCopy() {
+		LeagueTable myTable = new LeagueTable(Arrays.asList(new Match("Arsenal", "Tottenham Hotspur", 3, 1)));
+		
+		LeagueTable copy = new LeagueTable(myTable);
+		copy.apply(new Match("Arsenal", "Chelsea", 2, 2));
+		
+		assertEquals(1, entryOf(myTable.getHomeTableEntries(), "Arsenal").getPlayed());
+		assertEquals(2, entryOf(copy.getHomeTableEntries(), "Arsenal").getPlayed());
+		assertEquals(1, entryOf(myTable.getFormTableEntries(), "Arsenal").getPlayed());
+		assertEquals(2, entryOf(copy.getFormTableEntries(), "Arsenal").getPlayed());
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void testNoResults() {
+		LeagueTable myTable = new LeagueTable(Arrays.asList(new LeagueTableEntry("Arsenal")), 0);
+		
+		myTable.getFormTableEntries();
+	}
+	
+	private static List<LeagueTableEntry> expectedForm(final List<Match> matches) {
+		return expectedForm(matches, LeagueTable.DEFAULT_FORM_LENGTH);
+	}
+	
+	private static List<LeagueTableEntry> expectedForm(final List<Match> matches, final int formLength) {
+		Map<String, List<Match>> results = new HashMap<>();
+		
+		for (Match match : matches) {
+			results.computeIfAbsent(match.getHomeTeam(), k -> new ArrayList<>()).add(match);
+			results.computeIfAbsent(match.getAwayTeam(), k -> new ArrayList<>()).add(match);
+		}
+		
+		return expectedForm(results, formLength);
+	}
+	
+	private static List<LeagueTableEntry> expectedForm(final Map<String, List<Match>> results, final int formLength) {
+		List<LeagueTableEntry> result = new ArrayList<>();
+		
+		results.forEach((teamName, teamResults) -> {
+			LeagueTableEntry tableEntry = new LeagueTableEntry(teamName);
+			
+			for (Match match : teamResults.subList(Math.max(teamResults.size() - formLength, 0), teamResults.size())) {
+				if (match.getHomeTeam().equals(teamName)) {
+					tableEntry.playedHomeMatch(match);
+				} else {
+					tableEntry.playedAwayMatch(match);
+				}
+			}
+			
+			result.add(tableEntry);
+		});
+		
+		return sorted(result);
+	}
+	
+	private static List<LeagueTableEntry> sorted(final Iterable<LeagueTableEntry> tableEntries) {
+		List<LeagueTableEntry> result = new ArrayList<>();
+		
+		tableEntries.forEach(result::add);
+		
+		result.sort(Collections.reverseOrder());
+		
+		return result;
+	}
+	
+	private static LeagueTableEntry entryOf(final List<LeagueTableEntry> tableEntries, final String teamName) {
+		return tableEntries.stream().filter(tableEntry -> tableEntry.getTeamName().equals(teamName)).findFirst().get();
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static com.pulselive.assessment.leaguetable.util.FileUtils.readMatchFile;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * This class comprises the test cases for the StandingsStore class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class StandingsStoreTest {
+
+	/*
+	 * Downloaded from http://www.football-data.co.uk/englandm.php
+	 */
+	private static final File MATCH_FILE = new File("data/english_premier_league_results_2017_2018.csv");
+
+	@Test
+	public void testGetTableEntries() throws IOException {
+		List<Match> matches = readMatchFile(MATCH_FILE);
+		
+		TeamRegistry registry = new TeamRegistry(LeagueFormat.PREMIER_LEAGUE.getNumberOfTeams());
+		StandingsStore store = new StandingsStore(registry, LeagueFormat.PREMIER_LEAGUE);
+		
+		matches.forEach(match -> store.apply(IndexedMatch.of(match, registry)));
+		
+		assertEquals(LeagueFormat.PREMIER_LEAGUE.getNumberOfTeams(), registry.size());
+		assertEquals(new LeagueTable(matches).getTableEntries(), store.getTableEntries());
+	}
+
+	@Test
+	public void testApplyAndRevert() {
+		TeamRegistry registry = new TeamRegistry();
+		int arsenal = registry.register("Arsenal");
+		int spurs = registry.register("Tottenham Hotspur");
+		
+		assertEquals(arsenal, registry.register("Arsenal"));
+		assertEquals(TeamRegistry.NO_TEAM, registry.idOf("Chelsea"));
+		
+		StandingsStore store = new StandingsStore(registry);
+		
+		store.apply(arsenal, spurs, 3, 1);
+		store.apply(spurs, arsenal, 2, 2);
+		
+		assertEquals(4, store.getPoints(arsenal));
+		assertEquals(1, store.getPoints(spurs));
+		assertEquals(5, store.getGoalsAgainst(spurs));
+		
+		store.revert(spurs, arsenal, 2, 2);
+		
+		assertEquals(1, store.getPlayed(arsenal));
+		assertEquals(3, store.getPoints(arsenal));
+		assertEquals(-2, store.getGoalDifference(spurs));
+	}
+
+	@Test
+	public void testCopyFrom() {
+		TeamRegistry registry = new TeamRegistry();
+		
+		StandingsStore store = new StandingsStore(registry);
+		store.apply(IndexedMatch.of(new Match("Arsenal", "Tottenham Hotspur", 3, 1), registry));
+		
+		StandingsStore copy = new StandingsStore(registry);
+		copy.copyFrom(store);
+		
+		store.apply(IndexedMatch.of(new Match("Chelsea", "Arsenal", 1, 0), registry));
+		
+		assertEquals(1, copy.getPlayed(registry.idOf("Arsenal")));
+		assertEquals(0, copy.getPlayed(registry.idOf("Chelsea")));
+		assertEquals(2, store.getPlayed(registry.idOf("Arsenal")));
+	}
+
+	@Test
+	public void testRankSameAsCompareTo() {
+		TeamRegistry registry = new TeamRegistry();
+		
+		StandingsStore store = new StandingsStore(registry);
+		store.apply(IndexedMatch.of(new Match("Tottenham Hotspur", "Chelsea", 1, 1), registry));
+		store.apply(IndexedMatch.of(new Match("Arsenal", "Liverpool", 1, 1), registry));
+		store.apply(IndexedMatch.of(new Match("Burnley", "Everton", 2, 0), registry));
+		
+		List<LeagueTableEntry> tableEntries = store.getTableEntries();
+		
+		assertEquals("Burnley", tableEntries.get(0).getTeamName());
+		
+		for (int i = 1; i < tableEntries.size(); i++) {
+			String higher = tableEntries.get(i - 1).getTeamName();
+			String lower = tableEntries.get(i).getTeamName();
+			
+			assertTrue(tableEntries.get(i - 1).compareTo(tableEntries.get(i)) > 0);
+			assertTrue(store.getRankingKey(registry.idOf(higher)) > store.getRankingKey(registry.idOf(lower)));
+		}
+	}
+
+	/**
+	 * The registry is shared with another league, only the teams of this league are ranked.
+	 */
+	@Test
+	public void testSharedRegistry() {
+		TeamRegistry registry = new TeamRegistry();
+		registry.register("Leeds United");
+		
+		StandingsStore store = StandingsStore.of(new LeagueTable(Arrays.asList(new Match("Arsenal", "Chelsea", 2, 0))), registry);
+		
+		assertEquals(3, registry.size());
+		assertEquals(2, store.getNumberOfTeams());
+		assertFalse(store.contains(registry.idOf("Leeds United")));
+		assertEquals(2, store.rank().length);
+		assertEquals(2, store.getTableEntries().size());
+		
+		int everton = registry.register("Everton");
+		
+		store.addTeam(everton);
+		
+		assertEquals(3, store.getNumberOfTeams());
+		assertEquals("Everton", store.getTableEntries().get(1).getTeamName());
+		assertEquals(3, store.toLeagueTable().getNumberOfTeams());
+	}
+
+	/**
+	 * The tie-break ordinals are of the teams of this league, so the league is ranked however many teams the registry holds.
+	 */
+	@Test
+	public void testLargeRegistry() {
+		TeamRegistry registry = new TeamRegistry();
+		
+		for (int i = 0; i <= RankingKey.MAX_ORDINAL + 1; i++) {
+			registry.register("Team " + i);
+		}
+		
+		StandingsStore store = StandingsStore.of(new LeagueTable(Arrays.asList(new Match("Chelsea", "Everton", 1, 0))), registry);
+		StandingsStore copy = new StandingsStore(store);
+		
+		assertEquals("Chelsea", store.getTableEntries().get(0).getTeamName());
+		
+		copy.apply(registry.register("Arsenal"), registry.register("Burnley"), 2, 0);
+		
+		assertEquals(Arrays.asList("Arsenal", "Chelsea", "Everton", "Burnley"), 
+				copy.getTableEntries().stream().map(LeagueTableEntry::getTeamName).collect(Collectors.toList()));
+		assertEquals(2, store.getNumberOfTeams());
+	}
+
+}
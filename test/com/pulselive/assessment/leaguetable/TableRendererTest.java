@@ -0,0 +1,154 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.io.LeagueTableFileReader;
+import com.pulselive.assessment.leaguetable.util.FileUtils;
+import com.pulselive.assessment.util.TextBuffer;
+
+/**
+ * This class comprises the test cases for the TableRenderer class.
+ *
+ * @author Paul Parlett
+ *
+ */
+public class TableRendererTest {
+	
+	/*
+	 * Downloaded from http://www.footstats.co.uk/index.cfm?task=league_full
+	 */
+	private static final File TABLE_FILE = new File("data/english_premier_league_table_2017_2018.csv");
+	
+	private static final List<LeagueTableEntry> TABLE_ENTRIES = Arrays.asList(
+			new LeagueTableEntry("Tottenham", 2, 1, 1, 0, 4, 1, 3, 4),
+			new LeagueTableEntry("Brighton & \"Hove\", Albion", 2, 0, 1, 1, 0, 3, -3, 1));
+	
+	/**
+	 * The fixed-width format is that previously printed by {@link LeagueTable#prettyPrint()} and {@link LeagueTableEntry#prettyPrint()}.
+	 *
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testFixedWidth() throws IOException {
+		List<LeagueTableEntry> tableEntries = FileUtils.readLeagueTableFile(TABLE_FILE);
+		
+		StringBuilder expected = new StringBuilder(String.format("Team                Played    Won       Drawn     Lost      For       Against   GD        Points    %n"));
+		
+		for (LeagueTableEntry tableEntry : tableEntries) {
+			expected.append(String.format("%-20s%-10d%-10d%-10d%-10d%-10d%-10d%-10d%-10d %n", tableEntry.getTeamName(), tableEntry.getPlayed(), tableEntry.getWon(),
+					tableEntry.getDrawn(), tableEntry.getLost(), tableEntry.getGoalsFor(), tableEntry.getGoalsAgainst(), tableEntry.getGoalDifference(), tableEntry.getPoints()));
+		}
+		
+		StringWriter writer = new StringWriter();
+		
+		new TableRenderer(TableFormat.FIXED_WIDTH).render(new LeagueTable(tableEntries, 0), writer);
+		
+		assertEquals(expected.toString(), writer.toString());
+	}
+	
+	/**
+	 * A table rendered as CSV is read back as the reference table.
+	 *
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testCsv() throws IOException {
+		LeagueTable leagueTable = new LeagueTable(FileUtils.readLeagueTableFile(TABLE_FILE), 0);
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		
+		new TableRenderer(TableFormat.CSV).render(leagueTable, out);
+		
+		List<ReferenceEntry> referenceEntries = new ArrayList<>();
+		
+		try (LeagueTableFileReader reader = new LeagueTableFileReader(new ByteArrayInputStream(out.toByteArray()))) {
+			reader.forEachRemaining(referenceEntries::add);
+		}
+		
+		assertEquals(20, referenceEntries.size());
+		
+		for (int i = 0; i < referenceEntries.size(); i++) {
+			LeagueTableEntry tableEntry = leagueTable.getTableEntries().get(i);
+			ReferenceEntry referenceEntry = referenceEntries.get(i);
+			
+			assertEquals(i + 1, referenceEntry.getPosition());
+			assertEquals(tableEntry.getTeamName(), referenceEntry.getTeamName());
+			assertEquals(tableEntry.getGoalDifference(), referenceEntry.getGoalDifference());
+			assertEquals(tableEntry.getPoints(), referenceEntry.getPoints());
+		}
+	}
+	
+	@Test
+	public void testCsvQuoting() {
+		TextBuffer buffer = new TextBuffer();
+		
+		new TableRenderer(TableFormat.CSV).render(TABLE_ENTRIES, buffer);
+		
+		assertEquals("Position,Team,Played,W,D,L,F,A,GD,Pts\n"
+				+ "1,Tottenham,2,1,1,0,4,1,3,4\n"
+				+ "2,\"Brighton & \"\"Hove\"\", Albion\",2,0,1,1,0,3,-3,1\n", buffer.toString());
+	}
+	
+	@Test
+	public void testJson() {
+		TextBuffer buffer = new TextBuffer();
+		
+		new TableRenderer(TableFormat.JSON).render(TABLE_ENTRIES, buffer);
+		
+		assertEquals("[{\"position\":1,\"team\":\"Tottenham\",\"played\":2,\"won\":1,\"drawn\":1,\"lost\":0,\"goalsFor\":4,\"goalsAgainst\":1,\"goalDifference\":3,\"points\":4},"
+				+ "{\"position\":2,\"team\":\"Brighton & \\\"Hove\\\", Albion\",\"played\":2,\"won\":0,\"drawn\":1,\"lost\":1,\"goalsFor\":0,\"goalsAgainst\":3,\"goalDifference\":-3,\"points\":1}]\n",
+				buffer.toString());
+		
+		buffer.clear();
+		
+		new TableRenderer(TableFormat.JSON).render(new ArrayList<>(), buffer);
+		
+		assertEquals("[]\n", buffer.toString());
+	}
+	
+	@Test
+	public void testHtml() {
+		TextBuffer buffer = new TextBuffer();
+		
+		new TableRenderer(TableFormat.HTML).render(TABLE_ENTRIES, buffer);
+		
+		assertEquals("<table>\n"
+				+ "<thead><tr><th>Pos</th><th>Team</th><th>P</th><th>W</th><th>D</th><th>L</th><th>F</th><th>A</th><th>GD</th><th>Pts</th></tr></thead>\n"
+				+ "<tbody>\n"
+				+ "<tr><td>1</td><td>Tottenham</td><td>2</td><td>1</td><td>1</td><td>0</td><td>4</td><td>1</td><td>3</td><td>4</td></tr>\n"
+				+ "<tr><td>2</td><td>Brighton &amp; &quot;Hove&quot;, Albion</td><td>2</td><td>0</td><td>1</td><td>1</td><td>0</td><td>3</td><td>-3</td><td>1</td></tr>\n"
+				+ "</tbody>\n"
+				+ "</table>\n", buffer.toString());
+	}
+	
+	@Test
+	public void testRenderRow() {
+		TextBuffer buffer = new TextBuffer();
+		
+		new TableRenderer(TableFormat.JSON).renderRow(TABLE_ENTRIES.get(0), 3, buffer);
+		
+		assertEquals("{\"position\":3,\"team\":\"Tottenham\",\"played\":2,\"won\":1,\"drawn\":1,\"lost\":0,\"goalsFor\":4,\"goalsAgainst\":1,\"goalDifference\":3,\"points\":4}",
+				buffer.toString());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testNullFormat() {
+		new TableRenderer(null);
+	}
+
+}
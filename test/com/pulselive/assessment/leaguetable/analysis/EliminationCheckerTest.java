@@ -0,0 +1,137 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.analysis;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.Fixture;
+import com.pulselive.assessment.leaguetable.StandingsStore;
+import com.pulselive.assessment.leaguetable.TeamRegistry;
+import com.pulselive.assessment.leaguetable.analysis.EliminationChecker.Status;
+
+/**
+ * This class comprises the test cases for the EliminationChecker class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class EliminationCheckerTest {
+	
+	private final TeamRegistry registry = new TeamRegistry();
+	private final int arsenal = registry.register("Arsenal");
+	private final int chelsea = registry.register("Chelsea");
+	private final int liverpool = registry.register("Liverpool");
+	private final int spurs = registry.register("Tottenham Hotspur");
+	
+	private final StandingsStore standings = new StandingsStore(registry);
+	
+	@Test
+	public void testPointsOnlyBound() {
+		standings.apply(chelsea, arsenal, 1, 0);
+		standings.apply(chelsea, spurs, 1, 0);
+		
+		EliminationChecker checker = new EliminationChecker(standings, Collections.singletonList(new Fixture(arsenal, liverpool)));
+		
+		assertEquals(Status.ELIMINATED, checker.finishFirst(arsenal));
+		assertEquals(Status.ELIMINATED, checker.finishFirst(spurs));
+		assertEquals(Status.CLINCHED, checker.finishFirst(chelsea));
+		assertEquals(Status.POSSIBLE, checker.finishInTop(arsenal, 2));
+	}
+
+	/**
+	 * Chelsea and Liverpool are level with Arsenal, who have no fixtures left, and play each other so one of them must finish above Arsenal.
+	 */
+	@Test
+	public void testEliminatedByFlow() {
+		standings.apply(arsenal, spurs, 1, 0);
+		standings.apply(chelsea, spurs, 1, 0);
+		standings.apply(liverpool, spurs, 1, 0);
+		
+		EliminationChecker checker = new EliminationChecker(standings, Collections.singletonList(new Fixture(chelsea, liverpool)));
+		
+		assertEquals(3, checker.getMaximumPoints(arsenal));
+		assertEquals(Status.ELIMINATED, checker.finishFirst(arsenal));
+		assertEquals(Status.POSSIBLE, checker.finishInTop(arsenal, 2));
+		assertEquals(Status.POSSIBLE, checker.finishFirst(chelsea));
+	}
+
+	/**
+	 * Liverpool can gain 2 points without passing Arsenal, and Chelsea none, so the flow relaxation is feasible, 
+	 * but a draw gives Chelsea a point and a win gives Liverpool 3 so Arsenal are eliminated.
+	 */
+	@Test
+	public void testEliminatedBySearch() {
+		standings.apply(arsenal, spurs, 1, 0);
+		standings.apply(arsenal, spurs, 1, 0);
+		standings.apply(chelsea, spurs, 1, 0);
+		standings.apply(chelsea, spurs, 1, 0);
+		standings.apply(liverpool, spurs, 0, 0);
+		standings.apply(liverpool, spurs, 0, 0);
+		standings.apply(liverpool, spurs, 0, 0);
+		standings.apply(liverpool, spurs, 0, 0);
+		
+		EliminationChecker checker = new EliminationChecker(standings, Collections.singletonList(new Fixture(chelsea, liverpool)));
+		
+		assertEquals(Status.ELIMINATED, checker.finishFirst(arsenal));
+		assertEquals(Status.POSSIBLE, checker.finishFirst(liverpool));
+	}
+
+	@Test
+	public void testAvoidBottom() {
+		standings.apply(arsenal, spurs, 1, 0);
+		standings.apply(arsenal, chelsea, 1, 0);
+		standings.apply(chelsea, liverpool, 1, 0);
+		
+		EliminationChecker checker = new EliminationChecker(standings, Arrays.asList(new Fixture(spurs, liverpool)));
+		
+		assertEquals(Status.CLINCHED, checker.avoidBottom(arsenal, 2));
+		assertEquals(Status.POSSIBLE, checker.avoidBottom(spurs, 1));
+		assertEquals(Status.ELIMINATED, checker.avoidBottom(spurs, 3));
+	}
+
+	@Test
+	public void testEvaluateAll() {
+		standings.apply(arsenal, spurs, 1, 0);
+		standings.apply(chelsea, spurs, 1, 0);
+		standings.apply(liverpool, spurs, 1, 0);
+		
+		EliminationChecker checker = new EliminationChecker(standings, Collections.singletonList(new Fixture(chelsea, liverpool)));
+		
+		Status[][] statuses = checker.evaluateAll();
+		
+		for (int teamId = 0; teamId < registry.size(); teamId++) {
+			for (int places = 1; places <= registry.size(); places++) {
+				assertEquals(checker.finishInTop(teamId, places), statuses[teamId][places - 1]);
+			}
+		}
+		
+		assertEquals(Status.ELIMINATED, statuses[spurs][2]);
+		assertEquals(Status.CLINCHED, statuses[spurs][3]);
+	}
+
+	/**
+	 * Leeds are registered for another league, so Tottenham Hotspur are bottom of this league of four teams.
+	 */
+	@Test
+	public void testSharedRegistry() {
+		int leeds = registry.register("Leeds United");
+		
+		StandingsStore league = new StandingsStore(standings);
+		league.apply(arsenal, spurs, 1, 0);
+		league.apply(chelsea, liverpool, 0, 0);
+		
+		EliminationChecker checker = new EliminationChecker(league, Collections.emptyList());
+		
+		assertEquals(4, checker.getNumberOfTeams());
+		assertEquals(Status.ELIMINATED, checker.avoidBottom(spurs, 1));
+		assertEquals(Status.CLINCHED, checker.avoidBottom(liverpool, 1));
+		assertEquals(null, checker.evaluateAll()[leeds]);
+	}
+
+}
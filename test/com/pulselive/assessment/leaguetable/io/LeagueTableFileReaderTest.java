@@ -0,0 +1,100 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.LeagueTableEntry;
+import com.pulselive.assessment.leaguetable.ReferenceEntry;
+import com.pulselive.assessment.leaguetable.util.FileUtils;
+
+/**
+ * This class comprises the test cases for the LeagueTableFileReader class.
+ *
+ * @author Paul Parlett
+ *
+ */
+public class LeagueTableFileReaderTest {
+	
+	/*
+	 * Downloaded from http://www.footstats.co.uk/index.cfm?task=league_full
+	 */
+	private static final Path TABLE_FILE = Paths.get("data/english_premier_league_table_2017_2018.csv");
+	
+	@Test
+	public void testRead() throws IOException {
+		List<LeagueTableEntry> expected = FileUtils.readLeagueTableFile(TABLE_FILE.toFile());
+		
+		List<ReferenceEntry> referenceEntries = new ArrayList<>();
+		
+		try (LeagueTableFileReader reader = LeagueTableFileReader.open(TABLE_FILE)) {
+			reader.forEachRemaining(referenceEntries::add);
+		}
+		
+		assertEquals(expected.size(), referenceEntries.size());
+		
+		for (int i = 0; i < expected.size(); i++) {
+			LeagueTableEntry tableEntry = expected.get(i);
+			ReferenceEntry referenceEntry = referenceEntries.get(i);
+			
+			assertEquals(i + 1, referenceEntry.getPosition());
+			assertEquals(tableEntry.getTeamName(), referenceEntry.getTeamName());
+			assertEquals(tableEntry.getPlayed(), referenceEntry.getPlayed());
+			assertEquals(tableEntry.getWon(), referenceEntry.getWon());
+			assertEquals(tableEntry.getDrawn(), referenceEntry.getDrawn());
+			assertEquals(tableEntry.getLost(), referenceEntry.getLost());
+			assertEquals(tableEntry.getGoalsFor(), referenceEntry.getGoalsFor());
+			assertEquals(tableEntry.getGoalsAgainst(), referenceEntry.getGoalsAgainst());
+			assertEquals(tableEntry.getGoalDifference(), referenceEntry.getGoalDifference());
+			assertEquals(tableEntry.getPoints(), referenceEntry.getPoints());
+		}
+	}
+	
+	/**
+	 * The published values are read as they are, even where they are not consistent with the other values, e.g. after a points deduction.
+	 *
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testPublishedValues() throws IOException {
+		String csv = "Position,Team,Played,W,D,L,F,A,GD,Pts\r\n"
+				+ "Notes:,,,,,,,,,\r\n"
+				+ "1,Portsmouth,38,2,3,33,20,90,-70,-1\r\n"
+				+ "x,Bad Row,38,0,0,0,0,0,0,0\r\n"
+				+ "2,Derby,38,1,0,37,10,80,-71,3";
+		
+		try (LeagueTableFileReader reader = new LeagueTableFileReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))) {
+			ReferenceEntry portsmouth = reader.next();
+			
+			assertEquals("Portsmouth", portsmouth.getTeamName());
+			assertEquals(-70, portsmouth.getGoalDifference());
+			assertEquals(-1, portsmouth.getPoints());
+			
+			ReferenceEntry derby = reader.next();
+			
+			assertEquals("Derby", derby.getTeamName());
+			assertEquals(2, derby.getPosition());
+			assertFalse(reader.hasNext());
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingColumn() throws IOException {
+		String csv = "Position,Team,Played,W,D,L,F,A,Pts\n";
+		
+		new LeagueTableFileReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))).close();
+	}
+
+}
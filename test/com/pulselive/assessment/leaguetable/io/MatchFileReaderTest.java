@@ -0,0 +1,96 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.LeagueFormat;
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.Match;
+
+/**
+ * This class comprises the test cases for the MatchFileReader class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class MatchFileReaderTest {
+
+	/*
+	 * Downloaded from http://www.football-data.co.uk/englandm.php
+	 */
+	private static final Path MATCH_FILE = Paths.get("data/english_premier_league_results_2017_2018.csv");
+	
+	private static MatchFileReader reader(final String csv) throws IOException {
+		return new MatchFileReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	public void testReadMatchFile() throws IOException {
+		try (MatchFileReader reader = MatchFileReader.open(MATCH_FILE)) {
+			List<Match> matches = reader.stream().collect(Collectors.toList());
+			
+			assertEquals(LeagueFormat.PREMIER_LEAGUE.getNumberOfMatches(), matches.size());
+			
+			Match first = matches.get(0);
+			
+			assertEquals("Arsenal", first.getHomeTeam());
+			assertEquals("Leicester", first.getAwayTeam());
+			assertEquals(4, first.getHomeScore());
+			assertEquals(3, first.getAwayScore());
+		}
+	}
+
+	@Test
+	public void testReadLeagueTable() throws IOException {
+		LeagueTable table = MatchFileReader.readLeagueTable(MATCH_FILE);
+		
+		assertEquals("Man City", table.getTableEntries().get(0).getTeamName());
+		assertEquals(100, table.getTableEntries().get(0).getPoints());
+	}
+
+	@Test
+	public void testColumnsLocatedFromHeader() throws IOException {
+		try (MatchFileReader reader = reader("\uFEFFFTAG,AwayTeam,Extra,FTHG,HomeTeam\r\n1,Spurs,x,2,Arsenal\r\n0,Arsenal,y,0,Spurs")) {
+			Match first = reader.next();
+			
+			assertEquals("Arsenal", first.getHomeTeam());
+			assertEquals("Spurs", first.getAwayTeam());
+			assertEquals(2, first.getHomeScore());
+			assertEquals(1, first.getAwayScore());
+			
+			Match second = reader.next();
+			
+			assertEquals("Spurs", second.getHomeTeam());
+			assertSame(first.getHomeTeam(), second.getAwayTeam());
+			
+			assertFalse(reader.hasNext());
+		}
+	}
+
+	@Test
+	public void testInvalidLinesSkipped() throws IOException {
+		try (MatchFileReader reader = reader("HomeTeam,AwayTeam,FTHG,FTAG\n,,,\nArsenal,Spurs,x,1\nArsenal,Spurs\nArsenal,Spurs,2,1\n")) {
+			assertEquals(1, reader.stream().count());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingColumn() throws IOException {
+		reader("HomeTeam,AwayTeam,FTHG\nArsenal,Spurs,2\n").close();
+	}
+
+}
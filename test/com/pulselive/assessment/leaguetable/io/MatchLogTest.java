@@ -0,0 +1,261 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.StandingsStore;
+
+/**
+ * This class comprises the test cases for the MatchLog class.
+ *
+ * @author Paul Parlett
+ *
+ */
+public class MatchLogTest {
+	
+	/*
+	 * Downloaded from http://www.football-data.co.uk/englandm.php
+	 */
+	private static final Path MATCH_FILE = Paths.get("data/english_premier_league_results_2017_2018.csv");
+	
+	private static final int SMALL_SEGMENT_SIZE = 4096;
+	
+	private Path directory;
+	private List<Match> matches;
+	
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("matchlog");
+		
+		matches = new ArrayList<>();
+		
+		try (MatchFileReader reader = MatchFileReader.open(MATCH_FILE)) {
+			reader.forEachRemaining(matches::add);
+		}
+	}
+	
+	@After
+	public void tearDown() throws IOException {
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for (Path path : stream) {
+				Files.delete(path);
+			}
+		}
+		
+		Files.delete(directory);
+	}
+	
+	@Test
+	public void testReplay() throws IOException {
+		Match previous = new Match("Arsenal", "Spurs", 2, 2);
+		Match corrected = new Match("Arsenal", "Spurs", 2, 1);
+		
+		try (MatchLog log = MatchLog.open(directory)) {
+			for (Match match : matches) {
+				log.append(match);
+			}
+			
+			log.append(previous);
+			log.appendCorrection(previous, corrected);
+		}
+		
+		LeagueTable expectedTable = new LeagueTable(matches);
+		expectedTable.apply(corrected);
+		
+		try (MatchLog log = MatchLog.open(directory)) {
+			LeagueTable leagueTable = new LeagueTable();
+			
+			assertEquals(log.getEndOffset(), log.replay(leagueTable));
+			assertEquals(expectedTable.getTableEntries(), leagueTable.getTableEntries());
+		}
+	}
+	
+	@Test
+	public void testTornTail() throws IOException {
+		long endOffset = 0;
+		
+		try (MatchLog log = MatchLog.open(directory)) {
+			for (Match match : matches.subList(0, 10)) {
+				endOffset = log.append(match);
+			}
+		}
+		
+		Path segment = directory.resolve(String.format("%020d.log", 0));
+		
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			channel.write(ByteBuffer.wrap(new byte[] { 42, 0, 0, 0, 1, 2, 3 }));
+		}
+		
+		try (MatchLog log = MatchLog.open(directory)) {
+			assertEquals(endOffset, log.getEndOffset());
+			
+			log.append(matches.get(10));
+		}
+		
+		try (MatchLog log = MatchLog.open(directory)) {
+			LeagueTable leagueTable = new LeagueTable();
+			log.replay(leagueTable);
+			
+			assertEquals(new LeagueTable(matches.subList(0, 11)).getTableEntries(), leagueTable.getTableEntries());
+		}
+	}
+	
+	/**
+	 * A crash while a segment is rolled may leave the new segment empty or with a partial header, the log is still opened.
+	 *
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testTornSegmentHeader() throws IOException {
+		for (byte[] tornHeader : new byte[][] { {}, { 0x4C, 0x4D, 0x4C } }) {
+			long endOffset = 0;
+			
+			try (MatchLog log = MatchLog.open(directory)) {
+				for (Match match : matches.subList(0, 10)) {
+					endOffset = log.append(match);
+				}
+			}
+			
+			Files.write(directory.resolve(String.format("%020d.log", endOffset)), tornHeader);
+			
+			try (MatchLog log = MatchLog.open(directory)) {
+				assertEquals(endOffset, log.getEndOffset());
+				
+				log.append(matches.get(10));
+			}
+			
+			try (MatchLog log = MatchLog.open(directory)) {
+				LeagueTable leagueTable = new LeagueTable();
+				log.replay(leagueTable);
+				
+				assertEquals(new LeagueTable(matches.subList(0, 11)).getTableEntries(), leagueTable.getTableEntries());
+			}
+			
+			tearDown();
+			directory = Files.createDirectory(directory);
+		}
+	}
+	
+	@Test
+	public void testCompact() throws IOException {
+		Path snapshotFile = Files.createTempFile("standings", ".snapshot");
+		Files.delete(snapshotFile);
+		
+		try (MatchLog log = MatchLog.open(directory, SMALL_SEGMENT_SIZE, 16)) {
+			for (Match match : matches.subList(0, 300)) {
+				log.append(match);
+			}
+			
+			assertTrue(countSegments() > 1);
+			
+			long offset = log.compact(snapshotFile, "E0 2017");
+			
+			assertEquals(offset, StandingsSnapshot.map(snapshotFile).getTable("E0 2017").getLogOffset());
+			assertEquals(1, countSegments());
+			
+			for (Match match : matches.subList(300, matches.size())) {
+				log.append(match);
+			}
+		}
+		
+		try (MatchLog log = MatchLog.open(directory, SMALL_SEGMENT_SIZE, 16)) {
+			StandingsStore standings = log.recover(snapshotFile, "E0 2017");
+			
+			assertEquals(MatchFileReader.readLeagueTable(MATCH_FILE).getTableEntries(), standings.getTableEntries());
+		} finally {
+			Files.delete(snapshotFile);
+		}
+	}
+	
+	/**
+	 * A league table is recovered from the snapshot and the tail of the log after the log has been compacted.
+	 *
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testRecoverLeagueTable() throws IOException {
+		Path snapshotFile = directory.resolve("standings.snapshot");
+		
+		Match previous = matches.get(299);
+		Match corrected = new Match(previous.getHomeTeam(), previous.getAwayTeam(), previous.getHomeScore() + 1, previous.getAwayScore());
+		
+		try (MatchLog log = MatchLog.open(directory, SMALL_SEGMENT_SIZE, 16)) {
+			for (Match match : matches.subList(0, 300)) {
+				log.append(match);
+			}
+			
+			log.compact(snapshotFile, "E0 2017");
+			
+			for (Match match : matches.subList(300, matches.size())) {
+				log.append(match);
+			}
+			
+			log.appendCorrection(previous, corrected);
+		}
+		
+		LeagueTable expectedTable = MatchFileReader.readLeagueTable(MATCH_FILE);
+		expectedTable.replace(previous, corrected);
+		
+		try (MatchLog log = MatchLog.open(directory, SMALL_SEGMENT_SIZE, 16)) {
+			assertEquals(expectedTable.getTableEntries(), log.recoverLeagueTable(snapshotFile, "E0 2017").getTableEntries());
+			
+			// without a snapshot of the table the whole log is replayed, which has been compacted
+			try {
+				log.recoverLeagueTable(snapshotFile, "E1 2017");
+				fail("expected IllegalStateException");
+			} catch (IllegalStateException e) {
+				// expected
+			}
+		}
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void testReplayCompacted() throws IOException {
+		Path snapshotFile = directory.resolve("standings.snapshot");
+		
+		try (MatchLog log = MatchLog.open(directory, SMALL_SEGMENT_SIZE, 16)) {
+			for (Match match : matches) {
+				log.append(match);
+			}
+			
+			log.compact(snapshotFile, "E0 2017");
+			
+			log.replay(new LeagueTable(Collections.emptyList()));
+		}
+	}
+	
+	private int countSegments() throws IOException {
+		int count = 0;
+		
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.log")) {
+			for (@SuppressWarnings("unused") Path path : stream) {
+				count++;
+			}
+		}
+		
+		return count;
+	}
+
+}
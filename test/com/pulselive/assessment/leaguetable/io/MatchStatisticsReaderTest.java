@@ -0,0 +1,138 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.LeagueTableEntry;
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.statistics.MatchStatistics;
+import com.pulselive.assessment.leaguetable.statistics.Statistic;
+import com.pulselive.assessment.leaguetable.statistics.StatisticsEntry;
+
+/**
+ * This class comprises the test cases for the MatchStatisticsReader class.
+ *
+ * @author Paul Parlett
+ *
+ */
+public class MatchStatisticsReaderTest {
+	
+	/*
+	 * Downloaded from http://www.football-data.co.uk/englandm.php
+	 */
+	private static final Path MATCH_FILE = Paths.get("data/english_premier_league_results_2017_2018.csv");
+	
+	@Test
+	public void testRead() throws IOException {
+		MatchStatistics statistics = MatchStatisticsReader.read(MATCH_FILE);
+		
+		assertEquals(380, statistics.size());
+		assertEquals(20, statistics.getRegistry().size());
+		
+		int yellowCards = 0;
+		int redCards = 0;
+		
+		for (StatisticsEntry entry : statistics.getLeaderboard(Statistic.YELLOW_CARDS)) {
+			yellowCards += entry.getTotal();
+		}
+		
+		for (StatisticsEntry entry : statistics.getLeaderboard(Statistic.RED_CARDS)) {
+			redCards += entry.getTotal();
+		}
+		
+		assertEquals(1157, yellowCards);
+		assertEquals(39, redCards);
+		
+		StatisticsEntry arsenal = entryOf(statistics.getLeaderboard(Statistic.SHOTS), "Arsenal");
+		
+		assertEquals(38, arsenal.getMatches());
+		assertEquals(591, arsenal.getTotal());
+		
+		StatisticsEntry oliver = entryOf(statistics.getRefereeCardRates(), "M Oliver");
+		
+		assertEquals(30, oliver.getMatches());
+		assertEquals(102, oliver.getTotal());
+	}
+	
+	/**
+	 * Check the goals leaderboard and the half-time table against league tables of the full-time and half-time scores.
+	 *
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testHalfTimeTable() throws IOException {
+		MatchStatistics statistics = MatchStatisticsReader.read(MATCH_FILE);
+		
+		LeagueTable fullTimeTable = new LeagueTable();
+		LeagueTable halfTimeTable = new LeagueTable();
+		
+		for (int row = 0; row < statistics.size(); row++) {
+			String homeTeam = statistics.getRegistry().nameOf(statistics.getHomeTeamId(row));
+			String awayTeam = statistics.getRegistry().nameOf(statistics.getAwayTeamId(row));
+			
+			fullTimeTable.apply(new Match(homeTeam, awayTeam, statistics.getHomeValue(Statistic.GOALS, row), statistics.getAwayValue(Statistic.GOALS, row)));
+			halfTimeTable.apply(new Match(homeTeam, awayTeam, statistics.getHomeValue(Statistic.HALF_TIME_GOALS, row), statistics.getAwayValue(Statistic.HALF_TIME_GOALS, row)));
+		}
+		
+		assertEquals(MatchFileReader.readLeagueTable(MATCH_FILE).getTableEntries(), fullTimeTable.getTableEntries());
+		assertEquals(halfTimeTable.getTableEntries(), statistics.getHalfTimeTable());
+		
+		for (StatisticsEntry entry : statistics.getLeaderboard(Statistic.GOALS)) {
+			assertEquals(fullTimeTable.getTableEntry(entry.getName()).getGoalsFor(), entry.getTotal());
+		}
+	}
+	
+	@Test
+	public void testMissingColumns() throws IOException {
+		Path file = Files.createTempFile("results", ".csv");
+		
+		try {
+			Files.write(file, Arrays.asList(
+					"HomeTeam,AwayTeam,FTHG,FTAG,HS,AS",
+					"Arsenal,Chelsea,2,1,12,",
+					"Chelsea,Arsenal,x,0,9,8",
+					"Chelsea,Burnley,1,0,300,8",
+					"Burnley,Arsenal,0,0,7,15"), StandardCharsets.UTF_8);
+			
+			MatchStatistics statistics = MatchStatisticsReader.read(file);
+			
+			assertEquals(2, statistics.size());
+			assertEquals(MatchStatistics.NO_REFEREE, statistics.getRefereeId(0));
+			assertEquals(MatchStatistics.NO_VALUE, statistics.getHomeValue(Statistic.CORNERS, 0));
+			assertEquals(MatchStatistics.NO_VALUE, statistics.getAwayValue(Statistic.SHOTS, 0));
+			
+			List<StatisticsEntry> shots = statistics.getLeaderboard(Statistic.SHOTS);
+			
+			assertEquals("Arsenal", shots.get(0).getName());
+			assertEquals(2, shots.get(0).getMatches());
+			assertEquals(27, shots.get(0).getTotal());
+			assertEquals(0, entryOf(shots, "Chelsea").getMatches());
+			assertNull(entryOf(statistics.getRefereeCardRates(), "M Dean"));
+			
+			List<LeagueTableEntry> halfTimeTable = statistics.getHalfTimeTable();
+			
+			assertEquals(0, halfTimeTable.get(0).getPlayed());
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	private static StatisticsEntry entryOf(final List<StatisticsEntry> entries, final String name) {
+		return entries.stream().filter(entry -> entry.getName().equals(name)).findFirst().orElse(null);
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.SeasonKey;
+
+/**
+ * This class comprises the test cases for the SeasonArchiveLoader class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class SeasonArchiveLoaderTest {
+
+	/*
+	 * Downloaded from http://www.football-data.co.uk/englandm.php
+	 */
+	private static final Path MATCH_FILE = Paths.get("data/english_premier_league_results_2017_2018.csv");
+
+	/**
+	 * Load the season with a small chunk size so that it is split into many chunks, and check the table is the same as that read sequentially.
+	 * 
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testLoad() throws IOException {
+		Map<SeasonKey, LeagueTable> tables = new SeasonArchiveLoader(1024).load(Collections.singletonList(MATCH_FILE));
+		
+		assertEquals(Collections.singleton(new SeasonKey("E0", 2017)), tables.keySet());
+		
+		LeagueTable expectedTable = MatchFileReader.readLeagueTable(MATCH_FILE);
+		
+		assertEquals(expectedTable.getTableEntries(), tables.get(new SeasonKey("E0", 2017)).getTableEntries());
+	}
+
+	/**
+	 * Load two files of one season each, the 2019-2020 season ran into July 2020 so the season is that of the file and not of the month.
+	 * 
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testLoadDivisionsAndSeasons() throws IOException {
+		Path file = Files.createTempFile("results", ".csv");
+		Path nextFile = Files.createTempFile("results", ".csv");
+		
+		try {
+			Files.write(file, Arrays.asList(
+					"Div,Date,HomeTeam,AwayTeam,FTHG,FTAG", 
+					"E0,09/08/2019,Arsenal,Spurs,0,0", 
+					"E1,10/08/19,Leeds,Derby,1,3", 
+					"E0,26/07/2020,Arsenal,Spurs,2,1", 
+					"E0,not a date,Arsenal,Spurs,0,0"), StandardCharsets.UTF_8);
+			
+			Files.write(nextFile, Arrays.asList(
+					"Div,Date,HomeTeam,AwayTeam,FTHG,FTAG", 
+					"E0,12/09/2020,Arsenal,Spurs,1,1"), StandardCharsets.UTF_8);
+			
+			Map<SeasonKey, LeagueTable> tables = new SeasonArchiveLoader().load(Arrays.asList(file, nextFile));
+			
+			assertEquals(3, tables.size());
+			assertEquals(2, tables.get(new SeasonKey("E0", 2019)).getTableEntry("Arsenal").getPlayed());
+			assertEquals(4, tables.get(new SeasonKey("E0", 2019)).getTableEntry("Arsenal").getPoints());
+			assertEquals(1, tables.get(new SeasonKey("E0", 2020)).getTableEntry("Arsenal").getPlayed());
+			assertEquals(3, tables.get(new SeasonKey("E1", 2019)).getTableEntry("Derby").getPoints());
+		} finally {
+			Files.delete(file);
+			Files.delete(nextFile);
+		}
+	}
+
+}
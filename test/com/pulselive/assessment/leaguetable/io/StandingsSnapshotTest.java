@@ -0,0 +1,146 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.IndexedMatch;
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.StandingsStore;
+import com.pulselive.assessment.leaguetable.TeamRegistry;
+
+/**
+ * This class comprises the test cases for the StandingsSnapshot class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class StandingsSnapshotTest {
+
+	/*
+	 * Downloaded from http://www.football-data.co.uk/englandm.php
+	 */
+	private static final Path MATCH_FILE = Paths.get("data/english_premier_league_results_2017_2018.csv");
+	
+	private Path file;
+	
+	@Before
+	public void setUp() throws IOException {
+		file = Files.createTempFile("standings", ".snapshot");
+	}
+	
+	@After
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void testWriteAndMap() throws IOException {
+		TeamRegistry registry = new TeamRegistry();
+		StandingsStore premierLeague = new StandingsStore(registry);
+		
+		try (MatchFileReader reader = MatchFileReader.open(MATCH_FILE)) {
+			reader.forEachRemaining(match -> premierLeague.apply(IndexedMatch.of(match, registry)));
+		}
+		
+		TeamRegistry otherRegistry = new TeamRegistry();
+		StandingsStore other = new StandingsStore(otherRegistry);
+		other.apply(IndexedMatch.of(new Match("M\u00fcller Town", "Leeds", 2, 1), otherRegistry));
+		
+		StandingsSnapshot.write(file, Arrays.asList(
+				new StandingsSnapshot.Entry("E0 2017", premierLeague, 380), 
+				new StandingsSnapshot.Entry("Other", other, 1L << 40)));
+		
+		StandingsSnapshot snapshot = StandingsSnapshot.map(file);
+		
+		assertEquals(Arrays.asList("E0 2017", "Other"), new ArrayList<>(snapshot.getTableNames()));
+		assertNull(snapshot.getTable("E1 2017"));
+		
+		StandingsSnapshot.TableView view = snapshot.getTable("E0 2017");
+		
+		assertEquals(380, view.getLogOffset());
+		assertEquals(premierLeague.getTableEntries(), view.toStandings().getTableEntries());
+		
+		int manCity = view.getRegistry().idOf("Man City");
+		
+		assertEquals(32, view.getWon(manCity));
+		assertEquals(106, view.getGoalsFor(manCity));
+		
+		StandingsSnapshot.TableView otherView = snapshot.getTable("Other");
+		
+		assertEquals(1L << 40, otherView.getLogOffset());
+		assertEquals(1, otherView.getWon(otherView.getRegistry().idOf("M\u00fcller Town")));
+	}
+
+	@Test(expected = IOException.class)
+	public void testNotASnapshot() throws IOException {
+		Files.write(file, "Div,Date,HomeTeam".getBytes("UTF-8"));
+		
+		StandingsSnapshot.map(file);
+	}
+
+	@Test
+	public void testDuplicateTableName() throws IOException {
+		TeamRegistry registry = new TeamRegistry();
+		StandingsStore standings = new StandingsStore(registry);
+		standings.apply(IndexedMatch.of(new Match("Arsenal", "Chelsea", 1, 0), registry));
+		
+		try {
+			StandingsSnapshot.write(file, Arrays.asList(
+					new StandingsSnapshot.Entry("E0 2017", standings, 1), 
+					new StandingsSnapshot.Entry("E0 2017", standings, 2)));
+			
+			fail("duplicate table name written");
+		} catch (IllegalArgumentException e) {
+			assertEquals(0, Files.size(file));
+		}
+	}
+
+	/**
+	 * Two tables sharing a registry, each is restored with only its own teams.
+	 */
+	@Test
+	public void testSharedRegistry() throws IOException {
+		TeamRegistry registry = new TeamRegistry();
+		
+		StandingsStore premierLeague = new StandingsStore(registry);
+		StandingsStore championship = new StandingsStore(registry);
+		
+		premierLeague.apply(IndexedMatch.of(new Match("Arsenal", "Chelsea", 2, 1), registry));
+		championship.apply(IndexedMatch.of(new Match("Leeds", "Derby", 0, 0), registry));
+		championship.apply(IndexedMatch.of(new Match("Derby", "Wolves", 1, 3), registry));
+		
+		StandingsSnapshot.write(file, Arrays.asList(
+				new StandingsSnapshot.Entry("E0 2017", premierLeague, 1), 
+				new StandingsSnapshot.Entry("E1 2017", championship, 2)));
+		
+		StandingsSnapshot snapshot = StandingsSnapshot.map(file);
+		
+		StandingsSnapshot.TableView view = snapshot.getTable("E0 2017");
+		
+		assertEquals(2, view.getRegistry().size());
+		assertEquals(TeamRegistry.NO_TEAM, view.getRegistry().idOf("Leeds"));
+		assertEquals(premierLeague.getTableEntries(), view.toStandings().getTableEntries());
+		
+		StandingsSnapshot.TableView otherView = snapshot.getTable("E1 2017");
+		
+		assertEquals(3, otherView.getRegistry().size());
+		assertEquals(TeamRegistry.NO_TEAM, otherView.getRegistry().idOf("Arsenal"));
+		assertEquals(championship.getTableEntries(), otherView.toStandings().getTableEntries());
+	}
+
+}
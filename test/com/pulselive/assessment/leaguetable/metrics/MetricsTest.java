@@ -0,0 +1,108 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * This class comprises the test cases for the Metrics class and its counters and histograms.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class MetricsTest {
+	
+	@After
+	public void tearDown() {
+		Metrics.reset();
+	}
+	
+	@Test
+	public void testCounter() {
+		Counter counter = new Counter("test_total", "Test");
+		
+		counter.increment();
+		counter.add(41);
+		
+		assertEquals(42, counter.get());
+	}
+	
+	@Test
+	public void testHistogram() {
+		LatencyHistogram histogram = new LatencyHistogram("test_seconds", "Test");
+		
+		assertEquals(0, histogram.getPercentile(99));
+		
+		for (int i = 0; i < 99; i++) {
+			histogram.record(1000);
+		}
+		
+		histogram.record(1_000_000);
+		histogram.record(-1);
+		
+		assertEquals(101, histogram.getCount());
+		assertEquals(99 * 1000 + 1_000_000, histogram.getSum());
+		assertEquals(0, histogram.getPercentile(0));
+		assertEquals(1023, histogram.getPercentile(50));
+		assertEquals(1023, histogram.getPercentile(99));
+		assertEquals((1 << 20) - 1, histogram.getPercentile(100));
+		assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+	}
+	
+	@Test
+	public void testWrite() throws IOException {
+		Metrics.MATCHES_APPLIED.add(380);
+		Metrics.APPLY_LATENCY.record(3);
+		Metrics.APPLY_LATENCY.record(5);
+		
+		StringWriter writer = new StringWriter();
+		Metrics.write(writer);
+		
+		String text = writer.toString();
+		
+		assertTrue(text.contains("# TYPE leaguetable_matches_applied_total counter\nleaguetable_matches_applied_total 380\n"));
+		assertTrue(text.contains("leaguetable_apply_seconds_bucket{le=\"4.0E-9\"} 1\n"));
+		assertTrue(text.contains("leaguetable_apply_seconds_bucket{le=\"8.0E-9\"} 2\nleaguetable_apply_seconds_bucket{le=\"+Inf\"} 2\n"));
+		assertTrue(text.contains("leaguetable_apply_seconds_count 2\n"));
+	}
+	
+	@Test
+	public void testEndpoint() throws IOException {
+		Metrics.ROWS_PARSED.add(7);
+		
+		try (MetricsEndpoint endpoint = MetricsEndpoint.start(0)) {
+			URL url = new URL("http://127.0.0.1:" + endpoint.getPort() + MetricsEndpoint.PATH);
+			
+			HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+			
+			assertEquals(200, connection.getResponseCode());
+			
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			
+			try (InputStream in = connection.getInputStream()) {
+				byte[] bytes = new byte[4096];
+				int read;
+				
+				while ((read = in.read(bytes)) > 0) {
+					body.write(bytes, 0, read);
+				}
+			}
+			
+			assertTrue(new String(body.toByteArray(), StandardCharsets.UTF_8).contains("leaguetable_rows_parsed_total 7\n"));
+		}
+	}
+
+}
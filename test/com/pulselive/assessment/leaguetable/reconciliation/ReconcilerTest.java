@@ -0,0 +1,165 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.reconciliation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.ReferenceEntry;
+import com.pulselive.assessment.leaguetable.io.LeagueTableFileReader;
+import com.pulselive.assessment.leaguetable.io.MatchFileReader;
+
+/**
+ * This class comprises the test cases for the Reconciler class.
+ *
+ * @author Paul Parlett
+ *
+ */
+public class ReconcilerTest {
+	
+	/*
+	 * Downloaded from http://www.football-data.co.uk/englandm.php
+	 */
+	private static final Path MATCH_FILE = Paths.get("data/english_premier_league_results_2017_2018.csv");
+	
+	/*
+	 * Downloaded from http://www.footstats.co.uk/index.cfm?task=league_full
+	 */
+	private static final Path TABLE_FILE = Paths.get("data/english_premier_league_table_2017_2018.csv");
+	
+	private Path alteredTableFile;
+	
+	@Before
+	public void setUp() throws IOException {
+		List<String> lines = Files.readAllLines(TABLE_FILE, StandardCharsets.UTF_8);
+		
+		List<String> altered = new ArrayList<>();
+		
+		for (String line : lines) {
+			if (line.startsWith("1,Man City,")) {
+				altered.add(line.replace(",79,100,", ",79,99,"));			// points
+			} else if (line.contains(",Liverpool,")) {
+				altered.add(line.replace(",Liverpool,", ",Liverpool FC,"));	// team name
+			} else if (line.contains(",West Brom,")) {
+				// omitted
+			} else {
+				altered.add(line);
+			}
+		}
+		
+		alteredTableFile = Files.createTempFile("table", ".csv");
+		
+		Files.write(alteredTableFile, altered, StandardCharsets.UTF_8);
+	}
+	
+	@After
+	public void tearDown() throws IOException {
+		Files.delete(alteredTableFile);
+	}
+	
+	@Test
+	public void testReconciled() throws IOException {
+		TableReconciliation outcome = reconcile(new Reconciler(), TABLE_FILE);
+		
+		assertTrue(outcome.getDiscrepancies().toString(), outcome.isReconciled());
+		assertEquals(20, outcome.getTeams());
+	}
+	
+	@Test
+	public void testDiscrepancies() throws IOException {
+		TableReconciliation outcome = reconcile(new Reconciler(), alteredTableFile);
+		
+		Map<String, List<Field>> fields = outcome.getDiscrepancies().stream()
+				.collect(Collectors.groupingBy(Discrepancy::getTeamName, Collectors.mapping(Discrepancy::getField, Collectors.toList())));
+		
+		assertEquals(Collections.singletonList(Field.POINTS), fields.get("Man City"));
+		assertEquals(Collections.singletonList(Field.TEAM), fields.get("Liverpool FC"));
+		assertEquals(Collections.singletonList(Field.TEAM), fields.get("Liverpool"));
+		assertEquals(Collections.singletonList(Field.TEAM), fields.get("West Brom"));
+		assertEquals(4, fields.size());
+		
+		Discrepancy points = outcome.getDiscrepancies().get(0);
+		
+		assertEquals(99, points.getExpected());
+		assertEquals(100, points.getActual());
+		assertEquals(21, outcome.getTeams());
+		assertEquals(outcome.getDiscrepancies().size(), outcome.getDiscrepancyCount());
+	}
+	
+	@Test
+	public void testAliasesAndMaxDiscrepancies() throws IOException {
+		TableReconciliation outcome = reconcile(new Reconciler(1, 1, Collections.singletonMap("Liverpool FC", "Liverpool")), alteredTableFile);
+		
+		// the missing West Brom is counted but not retained
+		assertEquals(1, outcome.getDiscrepancies().size());
+		assertEquals(Field.POINTS, outcome.getDiscrepancies().get(0).getField());
+		assertEquals(2, outcome.getDiscrepancyCount());
+		assertEquals(20, outcome.getTeams());
+	}
+	
+	@Test
+	public void testTiedPositions() {
+		LeagueTable computed = new LeagueTable(Arrays.asList(new Match("Arsenal", "Chelsea", 1, 1), new Match("Burnley", "Everton", 0, 1)));
+		
+		// the computed table orders Chelsea above Arsenal, the reference orders them alphabetically
+		List<ReferenceEntry> reference = Arrays.asList(
+				new ReferenceEntry(1, "Everton", 1, 1, 0, 0, 1, 0, 1, 3),
+				new ReferenceEntry(2, "Arsenal", 1, 0, 1, 0, 1, 1, 0, 1),
+				new ReferenceEntry(3, "Chelsea", 1, 0, 1, 0, 1, 1, 0, 1),
+				new ReferenceEntry(3, "Burnley", 1, 0, 0, 1, 0, 1, -1, 0));
+		
+		TableReconciliation outcome = new Reconciler().reconcile("tied", computed, reference.iterator());
+		
+		assertEquals(1, outcome.getDiscrepancyCount());
+		assertEquals(Field.POSITION, outcome.getDiscrepancies().get(0).getField());
+		assertEquals("Burnley", outcome.getDiscrepancies().get(0).getTeamName());
+	}
+	
+	@Test
+	public void testParallel() throws InterruptedException {
+		Reconciler reconciler = new Reconciler(4, Reconciler.DEFAULT_MAX_DISCREPANCIES, Collections.emptyMap());
+		
+		Map<String, TableReconciliation> outcomes = new ConcurrentHashMap<>();
+		
+		Reconciler.Summary summary = reconciler.reconcile(IntStream.range(0, 50)
+				.mapToObj(i -> new Reconciler.Task("table " + i, MATCH_FILE, (i % 10 == 0) ? alteredTableFile : (i == 7) ? Paths.get("missing.csv") : TABLE_FILE))
+				.iterator(), outcome -> outcomes.put(outcome.getName(), outcome));
+		
+		assertEquals(50, outcomes.size());
+		assertEquals(50, summary.getTables());
+		assertEquals(44, summary.getReconciledTables());
+		assertEquals(5, summary.getTablesWithDiscrepancies());
+		assertEquals(1, summary.getFailedTables());
+		assertEquals(5 * outcomes.get("table 0").getDiscrepancyCount(), summary.getDiscrepancies());
+		assertNotNull(outcomes.get("table 7").getError());
+	}
+	
+	private static TableReconciliation reconcile(final Reconciler reconciler, final Path tableFile) throws IOException {
+		try (LeagueTableFileReader reference = LeagueTableFileReader.open(tableFile)) {
+			return reconciler.reconcile("E0 2017", MatchFileReader.readLeagueTable(MATCH_FILE), reference);
+		}
+	}
+
+}
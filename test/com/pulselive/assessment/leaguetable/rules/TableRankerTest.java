@@ -0,0 +1,159 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.rules;
+
+import static com.pulselive.assessment.leaguetable.util.FileUtils.readMatchFile;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.LeagueTableEntry;
+import com.pulselive.assessment.leaguetable.Match;
+
+/**
+ * This class comprises the test cases for the TableRanker class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class TableRankerTest {
+
+	/*
+	 * Downloaded from http://www.football-data.co.uk/englandm.php
+	 */
+	private static final File MATCH_FILE = new File("data/english_premier_league_results_2017_2018.csv");
+	
+	private static List<String> teamNames(final List<Standing> standings) {
+		return standings.stream().map(Standing::getTeamName).collect(Collectors.toList());
+	}
+
+	@Test
+	public void testPremierLeague() throws IOException {
+		List<Match> matches = readMatchFile(MATCH_FILE);
+		
+		List<Standing> standings = RuleSet.PREMIER_LEAGUE.compile().rank(matches);
+		List<LeagueTableEntry> tableEntries = new LeagueTable(matches).getTableEntries();
+		
+		assertEquals(tableEntries.stream().map(LeagueTableEntry::getTeamName).collect(Collectors.toList()), teamNames(standings));
+		
+		for (int i = 0; i < standings.size(); i++) {
+			assertEquals(i + 1, standings.get(i).getPosition());
+			assertEquals(tableEntries.get(i).getPoints(), standings.get(i).getPoints());
+		}
+	}
+
+	/**
+	 * Arsenal have the better goal difference but Chelsea won the match between them.
+	 */
+	@Test
+	public void testHeadToHead() {
+		List<Match> matches = Arrays.asList(
+				new Match("Chelsea", "Arsenal", 1, 0), 
+				new Match("Arsenal", "Burnley", 5, 0), 
+				new Match("Chelsea", "Burnley", 0, 0), 
+				new Match("Arsenal", "Everton", 0, 0));
+		
+		assertEquals(Arrays.asList("Arsenal", "Chelsea", "Everton", "Burnley"), teamNames(RuleSet.PREMIER_LEAGUE.compile().rank(matches)));
+		assertEquals(Arrays.asList("Chelsea", "Arsenal", "Everton", "Burnley"), teamNames(RuleSet.HEAD_TO_HEAD.compile().rank(matches)));
+	}
+
+	/**
+	 * Arsenal, Burnley and Chelsea are level on points, the mini-table of their matches separates Burnley who took 6 points from it, 
+	 * Arsenal and Chelsea remain level on head-to-head points so are separated by head-to-head goal difference.
+	 */
+	@Test
+	public void testHeadToHeadMiniTable() {
+		List<Match> matches = Arrays.asList(
+				new Match("Burnley", "Arsenal", 1, 0), 
+				new Match("Burnley", "Chelsea", 1, 0), 
+				new Match("Arsenal", "Chelsea", 4, 0), 
+				new Match("Arsenal", "Everton", 1, 0), 
+				new Match("Chelsea", "Everton", 1, 0), 
+				new Match("Chelsea", "Everton", 1, 0), 
+				new Match("Everton", "Burnley", 5, 0));
+		
+		List<Standing> standings = RuleSet.HEAD_TO_HEAD.compile().rank(matches);
+		
+		assertEquals(6, standings.get(0).getPoints());
+		assertEquals(6, standings.get(2).getPoints());
+		assertEquals(Arrays.asList("Burnley", "Arsenal", "Chelsea", "Everton"), teamNames(standings));
+	}
+
+	/**
+	 * Burnley, Chelsea and Everton are level on points, goal difference and goals for, the ranker must order them as the league table does.
+	 */
+	@Test
+	public void testPremierLeagueTiedTeams() {
+		List<Match> matches = Arrays.asList(
+				new Match("Burnley", "Chelsea", 1, 1), 
+				new Match("Chelsea", "Everton", 1, 1), 
+				new Match("Everton", "Burnley", 1, 1), 
+				new Match("Arsenal", "Burnley", 0, 0));
+		
+		List<String> expected = new LeagueTable(matches).getTableEntries().stream().map(LeagueTableEntry::getTeamName).collect(Collectors.toList());
+		
+		assertEquals(expected, teamNames(RuleSet.PREMIER_LEAGUE.compile().rank(matches)));
+	}
+
+	/**
+	 * Arsenal, Burnley and Chelsea are level on points, the mini-table of their matches separates Arsenal but leaves Burnley and Chelsea 
+	 * level on head-to-head points and goal difference, so the head-to-head criteria are applied again to the match between them which 
+	 * Burnley won, although Chelsea have the better goal difference overall.
+	 */
+	@Test
+	public void testHeadToHeadReapplied() {
+		List<Match> matches = Arrays.asList(
+				new Match("Arsenal", "Burnley", 1, 0), 
+				new Match("Burnley", "Arsenal", 0, 1), 
+				new Match("Burnley", "Chelsea", 2, 0), 
+				new Match("Chelsea", "Arsenal", 2, 0), 
+				new Match("Chelsea", "Everton", 5, 0), 
+				new Match("Burnley", "Everton", 1, 0));
+		
+		List<Standing> standings = RuleSet.HEAD_TO_HEAD.compile().rank(matches);
+		
+		assertEquals(6, standings.get(0).getPoints());
+		assertEquals(6, standings.get(2).getPoints());
+		assertEquals(Arrays.asList("Arsenal", "Burnley", "Chelsea", "Everton"), teamNames(standings));
+	}
+
+	@Test
+	public void testTwoPointsForAWin() {
+		List<Match> matches = Arrays.asList(
+				new Match("Arsenal", "Burnley", 1, 0), 
+				new Match("Chelsea", "Everton", 2, 2), 
+				new Match("Everton", "Chelsea", 3, 3));
+		
+		List<Standing> standings = RuleSet.TWO_POINTS_FOR_A_WIN.compile().rank(matches);
+		
+		// a win is worth the same as two draws so Arsenal top the table on goal difference, Everton and Chelsea are level on everything
+		assertEquals(Arrays.asList("Arsenal", "Everton", "Chelsea", "Burnley"), teamNames(standings));
+		assertEquals(2, standings.get(0).getPoints());
+		assertEquals(2, standings.get(1).getPoints());
+	}
+
+	@Test
+	public void testFairPlay() {
+		List<Match> matches = Arrays.asList(new Match("Arsenal", "Burnley", 1, 1));
+		
+		assertEquals(Arrays.asList("Arsenal", "Burnley"), teamNames(RuleSet.HEAD_TO_HEAD.compile().rank(matches)));
+		assertEquals(Arrays.asList("Burnley", "Arsenal"), teamNames(RuleSet.HEAD_TO_HEAD.compile().rank(matches, Collections.singletonMap("Arsenal", 3))));
+	}
+
+	@Test
+	public void testAwayGoals() {
+		List<Match> matches = Arrays.asList(new Match("Arsenal", "Burnley", 2, 1), new Match("Burnley", "Arsenal", 3, 2));
+		
+		assertEquals(Arrays.asList("Arsenal", "Burnley"), teamNames(RuleSet.UEFA_GROUP.compile().rank(matches)));
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.schedule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.Fixture;
+import com.pulselive.assessment.leaguetable.LeagueFormat;
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.TeamRegistry;
+import com.pulselive.assessment.leaguetable.util.FileUtils;
+
+/**
+ * This class comprises the test cases for the RemainingFixtures class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class RemainingFixturesTest {
+
+	/*
+	 * Downloaded from http://www.football-data.co.uk/englandm.php
+	 */
+	private static final File MATCH_FILE = new File("data/english_premier_league_results_2017_2018.csv");
+
+	/**
+	 * Remove the fixtures of a schedule as the results of the season arrive, checking the counts against the remaining matches.
+	 * 
+	 * @throws IOException The IOException which may occur
+	 */
+	@Test
+	public void testRemove() throws IOException {
+		List<Match> matches = FileUtils.readMatchFile(MATCH_FILE);
+		
+		TeamRegistry registry = new TeamRegistry();
+		matches.forEach(match -> registry.register(match.getHomeTeam()));
+		
+		List<Fixture> schedule = new ArrayList<>();
+		new ScheduleGenerator(LeagueFormat.PREMIER_LEAGUE).generate().forEach(schedule::addAll);
+		
+		RemainingFixtures remainingFixtures = new RemainingFixtures(registry, schedule);
+		
+		assertEquals(380, remainingFixtures.size());
+		
+		for (int i = 0; i < matches.size(); i++) {
+			Match match = matches.get(i);
+			
+			int homeTeamId = registry.idOf(match.getHomeTeam());
+			int awayTeamId = registry.idOf(match.getAwayTeam());
+			
+			assertTrue(remainingFixtures.contains(homeTeamId, awayTeamId));
+			assertTrue(remainingFixtures.remove(match));
+			assertFalse(remainingFixtures.contains(homeTeamId, awayTeamId));
+			assertFalse(remainingFixtures.remove(match));
+			
+			assertEquals(matches.size() - i - 1, remainingFixtures.size());
+			
+			if (i % 37 == 0) {
+				checkFixtures(registry, remainingFixtures, matches.subList(i + 1, matches.size()));
+			}
+		}
+		
+		assertTrue(remainingFixtures.getFixtures().isEmpty());
+	}
+
+	@Test
+	public void testRepeatedMeetings() {
+		TeamRegistry registry = new TeamRegistry();
+		int arsenal = registry.register("Arsenal");
+		int spurs = registry.register("Tottenham Hotspur");
+		
+		List<Fixture> fixtures = new ArrayList<>();
+		new ScheduleGenerator(2, 4).generate().forEach(fixtures::addAll);
+		
+		RemainingFixtures remainingFixtures = new RemainingFixtures(registry, fixtures);
+		
+		assertEquals(4, remainingFixtures.getRemaining(arsenal));
+		assertTrue(remainingFixtures.remove(arsenal, spurs));
+		assertTrue(remainingFixtures.remove(arsenal, spurs));
+		assertFalse(remainingFixtures.remove(arsenal, spurs));
+		assertEquals(2, remainingFixtures.getRemaining(spurs));
+		assertEquals(2, remainingFixtures.getFixtures(spurs).size());
+		assertFalse(remainingFixtures.remove(-1, spurs));
+	}
+	
+	/**
+	 * The registry is shared with other leagues, the fixtures of this league are indexed by their own teams.
+	 */
+	@Test
+	public void testSharedRegistry() {
+		TeamRegistry registry = new TeamRegistry();
+		
+		for (int i = 0; i < 50000; i++) {
+			registry.register("Team " + i);
+		}
+		
+		int arsenal = registry.register("Arsenal");
+		int spurs = registry.register("Tottenham Hotspur");
+		int other = registry.idOf("Team 0");
+		
+		RemainingFixtures remainingFixtures = new RemainingFixtures(registry, Arrays.asList(new Fixture(arsenal, spurs), new Fixture(spurs, arsenal)));
+		
+		assertEquals(2, remainingFixtures.getRemaining(arsenal));
+		assertEquals(0, remainingFixtures.getRemaining(other));
+		assertTrue(remainingFixtures.getFixtures(other).isEmpty());
+		assertFalse(remainingFixtures.contains(other, arsenal));
+		assertFalse(remainingFixtures.remove(arsenal, other));
+		assertTrue(remainingFixtures.remove(spurs, arsenal));
+		assertEquals(Arrays.asList(new Fixture(arsenal, spurs)), remainingFixtures.getFixtures());
+		assertEquals(1, remainingFixtures.getRemaining(spurs));
+		assertEquals(0, remainingFixtures.getRemaining(registry.register("Leeds")));
+	}
+	
+	private static void checkFixtures(final TeamRegistry registry, final RemainingFixtures remainingFixtures, final List<Match> remainingMatches) {
+		HashSet<Fixture> expected = new HashSet<>();
+		
+		for (Match match : remainingMatches) {
+			expected.add(new Fixture(registry.idOf(match.getHomeTeam()), registry.idOf(match.getAwayTeam())));
+		}
+		
+		assertEquals(expected, new HashSet<>(remainingFixtures.getFixtures()));
+		
+		for (int teamId = 0; teamId < registry.size(); teamId++) {
+			final int team = teamId;
+			
+			assertEquals(expected.stream().filter(fixture -> fixture.involves(team)).count(), remainingFixtures.getRemaining(teamId));
+			assertEquals(remainingFixtures.getRemaining(teamId), remainingFixtures.getFixtures(teamId).size());
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.schedule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.Fixture;
+import com.pulselive.assessment.leaguetable.LeagueFormat;
+
+/**
+ * This class comprises the test cases for the ScheduleGenerator class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class ScheduleGeneratorTest {
+
+	@Test
+	public void testPremierLeague() {
+		List<List<Fixture>> rounds = new ScheduleGenerator(LeagueFormat.PREMIER_LEAGUE).generate();
+		
+		assertEquals(38, rounds.size());
+		
+		checkSchedule(LeagueFormat.PREMIER_LEAGUE, rounds);
+		
+		// at most one break per team in each half, and n - 2 in total
+		int totalBreaks = 0;
+		
+		for (int teamId = 0; teamId < 20; teamId++) {
+			int breaks = 0;
+			
+			for (int round = 1; round < 19; round++) {
+				if (isHome(rounds.get(round), teamId) == isHome(rounds.get(round - 1), teamId)) {
+					breaks++;
+				}
+			}
+			
+			assertTrue(breaks <= 1);
+			
+			totalBreaks += breaks;
+		}
+		
+		assertEquals(18, totalBreaks);
+	}
+
+	@Test
+	public void testOddNumberOfTeams() {
+		LeagueFormat format = new LeagueFormat(5, 2);
+		
+		List<List<Fixture>> rounds = new ScheduleGenerator(format).generate();
+		
+		assertEquals(10, rounds.size());
+		
+		for (List<Fixture> round : rounds) {
+			assertEquals(2, round.size());
+		}
+		
+		checkSchedule(format, rounds);
+	}
+
+	@Test
+	public void testPairedVenues() {
+		ScheduleGenerator generator = new ScheduleGenerator(LeagueFormat.PREMIER_LEAGUE);
+		
+		generator.addPairedVenue(3, 11);
+		generator.addPairedVenue(0, 19);
+		generator.addPairedVenue(7, 8);
+		
+		List<List<Fixture>> rounds = generator.generate();
+		
+		checkSchedule(LeagueFormat.PREMIER_LEAGUE, rounds);
+		
+		for (List<Fixture> round : rounds) {
+			assertFalse(isHome(round, 3) && isHome(round, 11));
+			assertFalse(isHome(round, 0) && isHome(round, 19));
+			assertFalse(isHome(round, 7) && isHome(round, 8));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPairedVenueTwice() {
+		ScheduleGenerator generator = new ScheduleGenerator(LeagueFormat.PREMIER_LEAGUE);
+		
+		generator.addPairedVenue(3, 11);
+		generator.addPairedVenue(11, 12);
+	}
+	
+	/**
+	 * Check every team plays once per round (or has a bye), and every ordered pair meets the same number of times.
+	 */
+	private static void checkSchedule(final LeagueFormat format, final List<List<Fixture>> rounds) {
+		int numberOfTeams = format.getNumberOfTeams();
+		int[][] meetings = new int[numberOfTeams][numberOfTeams];
+		int total = 0;
+		
+		for (List<Fixture> round : rounds) {
+			Set<Integer> playing = new HashSet<>();
+			
+			for (Fixture fixture : round) {
+				assertTrue(playing.add(fixture.getHomeTeamId()));
+				assertTrue(playing.add(fixture.getAwayTeamId()));
+				
+				meetings[fixture.getHomeTeamId()][fixture.getAwayTeamId()]++;
+				total++;
+			}
+		}
+		
+		assertEquals(format.getNumberOfMatches(), total);
+		
+		for (int home = 0; home < numberOfTeams; home++) {
+			for (int away = 0; away < numberOfTeams; away++) {
+				assertEquals((home == away) ? 0 : format.getMeetingsPerPair() / 2, meetings[home][away]);
+			}
+		}
+	}
+	
+	private static boolean isHome(final List<Fixture> round, final int teamId) {
+		return round.stream().anyMatch(fixture -> fixture.getHomeTeamId() == teamId);
+	}
+
+}
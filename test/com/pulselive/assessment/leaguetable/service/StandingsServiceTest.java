@@ -0,0 +1,164 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.LeagueTableEntry;
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.util.FileUtils;
+
+/**
+ * This class comprises the test cases for the StandingsService class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class StandingsServiceTest {
+	
+	/*
+	 * Downloaded from http://www.football-data.co.uk/englandm.php
+	 */
+	private static final File MATCH_FILE = new File("data/english_premier_league_results_2017_2018.csv");
+	
+	private static final String[] COMPETITIONS = { "E0 2017", "E0 2017 replay", "E0 2017 again" };
+	
+	private List<Match> matches;
+	
+	@Before
+	public void setUp() throws IOException {
+		matches = FileUtils.readMatchFile(MATCH_FILE);
+	}
+	
+	@Test
+	public void testSubmitAndFlush() throws InterruptedException, ExecutionException {
+		try (StandingsService service = new StandingsService(2)) {
+			assertTrue(service.getTableEntries("E0 2017").isEmpty());
+			
+			for (Match match : matches) {
+				for (String competition : COMPETITIONS) {
+					service.submit(competition, match);
+				}
+			}
+			
+			service.flush().get();
+			
+			LeagueTable expectedTable = new LeagueTable(matches);
+			
+			for (String competition : COMPETITIONS) {
+				assertEquals(expectedTable.getTableEntries(), service.getTableEntries(competition));
+			}
+			
+			assertEquals(COMPETITIONS.length, service.getCompetitions().size());
+		}
+	}
+	
+	@Test
+	public void testCorrection() throws InterruptedException, ExecutionException {
+		ExecutorService executor = Executors.newCachedThreadPool();
+		
+		try (StandingsService service = new StandingsService(4, executor, 16, 4)) {
+			service.submit("Friendly", new Match("Arsenal", "Spurs", 0, 0));
+			service.submitCorrection("Friendly", new Match("Arsenal", "Spurs", 0, 0), new Match("Arsenal", "Spurs", 0, 2));
+			service.submitCorrection("Friendly", new Match("Arsenal", "Chelsea", 0, 0), new Match("Arsenal", "Chelsea", 0, 2));	// rejected
+			
+			service.flush().get();
+			
+			assertEquals("Spurs", service.getTableEntries("Friendly").get(0).getTeamName());
+			assertEquals(3, service.getTableEntries("Friendly").get(0).getPoints());
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void testSubmitAfterClose() throws InterruptedException {
+		StandingsService service = new StandingsService(1);
+		
+		service.close();
+		service.close();
+		
+		service.submit("E0 2017", matches.get(0));
+	}
+	
+	@Test
+	public void testFlushAfterClose() throws InterruptedException {
+		StandingsService service = new StandingsService(1);
+		
+		service.close();
+		
+		try {
+			service.flush().get();
+			fail("expected ExecutionException");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+	}
+	
+	/**
+	 * Submit from many threads while the service is closed, each result must either be rejected or applied.
+	 */
+	@Test
+	public void testSubmitDuringClose() throws InterruptedException, ExecutionException {
+		ExecutorService writers = Executors.newFixedThreadPool(2);
+		
+		StandingsService service = new StandingsService(2, writers, 4, 2);
+		
+		ExecutorService submitters = Executors.newFixedThreadPool(4);
+		
+		try {
+			List<Future<Integer>> accepted = new ArrayList<>();
+			
+			for (int i = 0; i < 4; i++) {
+				String competition = COMPETITIONS[i % COMPETITIONS.length] + " " + i;
+				
+				accepted.add(submitters.submit(() -> {
+					int count = 0;
+					
+					try {
+						for (Match match : matches) {
+							service.submit(competition, match);
+							count++;
+						}
+					} catch (IllegalStateException e) {
+						// closed
+					}
+					
+					return count;
+				}));
+			}
+			
+			Thread.sleep(10);
+			
+			service.close();
+			
+			for (int i = 0; i < 4; i++) {
+				String competition = COMPETITIONS[i % COMPETITIONS.length] + " " + i;
+				
+				int played = service.getTableEntries(competition).stream().mapToInt(LeagueTableEntry::getPlayed).sum();
+				
+				assertEquals(2 * accepted.get(i).get(), played);
+			}
+		} finally {
+			submitters.shutdownNow();
+			writers.shutdown();
+		}
+	}
+
+}
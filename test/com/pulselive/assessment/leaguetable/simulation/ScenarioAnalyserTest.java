@@ -0,0 +1,128 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.simulation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.Fixture;
+import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.StandingsStore;
+import com.pulselive.assessment.leaguetable.TeamRegistry;
+import com.pulselive.assessment.leaguetable.util.FileUtils;
+
+/**
+ * This class comprises the test cases for the ScenarioAnalyser class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class ScenarioAnalyserTest {
+
+	/*
+	 * Downloaded from http://www.football-data.co.uk/englandm.php
+	 */
+	private static final File MATCH_FILE = new File("data/english_premier_league_results_2017_2018.csv");
+	
+	/**
+	 * More than {@link ScenarioAnalyser#FIXTURES_PER_TASK} so the enumeration is split.
+	 */
+	private static final int NUMBER_OF_PENDING = 10;
+	
+	private static final double DELTA = 0.01;
+	
+	private List<Match> played;
+	private List<Match> pending;
+	
+	@Before
+	public void setUp() throws IOException {
+		List<Match> matches = FileUtils.readMatchFile(MATCH_FILE);
+		
+		played = matches.subList(0, matches.size() - NUMBER_OF_PENDING);
+		pending = matches.subList(matches.size() - NUMBER_OF_PENDING, matches.size());
+	}
+
+	/**
+	 * Enumerate the scenarios of the last matches of the season and check the counts against a league table built for each scenario.
+	 */
+	@Test
+	public void testEnumerate() {
+		LeagueTable baseTable = new LeagueTable(played);
+		
+		TeamRegistry registry = new TeamRegistry();
+		StandingsStore current = StandingsStore.of(baseTable, registry);
+		
+		List<Fixture> fixtures = new ArrayList<>();
+		
+		for (Match match : pending) {
+			fixtures.add(new Fixture(registry.idOf(match.getHomeTeam()), registry.idOf(match.getAwayTeam())));
+		}
+		
+		ScenarioAnalyser analyser = new ScenarioAnalyser(current, fixtures);
+		
+		SimulationResult result = analyser.enumerate();
+		
+		assertEquals(59049, analyser.getNumberOfScenarios());
+		assertEquals(59049, result.getRuns());
+		
+		long[][] expectedCounts = new long[registry.size()][registry.size()];
+		
+		int[] outcomes = new int[NUMBER_OF_PENDING];
+		
+		for (int scenario = 0; scenario < result.getRuns(); scenario++) {
+			LeagueTable leagueTable = new LeagueTable(baseTable);
+			
+			for (int i = 0, remainder = scenario; i < NUMBER_OF_PENDING; i++, remainder /= 3) {
+				outcomes[i] = remainder % 3;
+				
+				Match match = pending.get(i);
+				
+				leagueTable.apply(new Match(match.getHomeTeam(), match.getAwayTeam(), (outcomes[i] == 0) ? 1 : 0, (outcomes[i] == 2) ? 1 : 0));
+			}
+			
+			for (int teamId = 0; teamId < registry.size(); teamId++) {
+				expectedCounts[teamId][leagueTable.getPosition(registry.nameOf(teamId)) - 1]++;
+			}
+		}
+		
+		for (int teamId = 0; teamId < registry.size(); teamId++) {
+			for (int position = 1; position <= registry.size(); position++) {
+				assertEquals(expectedCounts[teamId][position - 1], result.getCount(teamId, position));
+			}
+		}
+		
+		SimulationResult sampled = analyser.sample(200_000, 42);
+		
+		for (int teamId = 0; teamId < registry.size(); teamId++) {
+			assertEquals(1.0, sampled.getProbability(teamId, 1, registry.size()), 1e-9);
+			assertEquals(result.getTopProbability(teamId, 4), sampled.getTopProbability(teamId, 4), DELTA);
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testTooManyToEnumerate() {
+		TeamRegistry registry = new TeamRegistry();
+		
+		List<Fixture> fixtures = new ArrayList<>();
+		
+		for (int i = 0; i <= ScenarioAnalyser.MAX_ENUMERATED_FIXTURES; i++) {
+			fixtures.add(new Fixture(registry.register("Home " + i), registry.register("Away " + i)));
+		}
+		
+		ScenarioAnalyser analyser = new ScenarioAnalyser(new StandingsStore(registry), fixtures);
+		
+		assertEquals(-1, analyser.getNumberOfScenarios());
+		
+		analyser.enumerate();
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.Fixture;
+import com.pulselive.assessment.leaguetable.StandingsStore;
+import com.pulselive.assessment.leaguetable.TeamRegistry;
+
+/**
+ * This class comprises the test cases for the SeasonSimulator class.
+ * 
+ * @author Paul Parlett
+ *
+ */
+public class SeasonSimulatorTest {
+	
+	private static final double DELTA = 1e-9;
+	
+	private final TeamRegistry registry = new TeamRegistry();
+	private final int arsenal = registry.register("Arsenal");
+	private final int chelsea = registry.register("Chelsea");
+	private final int spurs = registry.register("Tottenham Hotspur");
+	
+	private final StandingsStore standings = new StandingsStore(registry);
+
+	@Test
+	public void testNoRemainingFixtures() {
+		standings.apply(arsenal, chelsea, 1, 0);
+		standings.apply(chelsea, spurs, 1, 0);
+		
+		SimulationResult result = new SeasonSimulator(standings, Collections.emptyList(), Collections.emptyList()).simulate(100, 0);
+		
+		assertEquals(100, result.getRuns());
+		assertEquals(1.0, result.getTitleProbability(arsenal), DELTA);
+		assertEquals(1.0, result.getProbability(chelsea, 2), DELTA);
+		assertEquals(1.0, result.getRelegationProbability(spurs, 1), DELTA);
+	}
+
+	@Test
+	public void testCertainOutcome() {
+		standings.apply(arsenal, chelsea, 1, 0);
+		
+		SimulationResult result = new SeasonSimulator(standings, 
+				Arrays.asList(new Fixture(spurs, arsenal), new Fixture(spurs, chelsea)), 
+				Arrays.asList(new FixtureProbabilities(1, 0, 0), new FixtureProbabilities(1, 0, 0))).simulate(1000, 0);
+		
+		assertEquals(1.0, result.getTitleProbability(spurs), DELTA);
+		assertEquals(1.0, result.getTopProbability(arsenal, 2), DELTA);
+		assertEquals(0.0, result.getTopProbability(chelsea, 2), DELTA);
+	}
+
+	@Test
+	public void testProbabilities() {
+		Fixture fixture = new Fixture(arsenal, spurs);
+		FixtureProbabilities probabilities = FixtureProbabilities.fromDecimalOdds(2.0, 4.0, 4.0);
+		
+		assertEquals(0.5, probabilities.getHomeWin(), DELTA);
+		
+		// large enough to be split across several tasks
+		int runs = SeasonSimulator.RUNS_PER_TASK * 8;
+		
+		SimulationResult result = new SeasonSimulator(standings, Collections.singletonList(fixture), Collections.singletonList(probabilities)).simulate(runs, 42);
+		
+		assertEquals(runs, result.getRuns());
+		assertTrue(result.getRunsPerSecond() > 0);
+		
+		for (int teamId = 0; teamId < registry.size(); teamId++) {
+			assertEquals(1.0, result.getProbability(teamId, 1, registry.size()), DELTA);
+		}
+		
+		// Arsenal top the table only when they win, a draw leaves Spurs above them on the team name tie break (see LeagueTableEntry#compareTo)
+		assertEquals(0.5, result.getTitleProbability(arsenal), 0.02);
+		assertEquals(0.0, result.getTitleProbability(chelsea), DELTA);
+		
+		SimulationResult repeat = new SeasonSimulator(standings, Collections.singletonList(fixture), Collections.singletonList(probabilities)).simulate(runs, 42);
+		
+		assertEquals(result.getCount(arsenal, 1), repeat.getCount(arsenal, 1));
+	}
+
+	/**
+	 * Leeds are registered for another league, so Tottenham Hotspur are relegated from this league of three teams.
+	 */
+	@Test
+	public void testSharedRegistry() {
+		registry.register("Leeds United");
+		
+		StandingsStore league = new StandingsStore(standings);
+		league.apply(arsenal, chelsea, 1, 0);
+		league.apply(chelsea, spurs, 1, 0);
+		
+		SimulationResult result = new SeasonSimulator(league, Collections.emptyList(), Collections.emptyList()).simulate(100, 0);
+		
+		assertEquals(1.0, result.getRelegationProbability(spurs, 1), DELTA);
+	}
+
+}
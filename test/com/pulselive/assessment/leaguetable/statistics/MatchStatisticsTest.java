@@ -0,0 +1,146 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.leaguetable.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pulselive.assessment.leaguetable.TeamRegistry;
+
+/**
+ * This class comprises the test cases for the MatchStatistics class.
+ *
+ * @author Paul Parlett
+ *
+ */
+public class MatchStatisticsTest {
+	
+	private MatchStatistics statistics;
+	
+	@Before
+	public void setUp() {
+		statistics = new MatchStatistics();
+		
+		add("Arsenal", "Chelsea", "M Dean", 2, 1, 1, 0);
+		add("Chelsea", "Burnley", "M Dean", 0, 0, 0, 1);
+		add("Burnley", "Arsenal", null, 1, 1, 0, 0);
+		add("Arsenal", "Burnley", "M Oliver", 0, 0, 0, 0);
+	}
+	
+	@Test
+	public void testFairPlayTable() {
+		List<StatisticsEntry> fairPlayTable = statistics.getFairPlayTable();
+		
+		// Chelsea 1, Burnley 3 + 1 = 4, Arsenal 2 + 3 + 1 = 6
+		assertEquals("Chelsea", fairPlayTable.get(0).getName());
+		assertEquals(1, fairPlayTable.get(0).getTotal());
+		assertEquals(2, fairPlayTable.get(0).getMatches());
+		assertEquals("Burnley", fairPlayTable.get(1).getName());
+		assertEquals(4, fairPlayTable.get(1).getTotal());
+		assertEquals("Arsenal", fairPlayTable.get(2).getName());
+		assertEquals(6, fairPlayTable.get(2).getTotal());
+		assertEquals(3, fairPlayTable.get(2).getMatches());
+	}
+	
+	@Test
+	public void testRefereeCardRates() {
+		List<StatisticsEntry> cardRates = statistics.getRefereeCardRates();
+		
+		assertEquals(2, cardRates.size());
+		assertEquals("M Dean", cardRates.get(0).getName());
+		assertEquals(2, cardRates.get(0).getMatches());
+		assertEquals(5, cardRates.get(0).getTotal());
+		assertEquals(2.5, cardRates.get(0).getPerMatch(), 0.0);
+		assertEquals("M Oliver", cardRates.get(1).getName());
+		assertEquals(0, cardRates.get(1).getTotal());
+	}
+	
+	@Test
+	public void testMissingValue() {
+		int[] homeValues = values(0, 0);
+		int[] awayValues = values(MatchStatistics.NO_VALUE, MatchStatistics.NO_VALUE);
+		
+		int row = statistics.add("Chelsea", "Arsenal", "M Dean", homeValues, awayValues);
+		
+		assertEquals(MatchStatistics.NO_VALUE, statistics.getAwayValue(Statistic.YELLOW_CARDS, row));
+		assertEquals(MatchStatistics.NO_VALUE, statistics.getAwayValue(Statistic.RED_CARDS, row));
+		assertEquals(0, statistics.getHomeValue(Statistic.RED_CARDS, row));
+		
+		// the match is excluded from the fair play of Arsenal and the card rate of the referee, but not from the fair play of Chelsea
+		assertEquals(3, entryOf(statistics.getFairPlayTable(), "Arsenal").getMatches());
+		assertEquals(3, entryOf(statistics.getFairPlayTable(), "Chelsea").getMatches());
+		assertEquals(2, entryOf(statistics.getRefereeCardRates(), "M Dean").getMatches());
+	}
+	
+	@Test
+	public void testIllegalValue() {
+		TeamRegistry registry = new TeamRegistry();
+		
+		MatchStatistics rejecting = new MatchStatistics(registry);
+		
+		try {
+			rejecting.add("Arsenal", "Chelsea", "M Dean", values(0, 0), values(MatchStatistics.MAX_VALUE + 1, 0));
+			fail("expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+		
+		assertEquals(0, rejecting.size());
+		assertEquals(0, registry.size());
+		assertEquals(0, rejecting.getNumberOfReferees());
+		
+		rejecting.add("Arsenal", "Chelsea", "M Dean", values(0, 0), values(MatchStatistics.MAX_VALUE, 0));
+		
+		assertEquals(MatchStatistics.MAX_VALUE, rejecting.getAwayValue(Statistic.YELLOW_CARDS, 0));
+	}
+	
+	@Test
+	public void testSharedRegistry() {
+		TeamRegistry registry = new TeamRegistry();
+		registry.register("Everton");
+		
+		MatchStatistics shared = new MatchStatistics(registry);
+		shared.add("Arsenal", "Chelsea", null, values(0, 0), values(0, 0));
+		
+		assertEquals(1, shared.getHomeTeamId(0));
+		
+		// Everton is registered but has no matches in this store
+		assertEquals(2, shared.getFairPlayTable().size());
+		assertEquals(2, shared.getLeaderboard(Statistic.SHOTS).size());
+		assertEquals(2, shared.getHalfTimeTable().size());
+		assertFalse(shared.getFairPlayTable().stream().anyMatch(entry -> entry.getName().equals("Everton")));
+	}
+	
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testIllegalRow() {
+		statistics.getHomeValue(Statistic.GOALS, statistics.size());
+	}
+	
+	private void add(final String homeTeam, final String awayTeam, final String referee, final int homeYellow, final int awayYellow, final int homeRed, final int awayRed) {
+		statistics.add(homeTeam, awayTeam, referee, values(homeYellow, homeRed), values(awayYellow, awayRed));
+	}
+	
+	private static int[] values(final int yellowCards, final int redCards) {
+		int[] values = new int[Statistic.values().length];
+		
+		Arrays.fill(values, 1);
+		
+		values[Statistic.YELLOW_CARDS.ordinal()] = yellowCards;
+		values[Statistic.RED_CARDS.ordinal()] = redCards;
+		
+		return values;
+	}
+	
+	private static StatisticsEntry entryOf(final List<StatisticsEntry> entries, final String name) {
+		return entries.stream().filter(entry -> entry.getName().equals(name)).findFirst().get();
+	}
+
+}
@@ -12,9 +12,10 @@ import java.util.List;
 import java.util.Scanner;
 import java.util.logging.Logger;
 
-import com.pulselive.assessment.leaguetable.LeagueTable;
+import com.pulselive.assessment.leaguetable.LeagueFormat;
 import com.pulselive.assessment.leaguetable.LeagueTableEntry;
 import com.pulselive.assessment.leaguetable.Match;
+import com.pulselive.assessment.leaguetable.io.MatchFileReader;
 
 /**
  * This class comprises utilities for reading the CSV files containing match results and league tables.
@@ -30,67 +31,51 @@ public final class FileUtils {
 	private final static Logger LOGGER = Logger.getLogger(FileUtils.class.getName());
 	
 	/**
-	 * @param file The CSV file assumed to be in football-data format
+	 * @param file The CSV file assumed to be in football-data format for the English Premier League
 	 * @return The list of matches parsed from the file
 	 * @throws IOException The IOException which may occur
 	 */
 	public static List<Match> readMatchFile(File file) throws IOException {
-		final List<Match> result = new ArrayList<>();
+		return readMatchFile(file, LeagueFormat.PREMIER_LEAGUE);
+	}
+	
+	/**
+	 * @param file The CSV file assumed to be in football-data format
+	 * @param format The format of the league
+	 * @return The list of matches parsed from the file
+	 * @throws IOException The IOException which may occur
+	 * @throws IllegalArgumentException If the number of matches is not that of a complete season of the format
+	 */
+	public static List<Match> readMatchFile(File file, LeagueFormat format) throws IOException {
+		final List<Match> result = new ArrayList<>(format.getNumberOfMatches());
 		
-		try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-			reader.readLine();		// skip first line of column headers
-			
-			String line;
-			
-			while ((line = reader.readLine()) != null) {
-				try (Scanner dataScanner = new Scanner(line)) {
-					dataScanner.useDelimiter(DELIMITER);
-					
-					String homeTeam = null;
-					String awayTeam = null;
-					Integer homeScore = null;
-					Integer awayScore = null;
-					
-					int index = 0;
-					
-					while (dataScanner.hasNext()) {
-						if (index == 2) {
-							homeTeam = dataScanner.next();
-						} else if (index == 3) {
-							awayTeam = dataScanner.next();
-						} else if (index == 4) {
-							homeScore = dataScanner.nextInt();
-						} else if (index == 5) {
-							awayScore = dataScanner.nextInt();
-						} else {
-							dataScanner.next();
-						}
-						
-						index++;
-					}
-
-					if ((homeTeam != null) && (awayTeam != null) && (homeScore != null) && (awayScore != null)) {
-						Match match = new Match(homeTeam, awayTeam, homeScore, awayScore);
-						result.add(match);
-					} else {
-						LOGGER.warning("invalid line in file: " + line);
-					}
-				}
-			}
+		try (MatchFileReader reader = MatchFileReader.open(file.toPath())) {
+			reader.forEachRemaining(result::add);
 		}
 		
-		assert result.size() == LeagueTable.numberOfMatches();
+		format.checkNumberOfMatches(result.size());
 		
 		return result;
 	}
 	
 	/**
-	 * @param file The CSV file assumed to be in footstats format
+	 * @param file The CSV file assumed to be in footstats format for the English Premier League
 	 * @return The list of league table entries parsed from the file
 	 * @throws IOException The IOException which may occur
 	 */
 	public static List<LeagueTableEntry> readLeagueTableFile(File file) throws IOException {
-		final List<LeagueTableEntry> result = new ArrayList<>();
+		return readLeagueTableFile(file, LeagueFormat.PREMIER_LEAGUE);
+	}
+	
+	/**
+	 * @param file The CSV file assumed to be in footstats format
+	 * @param format The format of the league
+	 * @return The list of league table entries parsed from the file
+	 * @throws IOException The IOException which may occur
+	 * @throws IllegalArgumentException If the number of teams is not that of the format
+	 */
+	public static List<LeagueTableEntry> readLeagueTableFile(File file, LeagueFormat format) throws IOException {
+		final List<LeagueTableEntry> result = new ArrayList<>(format.getNumberOfTeams());
 		
 		try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
 			reader.readLine();		// skip first line of column headers
@@ -151,7 +136,7 @@ public final class FileUtils {
 			}
 		}
 		
-		assert result.size() == LeagueTable.NUMBER_OF_TEAMS;
+		format.checkNumberOfTeams(result.size());
 
 		return result;
 	}
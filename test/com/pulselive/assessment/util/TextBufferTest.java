@@ -0,0 +1,79 @@
+/*
+ * Copyright URL
+ */
+package com.pulselive.assessment.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * This class comprises the test cases for the TextBuffer class.
+ *
+ * @author Paul Parlett
+ *
+ */
+public class TextBufferTest {
+	
+	@Test
+	public void testAppendInt() {
+		int[] values = { 0, 7, -7, 9, 10, 99, 100, -100, 123456789, 1000000000, Integer.MAX_VALUE, -Integer.MAX_VALUE, Integer.MIN_VALUE };
+		
+		TextBuffer buffer = new TextBuffer(1);
+		
+		for (int value : values) {
+			assertEquals(Integer.toString(value), buffer.clear().append(value).toString());
+		}
+	}
+	
+	@Test
+	public void testAppendPadded() {
+		TextBuffer buffer = new TextBuffer();
+		
+		buffer.appendPadded("Man City", 20).appendPadded(-41, 10).appendPadded(1234567890, 5).appendPadded("", 0);
+		
+		assertEquals(String.format("%-20s%-10d%-5d", "Man City", -41, 1234567890), buffer.toString());
+	}
+	
+	@Test
+	public void testAppendUtf8() throws IOException {
+		String s = "M\u00e1laga \u00dcn\u00efon \u20ac \ud83d\ude00 \ud83d";
+		
+		TextBuffer buffer = new TextBuffer(0).append(s);
+		
+		assertEquals("M\u00e1laga \u00dcn\u00efon \u20ac \ud83d\ude00 ?", buffer.toString());
+		
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		
+		buffer.writeTo(out);
+		
+		assertEquals(buffer.toString(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+		
+		StringWriter writer = new StringWriter();
+		
+		buffer.writeTo(writer);
+		
+		assertEquals(buffer.toString(), writer.toString());
+	}
+	
+	@Test
+	public void testReuse() throws IOException {
+		TextBuffer buffer = new TextBuffer(4);
+		
+		buffer.append("Z\u00fcrich");
+		buffer.clear().append("Arsenal ").append('&').appendUnicodeEscape('\u001f');
+		
+		StringWriter writer = new StringWriter();
+		
+		buffer.writeTo(writer);
+		
+		assertEquals("Arsenal &\\u001f", writer.toString());
+		assertEquals(15, buffer.length());
+	}
+
+}